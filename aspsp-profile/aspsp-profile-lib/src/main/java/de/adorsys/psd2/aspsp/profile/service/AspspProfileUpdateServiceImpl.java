@@ -19,10 +19,12 @@ package de.adorsys.psd2.aspsp.profile.service;
 import de.adorsys.psd2.aspsp.profile.config.BankProfileSetting;
 import de.adorsys.psd2.aspsp.profile.config.ProfileConfiguration;
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
 import de.adorsys.psd2.aspsp.profile.mapper.AspspSettingsToBankProfileSettingMapper;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -33,6 +35,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
 
     private final ProfileConfiguration profileConfiguration;
     private final AspspSettingsToBankProfileSettingMapper profileSettingMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * Update sca approach
@@ -44,6 +47,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
         profileConfiguration.getSetting()
             .getCommon()
             .setScaApproachesSupported(scaApproaches);
+        applicationEventPublisher.publishEvent(new AspspProfileUpdatedEvent(this));
     }
 
     /**
@@ -59,5 +63,6 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
     public void updateAspspSettings(@NotNull AspspSettings aspspSettings) {
         BankProfileSetting setting = profileConfiguration.getSetting();
         profileSettingMapper.updateBankProfileSetting(aspspSettings, setting);
+        applicationEventPublisher.publishEvent(new AspspProfileUpdatedEvent(this));
     }
 }
@@ -1,7 +1,9 @@
 package de.adorsys.psd2.aspsp.profile.service;
 
     import de.adorsys.psd2.aspsp.profile.config.ProfileConfiguration;
+    import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
     import lombok.RequiredArgsConstructor;
+    import org.springframework.context.ApplicationEventPublisher;
     import org.springframework.scheduling.annotation.Scheduled;
     import org.springframework.stereotype.Component;
 
@@ -10,11 +12,13 @@ package de.adorsys.psd2.aspsp.profile.service;
 public class BankProfileReloadingScheduleTask {
     private final BankProfileReadingService bankProfileReadingService;
     private final ProfileConfiguration profileConfiguration;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Scheduled(cron = "${aspsp-profile-reload.cron.expression:-}")
     public void updateProfileConfiguration() {
         ProfileConfiguration newProfileConfiguration = bankProfileReadingService.getProfileConfiguration();
         profileConfiguration.setSetting(newProfileConfiguration.getSetting());
         profileConfiguration.setDefaultProperties();
+        applicationEventPublisher.publishEvent(new AspspProfileUpdatedEvent(this));
     }
 }
@@ -30,6 +30,7 @@ import de.adorsys.psd2.aspsp.profile.domain.pis.PisAspspProfileBankSetting;
 import de.adorsys.psd2.aspsp.profile.domain.pis.PisAspspProfileSetting;
 import de.adorsys.psd2.aspsp.profile.domain.pis.PisRedirectLinkBankSetting;
 import de.adorsys.psd2.aspsp.profile.domain.pis.PisRedirectLinkSetting;
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
 import de.adorsys.psd2.aspsp.profile.mapper.AspspSettingsToBankProfileSettingMapper;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
 import de.adorsys.psd2.xs2a.core.profile.*;
@@ -41,12 +42,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
 import static de.adorsys.psd2.aspsp.profile.domain.SupportedAccountReferenceField.IBAN;
 import static de.adorsys.psd2.xs2a.core.ais.BookingStatus.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -102,6 +106,8 @@ class AspspProfileUpdateServiceImplTest {
 
     @Mock
     private ProfileConfiguration profileConfiguration;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Spy
     private AspspSettingsToBankProfileSettingMapper profileSettingMapper = Mappers.getMapper(AspspSettingsToBankProfileSettingMapper.class);
@@ -118,6 +124,7 @@ class AspspProfileUpdateServiceImplTest {
 
         //Then:
         assertEquals(Collections.singletonList(REDIRECT_APPROACH), profileConfiguration.getSetting().getCommon().getScaApproachesSupported());
+        verify(applicationEventPublisher).publishEvent(any(AspspProfileUpdatedEvent.class));
     }
 
     @Test
@@ -162,6 +169,7 @@ class AspspProfileUpdateServiceImplTest {
         assertEquals(AIS_PIS_SESSION_SUPPORTED, setting.getCommon().isAisPisSessionsSupported());
         assertEquals(XS2A_BASE_LINKS_URL, setting.getCommon().getXs2aBaseLinksUrl());
         assertEquals(SCA_REDIRECT_FLOW, setting.getCommon().getScaRedirectFlow());
+        verify(applicationEventPublisher).publishEvent(any(AspspProfileUpdatedEvent.class));
     }
 
     private AspspSettings buildAspspSettings() {
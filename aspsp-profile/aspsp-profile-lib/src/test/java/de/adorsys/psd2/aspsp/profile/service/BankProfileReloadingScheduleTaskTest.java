@@ -6,6 +6,7 @@ import de.adorsys.psd2.aspsp.profile.domain.ais.*;
 import de.adorsys.psd2.aspsp.profile.domain.common.CommonAspspProfileBankSetting;
 import de.adorsys.psd2.aspsp.profile.domain.piis.PiisAspspProfileBankSetting;
 import de.adorsys.psd2.aspsp.profile.domain.pis.PisAspspProfileBankSetting;
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,8 +14,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +26,8 @@ class BankProfileReloadingScheduleTaskTest {
     private BankProfileReadingService bankProfileReadingService;
     @Mock
     private ProfileConfiguration profileConfiguration;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @InjectMocks
     private BankProfileReloadingScheduleTask bankProfileReloadingScheduleTask;
@@ -45,6 +50,7 @@ class BankProfileReloadingScheduleTaskTest {
 
         assertEquals(bankProfileReadingService.getProfileConfiguration(), newProfileConfiguration);
         assertEquals(bankProfileSettingArgumentCaptor.getValue(), newProfileConfiguration.getSetting());
+        verify(applicationEventPublisher).publishEvent(any(AspspProfileUpdatedEvent.class));
     }
 
     private ProfileConfiguration buildNewProfileConfiguration() {
@@ -15,13 +15,14 @@
  */
 package de.adorsys.psd2.aspsp.profile.config;
 
+import de.adorsys.psd2.http.client.HttpClientSettings;
+import de.adorsys.psd2.http.client.HttpClientTransport;
 import de.adorsys.psd2.logger.web.LoggingContextInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
@@ -34,20 +35,36 @@ public class AspspProfileRestConfig {
     private int readTimeout;
     @Value("${http-client.connection-timeout.ms:10000}")
     private int connectionTimeout;
+    @Value("${http-client.transport:SIMPLE}")
+    private HttpClientTransport transport;
+    @Value("${http-client.pool.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+    @Value("${http-client.pool.connection-request-timeout.ms:5000}")
+    private long connectionRequestTimeout;
+    @Value("${http-client.pool.http2:false}")
+    private boolean http2;
+    @Value("${http-client.pool.gzip:false}")
+    private boolean gzip;
 
     @Bean(name = "aspspProfileRestTemplate")
     public RestTemplate aspspProfileRestTemplate() {
-        RestTemplate rest = new RestTemplate(clientHttpRequestFactory());
+        RestTemplate rest = new RestTemplate(aspspProfileClientHttpRequestFactory());
         rest.getMessageConverters().removeIf(m -> m.getClass().isAssignableFrom(MappingJackson2XmlHttpMessageConverter.class));
         rest.setErrorHandler(new AspspProfileRestErrorHandler());
         rest.getInterceptors().add(loggingContextInterceptor);
         return rest;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setReadTimeout(readTimeout);
-        factory.setConnectTimeout(connectionTimeout);
-        return factory;
+    @Bean
+    public ClientHttpRequestFactory aspspProfileClientHttpRequestFactory() {
+        return HttpClientTransport.requestFactory(HttpClientSettings.builder()
+                                                      .transport(transport)
+                                                      .connectionTimeout(connectionTimeout)
+                                                      .readTimeout(readTimeout)
+                                                      .maxConnectionsPerRoute(maxConnectionsPerRoute)
+                                                      .connectionRequestTimeout(connectionRequestTimeout)
+                                                      .http2(http2)
+                                                      .gzip(gzip)
+                                                      .build());
     }
 }
@@ -20,14 +20,22 @@ import de.adorsys.psd2.aspsp.profile.config.AspspProfileRemoteUrls;
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Remote implementation of ASPSP profile service.
+ * <p>
+ * Last received responses are kept together with their ETags and are sent back to the profile server as conditional
+ * requests, so the body is transferred and deserialized only when the profile was actually changed.
+ */
 @Service
 @RequiredArgsConstructor
 public class AspspProfileServiceRemote implements AspspProfileService {
@@ -35,16 +43,42 @@ public class AspspProfileServiceRemote implements AspspProfileService {
     private final RestTemplate aspspProfileRestTemplate;
     private final AspspProfileRemoteUrls aspspProfileRemoteUrls;
 
+    private final AtomicReference<ConditionalResponse<AspspSettings>> lastAspspSettings = new AtomicReference<>();
+    private final AtomicReference<ConditionalResponse<List<ScaApproach>>> lastScaApproaches = new AtomicReference<>();
+
     @Override
     public AspspSettings getAspspSettings() {
-        return aspspProfileRestTemplate.exchange(
-            aspspProfileRemoteUrls.getAspspSettings(), HttpMethod.GET, null, AspspSettings.class).getBody();
+        return exchangeConditionally(aspspProfileRemoteUrls.getAspspSettings(), new ParameterizedTypeReference<AspspSettings>() {
+        }, lastAspspSettings);
     }
 
     @Override
     public List<ScaApproach> getScaApproaches() {
-        return aspspProfileRestTemplate.exchange(
-            aspspProfileRemoteUrls.getScaApproaches(), HttpMethod.GET, null, new ParameterizedTypeReference<List<ScaApproach>>() {
-            }).getBody();
+        return exchangeConditionally(aspspProfileRemoteUrls.getScaApproaches(), new ParameterizedTypeReference<List<ScaApproach>>() {
+        }, lastScaApproaches);
+    }
+
+    private <T> T exchangeConditionally(String url, ParameterizedTypeReference<T> responseType, AtomicReference<ConditionalResponse<T>> lastResponse) {
+        ConditionalResponse<T> previousResponse = lastResponse.get();
+
+        HttpHeaders headers = new HttpHeaders();
+        if (previousResponse != null) {
+            headers.setIfNoneMatch(previousResponse.getEtag());
+        }
+
+        ResponseEntity<T> response = aspspProfileRestTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), responseType);
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && previousResponse != null) {
+            return previousResponse.getBody();
+        }
+
+        String etag = response.getHeaders().getETag();
+        lastResponse.set(etag == null ? null : new ConditionalResponse<>(etag, response.getBody()));
+        return response.getBody();
+    }
+
+    @Value
+    private static class ConditionalResponse<T> {
+        private String etag;
+        private T body;
     }
 }
@@ -29,6 +29,7 @@ import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -71,4 +72,17 @@ public class WebConfig implements WebMvcConfigurer {
 
         return new FilterRegistrationBean(new CorsFilter(source));
     }
+
+    /**
+     * Adds ETag header to profile responses and answers conditional requests with "304 Not Modified",
+     * so that remote profile clients can cheaply check whether their local copy is still up to date
+     *
+     * @return registration of ETag filter for profile endpoints
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilterRegistrationBean() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registrationBean = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registrationBean.addUrlPatterns("/api/v1/aspsp-profile", "/api/v1/aspsp-profile/sca-approaches");
+        return registrationBean;
+    }
 }
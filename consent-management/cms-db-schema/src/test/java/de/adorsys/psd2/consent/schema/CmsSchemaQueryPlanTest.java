@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.schema;
+
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks, that queries of CMS repositories and specifications are served by indexes of the migrated schema.
+ * <p>
+ * Queries are equivalents of SQL generated for repository methods, specifications and event report, their plans are
+ * taken from H2 and must not contain any table scans.
+ */
+class CmsSchemaQueryPlanTest {
+    private static final String JDBC_URL = "jdbc:h2:mem:cms_schema_query_plan;DB_CLOSE_DELAY=-1";
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final String FOREIGN_KEYS_SQL = "select distinct FKTABLE_NAME, FK_NAME from INFORMATION_SCHEMA.CROSS_REFERENCES " +
+                                                       "where FKTABLE_SCHEMA = 'PUBLIC'";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateSchema() throws Exception {
+        connection = DriverManager.getConnection(JDBC_URL);
+        Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        new Liquibase("master.xml", new ClassLoaderResourceAccessor(), database).update(new Contexts());
+        dropForeignKeys();
+    }
+
+    @AfterAll
+    static void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void consentQueries_useIndexes() throws SQLException {
+        // ConsentJpaRepository.findByExternalId
+        assertNoTableScan("select * from consent c where c.external_id = 'consent'");
+        // ConsentJpaRepository.findByConsentStatusIn
+        assertNoTableScan("select * from consent c where c.consent_status in ('RECEIVED', 'VALID')");
+        // ConsentJpaRepository.findExpiredByDateConsentIds
+        assertNoTableScan("select c.consent_id from consent c " +
+                              "where c.consent_status in ('RECEIVED', 'VALID') and c.valid_until < date '2020-10-22' " +
+                              "and c.consent_id > 0 order by c.consent_id limit 100");
+        // ConsentJpaRepository.findUsedNonRecurringConsents
+        assertNoTableScan("select c.* from consent c join consent_usage u on u.consent_id = c.consent_id " +
+                              "where c.recurring_indicator = false and c.consent_status in ('RECEIVED', 'VALID') " +
+                              "and u.usage_date < date '2020-10-22'");
+    }
+
+    @Test
+    void oldConsentsByNewConsentParams_useIndexes() throws SQLException {
+        // ConsentJpaRepository.findOldConsentsByNewConsentParams
+        assertNoTableScan("select c.* from consent c " +
+                              "join consent_psu_data cp on cp.consent_id = c.consent_id " +
+                              "join psu_data p on p.id = cp.psu_data_id " +
+                              "join consent_tpp_information cti on cti.consent_tpp_information_id = c.consent_tpp_information_id " +
+                              "join tpp_info t on t.tpp_info_id = cti.tpp_info_id " +
+                              "where p.psu_id in ('psu') and t.authorisation_number = 'tpp' and c.instance_id = 'UNDEFINED' " +
+                              "and c.consent_status in ('RECEIVED', 'VALID') and c.external_id <> 'consent'");
+    }
+
+    @Test
+    void consentSpecifications_useIndexes() throws SQLException {
+        // ConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId
+        assertNoTableScan("select c.* from consent c " +
+                              "join consent_tpp_information cti on cti.consent_tpp_information_id = c.consent_tpp_information_id " +
+                              "join tpp_info t on t.tpp_info_id = cti.tpp_info_id " +
+                              "where t.authorisation_number = 'tpp' and c.instance_id = 'UNDEFINED' " +
+                              "and c.creation_timestamp between timestamp '2020-10-01 00:00:00' and timestamp '2020-10-22 00:00:00'");
+        // ConsentSpecification.byPsuDataInListAndInstanceId
+        assertNoTableScan("select c.* from consent c " +
+                              "join consent_psu_data cp on cp.consent_id = c.consent_id " +
+                              "join psu_data p on p.id = cp.psu_data_id " +
+                              "where p.psu_id = 'psu' and c.instance_id = 'UNDEFINED'");
+        // ConsentSpecification.byAspspAccountIdAndCreationPeriodAndInstanceId
+        assertNoTableScan("select c.* from consent c " +
+                              "join aspsp_account_access a on a.consent_id = c.consent_id " +
+                              "where a.aspsp_account_id = 'account' and c.instance_id = 'UNDEFINED'");
+        // PiisConsentEntitySpecification.byCurrencyAndAccountReferenceSelector
+        assertNoTableScan("select c.* from consent c " +
+                              "join aspsp_account_access a on a.consent_id = c.consent_id " +
+                              "where a.account_identifier = 'DE62500105179972514662' and a.currency = 'EUR' and c.consent_type = 'PIIS_ASPSP'");
+        // PiisConsentEntitySpecification.byAccountReferenceSelector
+        assertNoTableScan("select c.* from consent c " +
+                              "join aspsp_account_access a on a.consent_id = c.consent_id " +
+                              "where a.account_identifier = 'DE62500105179972514662' and c.consent_type = 'PIIS_ASPSP'");
+        // Export of consents by creation period only
+        assertNoTableScan("select c.* from consent c " +
+                              "where c.creation_timestamp between timestamp '2020-10-01 00:00:00' and timestamp '2020-10-22 00:00:00'");
+    }
+
+    @Test
+    void consentCollections_useIndexes() throws SQLException {
+        // Lazy collections of ConsentEntity
+        assertNoTableScan("select * from account_access a where a.consent_id = 1");
+        assertNoTableScan("select * from aspsp_account_access a where a.consent_id = 1");
+        assertNoTableScan("select p.* from consent_psu_data cp join psu_data p on p.id = cp.psu_data_id where cp.consent_id = 1");
+        // AisConsentUsageRepository
+        assertNoTableScan("select * from consent_usage u where u.consent_id = 1 and u.usage_date = date '2020-10-22' " +
+                              "and u.request_uri = '/v1/accounts'");
+        assertNoTableScan("select * from consent_usage u where u.consent_id = 1 and u.usage_date = date '2020-10-22'");
+        // AisConsentTransactionRepository
+        assertNoTableScan("select * from ais_consent_transaction t where t.consent_id = 1 and t.resource_id = 'resource'");
+        // AspspConsentDataRepository
+        assertNoTableScan("select * from aspsp_consent_data d where d.consent_id = 'consent'");
+    }
+
+    @Test
+    void authorisationQueries_useIndexes() throws SQLException {
+        // AuthorisationRepository
+        assertNoTableScan("select * from authorisation a where a.external_id = 'authorisation'");
+        assertNoTableScan("select * from authorisation a where a.parent_id = 'consent' and a.authorisation_type = 'AIS'");
+        assertNoTableScan("select * from authorisation a where a.parent_id in ('consent', 'payment') " +
+                              "and a.authorisation_type in ('PIS_CREATION', 'PIS_CANCELLATION')");
+    }
+
+    @Test
+    void paymentQueries_useIndexes() throws SQLException {
+        // PisCommonPaymentDataRepository
+        assertNoTableScan("select * from pis_common_payment p where p.payment_id = 'payment'");
+        assertNoTableScan("select * from pis_common_payment p where p.transaction_status in ('RCVD', 'PATC')");
+        assertNoTableScan("select p.id from pis_common_payment p " +
+                              "where p.transaction_status in ('RCVD', 'PATC') and p.creation_timestamp < timestamp '2020-10-22 00:00:00' " +
+                              "and p.id > 0 order by p.id limit 100");
+        // PisPaymentDataRepository
+        assertNoTableScan("select * from pis_payment_data d where d.payment_id = 'payment'");
+        assertNoTableScan("select * from pis_payment_data d where d.common_payment_id = 1");
+    }
+
+    @Test
+    void paymentSpecifications_useIndexes() throws SQLException {
+        // PisCommonPaymentDataSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId
+        assertNoTableScan("select p.* from pis_common_payment p " +
+                              "join tpp_info t on t.tpp_info_id = p.tpp_info_id " +
+                              "where t.authorisation_number = 'tpp' and p.instance_id = 'UNDEFINED' " +
+                              "and p.creation_timestamp between timestamp '2020-10-01 00:00:00' and timestamp '2020-10-22 00:00:00'");
+        // PisCommonPaymentDataSpecification.byPsuIdDataAndCreationPeriodAndInstanceId
+        assertNoTableScan("select p.* from pis_common_payment p " +
+                              "join pis_common_payment_psu_data pp on pp.pis_common_payment_id = p.id " +
+                              "join psu_data d on d.id = pp.psu_data_id " +
+                              "where d.psu_id = 'psu' and p.instance_id = 'UNDEFINED'");
+        // PisCommonPaymentDataSpecification.byAspspAccountIdAndCreationPeriodAndInstanceId
+        assertNoTableScan("select p.* from pis_common_payment p where p.aspsp_account_id = 'account' and p.instance_id = 'UNDEFINED'");
+        // Export of payments by creation period only
+        assertNoTableScan("select p.* from pis_common_payment p " +
+                              "where p.creation_timestamp between timestamp '2020-10-01 00:00:00' and timestamp '2020-10-22 00:00:00'");
+        // Lazy collection of PisCommonPaymentData
+        assertNoTableScan("select d.* from pis_common_payment_psu_data pp join psu_data d on d.id = pp.psu_data_id " +
+                              "where pp.pis_common_payment_id = 1");
+    }
+
+    @Test
+    void tppQueries_useIndexes() throws SQLException {
+        // TppInfoRepository
+        assertNoTableScan("select * from tpp_info t where t.authorisation_number = 'tpp' and t.instance_id = 'UNDEFINED'");
+        // TppStopListRepository
+        assertNoTableScan("select * from tpp_stop_list s where s.tpp_authorisation_number = 'tpp' and s.instance_id = 'UNDEFINED'");
+        assertNoTableScan("select * from tpp_stop_list s where s.status = 'BLOCKED' " +
+                              "and s.expiration_timestamp <= timestamp '2020-10-22 00:00:00'");
+    }
+
+    @Test
+    void eventReportQueries_useIndexes() throws SQLException {
+        // SqlEventReportBuilder with period and instance ID
+        assertNoTableScan("select ev.* from event ev " +
+                              "where ev.timestamp between timestamp '2020-10-01 00:00:00' and timestamp '2020-10-22 00:00:00' " +
+                              "and ev.instance_id = 'UNDEFINED' order by ev.timestamp, ev.id");
+        // SqlEventReportBuilder with consent ID
+        assertNoTableScan("select ev.* from event ev where ev.consent_id = 'consent' order by ev.timestamp, ev.id");
+        // SqlEventReportBuilder with payment ID
+        assertNoTableScan("select ev.* from event ev where ev.payment_id = 'payment' order by ev.timestamp, ev.id");
+    }
+
+    /**
+     * Drops foreign keys together with indexes, that H2 creates for them implicitly, so query plans rely only on
+     * indexes, that are also available on PostgreSQL and Oracle
+     */
+    private static void dropForeignKeys() throws SQLException {
+        List<String> dropStatements = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(FOREIGN_KEYS_SQL)) {
+            while (resultSet.next()) {
+                dropStatements.add("alter table " + resultSet.getString("FKTABLE_NAME") + " drop constraint " + resultSet.getString("FK_NAME"));
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (String dropStatement : dropStatements) {
+                statement.execute(dropStatement);
+            }
+        }
+    }
+
+    private void assertNoTableScan(String sql) throws SQLException {
+        String plan = explain(sql);
+        assertFalse(plan.contains(TABLE_SCAN), () -> "Query plan contains table scan:\n" + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
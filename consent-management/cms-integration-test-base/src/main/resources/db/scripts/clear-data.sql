@@ -1,5 +1,6 @@
 DELETE FROM aspsp_account_access;
 DELETE FROM consent_psu_data;
+DELETE FROM consent_usage;
 DELETE FROM consent;
 DELETE FROM consent_tpp_information;
 
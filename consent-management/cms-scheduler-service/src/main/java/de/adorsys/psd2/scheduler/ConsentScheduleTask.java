@@ -16,51 +16,90 @@
 
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.Collections;
+import java.time.OffsetDateTime;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.RECEIVED;
-import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.*;
 
+/**
+ * Expires consents, which are valid until the date in the past.
+ * <p>
+ * Consents are processed in chunks ordered by ID: IDs of the next chunk are selected after the last processed ID and
+ * consents of the chunk are expired by single update statement in separate transaction, so neither entities are loaded
+ * nor the whole table is locked by one long-running transaction.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ConsentScheduleTask {
+    private static final Set<ConsentStatus> NOT_EXPIRED_STATUSES = EnumSet.of(RECEIVED, VALID);
+
     private final ConsentJpaRepository consentJpaRepository;
 
+    @Value("${consent.expiration.chunk-size:1000}")
+    private int chunkSize;
+
+    private final AtomicLong lastRunExpiredCount = new AtomicLong();
+    private final AtomicLong lastRunDurationMs = new AtomicLong();
+    private final AtomicLong totalExpiredCount = new AtomicLong();
+
     @Scheduled(cron = "${consent.cron.expression}")
-    @Transactional
     public void checkConsentStatus() {
         log.info("Consent schedule task is run!");
-        List<ConsentEntity> availableConsents = Optional.ofNullable(consentJpaRepository.findByConsentStatusIn(EnumSet.of(RECEIVED, VALID)))
-                                                 .orElse(Collections.emptyList());
-        consentJpaRepository.saveAll(updateConsent(availableConsents));
+        long start = System.currentTimeMillis();
+        LocalDate currentDate = LocalDate.now();
+        OffsetDateTime statusChangeTimestamp = OffsetDateTime.now();
+
+        long expiredCount = 0;
+        int chunkCount = 0;
+        List<Long> consentIds = findExpiredByDateConsentIds(currentDate, 0L);
+        while (!consentIds.isEmpty()) {
+            expiredCount += consentJpaRepository.expireByDateConsents(consentIds, NOT_EXPIRED_STATUSES, EXPIRED,
+                                                                      currentDate, statusChangeTimestamp);
+            chunkCount++;
+            log.debug("Consent schedule task: [{}] consents expired after [{}] chunks", expiredCount, chunkCount);
+
+            if (consentIds.size() < chunkSize) {
+                break;
+            }
+            consentIds = findExpiredByDateConsentIds(currentDate, consentIds.get(consentIds.size() - 1));
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        lastRunExpiredCount.set(expiredCount);
+        lastRunDurationMs.set(duration);
+        totalExpiredCount.addAndGet(expiredCount);
+        log.info("Consent schedule task has finished: [{}] consents expired in [{}] chunks within [{}] ms",
+                 expiredCount, chunkCount, duration);
+    }
+
+    public long getLastRunExpiredCount() {
+        return lastRunExpiredCount.get();
+    }
+
+    public long getLastRunDurationMs() {
+        return lastRunDurationMs.get();
     }
 
-    private List<ConsentEntity> updateConsent(List<ConsentEntity> availableConsents) {
-        return availableConsents.stream()
-                   .filter(ConsentEntity::isExpiredByDate)
-                   .map(this::updateConsentParameters)
-                   .collect(Collectors.toList());
+    public long getTotalExpiredCount() {
+        return totalExpiredCount.get();
     }
 
-    private ConsentEntity updateConsentParameters(ConsentEntity consent) {
-        consent.setConsentStatus(ConsentStatus.EXPIRED);
-        consent.setExpireDate(LocalDate.now());
-        return consent;
+    private List<Long> findExpiredByDateConsentIds(LocalDate currentDate, Long lastId) {
+        return consentJpaRepository.findExpiredByDateConsentIds(NOT_EXPIRED_STATUSES, currentDate, lastId,
+                                                                PageRequest.of(0, chunkSize));
     }
 }
@@ -16,40 +16,49 @@
 
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
-import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
-import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Rejects payments, which weren't confirmed within the period from ASPSP profile.
+ * <p>
+ * Payments are processed in chunks ordered by ID, every chunk in separate transaction. Payments of the chunk are locked
+ * with skipping of already locked rows, so the task may be run by several CMS instances simultaneously: every instance
+ * rejects only payments, which aren't processed by other ones.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class NotConfirmedPaymentExpirationScheduleTask {
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
-    private final PisCommonPaymentDataRepository paymentDataRepository;
+
+    @Value("${not-confirmed-payment-expiration.chunk-size:500}")
+    private int chunkSize;
 
     @Scheduled(cron = "${not-confirmed-payment-expiration.cron.expression}")
-    @Transactional
     public void obsoleteNotConfirmedPaymentIfExpired() {
         log.info("Not confirmed payment expiration schedule task is run!");
+        long start = System.currentTimeMillis();
 
-        List<PisCommonPaymentData> expiredNotConfirmedPaymentDatas = paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC))
-                                                                         .stream()
-                                                                         .filter(pisCommonPaymentConfirmationExpirationService::isConfirmationExpired)
-                                                                         .collect(Collectors.toList());
+        int rejectedCount = 0;
+        List<Long> paymentIds = pisCommonPaymentConfirmationExpirationService.getConfirmationExpiredPaymentIds(0L, chunkSize);
+        while (!paymentIds.isEmpty()) {
+            rejectedCount += pisCommonPaymentConfirmationExpirationService.updatePaymentsOnConfirmationExpiration(paymentIds);
 
-        if (CollectionUtils.isNotEmpty(expiredNotConfirmedPaymentDatas)) {
-            pisCommonPaymentConfirmationExpirationService.updatePaymentDataListOnConfirmationExpiration(expiredNotConfirmedPaymentDatas);
+            if (paymentIds.size() < chunkSize) {
+                break;
+            }
+            Long lastId = paymentIds.get(paymentIds.size() - 1);
+            paymentIds = pisCommonPaymentConfirmationExpirationService.getConfirmationExpiredPaymentIds(lastId, chunkSize);
         }
+
+        log.info("Not confirmed payment expiration schedule task has finished: [{}] payments rejected within [{}] ms",
+                 rejectedCount, System.currentTimeMillis() - start);
     }
 }
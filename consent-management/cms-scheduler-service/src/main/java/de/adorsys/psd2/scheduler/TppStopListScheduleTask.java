@@ -16,11 +16,13 @@
 
 package de.adorsys.psd2.scheduler;
 
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
 import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +36,7 @@ import java.util.stream.Collectors;
 @Component
 public class TppStopListScheduleTask {
     private final TppStopListRepository tppStopListRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Scheduled(cron = "${stoplist.cron.expression}")
     @Transactional
@@ -45,6 +48,7 @@ public class TppStopListScheduleTask {
 
         if (!unblockedTpps.isEmpty()) {
             tppStopListRepository.saveAll(unblockedTpps);
+            unblockedTpps.forEach(tpp -> eventPublisher.publishEvent(new TppStopListChangedEvent(tpp.getTppAuthorisationNumber(), tpp.getInstanceId())));
         }
     }
 
@@ -16,6 +16,9 @@
 
 package de.adorsys.psd2.scheduler.config;
 
+import de.adorsys.psd2.scheduler.lease.LeaseAwareTaskScheduler;
+import de.adorsys.psd2.scheduler.lease.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -25,13 +28,16 @@ import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 @Configuration
 @EnableScheduling
+@RequiredArgsConstructor
 public class SchedulerConfig implements SchedulingConfigurer {
+    private final SchedulerLeaseService schedulerLeaseService;
+
     @Value("${scheduler.pool.size:20}")
     private int poolSize;
 
     @Override
     public void configureTasks(ScheduledTaskRegistrar scheduledTaskRegistrar) {
-        ThreadPoolTaskScheduler threadPool = new ThreadPoolTaskScheduler();
+        ThreadPoolTaskScheduler threadPool = new LeaseAwareTaskScheduler(schedulerLeaseService);
         threadPool.setPoolSize(poolSize);
         threadPool.setThreadNamePrefix("consent-scheduler-pool");
         threadPool.initialize();
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.scheduler.lease;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Task scheduler, that runs triggered scheduled methods only if the lease on them was taken by current instance.
+ * <p>
+ * Lease is identified by simple name of the class and name of the scheduled method.
+ */
+@RequiredArgsConstructor
+public class LeaseAwareTaskScheduler extends ThreadPoolTaskScheduler {
+    private final transient SchedulerLeaseService schedulerLeaseService;
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        if (task instanceof ScheduledMethodRunnable) {
+            String taskName = getTaskName((ScheduledMethodRunnable) task);
+            return super.schedule(() -> schedulerLeaseService.runWithLease(taskName, task), trigger);
+        }
+        return super.schedule(task, trigger);
+    }
+
+    private String getTaskName(ScheduledMethodRunnable task) {
+        Method method = task.getMethod();
+        return ClassUtils.getUserClass(method.getDeclaringClass()).getSimpleName() + "." + method.getName();
+    }
+}
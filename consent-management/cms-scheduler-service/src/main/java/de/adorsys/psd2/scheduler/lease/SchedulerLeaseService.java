@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.scheduler.lease;
+
+import de.adorsys.psd2.consent.domain.SchedulerLeaseEntity;
+import de.adorsys.psd2.consent.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ensures, that scheduled task is run by only one CMS instance at a time.
+ * <p>
+ * Before the task is run, the instance takes a lease on it in the database. Lease is taken only if it's not held by
+ * other instance or if it has expired, so instances, which failed to take it, skip the run. Lease is released after the
+ * run, but is kept at least for configured minimal duration, so instances with slightly different clocks don't repeat
+ * the same run. Lease of the instance, which died during the run, expires after configured lease duration.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Value("${scheduler.lease.enabled:false}")
+    private boolean enabled;
+    @Value("${scheduler.lease.owner:}")
+    private String leaseOwner;
+    @Value("${scheduler.lease.duration-ms:1800000}")
+    private long leaseDurationMs;
+    @Value("${scheduler.lease.min-duration-ms:10000}")
+    private long minLeaseDurationMs;
+
+    private final Map<String, LeaseStatistics> statistics = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (StringUtils.isBlank(leaseOwner)) {
+            leaseOwner = getHostName() + "-" + UUID.randomUUID();
+        }
+        if (enabled) {
+            log.info("Scheduler leases are taken by [{}] for [{}] ms", leaseOwner, leaseDurationMs);
+        }
+    }
+
+    /**
+     * Runs given task, if the lease on it could be taken by current instance
+     *
+     * @param taskName name of the task, unique within the cluster
+     * @param task     task to be run
+     * @return <code>true</code> if the task was run, <code>false</code> if it was skipped
+     */
+    public boolean runWithLease(String taskName, Runnable task) {
+        if (!enabled) {
+            task.run();
+            return true;
+        }
+
+        LeaseStatistics taskStatistics = statistics.computeIfAbsent(taskName, name -> new LeaseStatistics());
+        OffsetDateTime acquiredAt = OffsetDateTime.now();
+        if (!acquireLease(taskName, acquiredAt, taskStatistics)) {
+            taskStatistics.skippedCount.incrementAndGet();
+            log.info("Scheduled task [{}] is skipped: lease is held by other instance", taskName);
+            return false;
+        }
+
+        taskStatistics.acquiredCount.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            releaseLease(taskName, acquiredAt, taskStatistics);
+        }
+        return true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    /**
+     * Returns statistics of leases taken by current instance
+     *
+     * @return statistics by task names
+     */
+    public Map<String, LeaseStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private boolean acquireLease(String taskName, OffsetDateTime now, LeaseStatistics taskStatistics) {
+        OffsetDateTime leaseUntil = now.plus(leaseDurationMs, ChronoUnit.MILLIS);
+        try {
+            if (schedulerLeaseRepository.acquireLease(taskName, leaseOwner, now, leaseUntil) > 0) {
+                return true;
+            }
+            if (schedulerLeaseRepository.existsById(taskName)) {
+                return false;
+            }
+            schedulerLeaseRepository.save(new SchedulerLeaseEntity(taskName, leaseOwner, leaseUntil));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Lease was created by other instance at the same time
+            return false;
+        } catch (DataAccessException e) {
+            taskStatistics.failedCount.incrementAndGet();
+            log.warn("Couldn't take lease on scheduled task [{}]: {}", taskName, e.getMessage());
+            return false;
+        }
+    }
+
+    private void releaseLease(String taskName, OffsetDateTime acquiredAt, LeaseStatistics taskStatistics) {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime minLeaseUntil = acquiredAt.plus(minLeaseDurationMs, ChronoUnit.MILLIS);
+        taskStatistics.lastHoldTimeMs.set(ChronoUnit.MILLIS.between(acquiredAt, now));
+        try {
+            schedulerLeaseRepository.releaseLease(taskName, leaseOwner, now.isAfter(minLeaseUntil) ? now : minLeaseUntil);
+        } catch (DataAccessException e) {
+            taskStatistics.failedCount.incrementAndGet();
+            log.warn("Couldn't release lease on scheduled task [{}], it will expire by itself: {}", taskName, e.getMessage());
+        }
+    }
+
+    private String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+
+    /**
+     * Lease statistics of single task on current instance
+     */
+    public static class LeaseStatistics {
+        private final AtomicLong acquiredCount = new AtomicLong();
+        private final AtomicLong skippedCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private final AtomicLong lastHoldTimeMs = new AtomicLong();
+
+        public long getAcquiredCount() {
+            return acquiredCount.get();
+        }
+
+        public long getSkippedCount() {
+            return skippedCount.get();
+        }
+
+        public long getFailedCount() {
+            return failedCount.get();
+        }
+
+        public long getLastHoldTimeMs() {
+            return lastHoldTimeMs.get();
+        }
+    }
+}
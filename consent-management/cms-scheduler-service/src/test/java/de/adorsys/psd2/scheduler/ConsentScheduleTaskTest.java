@@ -16,30 +16,33 @@
 
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
-import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
-import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ConsentScheduleTaskTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final PageRequest CHUNK = PageRequest.of(0, CHUNK_SIZE);
 
     @InjectMocks
     private ConsentScheduleTask scheduleTask;
@@ -47,67 +50,66 @@ class ConsentScheduleTaskTest {
     @Mock
     private ConsentJpaRepository consentJpaRepository;
 
-    @Captor
-    private ArgumentCaptor<ArrayList<ConsentEntity>> consentCaptor;
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduleTask, "chunkSize", CHUNK_SIZE);
+    }
 
     @Test
-    void checkConsentStatus_allConsentsExpired() {
-        List<ConsentEntity> availableConsents = new ArrayList<>();
-        availableConsents.add(createConsent(RECEIVED));
-        availableConsents.add(createConsent(VALID));
-        when(consentJpaRepository.findByConsentStatusIn(EnumSet.of(RECEIVED, VALID))).thenReturn(availableConsents);
-
-        when(consentJpaRepository.saveAll(consentCaptor.capture())).thenReturn(Collections.emptyList());
-
+    void checkConsentStatus_severalChunks() {
+        // Given
+        LocalDate currentDate = LocalDate.now();
+        List<Long> firstChunk = Arrays.asList(1L, 2L);
+        List<Long> secondChunk = Collections.singletonList(5L);
+        when(consentJpaRepository.findExpiredByDateConsentIds(EnumSet.of(RECEIVED, VALID), currentDate, 0L, CHUNK))
+            .thenReturn(firstChunk);
+        when(consentJpaRepository.findExpiredByDateConsentIds(EnumSet.of(RECEIVED, VALID), currentDate, 2L, CHUNK))
+            .thenReturn(secondChunk);
+        when(consentJpaRepository.expireByDateConsents(eq(firstChunk), eq(EnumSet.of(RECEIVED, VALID)), eq(EXPIRED), eq(currentDate), any(OffsetDateTime.class)))
+            .thenReturn(2);
+        when(consentJpaRepository.expireByDateConsents(eq(secondChunk), eq(EnumSet.of(RECEIVED, VALID)), eq(EXPIRED), eq(currentDate), any(OffsetDateTime.class)))
+            .thenReturn(1);
+
+        // When
         scheduleTask.checkConsentStatus();
 
-        assertEquals(2, consentCaptor.getValue().size());
-        consentCaptor.getValue().forEach(c -> assertEquals(EXPIRED, c.getConsentStatus()));
-
-        verify(consentJpaRepository, times(1)).findByConsentStatusIn(EnumSet.of(RECEIVED, VALID));
-        verify(consentJpaRepository, times(1)).saveAll(anyList());
+        // Then
+        verify(consentJpaRepository, times(2)).findExpiredByDateConsentIds(any(), any(), any(), any());
+        assertEquals(3, scheduleTask.getLastRunExpiredCount());
+        assertEquals(3, scheduleTask.getTotalExpiredCount());
     }
 
     @Test
-    void checkConsentStatus_notAllConsentsExpired() {
-        List<ConsentEntity> availableConsents = new ArrayList<>();
-        availableConsents.add(createConsent(RECEIVED));
-        ConsentEntity consent = createConsent(VALID);
-        consent.setValidUntil(LocalDate.now().plusDays(1));
-        availableConsents.add(consent);
-        when(consentJpaRepository.findByConsentStatusIn(EnumSet.of(RECEIVED, VALID))).thenReturn(availableConsents);
-
-        when(consentJpaRepository.saveAll(consentCaptor.capture())).thenReturn(Collections.emptyList());
-
+    void checkConsentStatus_lastChunkIsFull() {
+        // Given
+        LocalDate currentDate = LocalDate.now();
+        List<Long> firstChunk = Arrays.asList(1L, 2L);
+        when(consentJpaRepository.findExpiredByDateConsentIds(EnumSet.of(RECEIVED, VALID), currentDate, 0L, CHUNK))
+            .thenReturn(firstChunk);
+        when(consentJpaRepository.findExpiredByDateConsentIds(EnumSet.of(RECEIVED, VALID), currentDate, 2L, CHUNK))
+            .thenReturn(Collections.emptyList());
+        when(consentJpaRepository.expireByDateConsents(eq(firstChunk), eq(EnumSet.of(RECEIVED, VALID)), eq(EXPIRED), eq(currentDate), any(OffsetDateTime.class)))
+            .thenReturn(1);
+
+        // When
         scheduleTask.checkConsentStatus();
 
-        assertEquals(1, consentCaptor.getValue().size());
-        assertEquals("RECEIVED", consentCaptor.getValue().get(0).getExternalId());
-        consentCaptor.getValue().forEach(c -> assertEquals(EXPIRED, c.getConsentStatus()));
-
-        verify(consentJpaRepository, times(1)).findByConsentStatusIn(EnumSet.of(RECEIVED, VALID));
-        verify(consentJpaRepository, times(1)).saveAll(anyList());
+        // Then
+        verify(consentJpaRepository, times(1)).expireByDateConsents(anyList(), any(), any(), any(), any());
+        assertEquals(1, scheduleTask.getLastRunExpiredCount());
     }
 
     @Test
-    void checkConsentStatus_nullValue() {
-
-        when(consentJpaRepository.findByConsentStatusIn(EnumSet.of(RECEIVED, VALID))).thenReturn(null);
-
-        when(consentJpaRepository.saveAll(Collections.emptyList())).thenReturn(Collections.emptyList());
+    void checkConsentStatus_noExpiredConsents() {
+        // Given
+        when(consentJpaRepository.findExpiredByDateConsentIds(EnumSet.of(RECEIVED, VALID), LocalDate.now(), 0L, CHUNK))
+            .thenReturn(Collections.emptyList());
 
+        // When
         scheduleTask.checkConsentStatus();
 
-        verify(consentJpaRepository, times(1)).findByConsentStatusIn(EnumSet.of(RECEIVED, VALID));
-        verify(consentJpaRepository, times(1)).saveAll(Collections.emptyList());
-    }
-
-    @NotNull
-    private ConsentEntity createConsent(ConsentStatus consentStatus) {
-        ConsentEntity aisConsent = new ConsentEntity();
-        aisConsent.setConsentStatus(consentStatus);
-        aisConsent.setExternalId(consentStatus.toString());
-        aisConsent.setValidUntil(LocalDate.now().minusDays(1));
-        return aisConsent;
+        // Then
+        verify(consentJpaRepository, never()).expireByDateConsents(anyList(), any(), any(), any(), any());
+        assertEquals(0, scheduleTask.getLastRunExpiredCount());
     }
 }
@@ -16,79 +16,69 @@
 
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
-import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
-import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotConfirmedPaymentExpirationScheduleTaskTest {
+    private static final int CHUNK_SIZE = 2;
 
     @InjectMocks
     private NotConfirmedPaymentExpirationScheduleTask scheduleTask;
 
     @Mock
     private PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
-    @Mock
-    private PisCommonPaymentDataRepository paymentDataRepository;
 
-    @Captor
-    private ArgumentCaptor<ArrayList<PisCommonPaymentData>> commonPaymentDataCaptor;
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduleTask, "chunkSize", CHUNK_SIZE);
+    }
 
     @Test
     void obsoleteNotConfirmedPaymentIfExpired() {
         // Given
-        List<PisCommonPaymentData> pisCommonPaymentDataList = new ArrayList<>();
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
-
-        when(paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)))
-            .thenReturn(pisCommonPaymentDataList);
-        when(pisCommonPaymentConfirmationExpirationService.isConfirmationExpired(any(PisCommonPaymentData.class)))
-            .thenReturn(true, false);
-        when(pisCommonPaymentConfirmationExpirationService.updatePaymentDataListOnConfirmationExpiration(commonPaymentDataCaptor.capture()))
-            .thenReturn(Collections.emptyList());
+        List<Long> firstChunk = Arrays.asList(1L, 3L);
+        List<Long> secondChunk = Collections.singletonList(4L);
+        when(pisCommonPaymentConfirmationExpirationService.getConfirmationExpiredPaymentIds(0L, CHUNK_SIZE))
+            .thenReturn(firstChunk);
+        when(pisCommonPaymentConfirmationExpirationService.getConfirmationExpiredPaymentIds(3L, CHUNK_SIZE))
+            .thenReturn(secondChunk);
+        when(pisCommonPaymentConfirmationExpirationService.updatePaymentsOnConfirmationExpiration(firstChunk))
+            .thenReturn(1);
+        when(pisCommonPaymentConfirmationExpirationService.updatePaymentsOnConfirmationExpiration(secondChunk))
+            .thenReturn(1);
 
         // When
         scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
 
         // Then
-        verify(paymentDataRepository, times(1)).findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        verify(pisCommonPaymentConfirmationExpirationService, times(2)).isConfirmationExpired(any(PisCommonPaymentData.class));
-        verify(pisCommonPaymentConfirmationExpirationService, times(1)).updatePaymentDataListOnConfirmationExpiration(anyList());
-
-        assertEquals(1, commonPaymentDataCaptor.getValue().size());
+        verify(pisCommonPaymentConfirmationExpirationService, times(2)).getConfirmationExpiredPaymentIds(anyLong(), eq(CHUNK_SIZE));
+        verify(pisCommonPaymentConfirmationExpirationService, times(2)).updatePaymentsOnConfirmationExpiration(anyList());
     }
 
     @Test
     void obsoleteNotConfirmedPaymentIfExpired_emptyList() {
         // Given
-        when(paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)))
+        when(pisCommonPaymentConfirmationExpirationService.getConfirmationExpiredPaymentIds(0L, CHUNK_SIZE))
             .thenReturn(Collections.emptyList());
 
         // When
         scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
 
         // Then
-        verify(paymentDataRepository, times(1)).findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        verify(pisCommonPaymentConfirmationExpirationService, never()).isConfirmationExpired(any(PisCommonPaymentData.class));
-        verify(pisCommonPaymentConfirmationExpirationService, never()).updatePaymentDataListOnConfirmationExpiration(anyList());
+        verify(pisCommonPaymentConfirmationExpirationService, never()).updatePaymentsOnConfirmationExpiration(anyList());
     }
 }
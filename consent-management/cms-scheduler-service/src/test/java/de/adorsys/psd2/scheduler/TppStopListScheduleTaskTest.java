@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.scheduler;
 
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
 import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
@@ -27,6 +28,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
@@ -46,6 +48,8 @@ class TppStopListScheduleTaskTest {
 
     @Mock
     private TppStopListRepository tppStopListRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Captor
     private ArgumentCaptor<ArrayList<TppStopListEntity>> unblockedTppsCaptor;
@@ -64,6 +68,7 @@ class TppStopListScheduleTaskTest {
 
         verify(tppStopListRepository, times(1)).findAllByStatusAndBlockingExpirationTimestampLessThanEqual(eq(TppStatus.BLOCKED), any(OffsetDateTime.class));
         verify(tppStopListRepository, times(1)).saveAll(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(TppStopListChangedEvent.class));
 
         assertEquals(2, unblockedTppsCaptor.getValue().size());
         unblockedTppsCaptor.getValue().forEach(tpp -> {
@@ -85,11 +90,13 @@ class TppStopListScheduleTaskTest {
 
         verify(tppStopListRepository, times(1)).findAllByStatusAndBlockingExpirationTimestampLessThanEqual(eq(TppStatus.BLOCKED), any(OffsetDateTime.class));
         verify(tppStopListRepository, never()).saveAll(anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @NotNull
     private TppStopListEntity createTppStopEntity() {
         TppStopListEntity tppStopListEntity = new TppStopListEntity();
+        tppStopListEntity.setTppAuthorisationNumber("12345987");
         tppStopListEntity.block(Duration.ofDays(1));
         return tppStopListEntity;
     }
@@ -16,6 +16,8 @@
 
 package de.adorsys.psd2.scheduler.config;
 
+import de.adorsys.psd2.scheduler.lease.LeaseAwareTaskScheduler;
+import de.adorsys.psd2.scheduler.lease.SchedulerLeaseService;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -23,6 +25,7 @@ import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 
@@ -35,11 +38,12 @@ class SchedulerConfigTest {
 
         doNothing().when(scheduledTaskRegistrar).setTaskScheduler(threadPoolTaskSchedulerCaptor.capture());
 
-        SchedulerConfig schedulerConfig = new SchedulerConfig();
+        SchedulerConfig schedulerConfig = new SchedulerConfig(mock(SchedulerLeaseService.class));
         ReflectionTestUtils.setField(schedulerConfig, "poolSize", 10);
         schedulerConfig.configureTasks(scheduledTaskRegistrar);
 
         assertEquals("consent-scheduler-pool", threadPoolTaskSchedulerCaptor.getValue().getThreadNamePrefix());
         assertEquals(10, threadPoolTaskSchedulerCaptor.getValue().getScheduledThreadPoolExecutor().getCorePoolSize());
+        assertTrue(threadPoolTaskSchedulerCaptor.getValue() instanceof LeaseAwareTaskScheduler);
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.scheduler.lease;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaseAwareTaskSchedulerTest {
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    private LeaseAwareTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler = new LeaseAwareTaskScheduler(schedulerLeaseService);
+        taskScheduler.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void schedule_scheduledMethod_runWithLease() throws NoSuchMethodException {
+        // Given
+        ScheduledMethodRunnable task = new ScheduledMethodRunnable(new TestTask(), "run");
+
+        // When
+        taskScheduler.schedule(task, onceTrigger());
+
+        // Then
+        verify(schedulerLeaseService, timeout(1000)).runWithLease(eq("TestTask.run"), any(Runnable.class));
+    }
+
+    @Test
+    void schedule_otherTask_runWithoutLease() {
+        // Given
+        AtomicBoolean taskRun = new AtomicBoolean();
+
+        // When
+        taskScheduler.schedule(() -> taskRun.set(true), onceTrigger());
+
+        // Then
+        verify(schedulerLeaseService, after(200).never()).runWithLease(any(), any());
+        assertTrue(taskRun.get());
+    }
+
+    private Trigger onceTrigger() {
+        AtomicBoolean triggered = new AtomicBoolean();
+        return triggerContext -> triggered.getAndSet(true) ? null : new Date();
+    }
+
+    static class TestTask {
+        public void run() {
+            // Scheduled method
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.scheduler.lease;
+
+import de.adorsys.psd2.consent.domain.SchedulerLeaseEntity;
+import de.adorsys.psd2.consent.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLeaseServiceTest {
+    private static final String TASK_NAME = "ConsentScheduleTask.checkConsentStatus";
+    private static final String LEASE_OWNER = "cms-1";
+
+    @InjectMocks
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Mock
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+    @Mock
+    private Runnable task;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(schedulerLeaseService, "enabled", true);
+        ReflectionTestUtils.setField(schedulerLeaseService, "leaseOwner", LEASE_OWNER);
+        ReflectionTestUtils.setField(schedulerLeaseService, "leaseDurationMs", 60000L);
+        ReflectionTestUtils.setField(schedulerLeaseService, "minLeaseDurationMs", 10000L);
+    }
+
+    @Test
+    void runWithLease_leaseAcquired() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(LEASE_OWNER), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(1);
+
+        // When
+        boolean actual = schedulerLeaseService.runWithLease(TASK_NAME, task);
+
+        // Then
+        assertTrue(actual);
+        verify(task).run();
+        ArgumentCaptor<OffsetDateTime> leaseUntilCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(schedulerLeaseRepository).releaseLease(eq(TASK_NAME), eq(LEASE_OWNER), leaseUntilCaptor.capture());
+        assertTrue(leaseUntilCaptor.getValue().isAfter(OffsetDateTime.now().plusSeconds(5)));
+        assertEquals(1, schedulerLeaseService.getStatistics().get(TASK_NAME).getAcquiredCount());
+    }
+
+    @Test
+    void runWithLease_leaseHeldByOtherInstance() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(LEASE_OWNER), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(0);
+        when(schedulerLeaseRepository.existsById(TASK_NAME)).thenReturn(true);
+
+        // When
+        boolean actual = schedulerLeaseService.runWithLease(TASK_NAME, task);
+
+        // Then
+        assertFalse(actual);
+        verify(task, never()).run();
+        verify(schedulerLeaseRepository, never()).releaseLease(any(), any(), any());
+        assertEquals(1, schedulerLeaseService.getStatistics().get(TASK_NAME).getSkippedCount());
+    }
+
+    @Test
+    void runWithLease_leaseCreated() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(LEASE_OWNER), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(0);
+        when(schedulerLeaseRepository.existsById(TASK_NAME)).thenReturn(false);
+
+        // When
+        boolean actual = schedulerLeaseService.runWithLease(TASK_NAME, task);
+
+        // Then
+        assertTrue(actual);
+        verify(task).run();
+        ArgumentCaptor<SchedulerLeaseEntity> leaseCaptor = ArgumentCaptor.forClass(SchedulerLeaseEntity.class);
+        verify(schedulerLeaseRepository).save(leaseCaptor.capture());
+        assertEquals(TASK_NAME, leaseCaptor.getValue().getTaskName());
+        assertEquals(LEASE_OWNER, leaseCaptor.getValue().getLeaseOwner());
+    }
+
+    @Test
+    void runWithLease_leaseCreatedByOtherInstance() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(LEASE_OWNER), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(0);
+        when(schedulerLeaseRepository.existsById(TASK_NAME)).thenReturn(false);
+        when(schedulerLeaseRepository.save(any(SchedulerLeaseEntity.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        boolean actual = schedulerLeaseService.runWithLease(TASK_NAME, task);
+
+        // Then
+        assertFalse(actual);
+        verify(task, never()).run();
+    }
+
+    @Test
+    void runWithLease_taskFailed_leaseReleased() {
+        // Given
+        when(schedulerLeaseRepository.acquireLease(eq(TASK_NAME), eq(LEASE_OWNER), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+            .thenReturn(1);
+        doThrow(new IllegalStateException("task failed")).when(task).run();
+
+        // When
+        assertThrows(IllegalStateException.class, () -> schedulerLeaseService.runWithLease(TASK_NAME, task));
+
+        // Then
+        verify(schedulerLeaseRepository).releaseLease(eq(TASK_NAME), eq(LEASE_OWNER), any(OffsetDateTime.class));
+    }
+
+    @Test
+    void runWithLease_disabled() {
+        // Given
+        ReflectionTestUtils.setField(schedulerLeaseService, "enabled", false);
+
+        // When
+        boolean actual = schedulerLeaseService.runWithLease(TASK_NAME, task);
+
+        // Then
+        assertTrue(actual);
+        verify(task).run();
+        verifyNoInteractions(schedulerLeaseRepository);
+    }
+}
@@ -46,6 +46,24 @@ public interface CmsAspspAisExportService {
                                                          @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
                                                          @Nullable PsuIdData psuIdData, @NotNull String instanceId);
 
+    /**
+     * Returns page of consents by given criteria, ordered by their internal identifiers.
+     *
+     * @param tppAuthorisationNumber Mandatory TPP ID
+     * @param createDateFrom         Optional starting creation date criteria
+     * @param createDateTo           Optional ending creation date criteria
+     * @param psuIdData              Optional Psu information criteria
+     * @param instanceId             Mandatory id of particular service instance
+     * @param pageIndex              Optional index of the page, starting from 0 (0 by default). Requires itemsPerPage
+     * @param itemsPerPage           Optional maximum number of consents in the page. All consents are returned, if not set
+     * @return Collection of consents for TPP by given criteria.
+     * By inconsistent criteria or page parameters an empty list will be returned
+     */
+    Collection<CmsAisAccountConsent> exportConsentsByTpp(String tppAuthorisationNumber,
+                                                         @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                                         @Nullable PsuIdData psuIdData, @NotNull String instanceId,
+                                                         @Nullable Integer pageIndex, @Nullable Integer itemsPerPage);
+
     /**
      * Returns list of consents by given criteria.
      *
@@ -62,6 +80,23 @@ public interface CmsAspspAisExportService {
                                                          @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
                                                          @NotNull String instanceId);
 
+    /**
+     * Returns page of consents by given criteria, ordered by their internal identifiers.
+     *
+     * @param psuIdData      Mandatory Psu information criteria
+     * @param createDateFrom Optional starting creation date criteria
+     * @param createDateTo   Optional ending creation date criteria
+     * @param instanceId     Mandatory id of particular service instance
+     * @param pageIndex      Optional index of the page, starting from 0 (0 by default). Requires itemsPerPage
+     * @param itemsPerPage   Optional maximum number of consents in the page. All consents are returned, if not set
+     * @return Collection of consents for PSU by given criteria.
+     * By inconsistent criteria or page parameters an empty list will be returned
+     */
+    Collection<CmsAisAccountConsent> exportConsentsByPsu(PsuIdData psuIdData,
+                                                         @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                                         @NotNull String instanceId,
+                                                         @Nullable Integer pageIndex, @Nullable Integer itemsPerPage);
+
     /**
      * Returns list of consents by given criteria.
      *
@@ -77,4 +112,21 @@ public interface CmsAspspAisExportService {
     Collection<CmsAisAccountConsent> exportConsentsByAccountId(@NotNull String aspspAccountId,
                                                                @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
                                                                @NotNull String instanceId);
+
+    /**
+     * Returns page of consents by given criteria, ordered by their internal identifiers.
+     *
+     * @param aspspAccountId Bank specific account identifier
+     * @param createDateFrom Optional starting creation date criteria
+     * @param createDateTo   Optional ending creation date criteria
+     * @param instanceId     Mandatory id of particular service instance
+     * @param pageIndex      Optional index of the page, starting from 0 (0 by default). Requires itemsPerPage
+     * @param itemsPerPage   Optional maximum number of consents in the page. All consents are returned, if not set
+     * @return Collection of consents for PSU by given criteria.
+     * By inconsistent criteria or page parameters an empty list will be returned
+     */
+    Collection<CmsAisAccountConsent> exportConsentsByAccountId(@NotNull String aspspAccountId,
+                                                               @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                                               @NotNull String instanceId,
+                                                               @Nullable Integer pageIndex, @Nullable Integer itemsPerPage);
 }
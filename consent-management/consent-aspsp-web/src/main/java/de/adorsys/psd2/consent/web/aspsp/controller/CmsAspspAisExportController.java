@@ -62,9 +62,13 @@ public class CmsAspspAisExportController {
         @ApiParam(value = "Might be mandated in the ASPSP's documentation. Only used in a corporate context. ")
         @RequestHeader(value = "psu-corporate-id-type", required = false) String psuCorporateIdType,
         @ApiParam(value = "ID of the particular service instance")
-        @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId) {
+        @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId,
+        @ApiParam(value = "Index of the page, starting from 0. Requires itemsPerPage", example = "0")
+        @RequestParam(value = "pageIndex", required = false) Integer pageIndex,
+        @ApiParam(value = "Maximum number of consents in the page. All consents are returned, if not set", example = "20")
+        @RequestParam(value = "itemsPerPage", required = false) Integer itemsPerPage) {
         PsuIdData psuIdData = new PsuIdData(psuId, psuIdType, psuCorporateId, psuCorporateIdType, null);
-        Collection<CmsAisAccountConsent> consents = cmsAspspAisExportService.exportConsentsByTpp(tppId, start, end, psuIdData, instanceId);
+        Collection<CmsAisAccountConsent> consents = cmsAspspAisExportService.exportConsentsByTpp(tppId, start, end, psuIdData, instanceId, pageIndex, itemsPerPage);
         return new ResponseEntity<>(consents, HttpStatus.OK);
     }
 
@@ -88,9 +92,13 @@ public class CmsAspspAisExportController {
         @ApiParam(value = "Might be mandated in the ASPSP's documentation. Only used in a corporate context. ")
         @RequestHeader(value = "psu-corporate-id-type", required = false) String psuCorporateIdType,
         @ApiParam(value = "ID of the particular service instance")
-        @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId) {
+        @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId,
+        @ApiParam(value = "Index of the page, starting from 0. Requires itemsPerPage", example = "0")
+        @RequestParam(value = "pageIndex", required = false) Integer pageIndex,
+        @ApiParam(value = "Maximum number of consents in the page. All consents are returned, if not set", example = "20")
+        @RequestParam(value = "itemsPerPage", required = false) Integer itemsPerPage) {
         PsuIdData psuIdData = new PsuIdData(psuId, psuIdType, psuCorporateId, psuCorporateIdType, null);
-        Collection<CmsAisAccountConsent> consents = cmsAspspAisExportService.exportConsentsByPsu(psuIdData, start, end, instanceId);
+        Collection<CmsAisAccountConsent> consents = cmsAspspAisExportService.exportConsentsByPsu(psuIdData, start, end, instanceId, pageIndex, itemsPerPage);
         return new ResponseEntity<>(consents, HttpStatus.OK);
     }
 
@@ -109,8 +117,12 @@ public class CmsAspspAisExportController {
         @RequestHeader(value = "end-date", required = false)
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
         @ApiParam(value = "ID of the particular service instance")
-        @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId) {
-        Collection<CmsAisAccountConsent> consents = cmsAspspAisExportService.exportConsentsByAccountId(aspspAccountId, start, end, instanceId);
+        @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId,
+        @ApiParam(value = "Index of the page, starting from 0. Requires itemsPerPage", example = "0")
+        @RequestParam(value = "pageIndex", required = false) Integer pageIndex,
+        @ApiParam(value = "Maximum number of consents in the page. All consents are returned, if not set", example = "20")
+        @RequestParam(value = "itemsPerPage", required = false) Integer itemsPerPage) {
+        Collection<CmsAisAccountConsent> consents = cmsAspspAisExportService.exportConsentsByAccountId(aspspAccountId, start, end, instanceId, pageIndex, itemsPerPage);
         return new ResponseEntity<>(consents, HttpStatus.OK);
     }
 }
@@ -18,9 +18,16 @@ package de.adorsys.psd2.consent.web.aspsp.controller;
 
 import de.adorsys.psd2.consent.web.aspsp.config.CmsAspspApiTagName;
 import de.adorsys.psd2.event.service.AspspEventService;
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventFilter;
+import de.adorsys.psd2.event.service.model.AspspEventPage;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import io.swagger.annotations.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,15 +36,27 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "aspsp-api/v1/events")
 @Api(value = "aspsp-api/v1/events", tags = CmsAspspApiTagName.ASPSP_EVENTS)
 public class CmsAspspEventController {
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final byte NDJSON_DELIMITER = '\n';
+
     private final AspspEventService aspspEventService;
+    private final Xs2aObjectMapper xs2aObjectMapper;
+
+    @Value("${event.report.max-page-size:1000}")
+    private int maxPageSize;
 
     @GetMapping(path = "/")
     @ApiOperation(value = "Returns a list of Event objects between two dates")
@@ -55,4 +74,101 @@ public class CmsAspspEventController {
         List<AspspEvent> events = aspspEventService.getEventsForPeriod(start, end, instanceId);
         return new ResponseEntity<>(events, HttpStatus.OK);
     }
+
+    @GetMapping(path = "/page")
+    @ApiOperation(value = "Returns a page of Event objects between two dates, matching given criteria")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request")})
+    public ResponseEntity<AspspEventPage> getEventsPage(
+        @ApiParam(value = "Start date", example = "2010-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "start-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime start,
+        @ApiParam(value = "End date", example = "2030-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "end-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime end,
+        @ApiParam(value = "Bank instance ID")
+        @RequestHeader(value = "instance-id", required = false, defaultValue = "UNDEFINED") String instanceId,
+        @ApiParam(value = "ID of the consent")
+        @RequestHeader(value = "consent-id", required = false) String consentId,
+        @ApiParam(value = "ID of the payment")
+        @RequestHeader(value = "payment-id", required = false) String paymentId,
+        @ApiParam(value = "Type of the events")
+        @RequestHeader(value = "event-type", required = false) EventType eventType,
+        @ApiParam(value = "Origin of the events")
+        @RequestHeader(value = "event-origin", required = false) EventOrigin eventOrigin,
+        @ApiParam(value = "Key of the page, returned with the previous page. Not set for the first page")
+        @RequestHeader(value = "page-key", required = false) String pageKey,
+        @ApiParam(value = "Maximum number of events in the page, from 1 to configured maximum (1000 by default)", example = "100")
+        @RequestHeader(value = "page-size", required = false, defaultValue = "100") int pageSize) {
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            log.info("Couldn't get page of events: page size {} is out of range 1..{}", pageSize, maxPageSize);
+            return ResponseEntity.badRequest().build();
+        }
+
+        AspspEventFilter filter = buildFilter(start, end, instanceId, consentId, paymentId, eventType, eventOrigin);
+        try {
+            return new ResponseEntity<>(aspspEventService.getEventsPage(filter, pageKey, pageSize), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.info("Couldn't get page of events: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(path = "/export", produces = NDJSON_CONTENT_TYPE)
+    @ApiOperation(value = "Exports Event objects between two dates, matching given criteria, as newline delimited JSON")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK")})
+    public void exportEvents(
+        @ApiParam(value = "Start date", example = "2010-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "start-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime start,
+        @ApiParam(value = "End date", example = "2030-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "end-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime end,
+        @ApiParam(value = "Bank instance ID")
+        @RequestHeader(value = "instance-id", required = false, defaultValue = "UNDEFINED") String instanceId,
+        @ApiParam(value = "ID of the consent")
+        @RequestHeader(value = "consent-id", required = false) String consentId,
+        @ApiParam(value = "ID of the payment")
+        @RequestHeader(value = "payment-id", required = false) String paymentId,
+        @ApiParam(value = "Type of the events")
+        @RequestHeader(value = "event-type", required = false) EventType eventType,
+        @ApiParam(value = "Origin of the events")
+        @RequestHeader(value = "event-origin", required = false) EventOrigin eventOrigin,
+        HttpServletResponse response) throws IOException {
+        AspspEventFilter filter = buildFilter(start, end, instanceId, consentId, paymentId, eventType, eventOrigin);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        ServletOutputStream outputStream = response.getOutputStream();
+        try {
+            aspspEventService.streamEvents(filter, event -> writeEvent(outputStream, event));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+    }
+
+    private void writeEvent(ServletOutputStream outputStream, AspspEvent event) {
+        try {
+            outputStream.write(xs2aObjectMapper.writeValueAsBytes(event));
+            outputStream.write(NDJSON_DELIMITER);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AspspEventFilter buildFilter(OffsetDateTime start, OffsetDateTime end, String instanceId, String consentId,
+                                         String paymentId, EventType eventType, EventOrigin eventOrigin) {
+        return AspspEventFilter.builder()
+                   .start(start)
+                   .end(end)
+                   .instanceId(instanceId)
+                   .consentId(consentId)
+                   .paymentId(paymentId)
+                   .eventType(eventType)
+                   .eventOrigin(eventOrigin)
+                   .build();
+    }
 }
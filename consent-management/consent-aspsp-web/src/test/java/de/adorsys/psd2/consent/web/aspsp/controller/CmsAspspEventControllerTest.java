@@ -19,6 +19,9 @@ package de.adorsys.psd2.consent.web.aspsp.controller;
 import de.adorsys.psd2.consent.web.aspsp.config.ObjectMapperTestConfig;
 import de.adorsys.psd2.event.service.AspspEventService;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventFilter;
+import de.adorsys.psd2.event.service.model.AspspEventPage;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,17 +31,21 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class CmsAspspEventControllerTest {
 
@@ -47,6 +54,13 @@ class CmsAspspEventControllerTest {
     private static final String INSTANCE_ID = "UNDEFINED";
     private static final String EVENT_LIST_PATH = "json/list-aspsp-event.json";
     private static final String GET_ASPSP_EVENT_LIST_URL = "/aspsp-api/v1/events/";
+    private static final String GET_ASPSP_EVENT_PAGE_URL = "/aspsp-api/v1/events/page";
+    private static final String EXPORT_ASPSP_EVENTS_URL = "/aspsp-api/v1/events/export";
+    private static final String CONSENT_ID = "consent id";
+    private static final String PAGE_KEY = "page key";
+    private static final String NEXT_PAGE_KEY = "next page key";
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 1000;
 
     @Mock
     private AspspEventService aspspEventService;
@@ -55,10 +69,12 @@ class CmsAspspEventControllerTest {
     private HttpHeaders httpHeaders = new HttpHeaders();
     private MockMvc mockMvc;
     private List<AspspEvent> events;
+    private Xs2aObjectMapper xs2aObjectMapper;
 
     @BeforeEach
     void setUp() {
         ObjectMapperTestConfig objectMapperTestConfig = new ObjectMapperTestConfig();
+        xs2aObjectMapper = objectMapperTestConfig.getXs2aObjectMapper();
 
         AspspEvent event = jsonReader.getObjectFromFile("json/aspsp-event.json", AspspEvent.class);
         events = Collections.singletonList(event);
@@ -67,9 +83,11 @@ class CmsAspspEventControllerTest {
         httpHeaders.add("end-date", END);
 
         MockitoAnnotations.initMocks(this);
+        CmsAspspEventController controller = new CmsAspspEventController(aspspEventService, xs2aObjectMapper);
+        ReflectionTestUtils.setField(controller, "maxPageSize", MAX_PAGE_SIZE);
         mockMvc = MockMvcBuilders
-                      .standaloneSetup(new CmsAspspEventController(aspspEventService))
-                      .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapperTestConfig.getXs2aObjectMapper()))
+                      .standaloneSetup(controller)
+                      .setMessageConverters(new MappingJackson2HttpMessageConverter(xs2aObjectMapper))
                       .build();
     }
 
@@ -103,4 +121,85 @@ class CmsAspspEventControllerTest {
 
         verify(aspspEventService, times(1)).getEventsForPeriod(eq(OffsetDateTime.parse(START)), eq(OffsetDateTime.parse(END)), eq(INSTANCE_ID));
     }
+
+    @Test
+    void getEventsPage_success() throws Exception {
+        AspspEventFilter filter = buildFilter(CONSENT_ID);
+        when(aspspEventService.getEventsPage(filter, PAGE_KEY, PAGE_SIZE))
+            .thenReturn(new AspspEventPage(events, NEXT_PAGE_KEY));
+
+        mockMvc.perform(get(GET_ASPSP_EVENT_PAGE_URL)
+                            .headers(httpHeaders)
+                            .header("consent-id", CONSENT_ID)
+                            .header("page-key", PAGE_KEY)
+                            .header("page-size", PAGE_SIZE))
+            .andExpect(status().is(HttpStatus.OK.value()))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.nextPageKey").value(NEXT_PAGE_KEY))
+            .andExpect(content().json("{\"events\":" + jsonReader.getStringFromFile(EVENT_LIST_PATH) + "}"));
+    }
+
+    @Test
+    void getEventsPage_invalidPageKey() throws Exception {
+        AspspEventFilter filter = buildFilter(null);
+        when(aspspEventService.getEventsPage(filter, PAGE_KEY, 100))
+            .thenThrow(new IllegalArgumentException("Invalid page key"));
+
+        mockMvc.perform(get(GET_ASPSP_EVENT_PAGE_URL)
+                            .headers(httpHeaders)
+                            .header("page-key", PAGE_KEY))
+            .andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @Test
+    void getEventsPage_nonPositivePageSize() throws Exception {
+        mockMvc.perform(get(GET_ASPSP_EVENT_PAGE_URL)
+                            .headers(httpHeaders)
+                            .header("page-size", 0))
+            .andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+
+        verify(aspspEventService, never()).getEventsPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getEventsPage_tooLargePageSize() throws Exception {
+        mockMvc.perform(get(GET_ASPSP_EVENT_PAGE_URL)
+                            .headers(httpHeaders)
+                            .header("page-size", MAX_PAGE_SIZE + 1))
+            .andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+
+        verify(aspspEventService, never()).getEventsPage(any(), any(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportEvents_success() throws Exception {
+        AspspEventFilter filter = buildFilter(null);
+        doAnswer(invocation -> {
+            Consumer<AspspEvent> consumer = invocation.getArgument(1);
+            events.forEach(consumer);
+            events.forEach(consumer);
+            return null;
+        }).when(aspspEventService).streamEvents(eq(filter), any(Consumer.class));
+
+        String response = mockMvc.perform(get(EXPORT_ASPSP_EVENTS_URL)
+                                              .headers(httpHeaders))
+                              .andExpect(status().is(HttpStatus.OK.value()))
+                              .andExpect(content().contentType("application/x-ndjson"))
+                              .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(events.get(0), xs2aObjectMapper.readValue(lines[0], AspspEvent.class));
+        assertEquals(events.get(0), xs2aObjectMapper.readValue(lines[1], AspspEvent.class));
+    }
+
+    private AspspEventFilter buildFilter(String consentId) {
+        return AspspEventFilter.builder()
+                   .start(OffsetDateTime.parse(START))
+                   .end(OffsetDateTime.parse(END))
+                   .instanceId(INSTANCE_ID)
+                   .consentId(consentId)
+                   .build();
+    }
 }
@@ -17,15 +17,18 @@
 package de.adorsys.psd2.consent.config;
 
 import de.adorsys.psd2.consent.repository.CryptoAlgorithmRepository;
+import de.adorsys.psd2.consent.service.security.DecryptedIdCache;
 import de.adorsys.psd2.consent.service.security.provider.CryptoInstanceFactory;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -40,9 +43,33 @@ public class CryptoConfig {
     @Value("${encryption.defaultProvider.idProvider:psGLvQpt9Q}")
     private String defaultIdProviderId;
 
+    @Value("${encryption.key-cache.max-size:1000}")
+    private int keyCacheMaxSize;
+
+    @Value("${encryption.key-cache.ttl-seconds:3600}")
+    private long keyCacheTtlSeconds;
+
+    @Value("${encryption.id-cache.max-size:0}")
+    private int idCacheMaxSize;
+
+    @Value("${encryption.id-cache.ttl-seconds:300}")
+    private long idCacheTtlSeconds;
+
+    @Bean
+    public DerivedKeyCache derivedKeyCache() {
+        log.info("Derived key cache is initialized: max size {}, TTL {} seconds", keyCacheMaxSize, keyCacheTtlSeconds);
+        return new DerivedKeyCache(keyCacheMaxSize, Duration.ofSeconds(keyCacheTtlSeconds));
+    }
+
+    @Bean
+    public DecryptedIdCache decryptedIdCache() {
+        log.info("Decrypted ID cache is initialized: max size {}, TTL {} seconds", idCacheMaxSize, idCacheTtlSeconds);
+        return new DecryptedIdCache(idCacheMaxSize, Duration.ofSeconds(idCacheTtlSeconds));
+    }
+
     @Bean
-    public CryptoProviderHolder initCryptoProviders(CryptoAlgorithmRepository cryptoAlgorithmRepository) {
-        Map<String, CryptoProvider> providerMap = getInitializedProviderMap(cryptoAlgorithmRepository);
+    public CryptoProviderHolder initCryptoProviders(CryptoAlgorithmRepository cryptoAlgorithmRepository, DerivedKeyCache derivedKeyCache) {
+        Map<String, CryptoProvider> providerMap = getInitializedProviderMap(cryptoAlgorithmRepository, derivedKeyCache);
         CryptoProviderHolder cryptoProviderHolder = new CryptoProviderHolder(providerMap, defaultDataProviderId, defaultIdProviderId);
 
         validateDefaultProviders(cryptoProviderHolder.getDefaultDataProvider(), cryptoProviderHolder.getDefaultIdProvider());
@@ -54,22 +81,22 @@ public class CryptoConfig {
         return cryptoProviderHolder;
     }
 
-    private Map<String, CryptoProvider> getInitializedProviderMap(CryptoAlgorithmRepository cryptoAlgorithmRepository) {
+    private Map<String, CryptoProvider> getInitializedProviderMap(CryptoAlgorithmRepository cryptoAlgorithmRepository, DerivedKeyCache derivedKeyCache) {
         return StreamSupport.stream(cryptoAlgorithmRepository.findAll().spliterator(), false)
                    .filter(crp -> StringUtils.isNotBlank(crp.getEncryptorClass())
                                       && !crp.getEncryptorClass().equals("UNDEFINED"))
-                   .map(crp -> getCryptoProviderInstance(crp.getEncryptorClass(), crp.getCryptoProviderId(), crp.getEncryptorParams()))
+                   .map(crp -> getCryptoProviderInstance(crp.getEncryptorClass(), crp.getCryptoProviderId(), crp.getEncryptorParams(), derivedKeyCache))
                    .filter(Objects::nonNull)
                    .collect(Collectors.toMap(CryptoProvider::getCryptoProviderId, crp -> crp));
     }
 
-    private CryptoProvider getCryptoProviderInstance(String factoryClassName, String cryptoProviderId, String params) {
+    private CryptoProvider getCryptoProviderInstance(String factoryClassName, String cryptoProviderId, String params, DerivedKeyCache derivedKeyCache) {
         try {
             Class factoryClass = Class.forName(factoryClassName);
             Object factoryImpl = factoryClass.newInstance();
 
             if (factoryImpl instanceof CryptoInstanceFactory) {
-                return ((CryptoInstanceFactory) factoryImpl).initProvider(cryptoProviderId, params);
+                return ((CryptoInstanceFactory) factoryImpl).initProvider(cryptoProviderId, params, derivedKeyCache);
             }
         } catch (Exception ex) {
             log.info("Error creation {} factory: ", factoryClassName, ex);
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.config;
+
+import de.adorsys.psd2.consent.service.PiisConsentLookupCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class PiisConsentConfig {
+    @Value("${consent.piis.lookup-cache.max-size:0}")
+    private int lookupCacheMaxSize;
+
+    @Value("${consent.piis.lookup-cache.ttl-seconds:5}")
+    private long lookupCacheTtlSeconds;
+
+    @Bean
+    public PiisConsentLookupCache piisConsentLookupCache() {
+        log.info("PIIS consent lookup cache is initialized: max size {}, TTL {} seconds", lookupCacheMaxSize, lookupCacheTtlSeconds);
+        return new PiisConsentLookupCache(lookupCacheMaxSize, Duration.ofSeconds(lookupCacheTtlSeconds));
+    }
+}
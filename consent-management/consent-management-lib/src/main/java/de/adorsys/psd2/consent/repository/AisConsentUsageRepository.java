@@ -19,16 +19,35 @@ package de.adorsys.psd2.consent.repository;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import javax.persistence.LockModeType;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 public interface AisConsentUsageRepository extends CrudRepository<AisConsentUsage, Long> {
-    @Lock(value = LockModeType.OPTIMISTIC_FORCE_INCREMENT)
-    Optional<AisConsentUsage> findWriteByConsentAndUsageDateAndRequestUri(ConsentEntity aisConsent, LocalDate usageDate, String requestUri);
+    /**
+     * Increments usage of the consent for given date and request URI in single update statement, so concurrent requests
+     * wait for each other on the row lock instead of failing on optimistic lock
+     *
+     * @return number of updated rows, 0 if there is no usage for given date and request URI yet
+     */
+    @Modifying
+    @Query(
+        "update consent_usage u " +
+            "set u.usage = u.usage + 1, u.version = u.version + 1, u.resourceId = :resourceId, u.transactionId = :transactionId " +
+            "where u.consent = :consent " +
+            "and u.usageDate = :usageDate " +
+            "and u.requestUri = :requestUri"
+    )
+    int incrementUsage(@Param("consent") ConsentEntity aisConsent,
+                       @Param("usageDate") LocalDate usageDate,
+                       @Param("requestUri") String requestUri,
+                       @Param("resourceId") String resourceId,
+                       @Param("transactionId") String transactionId);
 
     @Lock(value = LockModeType.OPTIMISTIC)
     List<AisConsentUsage> findReadByConsentAndUsageDate(ConsentEntity aisConsent, LocalDate usageDate);
@@ -37,4 +37,7 @@ public interface AuthorisationRepository extends CrudRepository<AuthorisationEnt
 
     List<AuthorisationEntity> findAllByParentExternalIdAndAuthorisationTypeIn(String parentExternalId,
                                                                               Set<AuthorisationType> authorisationTypes);
+
+    List<AuthorisationEntity> findAllByParentExternalIdInAndAuthorisationTypeIn(Set<String> parentExternalIds,
+                                                                                Set<AuthorisationType> authorisationTypes);
 }
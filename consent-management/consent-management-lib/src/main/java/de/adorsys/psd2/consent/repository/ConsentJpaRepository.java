@@ -18,12 +18,18 @@ package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -33,6 +39,10 @@ public interface ConsentJpaRepository extends CrudRepository<ConsentEntity, Long
 
     Optional<ConsentEntity> findByExternalId(String externalId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from consent c where c.id = :id")
+    Optional<ConsentEntity> findAndLockById(@Param("id") Long id);
+
     @Query(
         "select c from consent c " +
             "join c.psuDataList psuList " +
@@ -57,4 +67,31 @@ public interface ConsentJpaRepository extends CrudRepository<ConsentEntity, Long
     )
     List<ConsentEntity> findUsedNonRecurringConsents(@Param("consentStatuses") Set<ConsentStatus> consentStatuses,
                                                      @Param("currentDate") LocalDate currentDate);
+
+    @Query(
+        "select c.id from consent c " +
+            "where c.consentStatus in :consentStatuses " +
+            "and c.validUntil < :currentDate " +
+            "and c.id > :lastId " +
+            "order by c.id"
+    )
+    List<Long> findExpiredByDateConsentIds(@Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                                           @Param("currentDate") LocalDate currentDate,
+                                           @Param("lastId") Long lastId,
+                                           Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query(
+        "update consent c " +
+            "set c.consentStatus = :newStatus, c.expireDate = :currentDate, c.statusChangeTimestamp = :statusChangeTimestamp " +
+            "where c.id in :ids " +
+            "and c.consentStatus in :consentStatuses " +
+            "and c.validUntil < :currentDate"
+    )
+    int expireByDateConsents(@Param("ids") List<Long> ids,
+                             @Param("consentStatuses") Set<ConsentStatus> consentStatuses,
+                             @Param("newStatus") ConsentStatus newStatus,
+                             @Param("currentDate") LocalDate currentDate,
+                             @Param("statusChangeTimestamp") OffsetDateTime statusChangeTimestamp);
 }
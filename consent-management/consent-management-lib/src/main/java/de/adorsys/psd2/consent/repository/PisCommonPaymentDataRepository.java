@@ -18,9 +18,17 @@ package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -31,4 +39,32 @@ public interface PisCommonPaymentDataRepository extends CrudRepository<PisCommon
     Optional<PisCommonPaymentData> findByPaymentId(String paymentId);
 
     List<PisCommonPaymentData> findByTransactionStatusIn(Set<TransactionStatus> statuses);
+
+    @Query(
+        "select p.id from pis_common_payment p " +
+            "where p.transactionStatus in :transactionStatuses " +
+            "and p.creationTimestamp < :creationTimestamp " +
+            "and p.id > :lastId " +
+            "order by p.id"
+    )
+    List<Long> findIdsByTransactionStatusInAndCreationTimestampBefore(@Param("transactionStatuses") Set<TransactionStatus> transactionStatuses,
+                                                                      @Param("creationTimestamp") OffsetDateTime creationTimestamp,
+                                                                      @Param("lastId") Long lastId,
+                                                                      Pageable pageable);
+
+    /**
+     * Selects payments and locks them for update. Rows, already locked by other transactions, are skipped
+     * ("-2" is Hibernate's value of SKIP_LOCKED lock timeout) on databases supporting it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select p from pis_common_payment p " +
+            "where p.id in :ids " +
+            "and p.transactionStatus in :transactionStatuses " +
+            "and p.creationTimestamp < :creationTimestamp"
+    )
+    List<PisCommonPaymentData> findAndLockByIdInAndTransactionStatusInAndCreationTimestampBefore(@Param("ids") List<Long> ids,
+                                                                                               @Param("transactionStatuses") Set<TransactionStatus> transactionStatuses,
+                                                                                               @Param("creationTimestamp") OffsetDateTime creationTimestamp);
 }
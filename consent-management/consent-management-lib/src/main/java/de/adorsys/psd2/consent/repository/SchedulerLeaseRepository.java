@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.SchedulerLeaseEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+public interface SchedulerLeaseRepository extends CrudRepository<SchedulerLeaseEntity, String> {
+
+    @Transactional
+    @Modifying
+    @Query(
+        "update scheduler_lease l " +
+            "set l.leaseOwner = :leaseOwner, l.leaseUntil = :leaseUntil " +
+            "where l.taskName = :taskName " +
+            "and (l.leaseUntil < :currentTimestamp or l.leaseOwner = :leaseOwner)"
+    )
+    int acquireLease(@Param("taskName") String taskName,
+                     @Param("leaseOwner") String leaseOwner,
+                     @Param("currentTimestamp") OffsetDateTime currentTimestamp,
+                     @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query(
+        "update scheduler_lease l " +
+            "set l.leaseUntil = :leaseUntil " +
+            "where l.taskName = :taskName " +
+            "and l.leaseOwner = :leaseOwner"
+    )
+    int releaseLease(@Param("taskName") String taskName,
+                     @Param("leaseOwner") String leaseOwner,
+                     @Param("leaseUntil") OffsetDateTime leaseUntil);
+}
@@ -18,12 +18,18 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.service.AccountService;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
+import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
 import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -40,6 +46,9 @@ import static de.adorsys.psd2.consent.api.CmsError.TECHNICAL_ERROR;
 public class AisConsentServiceInternalEncrypted implements AisConsentServiceEncrypted {
     private final SecurityDataService securityDataService;
     private final AisConsentService aisConsentService;
+    private final ConsentService consentService;
+    private final AccountService accountService;
+    private final AspspDataService aspspDataService;
 
     @Override
     @Transactional(rollbackFor = WrongChecksumException.class)
@@ -54,14 +63,55 @@ public class AisConsentServiceInternalEncrypted implements AisConsentServiceEncr
                        .build();
         }
 
-        AisConsentActionRequest decryptedRequest = new AisConsentActionRequest(encryptedRequest.getTppId(),
-                                                                               decryptedConsentId.get(),
-                                                                               encryptedRequest.getActionStatus(),
-                                                                               encryptedRequest.getRequestUri(),
-                                                                               encryptedRequest.isUpdateUsage(),
-                                                                               encryptedRequest.getResourceId(),
-                                                                               encryptedRequest.getTransactionId());
-        return aisConsentService.checkConsentAndSaveActionLog(decryptedRequest);
+        return aisConsentService.checkConsentAndSaveActionLog(decryptActionRequest(encryptedRequest, decryptedConsentId.get()));
+    }
+
+    @Override
+    @Transactional
+    public CmsResponse<CmsAisConsentAccess> getConsentForAccess(String encryptedConsentId) {
+        Optional<String> decryptedConsentId = securityDataService.decryptId(encryptedConsentId);
+        if (!decryptedConsentId.isPresent()) {
+            log.info("Encrypted Consent ID: [{}]. Get consent for access failed, couldn't decrypt consent id",
+                     encryptedConsentId);
+            return CmsResponse.<CmsAisConsentAccess>builder()
+                       .error(TECHNICAL_ERROR)
+                       .build();
+        }
+
+        CmsResponse<CmsConsent> consentResponse = consentService.getConsentById(decryptedConsentId.get());
+        if (consentResponse.hasError()) {
+            return CmsResponse.<CmsAisConsentAccess>builder()
+                       .error(consentResponse.getError())
+                       .build();
+        }
+
+        byte[] aspspConsentData = aspspDataService.readAspspConsentData(encryptedConsentId)
+                                      .map(AspspConsentData::getAspspConsentData)
+                                      .orElse(null);
+        return CmsResponse.<CmsAisConsentAccess>builder()
+                   .payload(new CmsAisConsentAccess(consentResponse.getPayload(), aspspConsentData))
+                   .build();
+    }
+
+    @Override
+    @Transactional(rollbackFor = WrongChecksumException.class)
+    public CmsResponse<CmsResponse.VoidResponse> commitConsentAccess(AisConsentAccessCommitRequest request) throws WrongChecksumException {
+        AisConsentActionRequest encryptedRequest = request.getActionRequest();
+        String consentId = encryptedRequest.getConsentId();
+        Optional<String> decryptedConsentId = securityDataService.decryptId(consentId);
+        if (!decryptedConsentId.isPresent()) {
+            log.info("Encrypted Consent ID: [{}]. Commit consent access failed, couldn't decrypt consent id",
+                     consentId);
+            return CmsResponse.<CmsResponse.VoidResponse>builder()
+                       .error(TECHNICAL_ERROR)
+                       .build();
+        }
+
+        if (request.getNumberOfTransactions() != null) {
+            accountService.saveNumberOfTransactions(decryptedConsentId.get(), encryptedRequest.getResourceId(), request.getNumberOfTransactions());
+        }
+
+        return aisConsentService.checkConsentAndSaveActionLog(decryptActionRequest(encryptedRequest, decryptedConsentId.get()));
     }
 
     @Override
@@ -79,4 +129,14 @@ public class AisConsentServiceInternalEncrypted implements AisConsentServiceEncr
 
         return aisConsentService.updateAspspAccountAccess(decryptIdOptional.get(), request);
     }
+
+    private AisConsentActionRequest decryptActionRequest(AisConsentActionRequest encryptedRequest, String decryptedConsentId) {
+        return new AisConsentActionRequest(encryptedRequest.getTppId(),
+                                           decryptedConsentId,
+                                           encryptedRequest.getActionStatus(),
+                                           encryptedRequest.getRequestUri(),
+                                           encryptedRequest.isUpdateUsage(),
+                                           encryptedRequest.getResourceId(),
+                                           encryptedRequest.getTransactionId());
+    }
 }
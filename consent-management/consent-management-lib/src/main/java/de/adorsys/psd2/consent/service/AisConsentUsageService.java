@@ -20,10 +20,13 @@ import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -33,14 +36,36 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AisConsentUsageService {
     private final AisConsentUsageRepository aisConsentUsageRepository;
+    private final ConsentJpaRepository consentJpaRepository;
+    private final EntityManager entityManager;
 
+    /**
+     * Increments today's usage of the consent for the request URI.
+     * <p>
+     * Existing usage is incremented by single update statement, so parallel requests of the TPP don't lose updates or
+     * fail on optimistic lock. Creation of the first usage of the day is serialised by the lock on the consent row.
+     *
+     * @param consent consent to be used
+     * @param request action request with request URI, resource ID and transaction ID
+     */
     @Transactional
     public void incrementUsage(ConsentEntity consent, AisConsentActionRequest request) {
-        AisConsentUsage aisConsentUsage = getUsage(consent, request.getRequestUri());
-        int usage = aisConsentUsage.getUsage();
-        aisConsentUsage.setUsage(++usage);
+        LocalDate usageDate = LocalDate.now();
+        if (incrementStoredUsage(consent, usageDate, request)) {
+            return;
+        }
+
+        consentJpaRepository.findAndLockById(consent.getId());
+        if (incrementStoredUsage(consent, usageDate, request)) {
+            return;
+        }
+
+        AisConsentUsage aisConsentUsage = new AisConsentUsage(consent, request.getRequestUri());
+        aisConsentUsage.setUsageDate(usageDate);
+        aisConsentUsage.setUsage(1);
         aisConsentUsage.setResourceId(request.getResourceId());
         aisConsentUsage.setTransactionId(request.getTransactionId());
+        consent.addUsage(aisConsentUsage);
         aisConsentUsageRepository.save(aisConsentUsage);
     }
 
@@ -59,12 +84,30 @@ public class AisConsentUsageService {
                                              u -> Math.max(consent.getFrequencyPerDay() - u.getUsage(), 0)));
     }
 
-    private AisConsentUsage getUsage(ConsentEntity consent, String requestUri) {
-        return aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(consent, LocalDate.now(), requestUri)
-                   .orElseGet(() -> {
-                       AisConsentUsage usage = new AisConsentUsage(consent, requestUri);
-                       consent.addUsage(usage);
-                       return usage;
-                   });
+    private boolean incrementStoredUsage(ConsentEntity consent, LocalDate usageDate, AisConsentActionRequest request) {
+        int updatedRows = aisConsentUsageRepository.incrementUsage(consent, usageDate, request.getRequestUri(),
+                                                                   request.getResourceId(), request.getTransactionId());
+        if (updatedRows == 0) {
+            return false;
+        }
+
+        refreshLoadedUsage(consent, usageDate, request.getRequestUri());
+        return true;
+    }
+
+    /**
+     * Reloads the usage, if it has already been loaded with the consent, as update statement bypasses the persistence
+     * context and subsequent reads would return stale counter and version
+     */
+    private void refreshLoadedUsage(ConsentEntity consent, LocalDate usageDate, String requestUri) {
+        List<AisConsentUsage> usages = consent.getUsages();
+        if (usages == null || !Hibernate.isInitialized(usages)) {
+            return;
+        }
+
+        usages.stream()
+            .filter(u -> usageDate.equals(u.getUsageDate()) && requestUri.equals(u.getRequestUri()))
+            .filter(entityManager::contains)
+            .forEach(entityManager::refresh);
     }
 }
@@ -26,18 +26,30 @@ import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.*;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CorePaymentsConvertService {
+    private static final byte ENCODED_PAYMENT_MARKER = 0;
+    private static final byte ENCODED_PAYMENT_VERSION = 1;
+    private static final int ENCODED_PAYMENT_HEADER_LENGTH = 6;
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
     private final CmsCorePaymentMapper cmsCorePaymentMapper;
     private final Xs2aObjectMapper xs2aObjectMapper;
     private final CmsCommonPaymentMapper cmsCommonPaymentMapper;
 
+    @Value("${payment.data.compression-threshold:-1}")
+    private int compressionThreshold = -1;
+
     public byte[] buildPaymentData(List<PisPayment> pisPayments, PaymentType paymentType) {
         switch (paymentType) {
             case SINGLE:
@@ -64,6 +76,83 @@ public class CorePaymentsConvertService {
         }
     }
 
+    /**
+     * Encodes payment data to be stored in the CMS.
+     * <p>
+     * Payment data not shorter than configured threshold is compressed and prefixed with a header of zero marker byte,
+     * format version and length of the payment data. Zero byte never starts JSON or XML payment, so stored data without
+     * the header is considered to be plain payment data. Data is stored as is, if compression is disabled or doesn't
+     * make it shorter.
+     *
+     * @param paymentData payment data, as received from the TPP or built from core payment
+     * @return payment data to be stored
+     */
+    public byte[] encodePaymentData(byte[] paymentData) {
+        if (compressionThreshold < 0 || paymentData == null || paymentData.length < compressionThreshold || isEncoded(paymentData)) {
+            return paymentData;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(paymentData.length / 4 + ENCODED_PAYMENT_HEADER_LENGTH);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ENCODED_PAYMENT_MARKER);
+            out.writeByte(ENCODED_PAYMENT_VERSION);
+            out.writeInt(paymentData.length);
+            try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out)) {
+                deflaterOut.write(paymentData);
+            }
+        } catch (IOException e) {
+            log.warn("Can't compress payment data: {}", e.getMessage());
+            return paymentData;
+        }
+
+        byte[] encoded = bytes.toByteArray();
+        return encoded.length < paymentData.length ? encoded : paymentData;
+    }
+
+    /**
+     * Decodes payment data stored in the CMS. Compressed data is inflated directly into the array of stored length,
+     * data stored without compression is returned as is.
+     *
+     * @param storedData payment data, as stored in the CMS
+     * @return payment data, as received from the TPP or built from core payment
+     */
+    public byte[] decodePaymentData(byte[] storedData) {
+        if (!isEncoded(storedData)) {
+            return storedData;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(storedData))) {
+            in.readByte();
+            byte version = in.readByte();
+            if (version != ENCODED_PAYMENT_VERSION) {
+                throw new IOException("unsupported version " + version);
+            }
+
+            int length = in.readInt();
+            if (length < 0 || length > (long) storedData.length * MAX_DEFLATE_RATIO) {
+                throw new IOException("invalid length " + length);
+            }
+
+            byte[] paymentData = new byte[length];
+            try (DataInputStream inflaterIn = new DataInputStream(new InflaterInputStream(in))) {
+                inflaterIn.readFully(paymentData);
+                if (inflaterIn.read() != -1) {
+                    throw new IOException("payment data is longer than " + length + " bytes");
+                }
+            }
+            return paymentData;
+        } catch (IOException e) {
+            log.warn("Can't decompress payment data: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isEncoded(byte[] storedData) {
+        return storedData != null
+                   && storedData.length >= ENCODED_PAYMENT_HEADER_LENGTH
+                   && storedData[0] == ENCODED_PAYMENT_MARKER;
+    }
+
     private byte[] writeValueAsBytes(Object object) {
         if (object == null) {
             return new byte[0];
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.xs2a.core.cache.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Node-local cache of PIIS consents, keyed by account identifier and currency of the funds confirmation request.
+ * <p>
+ * Consents are stored in serialized form, so every call returns its own copies of them, that may be safely modified
+ * by the caller.
+ * <p>
+ * Cache is invalidated as a whole on every change of PIIS consents made through this CMS instance, once right away
+ * and once more after the transaction is committed. Changes made by other CMS instances or by consent expiration are
+ * seen after cached entries expire, so time to live should be kept short.
+ */
+@Slf4j
+public class PiisConsentLookupCache {
+    private static final TypeReference<List<CmsConsent>> CONSENT_LIST_TYPE = new TypeReference<List<CmsConsent>>() {
+    };
+
+    private final BoundedTtlCache<String, byte[]> cache;
+    private final ObjectMapper objectMapper = buildObjectMapper();
+
+    public PiisConsentLookupCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public PiisConsentLookupCache(int maxSize, Duration ttl, Clock clock) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl, clock);
+    }
+
+    /**
+     * Creates cache instance, that doesn't store any consents and loads them on every call
+     *
+     * @return disabled cache
+     */
+    public static PiisConsentLookupCache disabled() {
+        return new PiisConsentLookupCache(0, Duration.ZERO);
+    }
+
+    /**
+     * Returns PIIS consents for given account identifier and currency, loading and caching them if necessary
+     *
+     * @param accountIdentifier account identifier from the account reference selector
+     * @param currency          optional currency of the account
+     * @param loader            Supplier loading consents from the database
+     * @return unmodifiable list of PIIS consents, that are not shared with the cache or other callers
+     */
+    public List<CmsConsent> getOrLoad(String accountIdentifier, @Nullable Currency currency, Supplier<List<CmsConsent>> loader) {
+        String key = buildKey(accountIdentifier, currency);
+        byte[] cachedConsents = cache.get(key);
+        if (cachedConsents != null) {
+            try {
+                return Collections.unmodifiableList(objectMapper.readValue(cachedConsents, CONSENT_LIST_TYPE));
+            } catch (IOException e) {
+                log.warn("Cached PIIS consents couldn't be read: {}", e.getMessage());
+                cache.remove(key);
+            }
+        }
+
+        if (!cache.isEnabled()) {
+            return loader.get();
+        }
+
+        List<CmsConsent> consents = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        try {
+            cache.put(key, objectMapper.writeValueAsBytes(consents));
+        } catch (IOException e) {
+            log.warn("PIIS consents couldn't be cached: {}", e.getMessage());
+        }
+        return consents;
+    }
+
+    /**
+     * Removes all entries from the cache now and, if called within a transaction, after its commit
+     */
+    public void invalidate() {
+        if (!cache.isEnabled()) {
+            return;
+        }
+
+        cache.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    cache.clear();
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    private String buildKey(String accountIdentifier, @Nullable Currency currency) {
+        return (currency == null ? "" : currency.getCurrencyCode()) + ":" + accountIdentifier;
+    }
+
+    private ObjectMapper buildObjectMapper() {
+        ObjectMapper localObjectMapper = new ObjectMapper();
+        localObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        localObjectMapper.configure(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE, false);
+        localObjectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        localObjectMapper.registerModule(new JavaTimeModule()); // add support for java.time types
+        return localObjectMapper;
+    }
+}
@@ -47,23 +47,29 @@ public class PiisConsentServiceInternal implements PiisConsentService {
     private final CmsConsentMapper cmsConsentMapper;
     private final PiisConsentEntitySpecification piisConsentEntitySpecification;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    private final PiisConsentLookupCache piisConsentLookupCache;
 
     @Override
     @Transactional
     public CmsResponse<List<CmsConsent>> getPiisConsentListByAccountIdentifier(@Nullable Currency currency, AccountReferenceSelector accountReferenceSelector) {
+        List<CmsConsent> consents = piisConsentLookupCache.getOrLoad(accountReferenceSelector.getAccountValue(), currency,
+                                                                     () -> findPiisConsents(currency, accountReferenceSelector));
+
+        return CmsResponse.<List<CmsConsent>>builder()
+                   .payload(consents)
+                   .build();
+    }
+
+    private List<CmsConsent> findPiisConsents(@Nullable Currency currency, AccountReferenceSelector accountReferenceSelector) {
         Specification<ConsentEntity> specification;
 
         specification = currency == null
                             ? piisConsentEntitySpecification.byAccountReferenceSelector(accountReferenceSelector)
                             : piisConsentEntitySpecification.byCurrencyAndAccountReferenceSelector(currency, accountReferenceSelector);
 
-        List<CmsConsent> consents = consentJpaRepository.findAll(specification).stream()
+        return consentJpaRepository.findAll(specification).stream()
             .map( piisConsentLazyMigrationService::migrateIfNeeded )
             .map( consentEntity -> cmsConsentMapper.mapToCmsConsent(consentEntity, Collections.emptyList(), Collections.emptyMap()) )
             .collect(Collectors.toList());
-
-        return CmsResponse.<List<CmsConsent>>builder()
-                   .payload(consents)
-                   .build();
     }
 }
@@ -22,4 +22,22 @@ import java.util.List;
 
 public interface PisCommonPaymentConfirmationExpirationService extends ConfirmationExpirationService<PisCommonPaymentData> {
     List<PisCommonPaymentData> updatePaymentDataListOnConfirmationExpiration(List<PisCommonPaymentData> pisCommonPaymentDataList);
+
+    /**
+     * Returns IDs of not confirmed payments with expired confirmation period, ordered by ID
+     *
+     * @param lastId    ID after which payments are searched
+     * @param chunkSize maximum number of returned IDs
+     * @return IDs of expired payments
+     */
+    List<Long> getConfirmationExpiredPaymentIds(Long lastId, int chunkSize);
+
+    /**
+     * Rejects not confirmed payments with given IDs, if their confirmation period has expired. Payments, locked by other
+     * transactions, are skipped.
+     *
+     * @param paymentIds IDs of payments
+     * @return number of rejected payments
+     */
+    int updatePaymentsOnConfirmationExpiration(List<Long> paymentIds);
 }
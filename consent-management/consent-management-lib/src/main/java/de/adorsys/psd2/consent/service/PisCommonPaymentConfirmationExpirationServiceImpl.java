@@ -26,17 +26,23 @@ import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.IterableUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PisCommonPaymentConfirmationExpirationServiceImpl implements PisCommonPaymentConfirmationExpirationService {
+    private static final Set<TransactionStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC);
+    private static final Set<AuthorisationType> PIS_AUTHORISATION_TYPES = EnumSet.of(AuthorisationType.PIS_CREATION, AuthorisationType.PIS_CANCELLATION);
+
     private final PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
     private final AuthorisationRepository authorisationRepository;
     private final AspspProfileService aspspProfileService;
@@ -47,6 +53,43 @@ public class PisCommonPaymentConfirmationExpirationServiceImpl implements PisCom
         return IterableUtils.toList(pisCommonPaymentDataRepository.saveAll(obsoletePaymentDataList(pisCommonPaymentDataList)));
     }
 
+    @Override
+    public List<Long> getConfirmationExpiredPaymentIds(Long lastId, int chunkSize) {
+        return pisCommonPaymentDataRepository.findIdsByTransactionStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES,
+                                                                                                     getConfirmationExpirationTimestamp(),
+                                                                                                     lastId,
+                                                                                                     PageRequest.of(0, chunkSize));
+    }
+
+    @Transactional
+    @Override
+    public int updatePaymentsOnConfirmationExpiration(List<Long> paymentIds) {
+        List<PisCommonPaymentData> payments =
+            pisCommonPaymentDataRepository.findAndLockByIdInAndTransactionStatusInAndCreationTimestampBefore(paymentIds,
+                                                                                                             NOT_CONFIRMED_STATUSES,
+                                                                                                             getConfirmationExpirationTimestamp());
+        if (payments.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> externalIds = payments.stream()
+                                      .map(PisCommonPaymentData::getExternalId)
+                                      .collect(Collectors.toSet());
+        List<AuthorisationEntity> authorisations =
+            authorisationRepository.findAllByParentExternalIdInAndAuthorisationTypeIn(externalIds, PIS_AUTHORISATION_TYPES);
+        authorisations.forEach(this::failAuthorisation);
+        authorisationRepository.saveAll(authorisations);
+
+        payments.forEach(payment -> payment.setTransactionStatus(TransactionStatus.RJCT));
+        pisCommonPaymentDataRepository.saveAll(payments);
+        return payments.size();
+    }
+
+    private OffsetDateTime getConfirmationExpirationTimestamp() {
+        long expirationPeriodMs = aspspProfileService.getAspspSettings().getPis().getNotConfirmedPaymentExpirationTimeMs();
+        return OffsetDateTime.now().minus(expirationPeriodMs, ChronoUnit.MILLIS);
+    }
+
     private void failAuthorisation(AuthorisationEntity authorisation) {
         authorisation.setScaStatus(ScaStatus.FAILED);
         authorisation.setRedirectUrlExpirationTimestamp(OffsetDateTime.now());
@@ -71,6 +71,7 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
     @Transactional
     public CmsResponse<CreatePisCommonPaymentResponse> createCommonPayment(PisPaymentInfo request) {
         PisCommonPaymentData commonPaymentData = pisCommonPaymentMapper.mapToPisCommonPaymentData(request);
+        commonPaymentData.setPayment(corePaymentsConvertService.encodePaymentData(request.getPaymentData()));
         tppInfoRepository.findByAuthorisationNumber(request.getTppInfo().getAuthorisationNumber())
             .ifPresent(commonPaymentData::setTppInfo);
 
@@ -135,6 +136,7 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
 
             if (responseOptional.isPresent()) {
                 PisCommonPaymentResponse pisCommonPaymentResponse = responseOptional.get();
+                pisCommonPaymentResponse.setPaymentData(corePaymentsConvertService.decodePaymentData(pisCommonPaymentResponse.getPaymentData()));
                 transferCorePaymentToCommonPayment(pisCommonPaymentResponse, paymentOptional.get());
                 return CmsResponse.<PisCommonPaymentResponse>builder()
                            .payload(pisCommonPaymentResponse)
@@ -159,7 +161,7 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
                                            .collect(Collectors.toList());
         byte[] paymentData = corePaymentsConvertService.buildPaymentData(pisPayments, pisCommonPaymentData.getPaymentType());
         if (paymentData != null) {
-            pisCommonPaymentData.setPayment(paymentData);
+            pisCommonPaymentData.setPayment(corePaymentsConvertService.encodePaymentData(paymentData));
             pisCommonPaymentDataRepository.save(pisCommonPaymentData);
             pisCommonPaymentResponse.setPaymentData(paymentData);
         }
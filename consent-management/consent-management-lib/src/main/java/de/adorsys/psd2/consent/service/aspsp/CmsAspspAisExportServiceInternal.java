@@ -29,17 +29,18 @@ import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -47,6 +48,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportService {
+    private static final int AUTHORISATIONS_CHUNK_SIZE = 500;
+    private static final Set<AuthorisationType> AIS_AUTHORISATION_TYPES = EnumSet.of(AuthorisationType.AIS);
+
     private final AisConsentSpecification aisConsentSpecification;
     private final ConsentJpaRepository consentJpaRepository;
     private final AisConsentMapper aisConsentMapper;
@@ -59,22 +63,35 @@ public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportServic
                                                                 @Nullable LocalDate createDateFrom,
                                                                 @Nullable LocalDate createDateTo,
                                                                 @Nullable PsuIdData psuIdData, @NotNull String instanceId) {
+        return exportConsentsByTpp(tppAuthorisationNumber, createDateFrom, createDateTo, psuIdData, instanceId, null, null);
+    }
+
+    @Override
+    @Transactional
+    public Collection<CmsAisAccountConsent> exportConsentsByTpp(String tppAuthorisationNumber,
+                                                                @Nullable LocalDate createDateFrom,
+                                                                @Nullable LocalDate createDateTo,
+                                                                @Nullable PsuIdData psuIdData, @NotNull String instanceId,
+                                                                @Nullable Integer pageIndex, @Nullable Integer itemsPerPage) {
         if (StringUtils.isBlank(tppAuthorisationNumber) || StringUtils.isBlank(instanceId)) {
             log.info("TPP ID: [{}], InstanceId: [{}]. Export Consents by TPP: Some of these two values are empty", tppAuthorisationNumber, instanceId);
             return Collections.emptyList();
         }
 
-        return consentJpaRepository.findAll(aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(
+        if (isPageInvalid(pageIndex, itemsPerPage)) {
+            log.info("TPP ID: [{}], InstanceId: [{}]. Export Consents by TPP: page index [{}] or items per page [{}] are invalid",
+                     tppAuthorisationNumber, instanceId, pageIndex, itemsPerPage);
+            return Collections.emptyList();
+        }
+
+        Specification<ConsentEntity> specification = aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(
             tppAuthorisationNumber,
             createDateFrom,
             createDateTo,
             psuIdData,
             instanceId
-        ))
-                   .stream()
-                   .map(aisConsentLazyMigrationService::migrateIfNeeded)
-                   .map(this::mapToCmsAisAccountConsentWithAuthorisations)
-                   .collect(Collectors.toList());
+        );
+        return exportConsents(specification, pageIndex, itemsPerPage);
     }
 
     @Override
@@ -82,21 +99,32 @@ public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportServic
     public Collection<CmsAisAccountConsent> exportConsentsByPsu(PsuIdData psuIdData, @Nullable LocalDate createDateFrom,
                                                                 @Nullable LocalDate createDateTo,
                                                                 @NotNull String instanceId) {
+        return exportConsentsByPsu(psuIdData, createDateFrom, createDateTo, instanceId, null, null);
+    }
+
+    @Override
+    @Transactional
+    public Collection<CmsAisAccountConsent> exportConsentsByPsu(PsuIdData psuIdData, @Nullable LocalDate createDateFrom,
+                                                                @Nullable LocalDate createDateTo,
+                                                                @NotNull String instanceId,
+                                                                @Nullable Integer pageIndex, @Nullable Integer itemsPerPage) {
         if (psuIdData == null || psuIdData.isEmpty() || StringUtils.isBlank(instanceId)) {
             log.info("InstanceId: [{}]. Export consents by Psu failed, psuIdData or instanceId is empty or null.",
                      instanceId);
             return Collections.emptyList();
         }
 
-        return consentJpaRepository.findAll(aisConsentSpecification.byPsuIdDataAndCreationPeriodAndInstanceId(psuIdData,
-                                                                                                              createDateFrom,
-                                                                                                              createDateTo,
-                                                                                                              instanceId
-        ))
-                   .stream()
-                   .map(aisConsentLazyMigrationService::migrateIfNeeded)
-                   .map(this::mapToCmsAisAccountConsentWithAuthorisations)
-                   .collect(Collectors.toList());
+        if (isPageInvalid(pageIndex, itemsPerPage)) {
+            log.info("InstanceId: [{}]. Export consents by Psu failed, page index [{}] or items per page [{}] are invalid.",
+                     instanceId, pageIndex, itemsPerPage);
+            return Collections.emptyList();
+        }
+
+        Specification<ConsentEntity> specification = aisConsentSpecification.byPsuIdDataAndCreationPeriodAndInstanceId(psuIdData,
+                                                                                                                       createDateFrom,
+                                                                                                                       createDateTo,
+                                                                                                                       instanceId);
+        return exportConsents(specification, pageIndex, itemsPerPage);
     }
 
     @Override
@@ -105,6 +133,16 @@ public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportServic
                                                                       @Nullable LocalDate createDateFrom,
                                                                       @Nullable LocalDate createDateTo,
                                                                       @NotNull String instanceId) {
+        return exportConsentsByAccountId(aspspAccountId, createDateFrom, createDateTo, instanceId, null, null);
+    }
+
+    @Override
+    @Transactional
+    public Collection<CmsAisAccountConsent> exportConsentsByAccountId(@NotNull String aspspAccountId,
+                                                                      @Nullable LocalDate createDateFrom,
+                                                                      @Nullable LocalDate createDateTo,
+                                                                      @NotNull String instanceId,
+                                                                      @Nullable Integer pageIndex, @Nullable Integer itemsPerPage) {
 
         if (StringUtils.isBlank(instanceId)) {
             log.info("InstanceId: [{}], aspspAccountId: [{}]. Export consents by accountId failed, instanceId is empty or null.",
@@ -112,24 +150,58 @@ public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportServic
             return Collections.emptyList();
         }
 
+        if (isPageInvalid(pageIndex, itemsPerPage)) {
+            log.info("InstanceId: [{}], aspspAccountId: [{}]. Export consents by accountId failed, page index [{}] or items per page [{}] are invalid.",
+                     instanceId, aspspAccountId, pageIndex, itemsPerPage);
+            return Collections.emptyList();
+        }
+
         Specification<ConsentEntity> specification = aisConsentSpecification.byAspspAccountIdAndCreationPeriodAndInstanceId(aspspAccountId,
                                                                                                                             createDateFrom,
                                                                                                                             createDateTo,
                                                                                                                             instanceId);
-        List<ConsentEntity> consents = consentJpaRepository.findAll(specification)
+        return exportConsents(specification, pageIndex, itemsPerPage);
+    }
+
+    private boolean isPageInvalid(@Nullable Integer pageIndex, @Nullable Integer itemsPerPage) {
+        return pageIndex != null && (pageIndex < 0 || itemsPerPage == null)
+                   || itemsPerPage != null && itemsPerPage < 1;
+    }
+
+    private List<CmsAisAccountConsent> exportConsents(Specification<ConsentEntity> specification,
+                                                      @Nullable Integer pageIndex, @Nullable Integer itemsPerPage) {
+        List<ConsentEntity> consents = findConsents(specification, pageIndex, itemsPerPage)
                                            .stream()
                                            .map(aisConsentLazyMigrationService::migrateIfNeeded)
                                            .collect(Collectors.toList());
 
-        return consents
-                   .stream()
-                   .map(this::mapToCmsAisAccountConsentWithAuthorisations)
-                   .collect(Collectors.toList());
+        List<CmsAisAccountConsent> result = new ArrayList<>(consents.size());
+        for (List<ConsentEntity> chunk : ListUtils.partition(consents, AUTHORISATIONS_CHUNK_SIZE)) {
+            Map<String, List<AuthorisationEntity>> authorisations = findAuthorisationsByConsentIds(chunk);
+            chunk.stream()
+                .map(consent -> aisConsentMapper.mapToCmsAisAccountConsent(consent, authorisations.getOrDefault(consent.getExternalId(), Collections.emptyList())))
+                .forEach(result::add);
+        }
+        return result;
     }
 
-    private CmsAisAccountConsent mapToCmsAisAccountConsentWithAuthorisations(ConsentEntity aisConsentEntity) {
-        List<AuthorisationEntity> authorisations =
-            authorisationRepository.findAllByParentExternalIdAndAuthorisationType(aisConsentEntity.getExternalId(), AuthorisationType.AIS);
-        return aisConsentMapper.mapToCmsAisAccountConsent(aisConsentEntity, authorisations);
+    private List<ConsentEntity> findConsents(Specification<ConsentEntity> specification,
+                                             @Nullable Integer pageIndex, @Nullable Integer itemsPerPage) {
+        if (itemsPerPage == null) {
+            return consentJpaRepository.findAll(specification);
+        }
+
+        int page = Optional.ofNullable(pageIndex).orElse(0);
+        return consentJpaRepository.findAll(specification, PageRequest.of(page, itemsPerPage, Sort.by("id")))
+                   .getContent();
+    }
+
+    private Map<String, List<AuthorisationEntity>> findAuthorisationsByConsentIds(List<ConsentEntity> consents) {
+        Set<String> consentIds = consents.stream()
+                                     .map(ConsentEntity::getExternalId)
+                                     .collect(Collectors.toSet());
+        return authorisationRepository.findAllByParentExternalIdInAndAuthorisationTypeIn(consentIds, AIS_AUTHORISATION_TYPES)
+                   .stream()
+                   .collect(Collectors.groupingBy(AuthorisationEntity::getParentExternalId));
     }
 }
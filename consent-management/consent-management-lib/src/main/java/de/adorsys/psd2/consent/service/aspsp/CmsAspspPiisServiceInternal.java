@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
+import de.adorsys.psd2.consent.service.PiisConsentLookupCache;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
@@ -56,6 +57,7 @@ public class CmsAspspPiisServiceInternal implements CmsAspspPiisService {
     private final PiisConsentEntitySpecification piisConsentEntitySpecification;
     private final PiisConsentMapper piisConsentMapper;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    private final PiisConsentLookupCache piisConsentLookupCache;
 
     @Override
     @Transactional
@@ -65,6 +67,7 @@ public class CmsAspspPiisServiceInternal implements CmsAspspPiisService {
             return Optional.empty();
         }
 
+        piisConsentLookupCache.invalidate();
         closePreviousPiisConsents(psuIdData, request);
 
         TppInfoEntity tppInfoEntity = getTppInfoEntity(request.getTppAuthorisationNumber());
@@ -111,6 +114,7 @@ public class CmsAspspPiisServiceInternal implements CmsAspspPiisService {
 
         entity = piisConsentLazyMigrationService.migrateIfNeeded(entity);
         consentJpaRepository.save(entity);
+        piisConsentLookupCache.invalidate();
 
         return true;
     }
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.service.aspsp;
 
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
 import de.adorsys.psd2.consent.aspsp.api.tpp.CmsAspspTppService;
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
@@ -28,6 +29,7 @@ import de.adorsys.psd2.xs2a.core.tpp.TppStopListRecord;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +44,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
     private final TppStopListMapper tppStopListMapper;
     private final TppInfoRepository tppInfoRepository;
     private final TppInfoMapper tppInfoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @NotNull
     @Override
@@ -64,6 +67,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
         entityToBeBlocked.block(lockPeriod);
 
         stopListRepository.save(entityToBeBlocked);
+        eventPublisher.publishEvent(new TppStopListChangedEvent(tppAuthorisationNumber, instanceId));
         return true;
     }
 
@@ -77,6 +81,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
             entityToBeUnblocked.unblock();
 
             stopListRepository.save(entityToBeUnblocked);
+            eventPublisher.publishEvent(new TppStopListChangedEvent(tppAuthorisationNumber, instanceId));
         }
         return true;
     }
@@ -112,7 +112,7 @@ public class PisAuthService extends CmsAuthorisationService<PisCommonPaymentData
                                            .collect(Collectors.toList());
         byte[] paymentData = corePaymentsConvertService.buildPaymentData(pisPayments, pisCommonPaymentData.getPaymentType());
         if (paymentData != null) {
-            pisCommonPaymentData.setPayment(paymentData);
+            pisCommonPaymentData.setPayment(corePaymentsConvertService.encodePaymentData(paymentData));
             return pisCommonPaymentDataRepository.save(pisCommonPaymentData);
         }
 
@@ -102,7 +102,7 @@ public class PisCancellationAuthService extends CmsAuthorisationService<PisCommo
                                            .collect(Collectors.toList());
         byte[] paymentData = corePaymentsConvertService.buildPaymentData(pisPayments, pisCommonPaymentData.getPaymentType());
         if (paymentData != null) {
-            pisCommonPaymentData.setPayment(paymentData);
+            pisCommonPaymentData.setPayment(corePaymentsConvertService.encodePaymentData(paymentData));
             return pisCommonPaymentDataRepository.save(pisCommonPaymentData);
         }
 
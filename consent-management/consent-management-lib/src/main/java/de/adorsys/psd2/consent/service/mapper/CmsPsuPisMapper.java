@@ -48,7 +48,7 @@ public class CmsPsuPisMapper {
         cmsCommonPayment.setPaymentProduct(paymentData.getPaymentProduct());
         cmsCommonPayment.setPaymentType(paymentData.getPaymentType());
         cmsCommonPayment.setTransactionStatus(paymentData.getTransactionStatus());
-        cmsCommonPayment.setPaymentData(paymentData.getPayment());
+        cmsCommonPayment.setPaymentData(corePaymentsConvertService.decodePaymentData(paymentData.getPayment()));
 
         cmsCommonPayment.setTppInfo(tppInfoMapper.mapToTppInfo(paymentData.getTppInfo()));
         cmsCommonPayment.setPsuIdDatas(psuDataMapper.mapToPsuIdDataList(paymentData.getPsuDataList()));
@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.migration.ObsoleteAisConsentJpaRepository;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
 import de.adorsys.psd2.core.mapper.ConsentDataMapper;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -46,10 +47,24 @@ public class AisConsentLazyMigrationService {
                 consentEntity.setData(consentData);
                 consentJpaRepository.save(consentEntity);
             }
+        } else if (isAisConsent(consentEntity) && consentDataMapper.isMigrationNeeded(consentEntity.getData())) {
+            migrateConsentDataFormat(consentEntity);
         }
         return consentEntity;
     }
 
+    private void migrateConsentDataFormat(ConsentEntity consentEntity) {
+        AisConsentData aisConsentData = consentDataMapper.mapToAisConsentData(consentEntity.getData());
+        if (aisConsentData != null) {
+            consentEntity.setData(consentDataMapper.getBytesFromConsentData(aisConsentData));
+            consentJpaRepository.save(consentEntity);
+        }
+    }
+
+    private boolean isAisConsent(ConsentEntity consentEntity) {
+        return ConsentType.AIS.getName().equals(consentEntity.getConsentType());
+    }
+
     private byte[] getConsentData(AisConsent aisConsent) {
         AisConsentData aisConsentData = new AisConsentData(aisConsent.getAvailableAccounts(), aisConsent.getAllPsd2(), aisConsent.getAvailableAccountsWithBalance(),
                                                            aisConsent.isCombinedServiceIndicator());
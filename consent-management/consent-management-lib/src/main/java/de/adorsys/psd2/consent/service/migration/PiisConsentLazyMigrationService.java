@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.migration.ObsoletePiisConsentJpaRepository;
 import de.adorsys.psd2.core.data.piis.v1.PiisConsentData;
 import de.adorsys.psd2.core.mapper.ConsentDataMapper;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -45,6 +46,8 @@ public class PiisConsentLazyMigrationService {
                 consentEntity.setData(consentData);
                 consentJpaRepository.save(consentEntity);
             }
+        } else if (isPiisConsent(consentEntity) && consentDataMapper.isMigrationNeeded(consentEntity.getData())) {
+            migrateConsentDataFormat(consentEntity);
         }
         return consentEntity;
     }
@@ -61,4 +64,17 @@ public class PiisConsentLazyMigrationService {
 
         return consentDataMapper.getBytesFromConsentData(piisConsentData);
     }
+
+    private void migrateConsentDataFormat(ConsentEntity consentEntity) {
+        PiisConsentData piisConsentData = consentDataMapper.mapToPiisConsentData(consentEntity.getData());
+        if (piisConsentData != null) {
+            consentEntity.setData(consentDataMapper.getBytesFromConsentData(piisConsentData));
+            consentJpaRepository.save(consentEntity);
+        }
+    }
+
+    private boolean isPiisConsent(ConsentEntity consentEntity) {
+        ConsentType consentType = ConsentType.getByValue(consentEntity.getConsentType());
+        return consentType == ConsentType.PIIS_ASPSP || consentType == ConsentType.PIIS_TPP;
+    }
 }
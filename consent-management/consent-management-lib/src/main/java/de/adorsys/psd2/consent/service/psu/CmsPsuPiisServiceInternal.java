@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.psu.api.CmsPsuPiisService;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
+import de.adorsys.psd2.consent.service.PiisConsentLookupCache;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
@@ -48,6 +49,7 @@ public class CmsPsuPiisServiceInternal implements CmsPsuPiisService {
     private final PsuDataMapper psuDataMapper;
     private final PiisConsentEntitySpecification piisConsentEntitySpecification;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    private final PiisConsentLookupCache piisConsentLookupCache;
 
     @Override
     public @NotNull Optional<CmsPiisConsent> getConsent(@NotNull PsuIdData psuIdData, @NotNull String consentId, @NotNull String instanceId) {
@@ -100,5 +102,6 @@ public class CmsPsuPiisServiceInternal implements CmsPsuPiisService {
         consent.setLastActionDate(LocalDate.now());
         consent.setConsentStatus(ConsentStatus.REVOKED_BY_PSU);
         consentJpaRepository.save(consent);
+        piisConsentLookupCache.invalidate();
     }
 }
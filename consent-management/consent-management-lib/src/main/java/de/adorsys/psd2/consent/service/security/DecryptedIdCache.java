@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import de.adorsys.psd2.xs2a.core.cache.BoundedTtlCache;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Memoization of decrypted composite IDs, keyed by encrypted ID.
+ * <p>
+ * Within an HTTP request every encrypted ID is decrypted at most once, decrypted IDs are kept in the attributes of the
+ * request and are dropped together with it. Optionally decrypted IDs are also kept in a node-wide cache, where least
+ * recently used entries are evicted when the cache is full and expired entries are evicted on access. Composite IDs
+ * contain secret keys of consents and payments, so node-wide cache keeps these keys in memory beyond the request and
+ * should only be enabled if this is acceptable. Only successfully decrypted IDs are memoized.
+ */
+public class DecryptedIdCache {
+    private static final String REQUEST_ATTRIBUTE_NAME = DecryptedIdCache.class.getName() + ".decryptedIds";
+
+    private final BoundedTtlCache<String, String> cache;
+    private final AtomicLong requestHitCount = new AtomicLong();
+
+    public DecryptedIdCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public DecryptedIdCache(int maxSize, Duration ttl, Clock clock) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl, clock);
+    }
+
+    /**
+     * Creates instance without node-wide cache, that memoizes decrypted IDs only within the current request
+     *
+     * @return request-scoped memoization
+     */
+    public static DecryptedIdCache disabled() {
+        return new DecryptedIdCache(0, Duration.ZERO);
+    }
+
+    /**
+     * Returns decrypted composite ID for given encrypted ID, decrypting and memoizing it if necessary
+     *
+     * @param encryptedId encrypted ID
+     * @param decryption  Function performing the actual decryption
+     * @return decrypted composite ID or empty Optional if the ID couldn't be decrypted
+     */
+    public Optional<String> getOrDecrypt(String encryptedId, Function<String, Optional<String>> decryption) {
+        Map<String, String> requestIds = getRequestIds();
+        String requestId = requestIds == null ? null : requestIds.get(encryptedId);
+        if (requestId != null) {
+            requestHitCount.incrementAndGet();
+            return Optional.of(requestId);
+        }
+
+        Optional<String> decryptedId = Optional.ofNullable(cache.get(encryptedId));
+        if (!decryptedId.isPresent()) {
+            decryptedId = decryption.apply(encryptedId);
+            decryptedId.ifPresent(id -> cache.put(encryptedId, id));
+        }
+
+        if (requestIds != null) {
+            decryptedId.ifPresent(id -> requestIds.put(encryptedId, id));
+        }
+        return decryptedId;
+    }
+
+    /**
+     * Removes all entries from the node-wide cache
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getRequestHitCount() {
+        return requestHitCount.get();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getRequestIds() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        Map<String, String> requestIds = (Map<String, String>) requestAttributes.getAttribute(REQUEST_ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (requestIds == null) {
+            requestIds = new HashMap<>();
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE_NAME, requestIds, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requestIds;
+    }
+}
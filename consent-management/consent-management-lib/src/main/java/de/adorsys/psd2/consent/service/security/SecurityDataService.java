@@ -19,7 +19,6 @@ package de.adorsys.psd2.consent.service.security;
 
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -34,17 +33,18 @@ import java.util.Random;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SecurityDataService {
     private static final String SEPARATOR = "_=_";
     private String serverKey;
 
     private final CryptoProviderHolder cryptoProviderHolder;
+    private final DecryptedIdCache decryptedIdCache;
     private final Random random = new SecureRandom();
 
     @Autowired
-    public SecurityDataService(Environment environment, CryptoProviderHolder cryptoProviderHolder) {
+    public SecurityDataService(Environment environment, CryptoProviderHolder cryptoProviderHolder, DecryptedIdCache decryptedIdCache) {
         this.cryptoProviderHolder = cryptoProviderHolder;
+        this.decryptedIdCache = decryptedIdCache;
         serverKey = environment.getProperty("server_key");
         if (StringUtils.isBlank(serverKey)) {
             log.info("The 'server_key' missing - must be specified at CMS start");
@@ -150,6 +150,10 @@ public class SecurityDataService {
     }
 
     private Optional<String> decryptCompositeId(String encryptedId) {
+        return decryptedIdCache.getOrDecrypt(encryptedId, this::decryptCompositeIdWithProvider);
+    }
+
+    private Optional<String> decryptCompositeIdWithProvider(String encryptedId) {
         String encryptedCompositeId = encryptedId.substring(0, encryptedId.indexOf(SEPARATOR));
 
         byte[] bytesCompositeId = decode64(encryptedCompositeId);
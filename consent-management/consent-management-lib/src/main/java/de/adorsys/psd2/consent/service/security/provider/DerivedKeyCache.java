@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import de.adorsys.psd2.xs2a.core.cache.BoundedTtlCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Bounded cache of secret keys derived from passwords by crypto providers.
+ * <p>
+ * Entries are keyed by crypto provider ID and SHA-256 digest of the password, so raw passwords are never retained.
+ * Least recently used entries are evicted when the cache is full, expired entries are evicted on access.
+ * Key material of evicted entries is overwritten with zeros.
+ */
+public class DerivedKeyCache {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final BoundedTtlCache<String, byte[]> cache;
+
+    public DerivedKeyCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public DerivedKeyCache(int maxSize, Duration ttl, Clock clock) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl, clock, byte[]::clone, key -> Arrays.fill(key, (byte) 0));
+    }
+
+    /**
+     * Creates cache instance, that doesn't store any keys and derives them on every call
+     *
+     * @return disabled cache
+     */
+    public static DerivedKeyCache disabled() {
+        return new DerivedKeyCache(0, Duration.ZERO);
+    }
+
+    /**
+     * Returns key derived from given password, deriving and caching it if necessary
+     *
+     * @param cryptoProviderId Id of Crypto provider which derives the key
+     * @param password         Password the key is derived from
+     * @param keyDerivation    Function performing the actual key derivation
+     * @return encoded derived key. The returned array is a copy and may be safely wiped by the caller
+     * @throws GeneralSecurityException if key derivation fails
+     */
+    public byte[] getOrDerive(String cryptoProviderId, String password, KeyDerivation keyDerivation) throws GeneralSecurityException {
+        String cacheKey = buildCacheKey(cryptoProviderId, password);
+        byte[] cachedKey = cache.get(cacheKey);
+        if (cachedKey != null) {
+            return cachedKey;
+        }
+
+        byte[] derivedKey = keyDerivation.derive();
+        cache.put(cacheKey, derivedKey);
+        return derivedKey;
+    }
+
+    /**
+     * Removes all entries from the cache and wipes their key material
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    private String buildCacheKey(String cryptoProviderId, String password) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        byte[] passwordDigest = messageDigest.digest(password.getBytes(StandardCharsets.UTF_8));
+        return cryptoProviderId + ":" + Base64.getEncoder().encodeToString(passwordDigest);
+    }
+
+    @FunctionalInterface
+    public interface KeyDerivation {
+        byte[] derive() throws GeneralSecurityException;
+    }
+}
@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service.security.provider.aes;
 import de.adorsys.psd2.consent.service.security.DecryptedData;
 import de.adorsys.psd2.consent.service.security.EncryptedData;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.BadPaddingException;
@@ -31,6 +32,7 @@ import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
 import java.util.Optional;
 
 @Slf4j
@@ -40,13 +42,19 @@ public class AesEcbCryptoProviderImpl implements CryptoProvider {
     private final int keyLength;
     private final int hashIterations;
     private final String skfAlgorithm;
+    private final DerivedKeyCache derivedKeyCache;
 
     public AesEcbCryptoProviderImpl(String cryptoProviderId, String algorithm, int keyLength, int hashIterations, String skfAlgorithm) {
+        this(cryptoProviderId, algorithm, keyLength, hashIterations, skfAlgorithm, DerivedKeyCache.disabled());
+    }
+
+    public AesEcbCryptoProviderImpl(String cryptoProviderId, String algorithm, int keyLength, int hashIterations, String skfAlgorithm, DerivedKeyCache derivedKeyCache) {
         this.cryptoProviderId = cryptoProviderId;
         this.algorithm = algorithm;
         this.keyLength = keyLength;
         this.hashIterations = hashIterations;
         this.skfAlgorithm = skfAlgorithm;
+        this.derivedKeyCache = derivedKeyCache;
     }
 
     @Override
@@ -90,13 +98,22 @@ public class AesEcbCryptoProviderImpl implements CryptoProvider {
         return cryptoProviderId;
     }
 
-    private SecretKey getSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+    private SecretKey getSecretKey(String password) throws GeneralSecurityException {
+        byte[] encodedKey = derivedKeyCache.getOrDerive(cryptoProviderId, password, () -> deriveKey(password));
+        try {
+            return new SecretKeySpec(encodedKey, "AES");
+        } finally {
+            Arrays.fill(encodedKey, (byte) 0);
+        }
+    }
+
+    private byte[] deriveKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
         byte[] salt = new byte[16];
         PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, hashIterations, keyLength);
         try {
             SecretKeyFactory factory = SecretKeyFactory.getInstance(skfAlgorithm);
             SecretKey secretKey = factory.generateSecret(keySpec);
-            return new SecretKeySpec(secretKey.getEncoded(), "AES");
+            return secretKey.getEncoded();
         } finally {
             keySpec.clearPassword();
         }
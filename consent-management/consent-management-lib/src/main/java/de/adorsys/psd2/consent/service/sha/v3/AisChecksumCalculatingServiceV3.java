@@ -28,28 +28,58 @@ import de.adorsys.psd2.consent.service.sha.Sha512HashingService;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.Consent;
 import de.adorsys.psd2.core.data.ais.AisConsent;
+import de.adorsys.psd2.xs2a.core.cache.BoundedTtlCache;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.psd2.xs2a.core.profile.AccountReference;
 import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Calculates and verifies checksums of AIS consents in version 003.
+ * <p>
+ * Checksummed values are serialized directly into reusable per-thread SHA-512 digest, without intermediate byte
+ * arrays. Successful verifications are remembered per consent ID together with checksummed values, so consent,
+ * that wasn't changed since its last verification against the same checksum, isn't hashed again.
+ */
 @Slf4j
 @Service
 public class AisChecksumCalculatingServiceV3 implements ChecksumCalculatingService {
     private static final String VERSION = "003";
-    private static final Charset CHARSET = Charset.defaultCharset();
-    private final Sha512HashingService hashingService = new Sha512HashingService();
+    private static final String HASHING_ALGORITHM = new Sha512HashingService().getAlgorithmName();
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(AisChecksumCalculatingServiceV3::createDigest);
     private final ObjectMapper objectMapper = buildObjectMapper();
 
+    @Value("${consent.checksum.verification-cache.max-size:1000}")
+    private int verificationCacheMaxSize;
+    @Value("${consent.checksum.verification-cache.ttl-seconds:3600}")
+    private long verificationCacheTtlSeconds;
+
+    private BoundedTtlCache<String, VerifiedConsent> verifiedConsents = BoundedTtlCache.disabled();
+    private final AtomicLong verificationCacheHitCount = new AtomicLong();
+    private final AtomicLong verificationCacheMissCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        verifiedConsents = new BoundedTtlCache<>(verificationCacheMaxSize, Duration.ofSeconds(verificationCacheTtlSeconds));
+    }
+
     @Override
     public boolean verifyConsentWithChecksum(Consent<?> consent, byte[] checksum) {
         if (consent == null || checksum == null) {
@@ -86,7 +116,38 @@ public class AisChecksumCalculatingServiceV3 implements ChecksumCalculatingServi
         return VERSION;
     }
 
+    public long getVerificationCacheHitCount() {
+        return verificationCacheHitCount.get();
+    }
+
+    public long getVerificationCacheMissCount() {
+        return verificationCacheMissCount.get();
+    }
+
     private boolean verifyConsentWithChecksumForAisConsent(AisConsent aisConsent, byte[] checksum) {
+        if (!verifiedConsents.isEnabled() || aisConsent.getId() == null) {
+            return verifyConsentWithChecksumForAisConsentUncached(aisConsent, checksum);
+        }
+
+        VerifiedConsent verifiedConsent = buildVerifiedConsent(aisConsent, checksum);
+        if (verifiedConsent == null) {
+            return verifyConsentWithChecksumForAisConsentUncached(aisConsent, checksum);
+        }
+
+        if (verifiedConsent.equals(verifiedConsents.get(aisConsent.getId()))) {
+            verificationCacheHitCount.incrementAndGet();
+            return true;
+        }
+
+        verificationCacheMissCount.incrementAndGet();
+        boolean valid = verifyConsentWithChecksumForAisConsentUncached(aisConsent, checksum);
+        if (valid) {
+            verifiedConsents.put(aisConsent.getId(), verifiedConsent);
+        }
+        return valid;
+    }
+
+    private boolean verifyConsentWithChecksumForAisConsentUncached(AisConsent aisConsent, byte[] checksum) {
         String checksumStr = new String(checksum);
         String[] elements = checksumStr.split(ChecksumConstant.DELIMITER);
 
@@ -154,46 +215,40 @@ public class AisChecksumCalculatingServiceV3 implements ChecksumCalculatingServi
         map.put("tppFrequencyPerDay", aisConsent.getFrequencyPerDay());
         map.put("accesses", aisConsent.getTppAccountAccesses());
 
-        byte[] consentAsBytes = getBytesFromObject(map);
-
-        byte[] consentChecksum = calculateChecksum(consentAsBytes);
+        byte[] consentChecksum = calculateChecksum(map);
         return Base64.getEncoder().encodeToString(consentChecksum);
     }
 
+    /**
+     * Calculates checksums of ASPSP accesses grouped by type of account reference. Accesses are collected and grouped
+     * in one pass, the order of references within each group is the same as if every group was collected separately.
+     */
     private Map<AccountReferenceType, String> calculateChecksumMapByReferenceType(AccountAccess aspspAccess) {
-        Map<AccountReferenceType, String> checkSumMap = new LinkedHashMap<>();
+        Set<AccountReference> references = Stream.of(aspspAccess.getAccounts(), aspspAccess.getBalances(), aspspAccess.getTransactions())
+                                               .filter(Objects::nonNull)
+                                               .flatMap(Collection::stream)
+                                               .collect(Collectors.toSet());
 
-        for (AccountReferenceType type : AccountReferenceType.values()) {
-            String checksumByType = getChecksumByType(aspspAccess, type);
-            if (checksumByType != null) {
-                checkSumMap.put(type, checksumByType);
+        Map<AccountReferenceType, List<AccountReference>> referencesByType = new EnumMap<>(AccountReferenceType.class);
+        for (AccountReference reference : references) {
+            if (StringUtils.isNotBlank(reference.getResourceId()) || StringUtils.isNotBlank(reference.getAspspAccountId())) {
+                referencesByType.computeIfAbsent(reference.getUsedAccountReferenceSelector().getAccountReferenceType(), t -> new ArrayList<>())
+                    .add(reference);
             }
         }
 
+        Map<AccountReferenceType, String> checkSumMap = new LinkedHashMap<>();
+        referencesByType.forEach((type, referencesOfType) -> checkSumMap.put(type, getChecksumByType(referencesOfType)));
         return checkSumMap;
     }
 
-    private String getChecksumByType(AccountAccess aspspAccess, AccountReferenceType type) {
-        Set<AccountReference> references = Stream.of(aspspAccess.getAccounts(), aspspAccess.getBalances(), aspspAccess.getTransactions())
-                                               .filter(Objects::nonNull)
-                                               .flatMap(Collection::stream)
-                                               .collect(Collectors.toSet());
-
-        List<AccountReference> filtered = references.stream()
-                                              .filter(acc -> acc.getUsedAccountReferenceSelector().getAccountReferenceType() == type)
-                                              .filter(acc -> StringUtils.isNotBlank(acc.getResourceId()) || StringUtils.isNotBlank(acc.getAspspAccountId()))
-                                              .sorted(Comparator.comparing(AccountReference::getAccountReferenceType)
-                                                          .thenComparing(acc -> Optional.ofNullable(acc.getCurrency())
-                                                                                    .map(Currency::getCurrencyCode)
-                                                                                    .orElse(null)))
-                                              .collect(Collectors.toList());
+    private String getChecksumByType(List<AccountReference> references) {
+        references.sort(Comparator.comparing(AccountReference::getAccountReferenceType)
+                            .thenComparing(acc -> Optional.ofNullable(acc.getCurrency())
+                                                      .map(Currency::getCurrencyCode)
+                                                      .orElse(null)));
 
-        if (CollectionUtils.isEmpty(filtered)) {
-            return null;
-        }
-
-        byte[] consentRefsAsBytes = getBytesFromObject(filtered);
-        byte[] consentRefsChecksum = calculateChecksum(consentRefsAsBytes);
+        byte[] consentRefsChecksum = calculateChecksum(references);
         return Base64.getEncoder().encodeToString(consentRefsChecksum);
     }
 
@@ -208,8 +263,19 @@ public class AisChecksumCalculatingServiceV3 implements ChecksumCalculatingServi
                                         .orElse(false));
     }
 
-    private byte[] calculateChecksum(byte[] checksumSource) {
-        return hashingService.hash(checksumSource, CHARSET);
+    /**
+     * Calculates checksum of given value serialized to JSON. Value that can't be serialized is checksummed as empty
+     * data.
+     */
+    private byte[] calculateChecksum(Object checksumSource) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        try {
+            objectMapper.writeValue(new DigestOutputStream(OutputStream.nullOutputStream(), digest), checksumSource);
+        } catch (IOException e) {
+            digest.reset();
+        }
+        return digest.digest();
     }
 
     private Map<AccountReferenceType, String> getChecksumMapFromBytes(byte[] bytes) {
@@ -229,6 +295,25 @@ public class AisChecksumCalculatingServiceV3 implements ChecksumCalculatingServi
         }
     }
 
+    private VerifiedConsent buildVerifiedConsent(AisConsent aisConsent, byte[] checksum) {
+        try {
+            return new VerifiedConsent(aisConsent, checksum,
+                                       objectMapper.writeValueAsBytes(aisConsent.getTppAccountAccesses()),
+                                       objectMapper.writeValueAsBytes(aisConsent.getAspspAccountAccesses()));
+        } catch (JsonProcessingException e) {
+            log.info("Consent ID: [{}]. Couldn't serialize account accesses for checksum verification cache", aisConsent.getId());
+            return null;
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASHING_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("No such hashing algorithm: " + HASHING_ALGORITHM);
+        }
+    }
+
     private ObjectMapper buildObjectMapper() {
         ObjectMapper localObjectMapper = new ObjectMapper();
         localObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
@@ -236,4 +321,52 @@ public class AisChecksumCalculatingServiceV3 implements ChecksumCalculatingServi
         localObjectMapper.registerModule(new JavaTimeModule()); // add support for java.time types
         return localObjectMapper;
     }
+
+    /**
+     * Values of AIS consent covered by the checksum together with the checksum they were verified against.
+     * Account accesses are kept serialized, so later changes of the consent don't affect the remembered values.
+     */
+    private static class VerifiedConsent {
+        private final byte[] checksum;
+        private final boolean recurringIndicator;
+        private final boolean combinedServiceIndicator;
+        private final LocalDate validUntil;
+        private final Integer frequencyPerDay;
+        private final byte[] tppAccountAccesses;
+        private final byte[] aspspAccountAccesses;
+
+        private VerifiedConsent(AisConsent aisConsent, byte[] checksum, byte[] tppAccountAccesses, byte[] aspspAccountAccesses) {
+            this.checksum = checksum.clone();
+            this.recurringIndicator = aisConsent.isRecurringIndicator();
+            this.combinedServiceIndicator = aisConsent.getConsentData() != null && aisConsent.getConsentData().isCombinedServiceIndicator();
+            this.validUntil = aisConsent.getValidUntil();
+            this.frequencyPerDay = aisConsent.getFrequencyPerDay();
+            this.tppAccountAccesses = tppAccountAccesses;
+            this.aspspAccountAccesses = aspspAccountAccesses;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof VerifiedConsent)) {
+                return false;
+            }
+            VerifiedConsent that = (VerifiedConsent) o;
+            return recurringIndicator == that.recurringIndicator
+                       && combinedServiceIndicator == that.combinedServiceIndicator
+                       && Arrays.equals(checksum, that.checksum)
+                       && Objects.equals(frequencyPerDay, that.frequencyPerDay)
+                       && Objects.equals(validUntil, that.validUntil)
+                       && Arrays.equals(tppAccountAccesses, that.tppAccountAccesses)
+                       && Arrays.equals(aspspAccountAccesses, that.aspspAccountAccesses);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(recurringIndicator, combinedServiceIndicator, frequencyPerDay, Arrays.hashCode(checksum),
+                                validUntil, Arrays.hashCode(tppAccountAccesses), Arrays.hashCode(aspspAccountAccesses));
+        }
+    }
 }
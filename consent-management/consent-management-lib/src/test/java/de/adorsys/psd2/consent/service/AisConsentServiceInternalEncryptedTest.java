@@ -20,12 +20,18 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.service.AccountService;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
+import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
 import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.profile.AdditionalInformationAccess;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +42,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Collections;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -45,6 +52,8 @@ class AisConsentServiceInternalEncryptedTest {
     private static final String ENCRYPTED_CONSENT_ID = "DfLtDOgo1tTK6WQlHlb-TMPL2pkxRlhZ4feMa5F4tOWwNN45XLNAVfWwoZUKlQwb_=_bS6p6XvTWI";
     private static final String UNDECRYPTABLE_CONSENT_ID = "0000000000TK6WQlHlb-TMPL2pkxRlhZ4feMa5F4tOWwNN45XLNAVfWwoZUKlQwb_=_bS6p6XvTWI";
     private static final String DECRYPTED_CONSENT_ID = "255574b2-f115-4f3c-8d77-c1897749c060";
+    private static final String RESOURCE_ID = "resource id";
+    private static final byte[] ASPSP_CONSENT_DATA = "aspsp consent data".getBytes();
 
     @InjectMocks
     private AisConsentServiceInternalEncrypted aisConsentServiceInternalEncrypted;
@@ -52,6 +61,12 @@ class AisConsentServiceInternalEncryptedTest {
     private AisConsentService aisConsentService;
     @Mock
     private SecurityDataService securityDataService;
+    @Mock
+    private ConsentService consentService;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private AspspDataService aspspDataService;
 
     @Test
     void checkConsentAndSaveActionLog_success() throws WrongChecksumException {
@@ -136,6 +151,93 @@ class AisConsentServiceInternalEncryptedTest {
         verify(aisConsentService, never()).updateAspspAccountAccess(any(), any());
     }
 
+    @Test
+    void getConsentForAccess_success() {
+        // Given
+        CmsConsent cmsConsent = buildCmsConsent();
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+        when(consentService.getConsentById(DECRYPTED_CONSENT_ID))
+            .thenReturn(CmsResponse.<CmsConsent>builder()
+                            .payload(cmsConsent)
+                            .build());
+        when(aspspDataService.readAspspConsentData(ENCRYPTED_CONSENT_ID))
+            .thenReturn(Optional.of(new AspspConsentData(ASPSP_CONSENT_DATA, ENCRYPTED_CONSENT_ID)));
+
+        // When
+        CmsResponse<CmsAisConsentAccess> actual = aisConsentServiceInternalEncrypted.getConsentForAccess(ENCRYPTED_CONSENT_ID);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(cmsConsent, actual.getPayload().getConsent());
+        assertArrayEquals(ASPSP_CONSENT_DATA, actual.getPayload().getAspspConsentData());
+    }
+
+    @Test
+    void getConsentForAccess_consentNotFound() {
+        // Given
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+        when(consentService.getConsentById(DECRYPTED_CONSENT_ID))
+            .thenReturn(CmsResponse.<CmsConsent>builder()
+                            .error(CmsError.LOGICAL_ERROR)
+                            .build());
+
+        // When
+        CmsResponse<CmsAisConsentAccess> actual = aisConsentServiceInternalEncrypted.getConsentForAccess(ENCRYPTED_CONSENT_ID);
+
+        // Then
+        assertTrue(actual.hasError());
+        assertEquals(CmsError.LOGICAL_ERROR, actual.getError());
+        verifyNoInteractions(aspspDataService);
+    }
+
+    @Test
+    void getConsentForAccess_decryptionFailed() {
+        // When
+        CmsResponse<CmsAisConsentAccess> actual = aisConsentServiceInternalEncrypted.getConsentForAccess(UNDECRYPTABLE_CONSENT_ID);
+
+        // Then
+        assertTrue(actual.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, actual.getError());
+        verifyNoInteractions(consentService, aspspDataService);
+    }
+
+    @Test
+    void commitConsentAccess_withNumberOfTransactions() throws WrongChecksumException {
+        // Given
+        AisConsentActionRequest actionRequest = new AisConsentActionRequest("tpp id", ENCRYPTED_CONSENT_ID, ActionStatus.SUCCESS, "request/uri", true, RESOURCE_ID, null);
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+
+        // When
+        aisConsentServiceInternalEncrypted.commitConsentAccess(new AisConsentAccessCommitRequest(actionRequest, 5));
+
+        // Then
+        verify(accountService).saveNumberOfTransactions(DECRYPTED_CONSENT_ID, RESOURCE_ID, 5);
+        verify(aisConsentService).checkConsentAndSaveActionLog(new AisConsentActionRequest("tpp id", DECRYPTED_CONSENT_ID, ActionStatus.SUCCESS, "request/uri", true, RESOURCE_ID, null));
+    }
+
+    @Test
+    void commitConsentAccess_withoutNumberOfTransactions() throws WrongChecksumException {
+        // Given
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+
+        // When
+        aisConsentServiceInternalEncrypted.commitConsentAccess(new AisConsentAccessCommitRequest(buildAisActionRequest(ENCRYPTED_CONSENT_ID), null));
+
+        // Then
+        verifyNoInteractions(accountService);
+        verify(aisConsentService).checkConsentAndSaveActionLog(buildAisActionRequest(DECRYPTED_CONSENT_ID));
+    }
+
+    @Test
+    void commitConsentAccess_decryptionFailed() throws WrongChecksumException {
+        // When
+        CmsResponse<CmsResponse.VoidResponse> actual = aisConsentServiceInternalEncrypted.commitConsentAccess(new AisConsentAccessCommitRequest(buildAisActionRequest(UNDECRYPTABLE_CONSENT_ID), 5));
+
+        // Then
+        assertTrue(actual.hasError());
+        verifyNoInteractions(accountService, aisConsentService);
+    }
+
     private CmsConsent buildCmsConsent() {
         CmsConsent cmsConsent = new CmsConsent();
         cmsConsent.setId(DECRYPTED_CONSENT_ID);
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.TppInfoRepository;
+import de.adorsys.psd2.integration.test.BaseTest;
+import de.adorsys.psd2.integration.test.TestDBConfiguration;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(classes = {TestDBConfiguration.class, AisConsentUsageService.class},
+    initializers = {AisConsentUsageServiceIT.Initializer.class})
+class AisConsentUsageServiceIT extends BaseTest {
+    private static final String REQUEST_URI = "/v1/accounts/11111-999999999/transactions";
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 25;
+
+    @Autowired
+    private AisConsentUsageService aisConsentUsageService;
+    @Autowired
+    private AisConsentUsageRepository aisConsentUsageRepository;
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private TppInfoRepository tppInfoRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long consentId;
+
+    @BeforeEach
+    void setUp() {
+        clearData();
+
+        TppInfoEntity tppInfo = tppInfoRepository.save(
+            jsonReader.getObjectFromFile("json/specification/tpp-info-entity.json", TppInfoEntity.class));
+
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/specification/consent-entity.json", ConsentEntity.class);
+        consentEntity.setConsentType(ConsentType.AIS.getName());
+        consentEntity.getTppInformation().setTppInfo(tppInfo);
+        consentId = consentJpaRepository.save(consentEntity).getId();
+    }
+
+    @Test
+    void incrementUsage_concurrentRequests_noUpdatesAreLost() throws Exception {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AisConsentActionRequest request = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int thread = 0; thread < THREADS; thread++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    transactionTemplate.execute(status -> {
+                        ConsentEntity consent = consentJpaRepository.findById(consentId).orElseThrow(IllegalStateException::new);
+                        aisConsentUsageService.incrementUsage(consent, request);
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executorService.shutdown();
+
+        // Then
+        List<AisConsentUsage> usages = transactionTemplate.execute(status -> {
+            ConsentEntity consent = consentJpaRepository.findById(consentId).orElseThrow(IllegalStateException::new);
+            return aisConsentUsageRepository.findReadByConsentAndUsageDate(consent, LocalDate.now());
+        });
+        assertEquals(1, usages.size());
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, usages.get(0).getUsage());
+    }
+}
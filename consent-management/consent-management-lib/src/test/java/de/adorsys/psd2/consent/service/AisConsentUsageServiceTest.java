@@ -21,24 +21,25 @@ import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AisConsentUsageServiceTest {
@@ -46,42 +47,76 @@ class AisConsentUsageServiceTest {
     private AisConsentUsageService aisConsentUsageService;
     @Mock
     private AisConsentUsageRepository aisConsentUsageRepository;
+    @Mock
+    private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private EntityManager entityManager;
 
     @Test
-    void incrementUsage_getUsageFromRepository() {
+    void incrementUsage_usageIsIncrementedInRepository() {
         //Given
         ConsentEntity consentEntity = new ConsentEntity();
-        int initialUsage = 5;
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
-        ArgumentCaptor<AisConsentUsage> argumentCaptor = ArgumentCaptor.forClass(AisConsentUsage.class);
-        AisConsentUsage aisConsentUsage = new AisConsentUsage();
-        aisConsentUsage.setUsage(initialUsage);
-        when(aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()))).thenReturn(Optional.of(aisConsentUsage));
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq("requestUri"), eq("resourceId"), eq("transactionId"))).thenReturn(1);
         //When
         aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
         //Then
-        verify(aisConsentUsageRepository).save(argumentCaptor.capture());
-        AisConsentUsage aisConsentUsageCaptured = argumentCaptor.getValue();
-        assertEquals(++initialUsage, aisConsentUsageCaptured.getUsage());
-        assertEquals(aisConsentActionRequest.getResourceId(), aisConsentUsageCaptured.getResourceId());
-        assertEquals(aisConsentActionRequest.getTransactionId(), aisConsentUsageCaptured.getTransactionId());
+        verify(aisConsentUsageRepository, never()).save(any());
+        verify(consentJpaRepository, never()).findAndLockById(any());
+    }
+
+    @Test
+    void incrementUsage_loadedUsageIsRefreshed() {
+        //Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        AisConsentUsage aisConsentUsage = new AisConsentUsage(consentEntity, "requestUri");
+        consentEntity.addUsage(aisConsentUsage);
+        consentEntity.addUsage(new AisConsentUsage(consentEntity, "anotherRequestUri"));
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq("requestUri"), eq("resourceId"), eq("transactionId"))).thenReturn(1);
+        when(entityManager.contains(aisConsentUsage)).thenReturn(true);
+        //When
+        aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        //Then
+        verify(entityManager).refresh(aisConsentUsage);
+        verifyNoMoreInteractions(entityManager);
     }
 
     @Test
     void incrementUsage_noUsageInRepository() {
         //Given
         ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(1L);
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
         ArgumentCaptor<AisConsentUsage> argumentCaptor = ArgumentCaptor.forClass(AisConsentUsage.class);
-        when(aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()))).thenReturn(Optional.empty());
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq("requestUri"), eq("resourceId"), eq("transactionId"))).thenReturn(0);
         //When
         aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
         //Then
-        verify(aisConsentUsageRepository).save(argumentCaptor.capture());
+        InOrder inOrder = inOrder(aisConsentUsageRepository, consentJpaRepository);
+        inOrder.verify(aisConsentUsageRepository).incrementUsage(eq(consentEntity), any(LocalDate.class), eq("requestUri"), eq("resourceId"), eq("transactionId"));
+        inOrder.verify(consentJpaRepository).findAndLockById(1L);
+        inOrder.verify(aisConsentUsageRepository).incrementUsage(eq(consentEntity), any(LocalDate.class), eq("requestUri"), eq("resourceId"), eq("transactionId"));
+        inOrder.verify(aisConsentUsageRepository).save(argumentCaptor.capture());
         AisConsentUsage aisConsentUsageCaptured = argumentCaptor.getValue();
         assertEquals(1, aisConsentUsageCaptured.getUsage());
         assertEquals(aisConsentActionRequest.getResourceId(), aisConsentUsageCaptured.getResourceId());
         assertEquals(aisConsentActionRequest.getTransactionId(), aisConsentUsageCaptured.getTransactionId());
+        assertEquals(1, consentEntity.getUsages().size());
+    }
+
+    @Test
+    void incrementUsage_usageCreatedConcurrently() {
+        //Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(1L);
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq("requestUri"), eq("resourceId"), eq("transactionId"))).thenReturn(0, 1);
+        //When
+        aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        //Then
+        verify(consentJpaRepository).findAndLockById(1L);
+        verify(aisConsentUsageRepository, never()).save(any());
     }
 
     @Test
@@ -33,10 +33,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
@@ -146,4 +147,75 @@ class CorePaymentsConvertServiceTest {
 
         verify(cmsCommonPaymentMapper, times(1)).mapToCmsBulkPayment(cmsCommonPayment);
     }
+
+    @Test
+    void encodePaymentData_compressionDisabled() throws JsonProcessingException {
+        // Given
+        byte[] paymentData = buildBulkPaymentData();
+
+        // When
+        byte[] actual = corePaymentsConvertService.encodePaymentData(paymentData);
+
+        // Then
+        assertSame(paymentData, actual);
+    }
+
+    @Test
+    void encodePaymentData_belowThreshold() throws JsonProcessingException {
+        // Given
+        byte[] paymentData = buildBulkPaymentData();
+        ReflectionTestUtils.setField(corePaymentsConvertService, "compressionThreshold", paymentData.length + 1);
+
+        // When
+        byte[] actual = corePaymentsConvertService.encodePaymentData(paymentData);
+
+        // Then
+        assertSame(paymentData, actual);
+    }
+
+    @Test
+    void encodePaymentData_decodePaymentData() throws JsonProcessingException {
+        // Given
+        byte[] paymentData = buildBulkPaymentData();
+        ReflectionTestUtils.setField(corePaymentsConvertService, "compressionThreshold", 0);
+
+        // When
+        byte[] encoded = corePaymentsConvertService.encodePaymentData(paymentData);
+        byte[] decoded = corePaymentsConvertService.decodePaymentData(encoded);
+
+        // Then
+        assertTrue(encoded.length < paymentData.length);
+        assertArrayEquals(paymentData, decoded);
+        assertSame(encoded, corePaymentsConvertService.encodePaymentData(encoded));
+    }
+
+    @Test
+    void decodePaymentData_notEncoded() {
+        // Given
+        byte[] paymentData = "{\"paymentId\":\"1\"}".getBytes();
+
+        // When
+        byte[] actual = corePaymentsConvertService.decodePaymentData(paymentData);
+
+        // Then
+        assertSame(paymentData, actual);
+    }
+
+    @Test
+    void decodePaymentData_corrupted() {
+        // Given
+        byte[] corrupted = {0, 1, 0, 0, 0, 10, 1, 2, 3};
+
+        // When
+        byte[] actual = corePaymentsConvertService.decodePaymentData(corrupted);
+
+        // Then
+        assertNull(actual);
+    }
+
+    private byte[] buildBulkPaymentData() throws JsonProcessingException {
+        BulkPaymentInitiationJson bulkPayment = jsonReader.getObjectFromFile("json/service/mapper/bulk-payment-initiation-resp.json", BulkPaymentInitiationJson.class);
+        bulkPayment.setPayments(Collections.nCopies(100, bulkPayment.getPayments().get(0)));
+        return xs2aObjectMapper.writeValueAsBytes(bulkPayment);
+    }
 }
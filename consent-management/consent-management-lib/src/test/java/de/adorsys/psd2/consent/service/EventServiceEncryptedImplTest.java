@@ -28,6 +28,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -82,6 +83,21 @@ class EventServiceEncryptedImplTest {
         verify(eventService, times(1)).recordEvent(decryptedEvent);
     }
 
+    @Test
+    void recordEvents_success() {
+        // Given
+        when(securityDataService.decryptId(ENCRYPTED_PAYMENT_ID)).thenReturn(Optional.of(DECRYPTED_PAYMENT_ID));
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+        when(eventService.recordEvents(Collections.singletonList(decryptedEvent))).thenReturn(true);
+
+        // When
+        boolean actual = eventServiceEncryptedImpl.recordEvents(Collections.singletonList(event));
+
+        // Then
+        assertTrue(actual);
+        verify(eventService, never()).recordEvent(any());
+    }
+
     @Test
     void recordEvent_fail_recordingFailed() {
         // Given
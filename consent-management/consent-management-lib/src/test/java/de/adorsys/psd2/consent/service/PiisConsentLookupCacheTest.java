@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import de.adorsys.psd2.xs2a.core.profile.AccountReference;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PiisConsentLookupCacheTest {
+    private static final String IBAN = "DE62500105179972514662";
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @Test
+    void getOrLoad_sameAccount_loadsOnce() {
+        // Given
+        PiisConsentLookupCache piisConsentLookupCache = new PiisConsentLookupCache(10, Duration.ofSeconds(5));
+
+        // When
+        List<CmsConsent> first = piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+        List<CmsConsent> second = piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, loadCount.get());
+        assertEquals(1, piisConsentLookupCache.getHitCount());
+        assertEquals(1, piisConsentLookupCache.getMissCount());
+    }
+
+    @Test
+    void getOrLoad_returnedConsentModified_cachedConsentNotAffected() {
+        // Given
+        PiisConsentLookupCache piisConsentLookupCache = new PiisConsentLookupCache(10, Duration.ofSeconds(5));
+        CmsConsent expected = buildCmsConsent();
+        List<CmsConsent> first = piisConsentLookupCache.getOrLoad(IBAN, EUR, () -> Collections.singletonList(buildCmsConsent()));
+
+        // When
+        CmsConsent modified = first.get(0);
+        modified.setConsentStatus(ConsentStatus.REVOKED_BY_PSU);
+        modified.getConsentData()[0] = 0;
+        modified.getPsuIdDataList().clear();
+        List<CmsConsent> second = piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // Then
+        assertEquals(Collections.singletonList(expected), second);
+        assertNotSame(second.get(0), piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load).get(0));
+        assertEquals(0, loadCount.get());
+    }
+
+    @Test
+    void getOrLoad_anotherCurrency_loadsAgain() {
+        // Given
+        PiisConsentLookupCache piisConsentLookupCache = new PiisConsentLookupCache(10, Duration.ofSeconds(5));
+        piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // When
+        piisConsentLookupCache.getOrLoad(IBAN, null, this::load);
+
+        // Then
+        assertEquals(2, loadCount.get());
+        assertEquals(2, piisConsentLookupCache.size());
+    }
+
+    @Test
+    void getOrLoad_afterInvalidation_loadsAgain() {
+        // Given
+        PiisConsentLookupCache piisConsentLookupCache = new PiisConsentLookupCache(10, Duration.ofSeconds(5));
+        piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // When
+        piisConsentLookupCache.invalidate();
+        piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // Then
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void getOrLoad_expiredEntry_loadsAgain() {
+        // Given
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L, 10_000L);
+        PiisConsentLookupCache piisConsentLookupCache = new PiisConsentLookupCache(10, Duration.ofSeconds(5), clock);
+        piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // When
+        piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // Then
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void getOrLoad_disabled_alwaysLoads() {
+        // Given
+        PiisConsentLookupCache piisConsentLookupCache = PiisConsentLookupCache.disabled();
+
+        // When
+        piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+        piisConsentLookupCache.getOrLoad(IBAN, EUR, this::load);
+
+        // Then
+        assertEquals(2, loadCount.get());
+        assertEquals(0, piisConsentLookupCache.size());
+    }
+
+    private CmsConsent buildCmsConsent() {
+        AccountReference accountReference = new AccountReference(AccountReferenceType.IBAN, IBAN, EUR);
+        CmsConsent cmsConsent = new CmsConsent();
+        cmsConsent.setId("consent ID");
+        cmsConsent.setConsentData(new byte[]{1, 2, 3});
+        cmsConsent.setConsentStatus(ConsentStatus.VALID);
+        cmsConsent.setConsentType(ConsentType.PIIS_ASPSP);
+        cmsConsent.setPsuIdDataList(new ArrayList<>(Collections.singletonList(new PsuIdData("psu ID", null, null, null, null))));
+        cmsConsent.setValidUntil(LocalDate.of(2030, 1, 1));
+        cmsConsent.setCreationTimestamp(OffsetDateTime.of(2020, 1, 1, 12, 0, 0, 0, ZoneOffset.ofHours(2)));
+        cmsConsent.setAspspAccountAccesses(new AccountAccess(Collections.singletonList(accountReference), Collections.emptyList(), Collections.emptyList(), null));
+        return cmsConsent;
+    }
+
+    private List<CmsConsent> load() {
+        loadCount.incrementAndGet();
+        return Collections.singletonList(new CmsConsent());
+    }
+}
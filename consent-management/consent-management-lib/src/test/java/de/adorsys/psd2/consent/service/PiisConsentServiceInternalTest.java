@@ -32,9 +32,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
@@ -42,7 +44,7 @@ import java.util.Currency;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PiisConsentServiceInternalTest {
@@ -69,6 +71,8 @@ class PiisConsentServiceInternalTest {
     private PiisConsentEntitySpecification piisConsentEntitySpecification;
     @Mock
     private PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+    @Spy
+    private PiisConsentLookupCache piisConsentLookupCache = PiisConsentLookupCache.disabled();
 
     @Test
     void getPiisConsentListByAccountIdentifier() {
@@ -131,6 +135,32 @@ class PiisConsentServiceInternalTest {
         assertTrue(piisConsentsResponse.getPayload().isEmpty());
     }
 
+    @Test
+    void getPiisConsentListByAccountIdentifier_cacheEnabled() {
+        // Given
+        PiisConsentLookupCache enabledCache = new PiisConsentLookupCache(10, Duration.ofSeconds(5));
+        PiisConsentServiceInternal cachingService = new PiisConsentServiceInternal(consentJpaRepository, cmsConsentMapper, piisConsentEntitySpecification,
+                                                                                   piisConsentLazyMigrationService, enabledCache);
+        when(piisConsentEntitySpecification.byCurrencyAndAccountReferenceSelector(CURRENCY, SELECTOR_IBAN))
+            .thenReturn(SPECIFICATION_IBAN);
+        ConsentEntity validConsentEntity = buildConsentEntity();
+        when(consentJpaRepository.findAll(SPECIFICATION_IBAN))
+            .thenReturn(Collections.singletonList(validConsentEntity));
+        when(cmsConsentMapper.mapToCmsConsent(validConsentEntity, Collections.emptyList(), Collections.emptyMap()))
+            .thenReturn(buildCmsConsent());
+        when(piisConsentLazyMigrationService.migrateIfNeeded(validConsentEntity))
+            .thenReturn(validConsentEntity);
+
+        // When
+        cachingService.getPiisConsentListByAccountIdentifier(CURRENCY, SELECTOR_IBAN);
+        CmsResponse<List<CmsConsent>> piisConsentsResponse = cachingService.getPiisConsentListByAccountIdentifier(CURRENCY, SELECTOR_IBAN);
+
+        // Then
+        assertEquals(Collections.singletonList(buildCmsConsent()), piisConsentsResponse.getPayload());
+        verify(consentJpaRepository, times(1)).findAll(SPECIFICATION_IBAN);
+        assertEquals(1, enabledCache.getHitCount());
+    }
+
     private ConsentEntity buildConsentEntity() {
         ConsentEntity piisConsentEntity = new ConsentEntity();
         piisConsentEntity.setConsentStatus(ConsentStatus.VALID);
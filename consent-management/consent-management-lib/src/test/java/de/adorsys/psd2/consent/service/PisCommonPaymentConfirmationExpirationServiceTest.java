@@ -26,6 +26,7 @@ import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import org.springframework.data.domain.PageRequest;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,10 +38,12 @@ import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PisCommonPaymentConfirmationExpirationServiceTest {
@@ -176,6 +179,63 @@ class PisCommonPaymentConfirmationExpirationServiceTest {
         verify(pisCommonPaymentDataRepository).saveAll(Collections.singletonList(pisCommonPaymentData));
     }
 
+    @Test
+    void getConfirmationExpiredPaymentIds() {
+        List<Long> ids = Collections.singletonList(2L);
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+        when(aspspSettings.getPis()).thenReturn(getPisAspspProfileSetting(1000L));
+        when(pisCommonPaymentDataRepository.findIdsByTransactionStatusInAndCreationTimestampBefore(eq(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)),
+                                                                                                   any(OffsetDateTime.class), eq(1L), eq(PageRequest.of(0, 10))))
+            .thenReturn(ids);
+
+        List<Long> actual = service.getConfirmationExpiredPaymentIds(1L, 10);
+
+        assertEquals(ids, actual);
+    }
+
+    @Test
+    void updatePaymentsOnConfirmationExpiration() {
+        List<Long> ids = Collections.singletonList(2L);
+        PisCommonPaymentData pisCommonPaymentData = new PisCommonPaymentData();
+        pisCommonPaymentData.setTransactionStatus(TransactionStatus.RCVD);
+        pisCommonPaymentData.setPaymentId(PAYMENT_ID);
+
+        AuthorisationEntity pisAuthorization = new AuthorisationEntity();
+        pisAuthorization.setScaStatus(ScaStatus.RECEIVED);
+
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+        when(aspspSettings.getPis()).thenReturn(getPisAspspProfileSetting(1000L));
+        when(pisCommonPaymentDataRepository.findAndLockByIdInAndTransactionStatusInAndCreationTimestampBefore(eq(ids), eq(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)),
+                                                                                                            any(OffsetDateTime.class)))
+            .thenReturn(Collections.singletonList(pisCommonPaymentData));
+        when(authorisationRepository.findAllByParentExternalIdInAndAuthorisationTypeIn(Collections.singleton(PAYMENT_ID), EnumSet.of(AuthorisationType.PIS_CREATION, AuthorisationType.PIS_CANCELLATION)))
+            .thenReturn(Collections.singletonList(pisAuthorization));
+
+        int actual = service.updatePaymentsOnConfirmationExpiration(ids);
+
+        assertEquals(1, actual);
+        assertEquals(TransactionStatus.RJCT, pisCommonPaymentData.getTransactionStatus());
+        assertEquals(ScaStatus.FAILED, pisAuthorization.getScaStatus());
+        assertNotNull(pisAuthorization.getRedirectUrlExpirationTimestamp());
+        verify(pisCommonPaymentDataRepository).saveAll(Collections.singletonList(pisCommonPaymentData));
+    }
+
+    @Test
+    void updatePaymentsOnConfirmationExpiration_allPaymentsAreLocked() {
+        List<Long> ids = Collections.singletonList(2L);
+        when(aspspProfileService.getAspspSettings()).thenReturn(aspspSettings);
+        when(aspspSettings.getPis()).thenReturn(getPisAspspProfileSetting(1000L));
+        when(pisCommonPaymentDataRepository.findAndLockByIdInAndTransactionStatusInAndCreationTimestampBefore(eq(ids), eq(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)),
+                                                                                                            any(OffsetDateTime.class)))
+            .thenReturn(Collections.emptyList());
+
+        int actual = service.updatePaymentsOnConfirmationExpiration(ids);
+
+        assertEquals(0, actual);
+        verifyNoInteractions(authorisationRepository);
+        verify(pisCommonPaymentDataRepository, never()).saveAll(any());
+    }
+
     @NotNull
     private PisAspspProfileSetting getPisAspspProfileSetting(long notConfirmedPaymentExpirationTimeMs) {
         return new PisAspspProfileSetting(new HashMap<>(), 0, notConfirmedPaymentExpirationTimeMs,
@@ -111,6 +111,32 @@ class PisCommonPaymentServiceInternalTest {
         assertEquals(roles, argument.getValue().getTppInfo().getTppRoles());
     }
 
+    @Test
+    void createCommonPayment_paymentDataIsEncoded() {
+        // Given
+        byte[] paymentData = "payment data".getBytes();
+        byte[] encodedPaymentData = "encoded payment data".getBytes();
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber("tpp-id-1");
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setTppInfo(tppInfo);
+        pisPaymentInfo.setPaymentData(paymentData);
+
+        PisCommonPaymentData pisCommonPaymentData = new PisCommonPaymentData();
+        pisCommonPaymentData.setPayment(paymentData);
+
+        when(pisCommonPaymentMapper.mapToPisCommonPaymentData(pisPaymentInfo))
+            .thenReturn(pisCommonPaymentData);
+        when(corePaymentsConvertService.encodePaymentData(paymentData)).thenReturn(encodedPaymentData);
+        when(pisCommonPaymentDataRepository.save(pisCommonPaymentData)).thenReturn(pisCommonPaymentData);
+
+        // When
+        pisCommonPaymentService.createCommonPayment(pisPaymentInfo);
+
+        // Then
+        assertArrayEquals(encodedPaymentData, pisCommonPaymentData.getPayment());
+    }
+
     @Test
     void updateMultilevelSca_ShouldReturnTrue() {
         // Given
@@ -175,6 +201,10 @@ class PisCommonPaymentServiceInternalTest {
         when(pisCommonPaymentConfirmationExpirationService.checkAndUpdateOnConfirmationExpiration(pisCommonPaymentData))
             .thenReturn(pisCommonPaymentData);
         PisCommonPaymentResponse pisCommonPaymentResponse = new PisCommonPaymentResponse();
+        byte[] encodedPaymentData = "encoded payment data".getBytes();
+        byte[] paymentData = "payment data".getBytes();
+        pisCommonPaymentResponse.setPaymentData(encodedPaymentData);
+        when(corePaymentsConvertService.decodePaymentData(encodedPaymentData)).thenReturn(paymentData);
 
         List<AuthorisationEntity> authorisations = buildAuthorisations();
         when(authorisationRepository.findAllByParentExternalIdAndAuthorisationTypeIn(PAYMENT_ID, EnumSet.of(AuthorisationType.PIS_CREATION, AuthorisationType.PIS_CANCELLATION)))
@@ -189,6 +219,7 @@ class PisCommonPaymentServiceInternalTest {
         // Then
         assertTrue(actual.isSuccessful());
         assertEquals(pisCommonPaymentResponse, actual.getPayload());
+        assertArrayEquals(paymentData, actual.getPayload().getPaymentData());
     }
 
     @Test
@@ -288,11 +319,14 @@ class PisCommonPaymentServiceInternalTest {
         byte[] bytes = "content".getBytes();
         when(corePaymentsConvertService.buildPaymentData(Collections.singletonList(pisPayment), pisCommonPaymentData.getPaymentType()))
             .thenReturn(bytes);
+        byte[] encodedBytes = "encoded content".getBytes();
+        when(corePaymentsConvertService.encodePaymentData(bytes)).thenReturn(encodedBytes);
         when(pisCommonPaymentDataRepository.save(pisCommonPaymentData)).thenReturn(pisCommonPaymentData);
 
         pisCommonPaymentService.transferCorePaymentToCommonPayment(pisCommonPaymentResponse, pisCommonPaymentData);
 
         assertEquals(bytes, pisCommonPaymentResponse.getPaymentData());
+        assertEquals(encodedBytes, pisCommonPaymentData.getPayment());
 
         verify(pisCommonPaymentMapper, times(1)).mapToPisPayment(pisPaymentData);
         verify(corePaymentsConvertService, times(1)).buildPaymentData(Collections.singletonList(pisPayment), pisCommonPaymentData.getPaymentType());
@@ -33,12 +33,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -100,8 +104,8 @@ class CmsAspspAisExportServiceInternalTest {
             .thenReturn(Collections.singletonList(consentEntity));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndAuthorisationType(EXTERNAL_CONSENT_ID, AuthorisationType.AIS))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity());
+        when(authorisationRepository.findAllByParentExternalIdInAndAuthorisationTypeIn(Collections.singleton(EXTERNAL_CONSENT_ID), EnumSet.of(AuthorisationType.AIS)))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
@@ -162,8 +166,8 @@ class CmsAspspAisExportServiceInternalTest {
         when(consentJpaRepository.findAll(any())).thenReturn(Collections.singletonList(consentEntity));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndAuthorisationType(EXTERNAL_CONSENT_ID, AuthorisationType.AIS))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity());
+        when(authorisationRepository.findAllByParentExternalIdInAndAuthorisationTypeIn(Collections.singleton(EXTERNAL_CONSENT_ID), EnumSet.of(AuthorisationType.AIS)))
             .thenReturn(authorisations);
         when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
             .thenReturn(buildAisAccountConsent());
@@ -234,8 +238,8 @@ class CmsAspspAisExportServiceInternalTest {
         ConsentEntity consentEntity = buildConsentEntity();
         when(consentJpaRepository.findAll(any()))
             .thenReturn(Collections.singletonList(consentEntity));
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndAuthorisationType(EXTERNAL_CONSENT_ID, AuthorisationType.AIS))
+        List<AuthorisationEntity> authorisations = Collections.singletonList(buildAuthorisationEntity());
+        when(authorisationRepository.findAllByParentExternalIdInAndAuthorisationTypeIn(Collections.singleton(EXTERNAL_CONSENT_ID), EnumSet.of(AuthorisationType.AIS)))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
@@ -276,6 +280,64 @@ class CmsAspspAisExportServiceInternalTest {
             .byAspspAccountIdAndCreationPeriodAndInstanceId(WRONG_ASPSP_ACCOUNT_ID, CREATION_DATE_FROM, CREATION_DATE_TO, DEFAULT_SERVICE_INSTANCE_ID);
     }
 
+    @Test
+    void exportConsentsByTpp_withPagination() {
+        // Given
+        ConsentEntity consentEntity = buildConsentEntity();
+
+        when(aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(
+            TPP_AUTHORISATION_NUMBER,
+            CREATION_DATE_FROM,
+            CREATION_DATE_TO,
+            psuIdData,
+            DEFAULT_SERVICE_INSTANCE_ID
+        )).thenReturn((root, criteriaQuery, criteriaBuilder) -> null);
+        //noinspection unchecked
+        when(consentJpaRepository.findAll(any(Specification.class), eq(PageRequest.of(1, 20, Sort.by("id")))))
+            .thenReturn(new PageImpl<>(Collections.singletonList(consentEntity)));
+        when(authorisationRepository.findAllByParentExternalIdInAndAuthorisationTypeIn(Collections.singleton(EXTERNAL_CONSENT_ID), EnumSet.of(AuthorisationType.AIS)))
+            .thenReturn(Collections.emptyList());
+        when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
+            .thenReturn(consentEntity);
+        when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, Collections.emptyList()))
+            .thenReturn(buildAisAccountConsent());
+
+        // When
+        Collection<CmsAisAccountConsent> aisConsents =
+            cmsAspspAisExportServiceInternal.exportConsentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM,
+                                                                 CREATION_DATE_TO, psuIdData, DEFAULT_SERVICE_INSTANCE_ID,
+                                                                 1, 20);
+
+        // Then
+        assertEquals(Collections.singletonList(buildAisAccountConsent()), aisConsents);
+        //noinspection unchecked
+        verify(consentJpaRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void exportConsentsByPsu_failure_invalidPage() {
+        // When
+        Collection<CmsAisAccountConsent> aisConsents =
+            cmsAspspAisExportServiceInternal.exportConsentsByPsu(psuIdData, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                                 DEFAULT_SERVICE_INSTANCE_ID, -1, 20);
+
+        // Then
+        assertTrue(aisConsents.isEmpty());
+        verifyNoInteractions(aisConsentSpecification, consentJpaRepository, authorisationRepository);
+    }
+
+    @Test
+    void exportConsentsByPsu_failure_pageIndexWithoutItemsPerPage() {
+        // When
+        Collection<CmsAisAccountConsent> aisConsents =
+            cmsAspspAisExportServiceInternal.exportConsentsByPsu(psuIdData, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                                 DEFAULT_SERVICE_INSTANCE_ID, 1, null);
+
+        // Then
+        assertTrue(aisConsents.isEmpty());
+        verifyNoInteractions(aisConsentSpecification, consentJpaRepository, authorisationRepository);
+    }
+
     private PsuIdData buildPsuIdData(String psuId) {
         return new PsuIdData(psuId, null, null, null, null);
     }
@@ -288,6 +350,12 @@ class CmsAspspAisExportServiceInternalTest {
                                         false, false, null, null, null, null, false, Collections.emptyList(), Collections.emptyMap(), CREATION_DATE_TIME, STATUS_CHANGE_DATE_TIME, null);
     }
 
+    private AuthorisationEntity buildAuthorisationEntity() {
+        AuthorisationEntity authorisationEntity = new AuthorisationEntity();
+        authorisationEntity.setParentExternalId(EXTERNAL_CONSENT_ID);
+        return authorisationEntity;
+    }
+
     private ConsentEntity buildConsentEntity() {
         return jsonReader.getObjectFromFile("json/consent-entity.json", ConsentEntity.class);
     }
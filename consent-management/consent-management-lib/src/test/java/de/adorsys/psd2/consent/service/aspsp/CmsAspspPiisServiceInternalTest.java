@@ -27,6 +27,7 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
+import de.adorsys.psd2.consent.service.PiisConsentLookupCache;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
 import de.adorsys.psd2.core.data.piis.v1.PiisConsentData;
@@ -86,6 +87,8 @@ class CmsAspspPiisServiceInternalTest {
     private PiisConsentMapper piisConsentMapper;
     @Mock
     private PiisConsentEntitySpecification piisConsentEntitySpecification;
+    @Mock
+    private PiisConsentLookupCache piisConsentLookupCache;
     @InjectMocks
     private CmsAspspPiisServiceInternal cmsAspspPiisServiceInternal;
     private PsuIdData psuIdData;
@@ -120,6 +123,7 @@ class CmsAspspPiisServiceInternalTest {
         assertEquals(Collections.singletonList(buildAspspAccountAccess(buildAccountReference())), piisConsent.getAspspAccountAccesses());
         assertEquals(VALID_UNTIL_DATE, piisConsent.getValidUntil());
         assertEquals(DATA, piisConsent.getData());
+        verify(piisConsentLookupCache).invalidate();
     }
 
     @Test
@@ -377,6 +381,7 @@ class CmsAspspPiisServiceInternalTest {
         verify(piisConsentLazyMigrationService).migrateIfNeeded(argumentCaptor.capture());
         verify(consentJpaRepository).save(argumentCaptor.capture());
         assertEquals(ConsentStatus.TERMINATED_BY_ASPSP, argumentCaptor.getValue().getConsentStatus());
+        verify(piisConsentLookupCache).invalidate();
         verify(piisConsentEntitySpecification, times(1))
             .byConsentIdAndInstanceId(CONSENT_EXTERNAL_ID, DEFAULT_SERVICE_INSTANCE_ID);
     }
@@ -393,6 +398,7 @@ class CmsAspspPiisServiceInternalTest {
         verify(consentJpaRepository, never()).save(any(ConsentEntity.class));
         verify(piisConsentEntitySpecification, times(1))
             .byConsentIdAndInstanceId(CONSENT_EXTERNAL_ID_WRONG, DEFAULT_SERVICE_INSTANCE_ID);
+        verify(piisConsentLookupCache, never()).invalidate();
     }
 
     private TppInfoEntity buildTppInfoEntity() {
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.service.aspsp;
 
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppInfoRepository;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -54,6 +56,8 @@ class CmsAspspTppServiceInternalTest {
     private TppInfoRepository tppInfoRepository;
     @Mock
     private TppInfoMapper tppInfoMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Mock
     private TppStopListEntity tppStopListEntity;
@@ -103,6 +107,7 @@ class CmsAspspTppServiceInternalTest {
 
         assertTrue(isBlocked);
         verify(stopListRepository).save(tppStopListEntity);
+        verify(eventPublisher).publishEvent(new TppStopListChangedEvent(AUTHORISATION_NUMBER, INSTANCE_ID));
     }
 
     @Test
@@ -130,6 +135,7 @@ class CmsAspspTppServiceInternalTest {
 
         assertTrue(isUnblocked);
         verify(stopListRepository, never()).save(any(TppStopListEntity.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -147,6 +153,7 @@ class CmsAspspTppServiceInternalTest {
 
         assertTrue(isUnblocked);
         verify(stopListRepository).save(tppStopListEntity);
+        verify(eventPublisher).publishEvent(new TppStopListChangedEvent(AUTHORISATION_NUMBER, INSTANCE_ID));
     }
 
     @Test
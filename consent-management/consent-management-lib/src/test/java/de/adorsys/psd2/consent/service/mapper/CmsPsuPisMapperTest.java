@@ -25,6 +25,7 @@ import de.adorsys.psd2.consent.domain.payment.PisAddress;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisRemittance;
+import de.adorsys.psd2.consent.service.CorePaymentsConvertService;
 import de.adorsys.psd2.xs2a.core.pis.PisDayOfExecution;
 import de.adorsys.psd2.xs2a.core.pis.PisExecutionRule;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
@@ -129,6 +130,8 @@ class CmsPsuPisMapperTest {
     private TppInfoMapper tppInfoMapper;
     @Mock
     private PsuDataMapper psuDataMapper;
+    @Mock
+    private CorePaymentsConvertService corePaymentsConvertService;
     @Spy
     private CmsRemittanceMapper cmsRemittanceMapper = Mappers.getMapper(CmsRemittanceMapper.class);
 
@@ -140,6 +143,9 @@ class CmsPsuPisMapperTest {
 
     @Test
     void mapToCmsPayment_paymentData_Success() {
+        byte[] decodedPaymentData = "decoded payment data".getBytes();
+        when(corePaymentsConvertService.decodePaymentData(PAYMENT_DATA)).thenReturn(decodedPaymentData);
+
         CmsPayment cmsPayment = cmsPsuPisMapper.mapToCmsPayment(PIS_COMMON_PAYMENT_DATA_SINGLE);
 
         assertNotNull(cmsPayment);
@@ -150,6 +156,7 @@ class CmsPsuPisMapperTest {
         assertEquals(TPP_INFO, cmsPayment.getTppInfo());
         assertEquals(CREATION_TIMESTAMP, cmsPayment.getCreationTimestamp());
         assertEquals(STATUS_CHANGE_TIMESTAMP, cmsPayment.getStatusChangeTimestamp());
+        assertArrayEquals(decodedPaymentData, ((CmsCommonPayment) cmsPayment).getPaymentData());
     }
 
     @Test
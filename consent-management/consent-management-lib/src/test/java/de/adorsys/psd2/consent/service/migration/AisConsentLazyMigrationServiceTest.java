@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.repository.migration.ObsoleteAisConsentJpaReposit
 import de.adorsys.psd2.core.data.ais.AisConsentData;
 import de.adorsys.psd2.core.mapper.ConsentDataMapper;
 import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -94,4 +95,23 @@ class AisConsentLazyMigrationServiceTest {
         verify(obsoleteAisConsentJpaRepository, never()).findByExternalId(any());
         verify(consentJpaRepository, never()).save(any());
     }
+
+    @Test
+    void migrateIfNeeded_consentDataInOtherFormat() {
+        // Given
+        AisConsentData aisConsentData = new AisConsentData(AccountAccessType.ALL_ACCOUNTS, null, null, true);
+        byte[] data = consentDataMapper.getBytesFromConsentData(aisConsentData);
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setConsentType(ConsentType.AIS.getName());
+        consentEntity.setData(data);
+        doReturn(true).when(consentDataMapper).isMigrationNeeded(data);
+
+        // When
+        aisConsentLazyMigrationService.migrateIfNeeded(consentEntity);
+
+        // Then
+        verify(obsoleteAisConsentJpaRepository, never()).findByExternalId(any());
+        verify(consentJpaRepository, times(1)).save(consentEntity);
+        assertEquals(aisConsentData, consentDataMapper.mapToAisConsentData(consentEntity.getData()));
+    }
 }
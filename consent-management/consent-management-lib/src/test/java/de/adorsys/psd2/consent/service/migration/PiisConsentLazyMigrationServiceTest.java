@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.migration.ObsoletePiisConsentJpaRepository;
 import de.adorsys.psd2.core.data.piis.v1.PiisConsentData;
 import de.adorsys.psd2.core.mapper.ConsentDataMapper;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -91,4 +92,23 @@ class PiisConsentLazyMigrationServiceTest {
         verify(obsoletePiisConsentJpaRepository, never()).findByExternalId(any());
         verify(consentJpaRepository, never()).save(any());
     }
+
+    @Test
+    void migrateIfNeeded_consentDataInOtherFormat() {
+        // Given
+        PiisConsentData piisConsentData = jsonReader.getObjectFromFile("json/service/migration/piis-consent.json", PiisConsentData.class);
+        byte[] data = consentDataMapper.getBytesFromConsentData(piisConsentData);
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setConsentType(ConsentType.PIIS_TPP.getName());
+        consentEntity.setData(data);
+        doReturn(true).when(consentDataMapper).isMigrationNeeded(data);
+
+        // When
+        piisConsentLazyMigrationService.migrateIfNeeded(consentEntity);
+
+        // Then
+        verify(obsoletePiisConsentJpaRepository, never()).findByExternalId(any());
+        verify(consentJpaRepository, times(1)).save(consentEntity);
+        assertEquals(piisConsentData, consentDataMapper.mapToPiisConsentData(consentEntity.getData()));
+    }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DecryptedIdCacheTest {
+    private static final String ENCRYPTED_ID = "encrypted_=_mock";
+    private static final String DECRYPTED_ID = "decrypted";
+
+    private final AtomicInteger decryptionCount = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getOrDecrypt_sameIdWithinRequest_decryptsOnce() {
+        // Given
+        DecryptedIdCache decryptedIdCache = DecryptedIdCache.disabled();
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+
+        // When
+        Optional<String> first = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+        Optional<String> second = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertEquals(Optional.of(DECRYPTED_ID), first);
+        assertEquals(Optional.of(DECRYPTED_ID), second);
+        assertEquals(1, decryptionCount.get());
+        assertEquals(1, decryptedIdCache.getRequestHitCount());
+        assertEquals(0, decryptedIdCache.size());
+    }
+
+    @Test
+    void getOrDecrypt_sameIdInAnotherRequest_decryptsAgain() {
+        // Given
+        DecryptedIdCache decryptedIdCache = DecryptedIdCache.disabled();
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // When
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertEquals(2, decryptionCount.get());
+        assertEquals(0, decryptedIdCache.getRequestHitCount());
+    }
+
+    @Test
+    void getOrDecrypt_sameId_decryptsOnce() {
+        // Given
+        DecryptedIdCache decryptedIdCache = new DecryptedIdCache(10, Duration.ofMinutes(1));
+
+        // When
+        Optional<String> first = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+        Optional<String> second = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertEquals(Optional.of(DECRYPTED_ID), first);
+        assertEquals(Optional.of(DECRYPTED_ID), second);
+        assertEquals(1, decryptionCount.get());
+        assertEquals(1, decryptedIdCache.getHitCount());
+        assertEquals(1, decryptedIdCache.getMissCount());
+    }
+
+    @Test
+    void getOrDecrypt_failedDecryption_notCached() {
+        // Given
+        DecryptedIdCache decryptedIdCache = new DecryptedIdCache(10, Duration.ofMinutes(1));
+
+        // When
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, id -> Optional.empty());
+        Optional<String> actual = decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertEquals(Optional.of(DECRYPTED_ID), actual);
+        assertEquals(2, decryptedIdCache.getMissCount());
+    }
+
+    @Test
+    void getOrDecrypt_maxSizeExceeded_evictsLeastRecentlyUsed() {
+        // Given
+        DecryptedIdCache decryptedIdCache = new DecryptedIdCache(1, Duration.ofMinutes(1));
+        decryptedIdCache.getOrDecrypt("first", this::decrypt);
+
+        // When
+        decryptedIdCache.getOrDecrypt("second", this::decrypt);
+        decryptedIdCache.getOrDecrypt("first", this::decrypt);
+
+        // Then
+        assertEquals(1, decryptedIdCache.size());
+        assertEquals(2, decryptedIdCache.getEvictionCount());
+        assertEquals(3, decryptionCount.get());
+    }
+
+    @Test
+    void getOrDecrypt_expiredEntry_decryptsAgain() {
+        // Given
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L, 120_000L);
+        DecryptedIdCache decryptedIdCache = new DecryptedIdCache(10, Duration.ofMinutes(1), clock);
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // When
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertEquals(2, decryptionCount.get());
+        assertEquals(1, decryptedIdCache.getEvictionCount());
+    }
+
+    @Test
+    void getOrDecrypt_disabled_alwaysDecrypts() {
+        // Given
+        DecryptedIdCache decryptedIdCache = DecryptedIdCache.disabled();
+
+        // When
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+        decryptedIdCache.getOrDecrypt(ENCRYPTED_ID, this::decrypt);
+
+        // Then
+        assertEquals(2, decryptionCount.get());
+        assertEquals(0, decryptedIdCache.size());
+    }
+
+    private Optional<String> decrypt(String encryptedId) {
+        decryptionCount.incrementAndGet();
+        return Optional.of(DECRYPTED_ID);
+    }
+
+    private static class MapRequestAttributes implements RequestAttributes {
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+            // not needed in tests
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return "session";
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security;
+
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
+import de.adorsys.psd2.consent.service.security.provider.jwe.JweCryptoProviderImpl;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DerivedKeyCacheTest {
+    private static final String PROVIDER_ID = "gQ8wkMeo93";
+    private static final String PASSWORD = "password";
+    private static final byte[] KEY = {1, 2, 3, 4};
+
+    private final AtomicInteger derivationCount = new AtomicInteger();
+
+    @Test
+    void getOrDerive_sameProviderAndPassword_derivesOnce() throws GeneralSecurityException {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, Duration.ofMinutes(1));
+
+        // When
+        byte[] first = derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+        byte[] second = derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertArrayEquals(KEY, first);
+        assertArrayEquals(KEY, second);
+        assertEquals(1, derivationCount.get());
+        assertEquals(1, derivedKeyCache.getHitCount());
+        assertEquals(1, derivedKeyCache.getMissCount());
+    }
+
+    @Test
+    void getOrDerive_differentProvider_derivesAgain() throws GeneralSecurityException {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, Duration.ofMinutes(1));
+
+        // When
+        derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+        derivedKeyCache.getOrDerive("nML0IXWdMa", PASSWORD, this::derive);
+
+        // Then
+        assertEquals(2, derivationCount.get());
+        assertEquals(2, derivedKeyCache.size());
+    }
+
+    @Test
+    void getOrDerive_returnedKeyWiped_cachedKeyNotAffected() throws GeneralSecurityException {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, Duration.ofMinutes(1));
+        byte[] first = derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+
+        // When
+        first[0] = 0;
+        byte[] second = derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertArrayEquals(KEY, second);
+    }
+
+    @Test
+    void getOrDerive_maxSizeExceeded_evictsLeastRecentlyUsed() throws GeneralSecurityException {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(2, Duration.ofMinutes(1));
+        derivedKeyCache.getOrDerive(PROVIDER_ID, "first", this::derive);
+        derivedKeyCache.getOrDerive(PROVIDER_ID, "second", this::derive);
+        derivedKeyCache.getOrDerive(PROVIDER_ID, "first", this::derive);
+
+        // When
+        derivedKeyCache.getOrDerive(PROVIDER_ID, "third", this::derive);
+        derivedKeyCache.getOrDerive(PROVIDER_ID, "first", this::derive);
+
+        // Then
+        assertEquals(2, derivedKeyCache.size());
+        assertEquals(1, derivedKeyCache.getEvictionCount());
+        assertEquals(3, derivationCount.get());
+    }
+
+    @Test
+    void getOrDerive_expiredEntry_derivesAgain() throws GeneralSecurityException {
+        // Given
+        MutableClock clock = new MutableClock();
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, Duration.ofMinutes(1), clock);
+        derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+        derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertEquals(2, derivationCount.get());
+        assertEquals(1, derivedKeyCache.getEvictionCount());
+    }
+
+    @Test
+    void getOrDerive_disabled_alwaysDerives() throws GeneralSecurityException {
+        // Given
+        DerivedKeyCache derivedKeyCache = DerivedKeyCache.disabled();
+
+        // When
+        derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+        derivedKeyCache.getOrDerive(PROVIDER_ID, PASSWORD, this::derive);
+
+        // Then
+        assertEquals(2, derivationCount.get());
+        assertEquals(0, derivedKeyCache.size());
+    }
+
+    @Test
+    void cryptoProvider_withCache_decryptsWithCachedKey() {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, Duration.ofMinutes(1));
+        JweCryptoProviderImpl jweCryptoProvider = new JweCryptoProviderImpl(PROVIDER_ID, 256, 32, "PBKDF2WithHmacSHA256", derivedKeyCache);
+        String data = "secret data should be encrypted";
+
+        // When
+        Optional<EncryptedData> encryptData = jweCryptoProvider.encryptData(data.getBytes(), PASSWORD);
+        assertTrue(encryptData.isPresent());
+        Optional<DecryptedData> decryptData = jweCryptoProvider.decryptData(encryptData.get().getData(), PASSWORD);
+
+        // Then
+        assertTrue(decryptData.isPresent());
+        assertEquals(data, new String(decryptData.get().getData()));
+        assertEquals(1, derivedKeyCache.getMissCount());
+        assertEquals(1, derivedKeyCache.getHitCount());
+    }
+
+    private byte[] derive() {
+        derivationCount.incrementAndGet();
+        return KEY.clone();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.now();
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+    }
+}
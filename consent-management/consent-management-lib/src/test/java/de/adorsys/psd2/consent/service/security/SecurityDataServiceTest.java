@@ -27,12 +27,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SecurityDataServiceTest {
@@ -65,7 +65,7 @@ class SecurityDataServiceTest {
 
         when(environment.getProperty("server_key")).thenReturn(SERVER_KEY);
 
-        securityDataService = new SecurityDataService(environment, cryptoProviderHolder);
+        securityDataService = new SecurityDataService(environment, cryptoProviderHolder, DecryptedIdCache.disabled());
     }
 
     @Test
@@ -164,6 +164,39 @@ class SecurityDataServiceTest {
         assertFalse(actual.isPresent());
     }
 
+    @Test
+    void getConsentId_Success_CachedDecryption() {
+        // Given
+        securityDataService = new SecurityDataService(environment, cryptoProviderHolder, new DecryptedIdCache(10, Duration.ofMinutes(1)));
+        String encrypted = getEncryptedConsentId(CRYPTO_PROVIDER_ID);
+        when(cryptoProviderHolder.getProviderById(CRYPTO_PROVIDER_ID)).thenReturn(Optional.of(CRYPTO_PROVIDER));
+
+        // When
+        Optional<String> first = securityDataService.decryptId(encrypted);
+        Optional<String> second = securityDataService.decryptId(encrypted);
+
+        // Then
+        assertEquals(Optional.of(CONSENT_ID), first);
+        assertEquals(Optional.of(CONSENT_ID), second);
+        verify(cryptoProviderHolder, times(1)).getProviderById(CRYPTO_PROVIDER_ID);
+    }
+
+    @Test
+    void getConsentId_Failure_DecryptionErrorNotCached() {
+        // Given
+        securityDataService = new SecurityDataService(environment, cryptoProviderHolder, new DecryptedIdCache(10, Duration.ofMinutes(1)));
+        String encrypted = getEncryptedConsentId(FAILING_CRYPTO_PROVIDER_ID);
+        when(cryptoProviderHolder.getProviderById(FAILING_CRYPTO_PROVIDER_ID)).thenReturn(Optional.of(FAILING_CRYPTO_PROVIDER));
+
+        // When
+        securityDataService.decryptId(encrypted);
+        Optional<String> actual = securityDataService.decryptId(encrypted);
+
+        // Then
+        assertFalse(actual.isPresent());
+        verify(cryptoProviderHolder, times(2)).getProviderById(FAILING_CRYPTO_PROVIDER_ID);
+    }
+
     @Test
     void encryptConsentData_Success() {
         // Given
@@ -22,11 +22,15 @@ import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class AisChecksumCalculatingServiceV3Test {
     private static final String VERSION_03 = "003";
+    private static final String CONSENT_ID = "consent ID";
     private static final byte[] WRONG_CHECKSUM = "checksum in consent".getBytes();
     private static final byte[] WRONG_CHECKSUM_WITH_DELIMITER = ("checksum in consent" + ChecksumConstant.DELIMITER).getBytes();
     private static final byte[] WRONG_CHECKSUM_WITH_2_PARTS = ("checksum in consent" + ChecksumConstant.DELIMITER+"second part==").getBytes();
@@ -232,6 +236,85 @@ class AisChecksumCalculatingServiceV3Test {
         assertEquals(VERSION_03, actualResult);
     }
 
+    @Test
+    void verifyConsentWithChecksum_verificationCache_unchangedConsent() {
+        // given
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheMaxSize", 10);
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheTtlSeconds", 60);
+        aisChecksumCalculatingServiceV3.init();
+        AisConsent aisConsent = buildConsentAspspIban();
+        aisConsent.setId(CONSENT_ID);
+
+        // when
+        boolean firstResult = aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(aisConsent, CHECKSUM_ASPSP_ACCESS_IBAN);
+        boolean secondResult = aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(buildConsentAspspIban(CONSENT_ID), CHECKSUM_ASPSP_ACCESS_IBAN);
+
+        // then
+        assertTrue(firstResult);
+        assertTrue(secondResult);
+        assertEquals(1, aisChecksumCalculatingServiceV3.getVerificationCacheMissCount());
+        assertEquals(1, aisChecksumCalculatingServiceV3.getVerificationCacheHitCount());
+    }
+
+    @Test
+    void verifyConsentWithChecksum_verificationCache_changedConsent() {
+        // given
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheMaxSize", 10);
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheTtlSeconds", 60);
+        aisChecksumCalculatingServiceV3.init();
+        aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(buildConsentAspspIban(CONSENT_ID), CHECKSUM_ASPSP_ACCESS_IBAN);
+        AisConsent changedConsent = buildConsentAspspIban(CONSENT_ID);
+        changedConsent.setValidUntil(LocalDate.of(2099, 1, 1));
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(changedConsent, CHECKSUM_ASPSP_ACCESS_IBAN);
+
+        // then
+        assertFalse(actualResult);
+        assertEquals(2, aisChecksumCalculatingServiceV3.getVerificationCacheMissCount());
+        assertEquals(0, aisChecksumCalculatingServiceV3.getVerificationCacheHitCount());
+    }
+
+    @Test
+    void verifyConsentWithChecksum_verificationCache_accountAccessChangedAfterVerification() {
+        // given
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheMaxSize", 10);
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheTtlSeconds", 60);
+        aisChecksumCalculatingServiceV3.init();
+        AisConsent aisConsent = buildConsentAspspIban(CONSENT_ID);
+        aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(aisConsent, CHECKSUM_ASPSP_ACCESS_IBAN);
+        aisConsent.getAspspAccountAccesses().getAccounts().get(0).setIban("DE89370400440532013000");
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(aisConsent, CHECKSUM_ASPSP_ACCESS_IBAN);
+
+        // then
+        assertFalse(actualResult);
+        assertEquals(0, aisChecksumCalculatingServiceV3.getVerificationCacheHitCount());
+    }
+
+    @Test
+    void verifyConsentWithChecksum_verificationCache_anotherChecksum() {
+        // given
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheMaxSize", 10);
+        ReflectionTestUtils.setField(aisChecksumCalculatingServiceV3, "verificationCacheTtlSeconds", 60);
+        aisChecksumCalculatingServiceV3.init();
+        aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(buildConsentAspspIban(CONSENT_ID), CHECKSUM_ASPSP_ACCESS_IBAN);
+
+        // when
+        boolean actualResult = aisChecksumCalculatingServiceV3.verifyConsentWithChecksum(buildConsentAspspIban(CONSENT_ID), WRONG_CHECKSUM_WITH_2_PARTS);
+
+        // then
+        assertFalse(actualResult);
+        assertEquals(0, aisChecksumCalculatingServiceV3.getVerificationCacheHitCount());
+    }
+
+    private AisConsent buildConsentAspspIban(String consentId) {
+        AisConsent aisConsent = buildConsentAspspIban();
+        aisConsent.setId(consentId);
+        return aisConsent;
+    }
+
     private AisConsent buildConsentTppIban() {
         return jsonReader.getObjectFromFile("json/dedicated-ais-consent_tpp_access.json", AisConsent.class);
     }
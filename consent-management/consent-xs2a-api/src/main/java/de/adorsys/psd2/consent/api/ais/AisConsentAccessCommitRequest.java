@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.api.ais;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Writes to be performed in the CMS after the account information was provided to the TPP
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AisConsentAccessCommitRequest {
+    private AisConsentActionRequest actionRequest;
+
+    // Is optional. Number of transactions, that were provided for the resource ID of the action request.
+    private Integer numberOfTransactions;
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.api.ais;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AIS consent together with ASPSP consent data, that are needed by XS2A to access the accounts of the consent
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CmsAisConsentAccess {
+    private CmsConsent consent;
+    // Is null if there is no ASPSP consent data stored for the consent
+    private byte[] aspspConsentData;
+}
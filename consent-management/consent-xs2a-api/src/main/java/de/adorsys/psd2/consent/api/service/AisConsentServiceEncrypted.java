@@ -16,6 +16,11 @@
 
 package de.adorsys.psd2.consent.api.service;
 
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
+
 /**
  * AisConsentService with enabled encryption and decryption
  *
@@ -23,4 +28,23 @@ package de.adorsys.psd2.consent.api.service;
  * @see AisConsentService
  */
 public interface AisConsentServiceEncrypted extends AisConsentServiceBase {
+
+    /**
+     * Reads AIS consent and its ASPSP consent data in one call.
+     * <p>
+     * ASPSP consent data is encrypted with encrypted consent ID, so this call is only available with enabled encryption.
+     *
+     * @param encryptedConsentId encrypted ID of the consent
+     * @return consent with decrypted ASPSP consent data
+     */
+    CmsResponse<CmsAisConsentAccess> getConsentForAccess(String encryptedConsentId);
+
+    /**
+     * Saves number of transactions if it's given and information about uses of consent in one call
+     *
+     * @param request action request with encrypted consent ID and optional number of transactions
+     * @return VoidResponse
+     * @throws WrongChecksumException in case of any attempt to change definite consent fields after its status became valid.
+     */
+    CmsResponse<CmsResponse.VoidResponse> commitConsentAccess(AisConsentAccessCommitRequest request) throws WrongChecksumException;
 }
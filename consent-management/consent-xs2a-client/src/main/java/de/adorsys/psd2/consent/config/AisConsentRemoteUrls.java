@@ -41,4 +41,22 @@ public class AisConsentRemoteUrls {
     public String updateAisAccountAccess() {
         return consentServiceBaseUrl + "/ais/consent/{consent-id}/access";
     }
+
+    /**
+     * Returns URL-string to CMS endpoint that reads consent together with its ASPSP consent data
+     *
+     * @return String
+     */
+    public String getConsentForAccess() {
+        return consentServiceBaseUrl + "/ais/consent/{consent-id}/access-context";
+    }
+
+    /**
+     * @return VOID
+     * Method: POST
+     * PathVariables: AisConsentAccessCommitRequest commitRequest
+     */
+    public String commitConsentAccess() {
+        return consentServiceBaseUrl + "/ais/consent/action/commit";
+    }
 }
@@ -16,13 +16,14 @@
 
 package de.adorsys.psd2.consent.config;
 
+import de.adorsys.psd2.http.client.HttpClientSettings;
+import de.adorsys.psd2.http.client.HttpClientTransport;
 import de.adorsys.psd2.logger.web.LoggingContextInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
@@ -35,20 +36,36 @@ public class ConsentRestConfig {
     private int readTimeout;
     @Value("${rest-consent-config.connection-timeout.ms:10000}")
     private int connectionTimeout;
+    @Value("${rest-consent-config.transport:SIMPLE}")
+    private HttpClientTransport transport;
+    @Value("${rest-consent-config.pool.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+    @Value("${rest-consent-config.pool.connection-request-timeout.ms:5000}")
+    private long connectionRequestTimeout;
+    @Value("${rest-consent-config.pool.http2:false}")
+    private boolean http2;
+    @Value("${rest-consent-config.pool.gzip:false}")
+    private boolean gzip;
 
     @Bean
     public RestTemplate consentRestTemplate() {
-        RestTemplate rest = new RestTemplate(clientHttpRequestFactory());
+        RestTemplate rest = new RestTemplate(consentClientHttpRequestFactory());
         rest.getMessageConverters().removeIf(m -> m.getClass().isAssignableFrom(MappingJackson2XmlHttpMessageConverter.class));
         rest.setErrorHandler(new ConsentRestErrorHandler());
         rest.getInterceptors().add(loggingContextInterceptor);
         return rest;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setReadTimeout(readTimeout);
-        factory.setConnectTimeout(connectionTimeout);
-        return factory;
+    @Bean
+    public ClientHttpRequestFactory consentClientHttpRequestFactory() {
+        return HttpClientTransport.requestFactory(HttpClientSettings.builder()
+                                                      .transport(transport)
+                                                      .connectionTimeout(connectionTimeout)
+                                                      .readTimeout(readTimeout)
+                                                      .maxConnectionsPerRoute(maxConnectionsPerRoute)
+                                                      .connectionRequestTimeout(connectionRequestTimeout)
+                                                      .http2(http2)
+                                                      .gzip(gzip)
+                                                      .build());
     }
 }
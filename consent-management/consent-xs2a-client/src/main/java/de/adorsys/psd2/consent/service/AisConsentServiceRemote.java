@@ -17,7 +17,9 @@
 package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -81,4 +83,40 @@ public class AisConsentServiceRemote implements AisConsentServiceEncrypted {
                    .error(TECHNICAL_ERROR)
                    .build();
     }
+
+    @Override
+    public CmsResponse<CmsAisConsentAccess> getConsentForAccess(String consentId) {
+        try {
+            CmsAisConsentAccess response = consentRestTemplate.getForEntity(remoteAisConsentUrls.getConsentForAccess(),
+                                                                            CmsAisConsentAccess.class, consentId).getBody();
+            if (response != null) {
+                return CmsResponse.<CmsAisConsentAccess>builder()
+                           .payload(response)
+                           .build();
+            }
+        } catch (CmsRestException cmsRestException) {
+            log.info("Couldn't get consent for access, HTTP response status: {}", cmsRestException.getHttpStatus());
+        }
+
+        return CmsResponse.<CmsAisConsentAccess>builder()
+                   .error(TECHNICAL_ERROR)
+                   .build();
+    }
+
+    @Override
+    public CmsResponse<CmsResponse.VoidResponse> commitConsentAccess(AisConsentAccessCommitRequest request) {
+        try {
+            consentRestTemplate.postForEntity(remoteAisConsentUrls.commitConsentAccess(), request, Void.class);
+        } catch (CmsRestException cmsRestException) {
+            log.info("Couldn't commit consent access, HTTP response status: {}", cmsRestException.getHttpStatus());
+
+            return CmsResponse.<CmsResponse.VoidResponse>builder()
+                       .error(cmsRestException.getCmsError())
+                       .build();
+        }
+
+        return CmsResponse.<CmsResponse.VoidResponse>builder()
+                   .payload(CmsResponse.voidResponse())
+                   .build();
+    }
 }
@@ -19,7 +19,9 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.config.AisConsentRemoteUrls;
@@ -121,6 +123,56 @@ class AisConsentServiceRemoteTest {
         assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
     }
 
+    @Test
+    void getConsentForAccess() {
+        when(aisConsentRemoteUrls.getConsentForAccess()).thenReturn(URL);
+        CmsAisConsentAccess consentAccess = new CmsAisConsentAccess(new CmsConsent(), new byte[]{1, 2});
+        when(consentRestTemplate.getForEntity(URL, CmsAisConsentAccess.class, CONSENT_ID))
+            .thenReturn(ResponseEntity.ok(consentAccess));
+
+        CmsResponse<CmsAisConsentAccess> response = aisConsentServiceRemote.getConsentForAccess(CONSENT_ID);
+
+        assertTrue(response.isSuccessful());
+        assertEquals(consentAccess, response.getPayload());
+    }
+
+    @Test
+    void getConsentForAccess_cmsRestException() {
+        when(aisConsentRemoteUrls.getConsentForAccess()).thenReturn(URL);
+        when(consentRestTemplate.getForEntity(URL, CmsAisConsentAccess.class, CONSENT_ID))
+            .thenThrow(CmsRestException.class);
+
+        CmsResponse<CmsAisConsentAccess> response = aisConsentServiceRemote.getConsentForAccess(CONSENT_ID);
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+    }
+
+    @Test
+    void commitConsentAccess() {
+        when(aisConsentRemoteUrls.commitConsentAccess()).thenReturn(URL);
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, ACTION_LOG_REQUEST_URI, true, null, null);
+        AisConsentAccessCommitRequest commitRequest = new AisConsentAccessCommitRequest(aisConsentActionRequest, 3);
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceRemote.commitConsentAccess(commitRequest);
+
+        assertTrue(response.isSuccessful());
+        verify(consentRestTemplate).postForEntity(URL, commitRequest, Void.class);
+    }
+
+    @Test
+    void commitConsentAccess_cmsRestException() {
+        when(aisConsentRemoteUrls.commitConsentAccess()).thenReturn(URL);
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, ACTION_LOG_REQUEST_URI, true, null, null);
+        AisConsentAccessCommitRequest commitRequest = new AisConsentAccessCommitRequest(aisConsentActionRequest, null);
+        doThrow(CmsRestException.class).when(consentRestTemplate).postForEntity(URL, commitRequest, Void.class);
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceRemote.commitConsentAccess(commitRequest);
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+    }
+
     private AccountAccess buildEmptyAccountAccess() {
         return new AccountAccess(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), buildEmptyAdditionalInformationAccess());
     }
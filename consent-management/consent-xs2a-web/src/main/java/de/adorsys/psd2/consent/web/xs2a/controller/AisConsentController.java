@@ -20,7 +20,9 @@ package de.adorsys.psd2.consent.web.xs2a.controller;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -52,6 +54,39 @@ public class AisConsentController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping(path = "/{encrypted-consent-id}/access-context")
+    @ApiOperation(value = "Read consent identified by given consent id together with its ASPSP consent data.")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 404, message = "Not Found")})
+    public ResponseEntity<CmsAisConsentAccess> getConsentForAccess(
+        @ApiParam(name = "consent-id",
+            value = "The account consent identification assigned to the created account consent.",
+            example = "bf489af6-a2cb-4b75-b71d-d66d58b934d7",
+            required = true)
+        @PathVariable("encrypted-consent-id") String encryptedConsentId) {
+        CmsResponse<CmsAisConsentAccess> response = aisConsentService.getConsentForAccess(encryptedConsentId);
+
+        if (response.hasError()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(response.getPayload(), HttpStatus.OK);
+    }
+
+    @PostMapping(path = "/action/commit")
+    @ApiOperation(value = "Save number of transactions and information about uses of consent")
+    public ResponseEntity<Object> commitConsentAccess(@RequestBody AisConsentAccessCommitRequest request) {
+
+        try {
+            aisConsentService.commitConsentAccess(request);
+        } catch (WrongChecksumException e) {
+            return new ResponseEntity<>(CmsError.CHECKSUM_ERROR, HttpStatus.BAD_REQUEST);
+        }
+
+        return ResponseEntity.ok().build();
+    }
+
     @PutMapping(path = "/{encrypted-consent-id}/access")
     @ApiOperation(value = "Update AccountAccess in the consent identified by given consent id.")
     @ApiResponses(value = {
@@ -20,7 +20,9 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -51,6 +53,10 @@ class AisConsentControllerTest {
     private static final String UPDATE_ACCOUNT_ACCESS_ENDPOINT = UriComponentsBuilder.fromPath("/api/v1/ais/consent/{encrypted-consent-id}/access")
                                                                      .buildAndExpand(ENCRYPTED_CONSENT_ID)
                                                                      .toUriString();
+    private static final String COMMIT_ENDPOINT = UriComponentsBuilder.fromPath("/api/v1/ais/consent/action/commit").toUriString();
+    private static final String ACCESS_CONTEXT_ENDPOINT = UriComponentsBuilder.fromPath("/api/v1/ais/consent/{encrypted-consent-id}/access-context")
+                                                              .buildAndExpand(ENCRYPTED_CONSENT_ID)
+                                                              .toUriString();
     private static final JsonReader JSON_READER = new JsonReader();
     private static final AisConsentActionRequest AIS_CONSENT_ACTION_REQUEST = JSON_READER.getObjectFromFile("json/controller/ais-consent-action-request.json", AisConsentActionRequest.class);
     private static final AccountAccess ACCOUNT_ACCESS = JSON_READER.getObjectFromFile("json/controller/account-access.json", AccountAccess.class);
@@ -97,6 +103,61 @@ class AisConsentControllerTest {
             .andExpect(content().json(JSON_READER.writeValueAsString(CmsError.CHECKSUM_ERROR)));
     }
 
+    @Test
+    void getConsentForAccess_Success() throws Exception {
+        //Given
+        CmsConsent cmsConsent = JSON_READER.getObjectFromFile("json/controller/cms-consent.json", CmsConsent.class);
+        CmsAisConsentAccess consentAccess = new CmsAisConsentAccess(cmsConsent, "aspsp consent data".getBytes());
+        when(aisConsentServiceEncrypted.getConsentForAccess(ENCRYPTED_CONSENT_ID))
+            .thenReturn(CmsResponse.<CmsAisConsentAccess>builder().payload(consentAccess).build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.get(ACCESS_CONTEXT_ENDPOINT))
+            //Then
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().json(JSON_READER.writeValueAsString(consentAccess)));
+    }
+
+    @Test
+    void getConsentForAccess_NotFound() throws Exception {
+        //Given
+        when(aisConsentServiceEncrypted.getConsentForAccess(ENCRYPTED_CONSENT_ID))
+            .thenReturn(CmsResponse.<CmsAisConsentAccess>builder().error(CmsError.LOGICAL_ERROR).build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.get(ACCESS_CONTEXT_ENDPOINT))
+            //Then
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void commitConsentAccess_Success() throws Exception {
+        //Given
+        AisConsentAccessCommitRequest commitRequest = new AisConsentAccessCommitRequest(AIS_CONSENT_ACTION_REQUEST, 10);
+        when(aisConsentServiceEncrypted.commitConsentAccess(commitRequest))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.post(COMMIT_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(JSON_READER.writeValueAsString(commitRequest)))
+            //Then
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void commitConsentAccess_WrongChecksumException() throws Exception {
+        //Given
+        AisConsentAccessCommitRequest commitRequest = new AisConsentAccessCommitRequest(AIS_CONSENT_ACTION_REQUEST, null);
+        when(aisConsentServiceEncrypted.commitConsentAccess(commitRequest))
+            .thenThrow(WrongChecksumException.class);
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.post(COMMIT_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(JSON_READER.writeValueAsString(commitRequest)))
+            //Then
+            .andExpect(status().isBadRequest())
+            .andExpect(content().json(JSON_READER.writeValueAsString(CmsError.CHECKSUM_ERROR)));
+    }
+
     @Test
     void updateAccountAccess_Success() throws Exception {
         //Given
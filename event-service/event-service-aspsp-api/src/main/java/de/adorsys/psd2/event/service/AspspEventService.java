@@ -19,11 +19,14 @@ package de.adorsys.psd2.event.service;
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventFilter;
+import de.adorsys.psd2.event.service.model.AspspEventPage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Base version of AspspEventService that contains all method declarations.
@@ -84,4 +87,24 @@ public interface AspspEventService {
      * @return List of Event objects, recorded in given time period and from a specific origin
      */
     List<AspspEvent> getEventsForPeriodAndEventOrigin(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @NotNull EventOrigin eventOrigin, @Nullable String instanceId);
+
+    /**
+     * Passes Event objects, matching given filter, to the consumer one by one in order of their timestamps.
+     * Events are read in chunks, so reports over long periods don't require the whole result to be held in memory.
+     *
+     * @param filter        Criteria of the events
+     * @param eventConsumer Consumer of the events
+     */
+    void streamEvents(@NotNull AspspEventFilter filter, @NotNull Consumer<AspspEvent> eventConsumer);
+
+    /**
+     * Returns a page of Event objects, matching given filter, in order of their timestamps
+     *
+     * @param filter   Criteria of the events
+     * @param pageKey  Key of the page, returned with the previous page. <code>null</code> for the first page
+     * @param pageSize Maximum number of events in the page
+     * @return Page of Event objects with the key of the next page
+     * @throws IllegalArgumentException if the page key is malformed
+     */
+    AspspEventPage getEventsPage(@NotNull AspspEventFilter filter, @Nullable String pageKey, int pageSize);
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.event.service.model;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import lombok.Builder;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Criteria of the events in the report.
+ */
+@Value
+@Builder
+public class AspspEventFilter {
+    /**
+     * First date of the period
+     */
+    @NotNull
+    private OffsetDateTime start;
+
+    /**
+     * Last date of the period
+     */
+    @NotNull
+    private OffsetDateTime end;
+
+    /**
+     * The id of particular service instance
+     */
+    @Nullable
+    private String instanceId;
+
+    /**
+     * Id of the consent. If null, events are not filtered by consent
+     */
+    @Nullable
+    private String consentId;
+
+    /**
+     * Id of the payment. If null, events are not filtered by payment
+     */
+    @Nullable
+    private String paymentId;
+
+    /**
+     * Type of the events. If null, events are not filtered by type
+     */
+    @Nullable
+    private EventType eventType;
+
+    /**
+     * Origin of the events. If null, events are not filtered by origin
+     */
+    @Nullable
+    private EventOrigin eventOrigin;
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.event.service.model;
+
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Contains one page of events in the report.
+ */
+@Value
+public class AspspEventPage {
+    /**
+     * Events of the page, ordered by their timestamps
+     */
+    private List<AspspEvent> events;
+
+    /**
+     * Key that should be passed to get the next page.
+     * Is null if there are no more events.
+     */
+    @Nullable
+    private String nextPageKey;
+}
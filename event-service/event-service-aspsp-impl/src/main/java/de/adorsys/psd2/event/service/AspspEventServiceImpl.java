@@ -20,19 +20,28 @@ import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.EventReportRepository;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventFilter;
 import de.adorsys.psd2.event.service.mapper.AspspEventMapper;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventFilter;
+import de.adorsys.psd2.event.service.model.AspspEventPage;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class AspspEventServiceImpl implements AspspEventService {
+    private static final String PAGE_KEY_SEPARATOR = ";";
+
     private final EventReportRepository eventReportRepository;
     private final AspspEventMapper eventBOMapper;
 
@@ -65,4 +74,56 @@ public class AspspEventServiceImpl implements AspspEventService {
         List<ReportEvent> result = eventReportRepository.getEventsForPeriodAndEventOrigin(start, end, eventOrigin, instanceId);
         return eventBOMapper.toAspspEventList(result);
     }
+
+    @Override
+    public void streamEvents(@NotNull AspspEventFilter filter, @NotNull Consumer<AspspEvent> eventConsumer) {
+        ReportEventFilter reportEventFilter = eventBOMapper.toReportEventFilter(filter);
+        eventReportRepository.streamEvents(reportEventFilter, event -> eventConsumer.accept(eventBOMapper.toAspspEvent(event)));
+    }
+
+    @Override
+    public AspspEventPage getEventsPage(@NotNull AspspEventFilter filter, @Nullable String pageKey, int pageSize) {
+        ReportEventFilter reportEventFilter = eventBOMapper.toReportEventFilter(filter);
+        List<ReportEvent> events;
+        if (pageKey == null) {
+            events = eventReportRepository.getEventsPage(reportEventFilter, null, null, pageSize);
+        } else {
+            String[] pageKeyParts = decodePageKey(pageKey);
+            events = eventReportRepository.getEventsPage(reportEventFilter, parsePageKeyTimestamp(pageKeyParts[0]), parsePageKeyId(pageKeyParts[1]), pageSize);
+        }
+
+        String nextPageKey = events.isEmpty() || events.size() < pageSize
+                                 ? null
+                                 : encodePageKey(events.get(events.size() - 1));
+        return new AspspEventPage(eventBOMapper.toAspspEventList(events), nextPageKey);
+    }
+
+    private String encodePageKey(ReportEvent lastEvent) {
+        String pageKey = lastEvent.getTimestamp() + PAGE_KEY_SEPARATOR + lastEvent.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(pageKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodePageKey(String pageKey) {
+        String[] pageKeyParts = new String(Base64.getUrlDecoder().decode(pageKey), StandardCharsets.UTF_8).split(PAGE_KEY_SEPARATOR);
+        if (pageKeyParts.length != 2) {
+            throw new IllegalArgumentException("Malformed page key: " + pageKey);
+        }
+        return pageKeyParts;
+    }
+
+    private OffsetDateTime parsePageKeyTimestamp(String timestamp) {
+        try {
+            return OffsetDateTime.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed page key timestamp: " + timestamp, e);
+        }
+    }
+
+    private Long parsePageKeyId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed page key id: " + id, e);
+        }
+    }
 }
@@ -18,7 +18,9 @@ package de.adorsys.psd2.event.service.mapper;
 
 import de.adorsys.psd2.event.persist.model.PsuIdDataPO;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventFilter;
 import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventFilter;
 import de.adorsys.psd2.event.service.model.AspspPsuIdData;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +47,8 @@ public abstract class AspspEventMapper {
     @IterableMapping(nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
     public abstract List<AspspEvent> toAspspEventList(List<ReportEvent> events);
 
+    public abstract ReportEventFilter toReportEventFilter(AspspEventFilter filter);
+
     protected Object mapToPayload(byte[] array) {
         try {
             return xs2aObjectMapper.readValue(array, Object.class);
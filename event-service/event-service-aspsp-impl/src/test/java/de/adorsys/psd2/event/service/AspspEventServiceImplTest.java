@@ -19,17 +19,33 @@ package de.adorsys.psd2.event.service;
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.EventReportRepository;
+import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventFilter;
 import de.adorsys.psd2.event.service.mapper.AspspEventMapper;
+import de.adorsys.psd2.event.service.model.AspspEvent;
+import de.adorsys.psd2.event.service.model.AspspEventFilter;
+import de.adorsys.psd2.event.service.model.AspspEventPage;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -50,6 +66,11 @@ class AspspEventServiceImplTest {
     @Spy
     private AspspEventMapper mapper = Mappers.getMapper(AspspEventMapper.class);
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mapper, "xs2aObjectMapper", new Xs2aObjectMapper());
+    }
+
     @Test
     void getEventsForPeriod() {
         when(eventReportRepository.getEventsForPeriod(START, END, INSTANCE_ID)).thenReturn(Collections.emptyList());
@@ -94,4 +115,88 @@ class AspspEventServiceImplTest {
 
         verify(eventReportRepository, times(1)).getEventsForPeriodAndEventType(eq(START), eq(END), eq(EventType.CREATE_AIS_CONSENT_REQUEST_RECEIVED), eq(INSTANCE_ID));
     }
+
+    @Test
+    void streamEvents() {
+        // Given
+        ReportEvent reportEvent = buildReportEvent(1L);
+        doAnswer(invocation -> {
+            Consumer<ReportEvent> consumer = invocation.getArgument(1);
+            consumer.accept(reportEvent);
+            return null;
+        }).when(eventReportRepository).streamEvents(any(ReportEventFilter.class), any());
+        List<AspspEvent> events = new ArrayList<>();
+
+        // When
+        aspspEventService.streamEvents(buildFilter(), events::add);
+
+        // Then
+        assertEquals(1, events.size());
+        assertEquals(CONSENT_ID, events.get(0).getConsentId());
+        ArgumentCaptor<ReportEventFilter> filterCaptor = ArgumentCaptor.forClass(ReportEventFilter.class);
+        verify(eventReportRepository).streamEvents(filterCaptor.capture(), any());
+        assertEquals(START, filterCaptor.getValue().getStart());
+        assertEquals(END, filterCaptor.getValue().getEnd());
+        assertEquals(INSTANCE_ID, filterCaptor.getValue().getInstanceId());
+        assertEquals(CONSENT_ID, filterCaptor.getValue().getConsentId());
+    }
+
+    @Test
+    void getEventsPage_fullPage_nextPageKeyReturned() {
+        // Given
+        ReportEvent lastEvent = buildReportEvent(2L);
+        when(eventReportRepository.getEventsPage(any(ReportEventFilter.class), isNull(), isNull(), eq(2)))
+            .thenReturn(Arrays.asList(buildReportEvent(1L), lastEvent));
+
+        // When
+        AspspEventPage firstPage = aspspEventService.getEventsPage(buildFilter(), null, 2);
+        aspspEventService.getEventsPage(buildFilter(), firstPage.getNextPageKey(), 2);
+
+        // Then
+        assertEquals(2, firstPage.getEvents().size());
+        assertNotNull(firstPage.getNextPageKey());
+        verify(eventReportRepository).getEventsPage(any(ReportEventFilter.class), eq(lastEvent.getTimestamp()), eq(2L), eq(2));
+    }
+
+    @Test
+    void getEventsPage_lastPage_noNextPageKey() {
+        // Given
+        when(eventReportRepository.getEventsPage(any(ReportEventFilter.class), isNull(), isNull(), eq(2)))
+            .thenReturn(Collections.singletonList(buildReportEvent(1L)));
+
+        // When
+        AspspEventPage page = aspspEventService.getEventsPage(buildFilter(), null, 2);
+
+        // Then
+        assertEquals(1, page.getEvents().size());
+        assertNull(page.getNextPageKey());
+    }
+
+    @Test
+    void getEventsPage_malformedPageKey() {
+        // Given
+        AspspEventFilter filter = buildFilter();
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> aspspEventService.getEventsPage(filter, "malformed key", 2));
+        verifyNoInteractions(eventReportRepository);
+    }
+
+    private AspspEventFilter buildFilter() {
+        return AspspEventFilter.builder()
+                   .start(START)
+                   .end(END)
+                   .instanceId(INSTANCE_ID)
+                   .consentId(CONSENT_ID)
+                   .build();
+    }
+
+    private ReportEvent buildReportEvent(Long id) {
+        ReportEvent reportEvent = new ReportEvent();
+        reportEvent.setId(id);
+        reportEvent.setTimestamp(START.plusMinutes(id));
+        reportEvent.setConsentId(CONSENT_ID);
+        reportEvent.setPayload("{}".getBytes());
+        return reportEvent;
+    }
 }
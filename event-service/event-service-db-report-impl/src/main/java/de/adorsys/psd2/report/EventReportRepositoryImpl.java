@@ -20,6 +20,7 @@ import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.EventReportRepository;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventFilter;
 import de.adorsys.psd2.report.entity.EventEntityForReport;
 import de.adorsys.psd2.report.jpa.EventReportJPARepository;
 import de.adorsys.psd2.report.mapper.EventReportDBMapper;
@@ -30,7 +31,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -68,4 +71,20 @@ public class EventReportRepositoryImpl implements EventReportRepository {
         List<EventEntityForReport> events = eventReportJPARepository.findByTimestampBetweenAndEventOriginAndInstanceIdOrderByTimestampAsc(start, end, eventOrigin, instanceId);
         return eventReportDBMapper.mapToAspspReportEvents(events);
     }
+
+    @Override
+    public void streamEvents(@NotNull ReportEventFilter filter, @NotNull Consumer<ReportEvent> eventConsumer) {
+        ReportEventAggregator aggregator = new ReportEventAggregator(eventReportDBMapper, eventConsumer, Integer.MAX_VALUE);
+        eventReportJPARepository.streamEvents(filter, null, null, null, aggregator);
+        aggregator.complete();
+    }
+
+    @Override
+    public List<ReportEvent> getEventsPage(@NotNull ReportEventFilter filter, @Nullable OffsetDateTime afterTimestamp, @Nullable Long afterId, int limit) {
+        List<ReportEvent> events = new ArrayList<>();
+        ReportEventAggregator aggregator = new ReportEventAggregator(eventReportDBMapper, events::add, limit);
+        eventReportJPARepository.streamEvents(filter, afterTimestamp, afterId, limit, aggregator);
+        aggregator.complete();
+        return events;
+    }
 }
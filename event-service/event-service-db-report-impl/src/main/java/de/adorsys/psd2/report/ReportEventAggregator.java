@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.report;
+
+import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.report.entity.EventEntityForReport;
+import de.adorsys.psd2.report.mapper.EventReportDBMapper;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Merges consecutive report rows of the same event into one {@link ReportEvent} and passes complete events
+ * to the consumer. Rows must be ordered by event id within the same timestamp.
+ */
+class ReportEventAggregator implements Predicate<EventEntityForReport> {
+    private final EventReportDBMapper eventReportDBMapper;
+    private final Consumer<ReportEvent> eventConsumer;
+    private final int eventLimit;
+
+    private ReportEvent currentEvent;
+    private int passedEvents;
+
+    ReportEventAggregator(EventReportDBMapper eventReportDBMapper, Consumer<ReportEvent> eventConsumer, int eventLimit) {
+        this.eventReportDBMapper = eventReportDBMapper;
+        this.eventConsumer = eventConsumer;
+        this.eventLimit = eventLimit;
+    }
+
+    /**
+     * Accepts next row of the report
+     *
+     * @param row report row
+     * @return <code>false</code> if event limit is reached and no more rows are needed, <code>true</code> otherwise
+     */
+    @Override
+    public boolean test(EventEntityForReport row) {
+        ReportEvent event = eventReportDBMapper.mapToReportEvent(row);
+        if (currentEvent != null && currentEvent.getId().equals(event.getId())) {
+            currentEvent.merge(event);
+            return true;
+        }
+
+        complete();
+        if (passedEvents >= eventLimit) {
+            return false;
+        }
+
+        currentEvent = event;
+        return true;
+    }
+
+    /**
+     * Passes the last collected event to the consumer. Must be called after all rows were read.
+     */
+    void complete() {
+        if (currentEvent != null) {
+            eventConsumer.accept(currentEvent);
+            passedEvents++;
+            currentEvent = null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.report.jpa;
+
+import de.adorsys.psd2.report.entity.EventEntityForReport;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+/**
+ * Maps rows of the event report query to {@link EventEntityForReport} without reflection
+ */
+public class EventEntityForReportRowMapper implements RowMapper<EventEntityForReport> {
+
+    @Override
+    public EventEntityForReport mapRow(ResultSet rs, int rowNum) throws SQLException {
+        EventEntityForReport event = new EventEntityForReport();
+        event.setId(rs.getLong("id"));
+        event.setTimestamp((OffsetDateTime) JdbcUtils.getResultSetValue(rs, rs.findColumn("timestamp"), OffsetDateTime.class));
+        event.setConsentId(rs.getString("consent_id"));
+        event.setPaymentId(rs.getString("payment_id"));
+        event.setPayload(rs.getBytes("payload"));
+        event.setEventOrigin(rs.getString("event_origin"));
+        event.setEventType(rs.getString("event_type"));
+        event.setInstanceId(rs.getString("instance_id"));
+        event.setPsuId(rs.getString("psu_id"));
+        event.setPsuIdType(rs.getString("psu_id_type"));
+        event.setPsuCorporateId(rs.getString("psu_corporate_id"));
+        event.setPsuCorporateIdType(rs.getString("psu_corporate_id_type"));
+        event.setTppAuthorisationNumber(rs.getString("tpp_authorisation_number"));
+        event.setInternalRequestId(rs.getString("internal_request_id"));
+        event.setXRequestId(rs.getString("x_request_id"));
+        event.setPsuExId(rs.getString("psu_ex_id"));
+        event.setPsuExIdType(rs.getString("psu_ex_id_type"));
+        event.setPsuExCorporateId(rs.getString("psu_ex_corporate_id"));
+        event.setPsuExCorporateIdType(rs.getString("psu_ex_corporate_id_type"));
+        return event;
+    }
+}
@@ -18,25 +18,40 @@ package de.adorsys.psd2.report.jpa;
 
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.event.persist.model.ReportEventFilter;
 import de.adorsys.psd2.report.entity.EventEntityForReport;
 import de.adorsys.psd2.report.jpa.builder.EventReportSqlParameterSourceBuilder;
 import de.adorsys.psd2.report.jpa.builder.SqlEventReportBuilder;
 import lombok.RequiredArgsConstructor;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Predicate;
 
+@Slf4j
 @Repository
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class EventReportJPARepository {
+    private static final EventEntityForReportRowMapper ROW_MAPPER = new EventEntityForReportRowMapper();
+    private static final String ORACLE_DATABASE_NAME = "Oracle";
+
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final SqlEventReportBuilder sqlEventReportBuilder;
 
+    @Value("${event.report.fetch-size:1000}")
+    private int fetchSize;
+    private volatile Boolean fetchFirstLimit;
+
     public List<EventEntityForReport> getEventsForPeriod(OffsetDateTime periodFrom, OffsetDateTime periodTo, String instanceId) {
         EventReportSqlParameterSourceBuilder parameters = new EventReportSqlParameterSourceBuilder()
                                                               .periodFrom(periodFrom)
@@ -50,7 +65,7 @@ public class EventReportJPARepository {
                                 .instanceId()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, ROW_MAPPER);
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndConsentIdAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, String consentId, String instanceId) {
@@ -68,7 +83,7 @@ public class EventReportJPARepository {
                                 .consentId()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, ROW_MAPPER);
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndPaymentIdAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, String paymentId, String instanceId) {
@@ -86,7 +101,7 @@ public class EventReportJPARepository {
                                 .paymentId()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, ROW_MAPPER);
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndEventTypeAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, EventType eventType, String instanceId) {
@@ -104,7 +119,7 @@ public class EventReportJPARepository {
                                 .eventType()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, ROW_MAPPER);
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndEventOriginAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, EventOrigin eventOrigin, String instanceId) {
@@ -122,6 +137,87 @@ public class EventReportJPARepository {
                                 .eventOrigin()
                                 .build();
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(sqlRequest, parameters, ROW_MAPPER);
+    }
+
+    /**
+     * Reads rows of events, matching given filter, in order of their timestamps and ids and passes them to given consumer.
+     * Rows are fetched from the database in chunks of configured fetch size. Reading stops once the consumer returns
+     * <code>false</code>.
+     *
+     * @param filter         criteria of the events
+     * @param afterTimestamp if not null, only events after the event with given timestamp and id are read
+     * @param afterId        if not null, only events after the event with given timestamp and id are read
+     * @param limit          if not null, maximum number of read events. All rows of the last event are read
+     * @param rowConsumer    consumer of the rows, returning <code>false</code> if no more rows are needed
+     */
+    public void streamEvents(ReportEventFilter filter, @Nullable OffsetDateTime afterTimestamp, @Nullable Long afterId,
+                             @Nullable Integer limit, Predicate<EventEntityForReport> rowConsumer) {
+        EventReportSqlParameterSourceBuilder parameters = new EventReportSqlParameterSourceBuilder()
+                                                              .periodFrom(filter.getStart())
+                                                              .periodTo(filter.getEnd())
+                                                              .instanceId(filter.getInstanceId());
+        SqlEventReportBuilder sqlRequestBuilder = sqlEventReportBuilder
+                                                      .baseRequest()
+                                                      .period()
+                                                      .instanceId();
+
+        if (filter.getConsentId() != null) {
+            parameters.consentId(filter.getConsentId());
+            sqlRequestBuilder.consentId();
+        }
+        if (filter.getPaymentId() != null) {
+            parameters.paymentId(filter.getPaymentId());
+            sqlRequestBuilder.paymentId();
+        }
+        if (filter.getEventType() != null) {
+            parameters.eventType(filter.getEventType());
+            sqlRequestBuilder.eventType();
+        }
+        if (filter.getEventOrigin() != null) {
+            parameters.eventOrigin(filter.getEventOrigin());
+            sqlRequestBuilder.eventOrigin();
+        }
+        if (afterTimestamp != null && afterId != null) {
+            parameters.afterTimestamp(afterTimestamp)
+                .afterId(afterId);
+            sqlRequestBuilder.afterEvent();
+        }
+        String sqlRequest;
+        if (limit != null) {
+            parameters.limit(limit);
+            sqlRequest = sqlRequestBuilder.buildWithLimit(isFetchFirstLimit());
+        } else {
+            sqlRequest = sqlRequestBuilder.build();
+        }
+
+        buildStreamingJdbcTemplate().query(sqlRequest, parameters.build(), rs -> {
+            int rowNum = 0;
+            while (rs.next()) {
+                if (!rowConsumer.test(ROW_MAPPER.mapRow(rs, rowNum++))) {
+                    break;
+                }
+            }
+            return null;
+        });
+    }
+
+    private boolean isFetchFirstLimit() {
+        if (fetchFirstLimit == null) {
+            try {
+                String databaseName = JdbcUtils.commonDatabaseName((String) JdbcUtils.extractDatabaseMetaData(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource(), "getDatabaseProductName"));
+                fetchFirstLimit = ORACLE_DATABASE_NAME.equalsIgnoreCase(databaseName);
+            } catch (MetaDataAccessException e) {
+                log.warn("Couldn't read database product name, LIMIT clause will be used: {}", e.getMessage());
+                fetchFirstLimit = false;
+            }
+        }
+        return fetchFirstLimit;
+    }
+
+    private NamedParameterJdbcTemplate buildStreamingJdbcTemplate() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource());
+        jdbcTemplate.setFetchSize(fetchSize);
+        return new NamedParameterJdbcTemplate(jdbcTemplate);
     }
 }
@@ -73,6 +73,21 @@ public class EventReportSqlParameterSourceBuilder extends MapSqlParameterSource
         return this;
     }
 
+    public EventReportSqlParameterSourceBuilder afterTimestamp(OffsetDateTime afterTimestamp) {
+        values.put("afterTimestamp", afterTimestamp);
+        return this;
+    }
+
+    public EventReportSqlParameterSourceBuilder afterId(Long afterId) {
+        values.put("afterId", afterId);
+        return this;
+    }
+
+    public EventReportSqlParameterSourceBuilder limit(int limit) {
+        values.put("limit", limit);
+        return this;
+    }
+
     public EventReportSqlParameterSourceBuilder build() {
         return new EventReportSqlParameterSourceBuilder(values);
     }
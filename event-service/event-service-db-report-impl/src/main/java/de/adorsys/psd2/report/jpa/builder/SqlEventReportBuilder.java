@@ -28,6 +28,8 @@ import java.io.IOException;
 @Component
 public class SqlEventReportBuilder extends MapSqlParameterSource {
     private static final String PLACEHOLDER = "<schema_name>";
+    private static final String EVENT_TABLE_PLACEHOLDER = "<event_table>";
+    private static final String ORDER_BY = "order by timestamp, ev.id ";
 
     @Value("${spring.jpa.properties.hibernate.default_schema}")
     private String schemaName;
@@ -80,11 +82,28 @@ public class SqlEventReportBuilder extends MapSqlParameterSource {
         return this;
     }
 
+    public SqlEventReportBuilder afterEvent() {
+        appendToRequest("(ev.timestamp > :afterTimestamp or (ev.timestamp = :afterTimestamp and ev.id > :afterId)) ");
+        return this;
+    }
+
     public String build() {
-        return sqlRequest
-                   .append(filterRequest)
-                   .append("order by timestamp ")
-                   .toString();
+        return sqlRequest.toString().replace(EVENT_TABLE_PLACEHOLDER, schemaName + ".event") + filterRequest + ORDER_BY;
+    }
+
+    /**
+     * Builds request, that reads no more events than given by <code>:limit</code> parameter.
+     * The limit is applied to the event table in a subquery, so that all joined rows of the last event are read.
+     *
+     * @param fetchFirst whether the database requires <code>FETCH FIRST</code> clause (Oracle) instead of <code>LIMIT</code>
+     * @return SQL request
+     */
+    public String buildWithLimit(boolean fetchFirst) {
+        String limitClause = fetchFirst
+                                 ? "fetch first :limit rows only "
+                                 : "limit :limit ";
+        String limitedEventTable = "(select * from " + schemaName + ".event ev " + filterRequest + ORDER_BY + limitClause + ")";
+        return sqlRequest.toString().replace(EVENT_TABLE_PLACEHOLDER, limitedEventTable) + ORDER_BY;
     }
 
     private void appendToRequest(String filter) {
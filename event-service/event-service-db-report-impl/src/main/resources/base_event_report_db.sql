@@ -15,7 +15,7 @@ SELECT ev.*,
          WHEN ev.consent_id IS NOT NULL THEN cst_psu_data.psu_corporate_id_type
          ELSE pmt_psu_data.psu_corporate_id_type
        END AS psu_ex_corporate_id_type
-FROM   <schema_name>.event ev
+FROM   <event_table> ev
        LEFT JOIN <schema_name>.pis_common_payment pmt
               ON ev.payment_id = pmt.payment_id
        LEFT JOIN <schema_name>.ais_consent cst
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.report;
+
+import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.report.entity.EventEntityForReport;
+import de.adorsys.psd2.report.mapper.EventReportDBMapper;
+import de.adorsys.psd2.report.mapper.EventReportDBMapperImpl;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportEventAggregatorTest {
+    private EventReportDBMapper eventReportDBMapper = new EventReportDBMapperImpl();
+    private JsonReader jsonReader = new JsonReader();
+    private List<ReportEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        events = new ArrayList<>();
+    }
+
+    @Test
+    void test_rowsOfSameEventAreMerged() {
+        // Given
+        ReportEventAggregator aggregator = new ReportEventAggregator(eventReportDBMapper, events::add, Integer.MAX_VALUE);
+
+        // When
+        assertTrue(aggregator.test(buildRow(1L, "PSU 1")));
+        assertTrue(aggregator.test(buildRow(1L, "PSU 2")));
+        assertTrue(aggregator.test(buildRow(2L, "PSU 1")));
+        aggregator.complete();
+
+        // Then
+        assertEquals(2, events.size());
+        assertEquals(1L, events.get(0).getId());
+        assertEquals(2, events.get(0).getPsuIdData().size());
+        assertEquals(2L, events.get(1).getId());
+        assertEquals(1, events.get(1).getPsuIdData().size());
+    }
+
+    @Test
+    void test_eventLimitReached() {
+        // Given
+        ReportEventAggregator aggregator = new ReportEventAggregator(eventReportDBMapper, events::add, 1);
+
+        // When
+        assertTrue(aggregator.test(buildRow(1L, "PSU 1")));
+        assertTrue(aggregator.test(buildRow(1L, "PSU 2")));
+        boolean moreRowsNeeded = aggregator.test(buildRow(2L, "PSU 1"));
+        aggregator.complete();
+
+        // Then
+        assertFalse(moreRowsNeeded);
+        assertEquals(1, events.size());
+        assertEquals(1L, events.get(0).getId());
+        assertEquals(2, events.get(0).getPsuIdData().size());
+    }
+
+    @Test
+    void complete_noRows() {
+        // Given
+        ReportEventAggregator aggregator = new ReportEventAggregator(eventReportDBMapper, events::add, Integer.MAX_VALUE);
+
+        // When
+        aggregator.complete();
+
+        // Then
+        assertTrue(events.isEmpty());
+    }
+
+    private EventEntityForReport buildRow(Long id, String psuId) {
+        EventEntityForReport row = jsonReader.getObjectFromFile("json/event-entity-report.json", EventEntityForReport.class);
+        row.setId(id);
+        row.setPsuId(psuId);
+        return row;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.report.jpa;
+
+import de.adorsys.psd2.report.entity.EventEntityForReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventEntityForReportRowMapperTest {
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2019-07-09T13:29:50.042136+03:00");
+    private static final byte[] PAYLOAD = "payload".getBytes();
+
+    @Mock
+    private ResultSet resultSet;
+
+    private EventEntityForReportRowMapper rowMapper = new EventEntityForReportRowMapper();
+
+    @Test
+    void mapRow() throws SQLException {
+        // Given
+        when(resultSet.getLong("id")).thenReturn(1L);
+        when(resultSet.findColumn("timestamp")).thenReturn(2);
+        when(resultSet.getObject(2, OffsetDateTime.class)).thenReturn(TIMESTAMP);
+        when(resultSet.getBytes("payload")).thenReturn(PAYLOAD);
+        when(resultSet.getString(anyString())).thenReturn(null);
+        when(resultSet.getString("consent_id")).thenReturn("consent id");
+        when(resultSet.getString("event_type")).thenReturn("PAYMENT_INITIATION_REQUEST_RECEIVED");
+        when(resultSet.getString("x_request_id")).thenReturn("x-request-id");
+        when(resultSet.getString("psu_ex_id")).thenReturn("PSU ID EX");
+
+        // When
+        EventEntityForReport actual = rowMapper.mapRow(resultSet, 0);
+
+        // Then
+        assertEquals(1L, actual.getId());
+        assertEquals(TIMESTAMP, actual.getTimestamp());
+        assertArrayEquals(PAYLOAD, actual.getPayload());
+        assertEquals("consent id", actual.getConsentId());
+        assertEquals("PAYMENT_INITIATION_REQUEST_RECEIVED", actual.getEventType());
+        assertEquals("x-request-id", actual.getXRequestId());
+        assertEquals("PSU ID EX", actual.getPsuExId());
+    }
+}
@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class SqlEventReportBuilderTest {
     private static final String TEST_REQUEST_NAME = "json/test_event_report_db.sql";
+    private static final String TEST_LIMIT_REQUEST_NAME = "json/test_event_report_limit_db.sql";
 
     private SqlEventReportBuilder builder;
 
@@ -38,7 +39,7 @@ class SqlEventReportBuilderTest {
     void test_period() {
         // Given
         String expectedSql = "select * from event\n" +
-                                 "where timestamp between :periodFrom and :periodTo order by timestamp ";
+                                 "where timestamp between :periodFrom and :periodTo order by timestamp, ev.id ";
 
         // When
         String actualSql = builder
@@ -54,7 +55,7 @@ class SqlEventReportBuilderTest {
     void test_instanceId() {
         // Given
         String expectedSql = "select * from event\n" +
-                                 "where ev.instance_id = :instanceId order by timestamp ";
+                                 "where ev.instance_id = :instanceId order by timestamp, ev.id ";
 
         // When
         String actualSql = builder
@@ -70,7 +71,7 @@ class SqlEventReportBuilderTest {
     void test_consentId() {
         // Given
         String expectedSql = "select * from event\n" +
-                                 "where ev.consent_id = :consentId order by timestamp ";
+                                 "where ev.consent_id = :consentId order by timestamp, ev.id ";
 
         // When
         String actualSql = builder
@@ -86,7 +87,7 @@ class SqlEventReportBuilderTest {
     void test_paymentId() {
         // Given
         String expectedSql = "select * from event\n" +
-                                 "where ev.payment_id = :paymentId order by timestamp ";
+                                 "where ev.payment_id = :paymentId order by timestamp, ev.id ";
 
         // When
         String actualSql = builder
@@ -102,7 +103,7 @@ class SqlEventReportBuilderTest {
     void test_eventType() {
         // Given
         String expectedSql = "select * from event\n" +
-                                 "where ev.event_type = :eventType order by timestamp ";
+                                 "where ev.event_type = :eventType order by timestamp, ev.id ";
 
         // When
         String actualSql = builder
@@ -118,7 +119,7 @@ class SqlEventReportBuilderTest {
     void test_eventOrigin() {
         // Given
         String expectedSql = "select * from event\n" +
-                                 "where ev.event_origin = :eventOrigin order by timestamp ";
+                                 "where ev.event_origin = :eventOrigin order by timestamp, ev.id ";
 
         // When
         String actualSql = builder
@@ -130,4 +131,75 @@ class SqlEventReportBuilderTest {
         assertEquals(expectedSql, actualSql);
     }
 
+    @Test
+    void test_afterEvent() {
+        // Given
+        String expectedSql = "select * from event\n" +
+                                 "where timestamp between :periodFrom and :periodTo and  " +
+                                 "(ev.timestamp > :afterTimestamp or (ev.timestamp = :afterTimestamp and ev.id > :afterId)) " +
+                                 "order by timestamp, ev.id ";
+
+        // When
+        String actualSql = builder
+                               .baseRequest()
+                               .period()
+                               .afterEvent()
+                               .build();
+
+        // Then
+        assertEquals(expectedSql, actualSql);
+    }
+
+    @Test
+    void test_limit() {
+        // Given
+        ReflectionTestUtils.setField(builder, "sqlRequestFileName", TEST_LIMIT_REQUEST_NAME);
+        String expectedSql = "select * from (select * from event.event ev " +
+                                 "where timestamp between :periodFrom and :periodTo order by timestamp, ev.id limit :limit ) ev\n" +
+                                 "order by timestamp, ev.id ";
+
+        // When
+        String actualSql = builder
+                               .baseRequest()
+                               .period()
+                               .buildWithLimit(false);
+
+        // Then
+        assertEquals(expectedSql, actualSql);
+    }
+
+    @Test
+    void test_limit_fetchFirst() {
+        // Given
+        ReflectionTestUtils.setField(builder, "sqlRequestFileName", TEST_LIMIT_REQUEST_NAME);
+        String expectedSql = "select * from (select * from event.event ev " +
+                                 "where timestamp between :periodFrom and :periodTo order by timestamp, ev.id fetch first :limit rows only ) ev\n" +
+                                 "order by timestamp, ev.id ";
+
+        // When
+        String actualSql = builder
+                               .baseRequest()
+                               .period()
+                               .buildWithLimit(true);
+
+        // Then
+        assertEquals(expectedSql, actualSql);
+    }
+
+    @Test
+    void test_withoutLimit_eventTable() {
+        // Given
+        ReflectionTestUtils.setField(builder, "sqlRequestFileName", TEST_LIMIT_REQUEST_NAME);
+        String expectedSql = "select * from event.event ev\n" +
+                                 "where timestamp between :periodFrom and :periodTo order by timestamp, ev.id ";
+
+        // When
+        String actualSql = builder
+                               .baseRequest()
+                               .period()
+                               .build();
+
+        // Then
+        assertEquals(expectedSql, actualSql);
+    }
 }
@@ -0,0 +1 @@
+select * from <event_table> ev
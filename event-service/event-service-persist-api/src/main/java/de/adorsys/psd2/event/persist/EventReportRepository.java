@@ -19,11 +19,13 @@ package de.adorsys.psd2.event.persist;
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.model.ReportEvent;
+import de.adorsys.psd2.event.persist.model.ReportEventFilter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EventReportRepository {
 
@@ -80,4 +82,25 @@ public interface EventReportRepository {
      * @return List of Event objects, recorded in given time period and from a specific origin
      */
     List<ReportEvent> getEventsForPeriodAndEventOrigin(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @NotNull EventOrigin eventOrigin, @Nullable String instanceId);
+
+    /**
+     * Passes Event objects, matching given filter, to the consumer one by one in order of their timestamps.
+     * Events are read from the database in chunks, so the whole result is never held in memory.
+     *
+     * @param filter        Criteria of the events
+     * @param eventConsumer Consumer of the events
+     */
+    void streamEvents(@NotNull ReportEventFilter filter, @NotNull Consumer<ReportEvent> eventConsumer);
+
+    /**
+     * Returns a page of Event objects, matching given filter, in order of their timestamps.
+     * Page starts right after the event with given timestamp and id (keyset pagination).
+     *
+     * @param filter         Criteria of the events
+     * @param afterTimestamp Timestamp of the last event of the previous page, <code>null</code> for the first page
+     * @param afterId        Id of the last event of the previous page, <code>null</code> for the first page
+     * @param limit          Maximum number of events in the page
+     * @return List of Event objects, matching given filter
+     */
+    List<ReportEvent> getEventsPage(@NotNull ReportEventFilter filter, @Nullable OffsetDateTime afterTimestamp, @Nullable Long afterId, int limit);
 }
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.event.persist;
 
 import de.adorsys.psd2.event.persist.entity.EventEntity;
+import de.adorsys.psd2.event.persist.jpa.EventBatchJdbcRepository;
 import de.adorsys.psd2.event.persist.jpa.EventJPARepository;
 import de.adorsys.psd2.event.persist.mapper.EventDBMapper;
 import de.adorsys.psd2.event.persist.model.EventPO;
@@ -24,11 +25,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class EventRepositoryImpl implements EventRepository {
     private final EventJPARepository eventRepository;
+    private final EventBatchJdbcRepository eventBatchJdbcRepository;
     private final EventDBMapper eventDBMapper;
 
     @Override
@@ -38,4 +43,13 @@ public class EventRepositoryImpl implements EventRepository {
         eventRepository.save(entity);
         return entity.getId();
     }
+
+    @Override
+    @Transactional
+    public List<Long> saveAll(List<EventPO> eventPOs) {
+        List<EventEntity> entities = eventPOs.stream()
+                                         .map(eventDBMapper::toEventEntity)
+                                         .collect(Collectors.toList());
+        return eventBatchJdbcRepository.insertAll(entities);
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.event.persist.jpa;
+
+import de.adorsys.psd2.event.persist.entity.EventEntity;
+import de.adorsys.psd2.event.persist.entity.PsuDataEmbeddable;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.support.SqlLobValue;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Inserts events in JDBC batches.
+ * <p>
+ * Identifiers are taken from the same pooled sequence generator, that is used by JPA for {@link EventEntity},
+ * so events saved by both ways never get the same identifier.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventBatchJdbcRepository {
+    private static final String INSERT_EVENT_SQL = "INSERT INTO %sevent (id, timestamp, consent_id, payment_id, payload, event_origin, event_type, " +
+                                                       "psu_id, psu_id_type, psu_corporate_id, psu_corporate_id_type, tpp_authorisation_number, " +
+                                                       "x_request_id, instance_id, internal_request_id) " +
+                                                       "VALUES (:id, :timestamp, :consentId, :paymentId, :payload, :eventOrigin, :eventType, " +
+                                                       ":psuId, :psuIdType, :psuCorporateId, :psuCorporateIdType, :tppAuthorisationNumber, " +
+                                                       ":xRequestId, :instanceId, :internalRequestId)";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:}")
+    private String schemaName;
+    @Value("${event.batch-insert.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Inserts given events, sending up to configured number of rows to the database in one round trip.
+     * Identifiers of inserted events are set to given entities.
+     *
+     * @param events events to be inserted
+     * @return identifiers of inserted events in the same order as given events
+     */
+    @Transactional
+    public List<Long> insertAll(List<EventEntity> events) {
+        List<Long> ids = new ArrayList<>(events.size());
+        if (events.isEmpty()) {
+            return ids;
+        }
+
+        String sql = String.format(INSERT_EVENT_SQL, StringUtils.isBlank(schemaName) ? "" : schemaName + ".");
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator idGenerator = session.getFactory()
+                                              .getMetamodel()
+                                              .entityPersister(EventEntity.class)
+                                              .getIdentifierGenerator();
+
+        for (int from = 0; from < events.size(); from += chunkSize) {
+            List<EventEntity> chunk = events.subList(from, Math.min(from + chunkSize, events.size()));
+            SqlParameterSource[] batchParameters = new SqlParameterSource[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                EventEntity event = chunk.get(i);
+                event.setId((Long) idGenerator.generate(session, event));
+                ids.add(event.getId());
+                batchParameters[i] = buildParameters(event);
+            }
+            namedParameterJdbcTemplate.batchUpdate(sql, batchParameters);
+        }
+
+        return ids;
+    }
+
+    private SqlParameterSource buildParameters(EventEntity event) {
+        Optional<PsuDataEmbeddable> psuData = Optional.ofNullable(event.getPsuData());
+
+        return new MapSqlParameterSource()
+                   .addValue("id", event.getId())
+                   .addValue("timestamp", Timestamp.from(event.getTimestamp().toInstant()), Types.TIMESTAMP)
+                   .addValue("consentId", event.getConsentId(), Types.VARCHAR)
+                   .addValue("paymentId", event.getPaymentId(), Types.VARCHAR)
+                   .addValue("payload", new SqlLobValue(event.getPayload()), Types.BLOB)
+                   .addValue("eventOrigin", event.getEventOrigin().name())
+                   .addValue("eventType", event.getEventType().name())
+                   .addValue("psuId", psuData.map(PsuDataEmbeddable::getPsuId).orElse(null), Types.VARCHAR)
+                   .addValue("psuIdType", psuData.map(PsuDataEmbeddable::getPsuIdType).orElse(null), Types.VARCHAR)
+                   .addValue("psuCorporateId", psuData.map(PsuDataEmbeddable::getPsuCorporateId).orElse(null), Types.VARCHAR)
+                   .addValue("psuCorporateIdType", psuData.map(PsuDataEmbeddable::getPsuCorporateIdType).orElse(null), Types.VARCHAR)
+                   .addValue("tppAuthorisationNumber", event.getTppAuthorisationNumber(), Types.VARCHAR)
+                   .addValue("xRequestId", event.getXRequestId(), Types.VARCHAR)
+                   .addValue("instanceId", event.getInstanceId(), Types.VARCHAR)
+                   .addValue("internalRequestId", event.getInternalRequestId(), Types.VARCHAR);
+    }
+}
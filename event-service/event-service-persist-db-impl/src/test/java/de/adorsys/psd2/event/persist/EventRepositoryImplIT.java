@@ -27,8 +27,11 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -57,4 +60,22 @@ class EventRepositoryImplIT {
     void save() {
         assertNotNull(savedId);
     }
+
+    @Test
+    void saveAll() {
+        List<EventPO> events = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            EventPO eventPO = jsonReader.getObjectFromFile("json/event.json", EventPO.class);
+            eventPO.setTimestamp(CREATED_DATETIME);
+            eventPO.setPayload(PAYLOAD);
+            events.add(eventPO);
+        }
+
+        List<Long> savedIds = repository.saveAll(events);
+
+        assertEquals(events.size(), savedIds.size());
+        assertEquals(events.size(), new HashSet<>(savedIds).size());
+        assertFalse(savedIds.contains(savedId));
+        assertNotNull(repository.save(events.get(0)));
+    }
 }
@@ -25,6 +25,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -32,6 +35,7 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class EventServiceRestClientImplTest {
     private static final String CREATE_URL = "create-url";
+    private static final String CREATE_BATCH_URL = "create-batch-url";
 
     @InjectMocks
     private EventServiceRestClientImpl eventServiceRestClient;
@@ -57,4 +61,18 @@ class EventServiceRestClientImplTest {
         verify(consentRestTemplate, times(1)).postForEntity(eq(CREATE_URL), eq(event), eq(Boolean.class));
         verify(responseEntity, times(1)).getBody();
     }
+
+    @Test
+    void recordEvents() {
+        List<EventBO> events = Collections.singletonList(EventBO.builder().build());
+
+        when(eventRemoteUrls.createEvents()).thenReturn(CREATE_BATCH_URL);
+        when(consentRestTemplate.postForEntity(eq(CREATE_BATCH_URL), eq(events), eq(Boolean.class))).thenReturn(responseEntity);
+        when(responseEntity.getBody()).thenReturn(true);
+
+        assertTrue(eventServiceRestClient.recordEvents(events));
+
+        verify(eventRemoteUrls, times(1)).createEvents();
+        verify(consentRestTemplate, times(1)).postForEntity(eq(CREATE_BATCH_URL), eq(events), eq(Boolean.class));
+    }
 }
@@ -24,6 +24,9 @@ import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class Xs2aEventServiceImpl implements Xs2aEventService {
@@ -35,4 +38,12 @@ public class Xs2aEventServiceImpl implements Xs2aEventService {
         EventPO eventPO = eventBOMapper.toEventPO(eventBO);
         return eventRepository.save(eventPO) != null;
     }
+
+    @Override
+    public boolean recordEvents(@NotNull List<EventBO> events) {
+        List<EventPO> eventPOs = events.stream()
+                                     .map(eventBOMapper::toEventPO)
+                                     .collect(Collectors.toList());
+        return eventRepository.saveAll(eventPOs).size() == events.size();
+    }
 }
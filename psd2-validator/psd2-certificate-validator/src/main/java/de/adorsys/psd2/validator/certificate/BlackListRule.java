@@ -20,23 +20,28 @@ import no.difi.certvalidator.api.CertificateBucket;
 import no.difi.certvalidator.api.ValidatorRule;
 
 import java.security.cert.X509Certificate;
+import java.util.HashSet;
+import java.util.Set;
 
+/**
+ * Rejects blocked certificates.
+ * <p>
+ * Blocked certificates are indexed by their encoded form once on creation, certificates added to the bucket
+ * afterwards are not taken into account.
+ */
 public class BlackListRule implements ValidatorRule {
 
-	private final CertificateBucket certificates;
+	private final Set<X509Certificate> certificates = new HashSet<>();
 
 	BlackListRule(CertificateBucket certificates) {
-		this.certificates = certificates;
+		certificates.forEach(this.certificates::add);
 	}
 
 	@Override
 	public void validate(X509Certificate certificate) throws FailedCertValidationException {
-		for (X509Certificate cert : certificates) {
-			if (cert.equals(certificate)) {
-                throw new FailedCertValidationException(CertificateErrorMsgCode.CERTIFICATE_BLOCKED.name(),
-                                                        CertificateErrorMsgCode.CERTIFICATE_BLOCKED.toString()
-                );
-            }
+		if (certificates.contains(certificate)) {
+			throw new FailedCertValidationException(CertificateErrorMsgCode.CERTIFICATE_BLOCKED.name(),
+					CertificateErrorMsgCode.CERTIFICATE_BLOCKED.toString());
 		}
 	}
 }
@@ -17,9 +17,11 @@
 package de.adorsys.psd2.validator.certificate;
 
 import com.nimbusds.jose.util.X509CertUtils;
+import de.adorsys.psd2.validator.certificate.util.CertificateVerdictCache;
 import no.difi.certvalidator.Validator;
 import no.difi.certvalidator.ValidatorBuilder;
 import no.difi.certvalidator.api.CertificateValidationException;
+import no.difi.certvalidator.api.ValidatorRule;
 import no.difi.certvalidator.util.SimpleCertificateBucket;
 import org.apache.commons.lang3.StringUtils;
 
@@ -27,14 +29,39 @@ import java.security.cert.X509Certificate;
 
 public class CertificateValidatorFactory {
 
-	private Validator validator;
+	private final Validator validator;
+	private final CertificateVerdictCache verdictCache;
 
 	public CertificateValidatorFactory(SimpleCertificateBucket blockedCertBucket,
 			SimpleCertificateBucket rootCertificates, SimpleCertificateBucket intermediateCertificates) {
+		this(blockedCertBucket, rootCertificates, intermediateCertificates, null, CertificateVerdictCache.disabled());
+	}
+
+	/**
+	 * Creates validator, that resolves revocation status from pre-fetched CRLs and caches successful validations.
+	 * Cached verdicts are dropped every time the revocation index is refreshed.
+	 *
+	 * @param blockedCertBucket        blocked certificates
+	 * @param rootCertificates         trusted root certificates
+	 * @param intermediateCertificates trusted intermediate certificates
+	 * @param revocationIndex          index of revoked certificates, CRLs are fetched on validation if <code>null</code>
+	 *                                 or if the index doesn't know the revocation status of the certificate
+	 * @param verdictCache             cache of successful validations
+	 */
+	public CertificateValidatorFactory(SimpleCertificateBucket blockedCertBucket,
+			SimpleCertificateBucket rootCertificates, SimpleCertificateBucket intermediateCertificates,
+			CrlRevocationIndex revocationIndex, CertificateVerdictCache verdictCache) {
 
-		validator = ValidatorBuilder.newInstance().addRule(new ExpirationRuleExt()).addRule(new CRLRuleExt())
+		ValidatorRule crlRule = new CRLRuleExt();
+		if (revocationIndex != null) {
+			crlRule = new IndexedCRLRule(revocationIndex, crlRule);
+			revocationIndex.addRefreshListener(verdictCache::clear);
+		}
+
+		validator = ValidatorBuilder.newInstance().addRule(new ExpirationRuleExt()).addRule(crlRule)
 				.addRule(new BlackListRule(blockedCertBucket))
 				.addRule(new ChainRuleExt(rootCertificates, intermediateCertificates)).build();
+		this.verdictCache = verdictCache;
 	}
 
 	public boolean validate(String encodedCert) throws CertificateValidationException {
@@ -44,6 +71,11 @@ public class CertificateValidatorFactory {
 					CertificateErrorMsgCode.CERTIFICATE_MISSING.toString());
 		}
 
+		if (verdictCache.isValid(encodedCert)) {
+			return true;
+		}
+		long cacheGeneration = verdictCache.getGeneration();
+
 		X509Certificate cert = X509CertUtils.parse(encodedCert);
 
 		if(cert == null) {
@@ -52,6 +84,7 @@ public class CertificateValidatorFactory {
 		}
 
 		validator.validate(cert);
+		verdictCache.putValid(encodedCert, cert, cacheGeneration);
 
 		return true;
 	}
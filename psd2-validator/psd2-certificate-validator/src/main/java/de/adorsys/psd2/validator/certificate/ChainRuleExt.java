@@ -18,25 +18,72 @@ package de.adorsys.psd2.validator.certificate;
 
 import no.difi.certvalidator.api.CertificateBucket;
 import no.difi.certvalidator.api.CertificateValidationException;
+import no.difi.certvalidator.api.ValidatorRule;
 import no.difi.certvalidator.rule.ChainRule;
+import no.difi.certvalidator.util.SimpleCertificateBucket;
 
+import javax.security.auth.x500.X500Principal;
 import java.security.cert.X509Certificate;
+import java.util.*;
 
-public class ChainRuleExt extends ChainRule {
+/**
+ * Validates the certification path of the certificate against trusted root and intermediate certificates.
+ * <p>
+ * Trusted certificates are indexed by subject once on creation. On validation only the certificates, that may be part
+ * of the path of the given certificate (i.e. the ones found by following its issuer names), are passed to the PKIX path
+ * builder, certificates issued by unknown CAs are rejected without building the path at all.
+ */
+public class ChainRuleExt implements ValidatorRule {
+	private static final int MAX_ISSUER_NAMES = 10;
+
+	private final IndexedCertificateBucket rootCertificates;
+	private final IndexedCertificateBucket intermediateCertificates;
 
 	ChainRuleExt(CertificateBucket rootCertificates, CertificateBucket intermediateCertificates) {
-		super(rootCertificates, intermediateCertificates);
+		this.rootCertificates = new IndexedCertificateBucket(rootCertificates);
+		this.intermediateCertificates = new IndexedCertificateBucket(intermediateCertificates);
 	}
 
 	@Override
 	public void validate(X509Certificate certificate) throws FailedCertValidationException {
+		List<X509Certificate> candidateRoots = new ArrayList<>();
+		List<X509Certificate> candidateIntermediates = new ArrayList<>();
+		collectCandidates(certificate, candidateRoots, candidateIntermediates);
+
+		if (candidateRoots.isEmpty()) {
+			throw invalidCertificate();
+		}
 
 		try {
-			super.validate(certificate);
+			new ChainRule(new SimpleCertificateBucket(candidateRoots.toArray(new X509Certificate[0])),
+					new SimpleCertificateBucket(candidateIntermediates.toArray(new X509Certificate[0]))).validate(certificate);
 		} catch (CertificateValidationException e) {
-			throw new FailedCertValidationException(CertificateErrorMsgCode.CERTIFICATE_INVALID.name(),
-					CertificateErrorMsgCode.CERTIFICATE_INVALID.toString());
+			throw invalidCertificate();
+		}
+	}
+
+	private void collectCandidates(X509Certificate certificate, List<X509Certificate> candidateRoots,
+			List<X509Certificate> candidateIntermediates) {
+		Set<X500Principal> visitedIssuers = new HashSet<>();
+		Deque<X500Principal> pendingIssuers = new ArrayDeque<>();
+		pendingIssuers.add(certificate.getIssuerX500Principal());
+
+		while (!pendingIssuers.isEmpty() && visitedIssuers.size() < MAX_ISSUER_NAMES) {
+			X500Principal issuer = pendingIssuers.poll();
+			if (!visitedIssuers.add(issuer)) {
+				continue;
+			}
+
+			candidateRoots.addAll(rootCertificates.findAllBySubject(issuer));
+			for (X509Certificate intermediate : intermediateCertificates.findAllBySubject(issuer)) {
+				candidateIntermediates.add(intermediate);
+				pendingIssuers.add(intermediate.getIssuerX500Principal());
+			}
 		}
 	}
 
+	private FailedCertValidationException invalidCertificate() {
+		return new FailedCertValidationException(CertificateErrorMsgCode.CERTIFICATE_INVALID.name(),
+				CertificateErrorMsgCode.CERTIFICATE_INVALID.toString());
+	}
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate;
+
+import lombok.extern.slf4j.Slf4j;
+import no.difi.certvalidator.api.CertificateBucket;
+import no.difi.certvalidator.util.CrlUtils;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of revoked certificate serial numbers per issuer, built from pre-fetched certificate revocation lists.
+ * <p>
+ * CRLs are loaded from configured locations (URLs or file paths) on {@link #refresh()}, which is invoked periodically
+ * by background thread once the index is started, so revocation status is resolved without any I/O on the request
+ * path. Only CRLs signed by one of the trusted issuer certificates are accepted. If some CRL couldn't be loaded or
+ * verified, the previously loaded version of this CRL is kept. Revocation status of certificates, which issuer has no
+ * CRL in the index or which CRL is outdated, is unknown.
+ */
+@Slf4j
+public class CrlRevocationIndex {
+    private static final String REFRESH_THREAD_NAME = "xs2a-crl-refresh";
+    private static final int CONNECTION_TIMEOUT_MS = 10000;
+
+    private final List<String> crlLocations;
+    private final IndexedCertificateBucket trustedIssuers;
+    private final Duration refreshInterval;
+    private final Clock clock;
+    private final Map<String, IssuerRevocations> loadedCrls = new ConcurrentHashMap<>();
+    private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Map<X500Principal, IssuerRevocations> revocationsByIssuer = Collections.emptyMap();
+    private ScheduledExecutorService scheduler;
+
+    public CrlRevocationIndex(List<String> crlLocations, CertificateBucket trustedIssuers, Duration refreshInterval) {
+        this(crlLocations, trustedIssuers, refreshInterval, Clock.systemUTC());
+    }
+
+    public CrlRevocationIndex(List<String> crlLocations, CertificateBucket trustedIssuers, Duration refreshInterval, Clock clock) {
+        this.crlLocations = new ArrayList<>(crlLocations);
+        this.trustedIssuers = new IndexedCertificateBucket(trustedIssuers);
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads all CRLs and schedules their periodical refresh
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        refresh();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, REFRESH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("CRL revocation index is started: {} CRL locations, refresh interval {} seconds",
+                 crlLocations.size(), refreshInterval.getSeconds());
+    }
+
+    /**
+     * Stops periodical refresh of CRLs, already loaded CRLs remain in the index
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Reloads CRLs from all configured locations and rebuilds the index
+     */
+    public synchronized void refresh() {
+        for (String location : crlLocations) {
+            try {
+                X509CRL crl = load(location);
+                verify(crl);
+                loadedCrls.put(location, new IssuerRevocations(crl));
+            } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                log.warn("Couldn't load CRL from [{}], previously loaded CRL is kept: {}", location, e.getMessage());
+            }
+        }
+
+        Map<X500Principal, IssuerRevocations> index = new HashMap<>();
+        loadedCrls.values().forEach(revocations -> index.merge(revocations.issuer, revocations, IssuerRevocations::merge));
+        revocationsByIssuer = Collections.unmodifiableMap(index);
+        refreshListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Registers listener to be notified every time the index has been rebuilt
+     *
+     * @param listener Listener to be invoked after refresh
+     */
+    public void addRefreshListener(Runnable listener) {
+        refreshListeners.add(listener);
+    }
+
+    /**
+     * Resolves revocation status of given certificate
+     *
+     * @param certificate Certificate to be checked
+     * @return revocation status of the certificate
+     */
+    public RevocationStatus getStatus(X509Certificate certificate) {
+        IssuerRevocations revocations = revocationsByIssuer.get(certificate.getIssuerX500Principal());
+        if (revocations == null || revocations.isOutdated(clock.millis())) {
+            return RevocationStatus.UNKNOWN;
+        }
+
+        return revocations.revokedSerialNumbers.contains(certificate.getSerialNumber())
+                   ? RevocationStatus.REVOKED
+                   : RevocationStatus.GOOD;
+    }
+
+    public int getIssuerCount() {
+        return revocationsByIssuer.size();
+    }
+
+    private X509CRL load(String location) throws IOException, CRLException {
+        URLConnection connection = toUrl(location).openConnection();
+        connection.setConnectTimeout(CONNECTION_TIMEOUT_MS);
+        connection.setReadTimeout(CONNECTION_TIMEOUT_MS);
+        try (InputStream inputStream = connection.getInputStream()) {
+            return CrlUtils.load(inputStream);
+        }
+    }
+
+    private URL toUrl(String location) throws MalformedURLException {
+        try {
+            return new URL(location);
+        } catch (MalformedURLException e) {
+            return Paths.get(location).toUri().toURL();
+        }
+    }
+
+    private void verify(X509CRL crl) throws GeneralSecurityException {
+        GeneralSecurityException lastException = null;
+        for (X509Certificate issuer : trustedIssuers.findAllBySubject(crl.getIssuerX500Principal())) {
+            try {
+                crl.verify(issuer.getPublicKey());
+                return;
+            } catch (GeneralSecurityException e) {
+                lastException = e;
+            }
+        }
+
+        if (lastException != null) {
+            throw lastException;
+        }
+        throw new CRLException("CRL issuer " + crl.getIssuerX500Principal() + " is not trusted");
+    }
+
+    public enum RevocationStatus {
+        GOOD,
+        REVOKED,
+        UNKNOWN
+    }
+
+    private static class IssuerRevocations {
+        private final X500Principal issuer;
+        private final Set<BigInteger> revokedSerialNumbers;
+        private final long nextUpdate;
+
+        private IssuerRevocations(X509CRL crl) {
+            this.issuer = crl.getIssuerX500Principal();
+            Set<? extends X509CRLEntry> entries = Optional.ofNullable(crl.getRevokedCertificates()).orElse(Collections.emptySet());
+            Set<BigInteger> serialNumbers = new HashSet<>(entries.size() * 2);
+            entries.forEach(entry -> serialNumbers.add(entry.getSerialNumber()));
+            this.revokedSerialNumbers = serialNumbers;
+            this.nextUpdate = crl.getNextUpdate() == null ? Long.MAX_VALUE : crl.getNextUpdate().getTime();
+        }
+
+        private IssuerRevocations(X500Principal issuer, Set<BigInteger> revokedSerialNumbers, long nextUpdate) {
+            this.issuer = issuer;
+            this.revokedSerialNumbers = revokedSerialNumbers;
+            this.nextUpdate = nextUpdate;
+        }
+
+        private boolean isOutdated(long now) {
+            return now >= nextUpdate;
+        }
+
+        private IssuerRevocations merge(IssuerRevocations other) {
+            Set<BigInteger> serialNumbers = new HashSet<>(revokedSerialNumbers);
+            serialNumbers.addAll(other.revokedSerialNumbers);
+            return new IssuerRevocations(issuer, serialNumbers, Math.min(nextUpdate, other.nextUpdate));
+        }
+    }
+}
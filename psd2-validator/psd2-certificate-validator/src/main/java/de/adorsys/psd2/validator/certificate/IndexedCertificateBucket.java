@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate;
+
+import no.difi.certvalidator.api.CertificateBucket;
+
+import javax.security.auth.x500.X500Principal;
+import java.security.cert.X509Certificate;
+import java.util.*;
+
+/**
+ * Immutable snapshot of a certificate bucket, indexed by certificate subject.
+ * <p>
+ * Lookups by subject don't scan the whole bucket, iteration order is the order of the source bucket.
+ * If several certificates have the same subject (e.g. after key rollover of the CA), all of them are returned by
+ * {@link #findAllBySubject(X500Principal)} and the first one by {@link #findBySubject(X500Principal)}.
+ */
+public class IndexedCertificateBucket implements CertificateBucket {
+    private final List<X509Certificate> certificates;
+    private final Map<X500Principal, List<X509Certificate>> certificatesBySubject;
+
+    public IndexedCertificateBucket(Iterable<X509Certificate> source) {
+        List<X509Certificate> certificateList = new ArrayList<>();
+        Map<X500Principal, List<X509Certificate>> subjectIndex = new HashMap<>();
+        for (X509Certificate certificate : source) {
+            certificateList.add(certificate);
+            subjectIndex.computeIfAbsent(certificate.getSubjectX500Principal(), subject -> new ArrayList<>(1)).add(certificate);
+        }
+        this.certificates = Collections.unmodifiableList(certificateList);
+        this.certificatesBySubject = Collections.unmodifiableMap(subjectIndex);
+    }
+
+    @Override
+    public X509Certificate findBySubject(X500Principal principal) {
+        List<X509Certificate> subjectCertificates = findAllBySubject(principal);
+        return subjectCertificates.isEmpty() ? null : subjectCertificates.get(0);
+    }
+
+    /**
+     * Finds all certificates with given subject
+     *
+     * @param principal subject of the certificates
+     * @return unmodifiable list of certificates, empty list if there is no certificate with given subject
+     */
+    public List<X509Certificate> findAllBySubject(X500Principal principal) {
+        List<X509Certificate> subjectCertificates = certificatesBySubject.get(principal);
+        return subjectCertificates == null ? Collections.emptyList() : Collections.unmodifiableList(subjectCertificates);
+    }
+
+    @Override
+    public Iterator<X509Certificate> iterator() {
+        return certificates.iterator();
+    }
+
+    public int size() {
+        return certificates.size();
+    }
+}
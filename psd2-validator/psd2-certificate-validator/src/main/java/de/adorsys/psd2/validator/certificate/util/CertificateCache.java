@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import de.adorsys.psd2.validator.certificate.CertificateErrorMsgCode;
+import de.adorsys.psd2.xs2a.core.cache.BoundedTtlCache;
+import no.difi.certvalidator.api.CertificateValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Bounded cache of parsed TPP certificates, keyed by SHA-256 digest of the encoded certificate.
+ * <p>
+ * Holds parsed X.509 certificate together with the data extracted from it, so repeated requests with the same
+ * certificate skip parsing. Least recently used entries are evicted when the cache is full, expired entries are
+ * evicted on access. Entries never outlive the validity of their certificate, certificates that are already expired
+ * and certificates that couldn't be parsed are not cached.
+ */
+public class CertificateCache {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final BoundedTtlCache<String, CachedCertificate> cache;
+
+    public CertificateCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public CertificateCache(int maxSize, Duration ttl, Clock clock) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl, clock);
+    }
+
+    /**
+     * Creates cache instance, that doesn't store any certificates and parses them on every call
+     *
+     * @return disabled cache
+     */
+    public static CertificateCache disabled() {
+        return new CertificateCache(0, Duration.ZERO);
+    }
+
+    /**
+     * Returns parsed certificate for given encoded certificate, parsing and caching it if necessary
+     *
+     * @param encodedCert PEM or Base64 encoded certificate
+     * @return parsed certificate or <code>null</code> if the certificate couldn't be parsed
+     */
+    public X509Certificate getCertificate(String encodedCert) {
+        CachedCertificate cachedCertificate = getOrParse(encodedCert);
+        return cachedCertificate == null ? null : cachedCertificate.certificate;
+    }
+
+    /**
+     * Returns data extracted from given encoded TPP certificate, parsing the certificate and caching the data if necessary
+     *
+     * @param encodedCert PEM or Base64 encoded certificate
+     * @return copy of the data extracted from the certificate, that may be safely modified by the caller
+     * @throws CertificateValidationException if the certificate couldn't be parsed
+     */
+    public TppCertificateData getTppCertificateData(String encodedCert) throws CertificateValidationException {
+        CachedCertificate cachedCertificate = getOrParse(encodedCert);
+        if (cachedCertificate == null) {
+            throw new CertificateValidationException(CertificateErrorMsgCode.CERTIFICATE_INVALID.toString());
+        }
+
+        TppCertificateData tppCertificateData = cachedCertificate.tppCertificateData;
+        if (tppCertificateData == null) {
+            tppCertificateData = CertificateExtractorUtil.extract(cachedCertificate.certificate);
+            cachedCertificate.tppCertificateData = tppCertificateData;
+        }
+
+        return copy(tppCertificateData);
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    private CachedCertificate getOrParse(String encodedCert) {
+        if (encodedCert == null) {
+            return null;
+        }
+
+        String cacheKey = buildCacheKey(encodedCert);
+        CachedCertificate cachedCertificate = cache.get(cacheKey);
+        if (cachedCertificate != null) {
+            return cachedCertificate;
+        }
+
+        X509Certificate certificate = X509CertUtils.parse(encodedCert);
+        if (certificate == null) {
+            return null;
+        }
+
+        CachedCertificate parsedCertificate = new CachedCertificate(certificate);
+        cache.put(cacheKey, parsedCertificate, certificate.getNotAfter().toInstant());
+        return parsedCertificate;
+    }
+
+    private String buildCacheKey(String encodedCert) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] certificateDigest = messageDigest.digest(encodedCert.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(certificateDigest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No such hashing algorithm: " + DIGEST_ALGORITHM, e);
+        }
+    }
+
+    private TppCertificateData copy(TppCertificateData source) {
+        TppCertificateData target = new TppCertificateData();
+        target.setPspAuthorisationNumber(source.getPspAuthorisationNumber());
+        target.setPspRoles(source.getPspRoles() == null ? null : new ArrayList<>(source.getPspRoles()));
+        target.setName(source.getName());
+        target.setPspAuthorityName(source.getPspAuthorityName());
+        target.setPspAuthorityId(source.getPspAuthorityId());
+        target.setCountry(source.getCountry());
+        target.setOrganisation(source.getOrganisation());
+        target.setOrganisationUnit(source.getOrganisationUnit());
+        target.setCity(source.getCity());
+        target.setState(source.getState());
+        target.setIssuerCN(source.getIssuerCN());
+        target.setNotAfter(source.getNotAfter() == null ? null : new Date(source.getNotAfter().getTime()));
+        target.setDnsList(source.getDnsList() == null ? null : new ArrayList<>(source.getDnsList()));
+        return target;
+    }
+
+    private static class CachedCertificate {
+        private final X509Certificate certificate;
+        private volatile TppCertificateData tppCertificateData;
+
+        private CachedCertificate(X509Certificate certificate) {
+            this.certificate = certificate;
+        }
+    }
+}
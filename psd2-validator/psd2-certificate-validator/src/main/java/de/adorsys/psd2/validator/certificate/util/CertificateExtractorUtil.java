@@ -59,6 +59,10 @@ public class CertificateExtractorUtil {
             throw new CertificateValidationException(CertificateErrorMsgCode.CERTIFICATE_INVALID.toString());
         }
 
+        return extract(cert);
+    }
+
+    public static TppCertificateData extract(X509Certificate cert) throws CertificateValidationException {
         List<String> roles = new ArrayList<>();
 
         TppCertificateData tppCertData = new TppCertificateData();
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import de.adorsys.psd2.xs2a.core.cache.BoundedTtlCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded cache of successful certificate validations, keyed by SHA-256 digest of the encoded certificate.
+ * <p>
+ * Only positive verdicts are cached: failed validations, including the ones caused by unavailable CRLs or expired
+ * certificates, are always repeated on the next call. Entries never outlive the validity of their certificate and are
+ * dropped as a whole by {@link #clear()}, e.g. after revocation lists have been refreshed. Verdicts of validations,
+ * that were started before the last {@link #clear()}, are not stored.
+ */
+public class CertificateVerdictCache {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final BoundedTtlCache<String, Boolean> cache;
+    private long generation;
+
+    public CertificateVerdictCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public CertificateVerdictCache(int maxSize, Duration ttl, Clock clock) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl, clock);
+    }
+
+    /**
+     * Creates cache instance, that doesn't store any verdicts, so that every certificate is validated on every call
+     *
+     * @return disabled cache
+     */
+    public static CertificateVerdictCache disabled() {
+        return new CertificateVerdictCache(0, Duration.ZERO);
+    }
+
+    /**
+     * Checks whether given certificate has been successfully validated recently
+     *
+     * @param encodedCert PEM or Base64 encoded certificate
+     * @return <code>true</code> if there is cached positive verdict for the certificate, <code>false</code> otherwise
+     */
+    public boolean isValid(String encodedCert) {
+        return cache.isEnabled() && cache.get(buildCacheKey(encodedCert)) != null;
+    }
+
+    /**
+     * Returns current generation of the cache, that should be passed to {@link #putValid(String, X509Certificate, long)}
+     * after successful validation
+     *
+     * @return generation, that is changed on every {@link #clear()}
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Stores positive verdict for given certificate, unless the cache was cleared since the validation was started
+     *
+     * @param encodedCert PEM or Base64 encoded certificate
+     * @param certificate parsed certificate, which validity limits the lifetime of the entry
+     * @param generation  generation of the cache at the start of the validation
+     */
+    public synchronized void putValid(String encodedCert, X509Certificate certificate, long generation) {
+        if (!cache.isEnabled() || this.generation != generation) {
+            return;
+        }
+        cache.put(buildCacheKey(encodedCert), Boolean.TRUE, certificate.getNotAfter().toInstant());
+    }
+
+    /**
+     * Removes all verdicts from the cache
+     */
+    public synchronized void clear() {
+        generation++;
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    private String buildCacheKey(String encodedCert) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] certificateDigest = messageDigest.digest(encodedCert.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(certificateDigest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No such hashing algorithm: " + DIGEST_ALGORITHM, e);
+        }
+    }
+}
@@ -18,6 +18,8 @@ package de.adorsys.psd2.validator.signature;
 
 import lombok.NonNull;
 
+import java.nio.ByteBuffer;
+
 public interface DigestVerifier {
     /**
      * Verifies digest header value compliance with message body.
@@ -28,4 +30,14 @@ public interface DigestVerifier {
      * @return <code>true</code> if digest header is compliant with message body. <code>false</code> otherwise.
      */
     boolean verify(@NonNull String digestHeader, @NonNull String body);
+
+    /**
+     * Verifies digest header value compliance with raw bytes of message body.
+     * The only hash algorithms that may be used to calculate the Digest within the context of this specification are SHA-256 and SHA-512 as defined in [RFC5843].
+     *
+     * @param digestHeader Request header which contains a Hash of the message body.
+     * @param body Raw bytes of message body from request. Position of the buffer is not changed.
+     * @return <code>true</code> if digest header is compliant with message body. <code>false</code> otherwise.
+     */
+    boolean verify(@NonNull String digestHeader, @NonNull ByteBuffer body);
 }
@@ -22,6 +22,7 @@ import de.adorsys.psd2.validator.signature.service.Digest;
 import de.adorsys.psd2.validator.signature.service.algorithm.HashingAlgorithm;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 public class DigestVerifierImpl implements DigestVerifier {
@@ -37,6 +38,18 @@ public class DigestVerifierImpl implements DigestVerifier {
                    .orElse(false);
     }
 
+    @Override
+    public boolean verify(String digestFromRequest, ByteBuffer body) {
+        if (StringUtils.isBlank(digestFromRequest)) {
+            return false;
+        }
+
+        return handleHashAlgorithm(digestFromRequest)
+                   .map(alg -> buildDigest(body, alg))
+                   .map(dg -> digestFromRequest.equals(dg.getHeaderValue()))
+                   .orElse(false);
+    }
+
     private Digest buildDigest(String requestBody, HashingAlgorithm algorithm) {
         return Digest.builder()
                    .requestBody(requestBody)
@@ -44,6 +57,13 @@ public class DigestVerifierImpl implements DigestVerifier {
                    .build();
     }
 
+    private Digest buildDigest(ByteBuffer requestBody, HashingAlgorithm algorithm) {
+        return Digest.builder()
+                   .requestBody(requestBody)
+                   .hashingAlgorithm(algorithm)
+                   .build();
+    }
+
     private Optional<HashingAlgorithm> handleHashAlgorithm(String digestFromRequest) {
         String[] digestContent = digestFromRequest.split(CertificateConstants.EQUALS_SIGN_SEPARATOR);
         if (digestContent.length < 2) {
@@ -17,7 +17,7 @@
 package de.adorsys.psd2.validator.signature.impl;
 
 
-import com.nimbusds.jose.util.X509CertUtils;
+import de.adorsys.psd2.validator.certificate.util.CertificateCache;
 import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
 import de.adorsys.psd2.validator.signature.SignatureVerifier;
 import de.adorsys.psd2.validator.signature.service.CertificateConstants;
@@ -32,10 +32,19 @@ import java.util.Map;
 
 @Slf4j
 public class SignatureVerifierImpl implements SignatureVerifier {
+    private final CertificateCache certificateCache;
+
+    public SignatureVerifierImpl() {
+        this(CertificateCache.disabled());
+    }
+
+    public SignatureVerifierImpl(CertificateCache certificateCache) {
+        this.certificateCache = certificateCache;
+    }
 
     @Override
     public boolean verify(String signature, String tppEncodedCert, Map<String, String> headers, String method, String url) {
-        X509Certificate certificate = X509CertUtils.parse(
+        X509Certificate certificate = certificateCache.getCertificate(
             CertificateUtils.normalizeCertificate(tppEncodedCert)
         );
 
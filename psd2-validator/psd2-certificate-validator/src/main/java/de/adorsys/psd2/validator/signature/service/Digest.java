@@ -19,6 +19,7 @@ package de.adorsys.psd2.validator.signature.service;
 import de.adorsys.psd2.validator.signature.service.algorithm.EncodingAlgorithm;
 import de.adorsys.psd2.validator.signature.service.algorithm.HashingAlgorithm;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -45,6 +46,7 @@ public class Digest {
         private static final String EQUALS_SIGN_SEPARATOR = "=";
 
         private String requestBody;
+        private ByteBuffer requestBodyBytes;
         private HashingAlgorithm hashingAlgorithm = HashingAlgorithm.SHA256;
         private EncodingAlgorithm encodingAlgorithm = EncodingAlgorithm.BASE64;
         private Charset charset = StandardCharsets.UTF_8;
@@ -54,6 +56,18 @@ public class Digest {
 
         public DigestBuilder requestBody(String requestBody) {
             this.requestBody = requestBody;
+            this.requestBodyBytes = null;
+            return this;
+        }
+
+        /**
+         * @param requestBody Raw bytes of the request body, hashed as they are without any charset conversion.
+         *                    Position of the given buffer is not changed.
+         * @return prepared DigestBuilder with requestBody
+         */
+        public DigestBuilder requestBody(ByteBuffer requestBody) {
+            this.requestBodyBytes = requestBody;
+            this.requestBody = null;
             return this;
         }
 
@@ -81,8 +95,9 @@ public class Digest {
         }
 
         public Digest build() {
-            byte[] digestBytes = hashingAlgorithm.getHashingService()
-                                         .hash(requestBody, charset);
+            byte[] digestBytes = requestBodyBytes != null
+                                     ? hashingAlgorithm.getHashingService().hash(requestBodyBytes)
+                                     : hashingAlgorithm.getHashingService().hash(requestBody, charset);
 
             String digestEncoded = encodingAlgorithm.getEncodingService()
                                            .encode(digestBytes);
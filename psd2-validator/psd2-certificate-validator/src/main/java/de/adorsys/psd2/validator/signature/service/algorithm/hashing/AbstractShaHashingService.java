@@ -18,6 +18,7 @@ package de.adorsys.psd2.validator.signature.service.algorithm.hashing;
 
 import de.adorsys.psd2.validator.signature.service.algorithm.HashingAlgorithm;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -26,9 +27,19 @@ public abstract class AbstractShaHashingService implements HashingService {
 
     @Override
     public byte[] hash(String data, Charset charset) {
+        return getMessageDigest().digest(data.getBytes(charset));
+    }
+
+    @Override
+    public byte[] hash(ByteBuffer data) {
+        MessageDigest messageDigest = getMessageDigest();
+        messageDigest.update(data.duplicate());
+        return messageDigest.digest();
+    }
+
+    private MessageDigest getMessageDigest() {
         try {
-            return MessageDigest.getInstance(getAlgorithm().getAlgorithmName())
-                           .digest(data.getBytes(charset));
+            return MessageDigest.getInstance(getAlgorithm().getAlgorithmName());
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalArgumentException("No such hashing algorithm: " + getAlgorithm().getAlgorithmName());
         }
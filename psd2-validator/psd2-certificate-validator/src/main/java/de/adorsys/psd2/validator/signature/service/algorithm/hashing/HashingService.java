@@ -16,8 +16,11 @@
 
 package de.adorsys.psd2.validator.signature.service.algorithm.hashing;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 public interface HashingService {
     byte[] hash(String data, Charset charset);
+
+    byte[] hash(ByteBuffer data);
 }
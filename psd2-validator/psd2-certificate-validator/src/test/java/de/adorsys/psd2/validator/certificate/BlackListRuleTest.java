@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.validator.certificate;
+
+import no.difi.certvalidator.util.SimpleCertificateBucket;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.security.KeyPair;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlackListRuleTest {
+    private static final String CA = "CN=Test CA, O=adorsys, C=DE";
+
+    private static KeyPair caKeyPair;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        caKeyPair = TestPki.generateKeyPair();
+    }
+
+    @Test
+    void validate_blockedCertificate_blocked() throws Exception {
+        // Given
+        X509Certificate blockedCertificate = TestPki.buildTppCertificate(CA, caKeyPair.getPrivate(), null);
+        BlackListRule blackListRule = new BlackListRule(new SimpleCertificateBucket(blockedCertificate));
+        X509Certificate sameCertificateParsedAgain = (X509Certificate) CertificateFactory.getInstance("X.509")
+                                                                           .generateCertificate(new ByteArrayInputStream(blockedCertificate.getEncoded()));
+
+        // When
+        FailedCertValidationException exception = assertThrows(FailedCertValidationException.class,
+                                                               () -> blackListRule.validate(sameCertificateParsedAgain));
+
+        // Then
+        assertEquals(CertificateErrorMsgCode.CERTIFICATE_BLOCKED.name(), exception.getCode());
+    }
+
+    @Test
+    void validate_notBlockedCertificate_valid() throws Exception {
+        // Given
+        BlackListRule blackListRule = new BlackListRule(new SimpleCertificateBucket(TestPki.buildTppCertificate(CA, caKeyPair.getPrivate(), null)));
+        X509Certificate certificate = TestPki.buildTppCertificate(CA, caKeyPair.getPrivate(), null);
+
+        // When
+        // Then
+        assertDoesNotThrow(() -> blackListRule.validate(certificate));
+    }
+}
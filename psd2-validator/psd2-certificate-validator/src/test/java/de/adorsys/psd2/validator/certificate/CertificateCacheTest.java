@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import de.adorsys.psd2.validator.certificate.util.CertificateCache;
+import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
+import no.difi.certvalidator.api.CertificateValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CertificateCacheTest {
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private String encodedCert;
+    private Instant notAfter;
+
+    @BeforeEach
+    void setUp() {
+        encodedCert = CertificateUtils.getCertificateByName("certificateValid.crt");
+        notAfter = X509CertUtils.parse(encodedCert).getNotAfter().toInstant();
+    }
+
+    @Test
+    void getTppCertificateData_sameCertificate_parsedOnce() throws CertificateValidationException {
+        // Given
+        CertificateCache certificateCache = new CertificateCache(10, TTL, clockAt(notAfter.minus(Duration.ofDays(1))));
+
+        // When
+        TppCertificateData firstData = certificateCache.getTppCertificateData(encodedCert);
+        firstData.getPspRoles().clear();
+        TppCertificateData secondData = certificateCache.getTppCertificateData(encodedCert);
+        X509Certificate certificate = certificateCache.getCertificate(encodedCert);
+
+        // Then
+        assertEquals(3, secondData.getPspRoles().size());
+        assertNotNull(certificate);
+        assertEquals(1, certificateCache.getMissCount());
+        assertEquals(2, certificateCache.getHitCount());
+        assertEquals(1, certificateCache.size());
+    }
+
+    @Test
+    void getCertificate_certificateExpiresBeforeTtl_evictedAfterExpiration() {
+        // Given
+        MutableClock clock = new MutableClock(notAfter.minus(Duration.ofMinutes(1)));
+        CertificateCache certificateCache = new CertificateCache(10, TTL, clock);
+        certificateCache.getCertificate(encodedCert);
+
+        // When
+        clock.setInstant(notAfter);
+        X509Certificate certificate = certificateCache.getCertificate(encodedCert);
+
+        // Then
+        assertNotNull(certificate);
+        assertEquals(2, certificateCache.getMissCount());
+        assertEquals(1, certificateCache.getEvictionCount());
+        assertEquals(0, certificateCache.size());
+    }
+
+    @Test
+    void getCertificate_cacheIsFull_leastRecentlyUsedEvicted() {
+        // Given
+        CertificateCache certificateCache = new CertificateCache(1, TTL, clockAt(notAfter.minus(Duration.ofDays(1))));
+        String otherEncodedCert = CertificateUtils.normalizeCertificate(encodedCert);
+
+        // When
+        certificateCache.getCertificate(encodedCert);
+        certificateCache.getCertificate(otherEncodedCert);
+
+        // Then
+        assertEquals(1, certificateCache.size());
+        assertEquals(1, certificateCache.getEvictionCount());
+    }
+
+    @Test
+    void getTppCertificateData_invalidCertificate_alwaysThrowsException() {
+        // Given
+        CertificateCache certificateCache = new CertificateCache(10, TTL);
+        String invalidCert = CertificateUtils.getCertificateByName("certificateInvalid.crt");
+
+        // When
+        assertThrows(CertificateValidationException.class, () -> certificateCache.getTppCertificateData(invalidCert));
+
+        // Then
+        assertThrows(CertificateValidationException.class, () -> certificateCache.getTppCertificateData(invalidCert));
+    }
+
+    @Test
+    void getCertificate_disabledCache_parsedEveryTime() {
+        // Given
+        CertificateCache certificateCache = CertificateCache.disabled();
+
+        // When
+        certificateCache.getCertificate(encodedCert);
+        certificateCache.getCertificate(encodedCert);
+
+        // Then
+        assertEquals(2, certificateCache.getMissCount());
+        assertEquals(0, certificateCache.size());
+    }
+
+    private Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
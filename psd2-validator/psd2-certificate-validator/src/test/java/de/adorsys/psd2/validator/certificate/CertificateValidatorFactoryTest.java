@@ -16,20 +16,59 @@
 
 package de.adorsys.psd2.validator.certificate;
 
+import com.sun.net.httpserver.HttpServer;
 import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
+import de.adorsys.psd2.validator.certificate.util.CertificateVerdictCache;
 import no.difi.certvalidator.api.CertificateValidationException;
 import no.difi.certvalidator.util.SimpleCertificateBucket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class CertificateValidatorFactoryTest {
+    private static final String ROOT = "CN=Test Root CA, O=adorsys, C=DE";
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private static KeyPair rootKeyPair;
+    private static SimpleCertificateBucket testRootBucket;
+
+    @TempDir
+    Path tempDir;
+    private HttpServer crlServer;
 
     private SimpleCertificateBucket blockedCertBucket;
     private SimpleCertificateBucket rootCertBucket;
     private SimpleCertificateBucket intermediateCertBucket;
 
+    @BeforeAll
+    static void generateRoot() throws Exception {
+        rootKeyPair = TestPki.generateKeyPair();
+        testRootBucket = new SimpleCertificateBucket(TestPki.buildCaCertificate(ROOT, rootKeyPair, ROOT, rootKeyPair.getPrivate()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (crlServer != null) {
+            crlServer.stop(0);
+        }
+    }
+
     @BeforeEach
     void init() {
         blockedCertBucket = new SimpleCertificateBucket(CertificateUtils.getCertificates("blockedcert"));
@@ -58,4 +97,106 @@ class CertificateValidatorFactoryTest {
             CertificateValidationException.class, () -> validatorFactory.validate(encodedCert)
         );
     }
+
+    @Test
+    void validate_verdictCache_secondValidationServedFromCache() throws Exception {
+        // Given
+        String encodedCert = TestPki.encode(TestPki.buildTppCertificate(ROOT, rootKeyPair.getPrivate(), null));
+        CertificateVerdictCache verdictCache = new CertificateVerdictCache(10, TTL);
+        CertificateValidatorFactory validatorFactory = new CertificateValidatorFactory(new SimpleCertificateBucket(), testRootBucket,
+                                                                                       new SimpleCertificateBucket(), null, verdictCache);
+
+        // When
+        validatorFactory.validate(encodedCert);
+        validatorFactory.validate(encodedCert);
+
+        // Then
+        assertEquals(1, verdictCache.getHitCount());
+        assertEquals(1, verdictCache.size());
+    }
+
+    @Test
+    void validate_revokedInIndex_revokedAndNotCached() throws Exception {
+        // Given
+        X509Certificate certificate = TestPki.buildTppCertificate(ROOT, rootKeyPair.getPrivate(), null);
+        CrlRevocationIndex revocationIndex = buildRevocationIndex(certificate.getSerialNumber());
+        CertificateVerdictCache verdictCache = new CertificateVerdictCache(10, TTL);
+        CertificateValidatorFactory validatorFactory = new CertificateValidatorFactory(new SimpleCertificateBucket(), testRootBucket,
+                                                                                       new SimpleCertificateBucket(), revocationIndex, verdictCache);
+
+        // When
+        FailedCertValidationException exception = assertThrows(FailedCertValidationException.class,
+                                                               () -> validatorFactory.validate(TestPki.encode(certificate)));
+
+        // Then
+        assertEquals(CertificateErrorMsgCode.CERTIFICATE_REVOKED.name(), exception.getCode());
+        assertEquals(0, verdictCache.size());
+    }
+
+    @Test
+    void validate_revokedAfterValidation_cachedVerdictDroppedOnRefresh() throws Exception {
+        // Given
+        X509Certificate certificate = TestPki.buildTppCertificate(ROOT, rootKeyPair.getPrivate(), null);
+        String encodedCert = TestPki.encode(certificate);
+        CrlRevocationIndex revocationIndex = buildRevocationIndex();
+        CertificateVerdictCache verdictCache = new CertificateVerdictCache(10, TTL);
+        CertificateValidatorFactory validatorFactory = new CertificateValidatorFactory(new SimpleCertificateBucket(), testRootBucket,
+                                                                                       new SimpleCertificateBucket(), revocationIndex, verdictCache);
+        validatorFactory.validate(encodedCert);
+
+        // When
+        writeCrl(certificate.getSerialNumber());
+        revocationIndex.refresh();
+
+        // Then
+        FailedCertValidationException exception = assertThrows(FailedCertValidationException.class,
+                                                               () -> validatorFactory.validate(encodedCert));
+        assertEquals(CertificateErrorMsgCode.CERTIFICATE_REVOKED.name(), exception.getCode());
+    }
+
+    @Test
+    void validate_crlNotAvailable_failureNotCached() throws Exception {
+        // Given
+        AtomicReference<byte[]> crlResponse = new AtomicReference<>();
+        crlServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        crlServer.createContext("/root.crl", exchange -> {
+            byte[] body = crlResponse.get();
+            if (body == null) {
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            }
+            exchange.close();
+        });
+        crlServer.start();
+        String crlUrl = "http://localhost:" + crlServer.getAddress().getPort() + "/root.crl";
+        String encodedCert = TestPki.encode(TestPki.buildTppCertificate(ROOT, rootKeyPair.getPrivate(), crlUrl));
+        CertificateVerdictCache verdictCache = new CertificateVerdictCache(10, TTL);
+        CertificateValidatorFactory validatorFactory = new CertificateValidatorFactory(new SimpleCertificateBucket(), testRootBucket,
+                                                                                       new SimpleCertificateBucket(), null, verdictCache);
+        assertThrows(FailedCertValidationException.class, () -> validatorFactory.validate(encodedCert));
+
+        // When
+        crlResponse.set(TestPki.buildCrl(ROOT, rootKeyPair.getPrivate(), TestPki.NOW.plus(Duration.ofDays(1))).getEncoded());
+
+        // Then
+        assertTrue(validatorFactory.validate(encodedCert));
+        assertEquals(1, verdictCache.size());
+    }
+
+    private CrlRevocationIndex buildRevocationIndex(BigInteger... revokedSerialNumbers) throws Exception {
+        Path crlFile = writeCrl(revokedSerialNumbers);
+        CrlRevocationIndex revocationIndex = new CrlRevocationIndex(Collections.singletonList(crlFile.toString()), testRootBucket, TTL);
+        revocationIndex.refresh();
+        return revocationIndex;
+    }
+
+    private Path writeCrl(BigInteger... revokedSerialNumbers) throws Exception {
+        Path crlFile = tempDir.resolve("root.crl");
+        Files.write(crlFile, TestPki.buildCrl(ROOT, rootKeyPair.getPrivate(), TestPki.NOW.plus(Duration.ofDays(1)), revokedSerialNumbers).getEncoded());
+        return crlFile;
+    }
 }
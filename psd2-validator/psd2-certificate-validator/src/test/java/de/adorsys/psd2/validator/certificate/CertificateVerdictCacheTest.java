@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.validator.certificate;
+
+import de.adorsys.psd2.validator.certificate.util.CertificateVerdictCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CertificateVerdictCacheTest {
+    private static final String CA = "CN=Test CA, O=adorsys, C=DE";
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private static X509Certificate certificate;
+    private static String encodedCert;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        KeyPair caKeyPair = TestPki.generateKeyPair();
+        certificate = TestPki.buildTppCertificate(CA, caKeyPair.getPrivate(), null);
+        encodedCert = TestPki.encode(certificate);
+    }
+
+    @Test
+    void isValid_verdictStored() {
+        // Given
+        CertificateVerdictCache verdictCache = new CertificateVerdictCache(10, TTL);
+        verdictCache.putValid(encodedCert, certificate, verdictCache.getGeneration());
+
+        // When
+        boolean valid = verdictCache.isValid(encodedCert);
+
+        // Then
+        assertTrue(valid);
+        assertEquals(1, verdictCache.getHitCount());
+    }
+
+    @Test
+    void putValid_clearedDuringValidation_verdictNotStored() {
+        // Given
+        CertificateVerdictCache verdictCache = new CertificateVerdictCache(10, TTL);
+        long generation = verdictCache.getGeneration();
+        verdictCache.clear();
+
+        // When
+        verdictCache.putValid(encodedCert, certificate, generation);
+
+        // Then
+        assertFalse(verdictCache.isValid(encodedCert));
+        assertEquals(0, verdictCache.size());
+    }
+
+    @Test
+    void isValid_certificateExpired_verdictDropped() {
+        // Given
+        Instant notAfter = certificate.getNotAfter().toInstant();
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(notAfter.minus(Duration.ofMinutes(1)).toEpochMilli(), notAfter.toEpochMilli());
+        CertificateVerdictCache verdictCache = new CertificateVerdictCache(10, TTL, clock);
+        verdictCache.putValid(encodedCert, certificate, verdictCache.getGeneration());
+
+        // When
+        boolean valid = verdictCache.isValid(encodedCert);
+
+        // Then
+        assertFalse(valid);
+        assertEquals(1, verdictCache.getMissCount());
+    }
+
+    @Test
+    void isValid_disabledCache_verdictNotStored() {
+        // Given
+        CertificateVerdictCache verdictCache = CertificateVerdictCache.disabled();
+        verdictCache.putValid(encodedCert, certificate, verdictCache.getGeneration());
+
+        // When
+        boolean valid = verdictCache.isValid(encodedCert);
+
+        // Then
+        assertFalse(valid);
+        assertEquals(0, verdictCache.size());
+    }
+}
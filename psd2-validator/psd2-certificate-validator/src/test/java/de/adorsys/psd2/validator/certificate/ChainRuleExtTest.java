@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.validator.certificate;
+
+import no.difi.certvalidator.util.SimpleCertificateBucket;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChainRuleExtTest {
+    private static final String ROOT = "CN=Test Root CA, O=adorsys, C=DE";
+    private static final String INTERMEDIATE = "CN=Test Intermediate CA, O=adorsys, C=DE";
+    private static final String UNKNOWN_CA = "CN=Unknown CA, O=adorsys, C=DE";
+
+    private static KeyPair rootKeyPair;
+    private static KeyPair intermediateKeyPair;
+    private static X509Certificate rootCertificate;
+    private static X509Certificate intermediateCertificate;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        rootKeyPair = TestPki.generateKeyPair();
+        intermediateKeyPair = TestPki.generateKeyPair();
+        rootCertificate = TestPki.buildCaCertificate(ROOT, rootKeyPair, ROOT, rootKeyPair.getPrivate());
+        intermediateCertificate = TestPki.buildCaCertificate(INTERMEDIATE, intermediateKeyPair, ROOT, rootKeyPair.getPrivate());
+    }
+
+    @Test
+    void validate_certificateIssuedByIntermediate_valid() throws Exception {
+        // Given
+        X509Certificate otherRootCertificate = buildOtherRoot("CN=Other Root CA, O=adorsys, C=DE");
+        ChainRuleExt chainRule = new ChainRuleExt(new SimpleCertificateBucket(otherRootCertificate, rootCertificate),
+                                                  new SimpleCertificateBucket(intermediateCertificate));
+        X509Certificate certificate = TestPki.buildTppCertificate(INTERMEDIATE, intermediateKeyPair.getPrivate(), null);
+
+        // When
+        // Then
+        assertDoesNotThrow(() -> chainRule.validate(certificate));
+    }
+
+    @Test
+    void validate_rootWithSameSubjectRolledOver_valid() throws Exception {
+        // Given
+        KeyPair newRootKeyPair = TestPki.generateKeyPair();
+        X509Certificate newRootCertificate = TestPki.buildCaCertificate(ROOT, newRootKeyPair, ROOT, newRootKeyPair.getPrivate());
+        ChainRuleExt chainRule = new ChainRuleExt(new SimpleCertificateBucket(rootCertificate, newRootCertificate),
+                                                  new SimpleCertificateBucket());
+        X509Certificate certificate = TestPki.buildTppCertificate(ROOT, newRootKeyPair.getPrivate(), null);
+
+        // When
+        // Then
+        assertDoesNotThrow(() -> chainRule.validate(certificate));
+    }
+
+    @Test
+    void validate_unknownIssuer_invalid() throws Exception {
+        // Given
+        ChainRuleExt chainRule = new ChainRuleExt(new SimpleCertificateBucket(rootCertificate),
+                                                  new SimpleCertificateBucket(intermediateCertificate));
+        X509Certificate certificate = TestPki.buildTppCertificate(UNKNOWN_CA, TestPki.generateKeyPair().getPrivate(), null);
+
+        // When
+        FailedCertValidationException exception = assertThrows(FailedCertValidationException.class, () -> chainRule.validate(certificate));
+
+        // Then
+        assertEquals(CertificateErrorMsgCode.CERTIFICATE_INVALID.name(), exception.getCode());
+    }
+
+    @Test
+    void validate_knownIssuerNameWithForeignKey_invalid() throws Exception {
+        // Given
+        ChainRuleExt chainRule = new ChainRuleExt(new SimpleCertificateBucket(rootCertificate),
+                                                  new SimpleCertificateBucket(intermediateCertificate));
+        X509Certificate certificate = TestPki.buildTppCertificate(INTERMEDIATE, TestPki.generateKeyPair().getPrivate(), null);
+
+        // When
+        FailedCertValidationException exception = assertThrows(FailedCertValidationException.class, () -> chainRule.validate(certificate));
+
+        // Then
+        assertEquals(CertificateErrorMsgCode.CERTIFICATE_INVALID.name(), exception.getCode());
+    }
+
+    private X509Certificate buildOtherRoot(String subject) throws Exception {
+        KeyPair keyPair = TestPki.generateKeyPair();
+        return TestPki.buildCaCertificate(subject, keyPair, subject, keyPair.getPrivate());
+    }
+}
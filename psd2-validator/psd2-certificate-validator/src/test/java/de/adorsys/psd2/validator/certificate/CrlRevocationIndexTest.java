@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.adorsys.psd2.validator.certificate;
+
+import no.difi.certvalidator.util.SimpleCertificateBucket;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CrlRevocationIndexTest {
+    private static final String ISSUER = "CN=Test CA, O=adorsys, C=DE";
+    private static final String OTHER_ISSUER = "CN=Other CA, O=adorsys, C=DE";
+    private static final Instant NOW = TestPki.NOW;
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(10);
+
+    private static KeyPair issuerKeyPair;
+    private static SimpleCertificateBucket trustedIssuers;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        issuerKeyPair = TestPki.generateKeyPair();
+        trustedIssuers = new SimpleCertificateBucket(TestPki.buildCaCertificate(ISSUER, issuerKeyPair, ISSUER, issuerKeyPair.getPrivate()));
+    }
+
+    @Test
+    void getStatus_crlLoadedFromFile() throws Exception {
+        // Given
+        X509Certificate revokedCertificate = buildCertificate(ISSUER);
+        X509Certificate goodCertificate = buildCertificate(ISSUER);
+        Path crlFile = writeCrl(issuerKeyPair.getPrivate(), NOW.plus(Duration.ofDays(1)), revokedCertificate.getSerialNumber());
+        CrlRevocationIndex revocationIndex = buildIndex(crlFile.toString());
+
+        // When
+        revocationIndex.refresh();
+
+        // Then
+        assertEquals(1, revocationIndex.getIssuerCount());
+        assertEquals(CrlRevocationIndex.RevocationStatus.REVOKED, revocationIndex.getStatus(revokedCertificate));
+        assertEquals(CrlRevocationIndex.RevocationStatus.GOOD, revocationIndex.getStatus(goodCertificate));
+        assertEquals(CrlRevocationIndex.RevocationStatus.UNKNOWN, revocationIndex.getStatus(buildCertificate(OTHER_ISSUER)));
+    }
+
+    @Test
+    void getStatus_crlIsOutdated_unknown() throws Exception {
+        // Given
+        X509Certificate revokedCertificate = buildCertificate(ISSUER);
+        Path crlFile = writeCrl(issuerKeyPair.getPrivate(), NOW.minus(Duration.ofMinutes(1)), revokedCertificate.getSerialNumber());
+        CrlRevocationIndex revocationIndex = buildIndex(crlFile.toUri().toString());
+        revocationIndex.refresh();
+
+        // When
+        CrlRevocationIndex.RevocationStatus status = revocationIndex.getStatus(revokedCertificate);
+
+        // Then
+        assertEquals(CrlRevocationIndex.RevocationStatus.UNKNOWN, status);
+    }
+
+    @Test
+    void refresh_crlSignedByUntrustedKey_crlRejected() throws Exception {
+        // Given
+        X509Certificate certificate = buildCertificate(ISSUER);
+        Path crlFile = writeCrl(TestPki.generateKeyPair().getPrivate(), NOW.plus(Duration.ofDays(1)));
+        CrlRevocationIndex revocationIndex = buildIndex(crlFile.toString());
+
+        // When
+        revocationIndex.refresh();
+
+        // Then
+        assertEquals(0, revocationIndex.getIssuerCount());
+        assertEquals(CrlRevocationIndex.RevocationStatus.UNKNOWN, revocationIndex.getStatus(certificate));
+    }
+
+    @Test
+    void refresh_crlUpdated_newRevocationsIndexedAndListenersNotified() throws Exception {
+        // Given
+        X509Certificate revokedCertificate = buildCertificate(ISSUER);
+        X509Certificate certificate = buildCertificate(ISSUER);
+        Path crlFile = writeCrl(issuerKeyPair.getPrivate(), NOW.plus(Duration.ofDays(1)), revokedCertificate.getSerialNumber());
+        CrlRevocationIndex revocationIndex = buildIndex(crlFile.toString());
+        AtomicInteger refreshCount = new AtomicInteger();
+        revocationIndex.addRefreshListener(refreshCount::incrementAndGet);
+        revocationIndex.refresh();
+
+        // When
+        writeCrl(issuerKeyPair.getPrivate(), NOW.plus(Duration.ofDays(1)), revokedCertificate.getSerialNumber(), certificate.getSerialNumber());
+        revocationIndex.refresh();
+
+        // Then
+        assertEquals(2, refreshCount.get());
+        assertEquals(CrlRevocationIndex.RevocationStatus.REVOKED, revocationIndex.getStatus(certificate));
+    }
+
+    @Test
+    void refresh_crlNotAvailable_previousCrlKept() throws Exception {
+        // Given
+        X509Certificate revokedCertificate = buildCertificate(ISSUER);
+        Path crlFile = writeCrl(issuerKeyPair.getPrivate(), NOW.plus(Duration.ofDays(1)), revokedCertificate.getSerialNumber());
+        String missingLocation = tempDir.resolve("missing.crl").toString();
+        CrlRevocationIndex revocationIndex = new CrlRevocationIndex(Arrays.asList(crlFile.toString(), missingLocation), trustedIssuers,
+                                                                    REFRESH_INTERVAL, clockAt(NOW));
+        revocationIndex.refresh();
+
+        // When
+        Files.delete(crlFile);
+        revocationIndex.refresh();
+
+        // Then
+        assertEquals(1, revocationIndex.getIssuerCount());
+        assertEquals(CrlRevocationIndex.RevocationStatus.REVOKED, revocationIndex.getStatus(revokedCertificate));
+    }
+
+    private CrlRevocationIndex buildIndex(String crlLocation) {
+        return new CrlRevocationIndex(Collections.singletonList(crlLocation), trustedIssuers, REFRESH_INTERVAL, clockAt(NOW));
+    }
+
+    private Path writeCrl(PrivateKey signingKey, Instant nextUpdate, BigInteger... revokedSerialNumbers) throws Exception {
+        Path crlFile = tempDir.resolve("issuer.crl");
+        Files.write(crlFile, TestPki.buildCrl(ISSUER, signingKey, nextUpdate, revokedSerialNumbers).getEncoded());
+        return crlFile;
+    }
+
+    private X509Certificate buildCertificate(String issuer) throws Exception {
+        return TestPki.buildTppCertificate(issuer, issuerKeyPair.getPrivate(), null);
+    }
+
+    private Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018-2018 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.validator.certificate;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.*;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CRLConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates certificates and revocation lists of a test CA hierarchy
+ */
+class TestPki {
+    static final Instant NOW = Instant.now();
+
+    private static final AtomicLong SERIAL_NUMBERS = new AtomicLong(1000);
+
+    static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    static X509Certificate buildCaCertificate(String subject, KeyPair keyPair, String issuer, PrivateKey issuerKey) throws Exception {
+        X509v3CertificateBuilder builder = certificateBuilder(subject, keyPair, issuer);
+        builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+        builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+        return sign(builder, issuerKey);
+    }
+
+    static X509Certificate buildTppCertificate(String issuer, PrivateKey issuerKey, String crlDistributionPoint) throws Exception {
+        X509v3CertificateBuilder builder = certificateBuilder("CN=TPP, O=adorsys, C=DE", generateKeyPair(), issuer);
+        builder.addExtension(Extension.basicConstraints, false, new BasicConstraints(false));
+        if (crlDistributionPoint != null) {
+            GeneralNames crlNames = new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, crlDistributionPoint));
+            DistributionPoint distributionPoint = new DistributionPoint(new DistributionPointName(crlNames), null, null);
+            builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(new DistributionPoint[]{distributionPoint}));
+        }
+        return sign(builder, issuerKey);
+    }
+
+    static X509CRL buildCrl(String issuer, PrivateKey issuerKey, Instant nextUpdate, BigInteger... revokedSerialNumbers) throws Exception {
+        X509v2CRLBuilder builder = new X509v2CRLBuilder(new X500Name(issuer), Date.from(NOW.minus(Duration.ofDays(1))));
+        builder.setNextUpdate(Date.from(nextUpdate));
+        for (BigInteger serialNumber : revokedSerialNumbers) {
+            builder.addCRLEntry(serialNumber, Date.from(NOW.minus(Duration.ofDays(2))), CRLReason.keyCompromise);
+        }
+        return new JcaX509CRLConverter().getCRL(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(issuerKey)));
+    }
+
+    static String encode(X509Certificate certificate) throws Exception {
+        return "-----BEGIN CERTIFICATE-----\n" + Base64.getMimeEncoder().encodeToString(certificate.getEncoded())
+                   + "\n-----END CERTIFICATE-----";
+    }
+
+    private static X509v3CertificateBuilder certificateBuilder(String subject, KeyPair keyPair, String issuer) {
+        return new JcaX509v3CertificateBuilder(new X500Name(issuer), BigInteger.valueOf(SERIAL_NUMBERS.incrementAndGet()),
+                                               Date.from(NOW.minus(Duration.ofDays(1))), Date.from(NOW.plus(Duration.ofDays(30))),
+                                               new X500Name(subject), keyPair.getPublic());
+    }
+
+    private static X509Certificate sign(X509v3CertificateBuilder builder, PrivateKey issuerKey) throws Exception {
+        return new JcaX509CertificateConverter().getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(issuerKey)));
+    }
+}
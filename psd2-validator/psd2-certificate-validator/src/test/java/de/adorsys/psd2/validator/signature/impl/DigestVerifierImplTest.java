@@ -20,6 +20,9 @@ import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DigestVerifierImplTest {
@@ -28,6 +31,9 @@ class DigestVerifierImplTest {
     private static final String WRONG_ALGORITHM_DIGEST = "SHA-512=x2iyTnu8glTS4NQk/X7jdpga/v4+AuxVRteArO42n9c=";
     private static final String EMPTY_ALGORITHM_DIGEST = "jkdgfdt43x2iyTnu8glTS4NQk/X7jdpga/v4+AuxVRteArO42n9c=";
     private static final String WRONG_DIGEST = "SHA-256=x2iyTnu8gl_wrong_digest_RteArO42n9c=";
+    private static final String CRLF_BODY = "{\r\n  \"endToEndIdentification\": \"WBG-123456789\"\r\n}\r\n";
+    private static final String CRLF_BODY_DIGEST = "SHA-256=ERqz7nxFt6jez90a/lxiiwQTp3Tsy5bCu754q2xOWJk=";
+    private static final String NORMALISED_CRLF_BODY_DIGEST = "SHA-256=+ox84W8ckpfyyYVxI5bnEuzMbhH4ymRhpFqBbQRppvc=";
 
     private DigestVerifierImpl digestVerifier;
 
@@ -45,6 +51,42 @@ class DigestVerifierImplTest {
         assertThat(actualResult).isTrue();
     }
 
+    @Test
+    void verify_bytes_success() {
+        // given
+        ByteBuffer body = ByteBuffer.wrap(getBody().getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+
+        // when
+        boolean actualResult = digestVerifier.verify(CORRECT_DIGEST, body);
+
+        // then
+        assertThat(actualResult).isTrue();
+        assertThat(body.position()).isZero();
+    }
+
+    @Test
+    void verify_bytes_crlfBody_digestOfRawBytes() {
+        // given
+        ByteBuffer body = ByteBuffer.wrap(CRLF_BODY.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        boolean rawDigestResult = digestVerifier.verify(CRLF_BODY_DIGEST, body);
+        boolean normalisedDigestResult = digestVerifier.verify(NORMALISED_CRLF_BODY_DIGEST, body);
+
+        // then
+        assertThat(rawDigestResult).isTrue();
+        assertThat(normalisedDigestResult).isFalse();
+    }
+
+    @Test
+    void verify_bytes_wrong_digest() {
+        // when
+        boolean actualResult = digestVerifier.verify(WRONG_DIGEST, ByteBuffer.wrap(getBody().getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(actualResult).isFalse();
+    }
+
     @Test
     void verify_wrong_digest() {
         // when
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.core.mapper;
+
+import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.core.data.piis.v1.PiisConsentData;
+import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Encodes consent data in compact binary format.
+ * <p>
+ * Encoded data starts with a header of format marker, format version and type of consent data. Format marker is a zero
+ * byte, that can never start JSON document, so tagged data can be told apart from JSON stored by previous versions.
+ * Nullable strings are stored as length prefixed UTF-8 bytes, dates as epoch days, account access types as single byte
+ * codes from {@link #ACCOUNT_ACCESS_TYPES}. New values must only be appended to this array, as stored codes rely on
+ * their positions.
+ */
+public class BinaryConsentDataCodec implements ConsentDataCodec {
+    private static final byte FORMAT_MARKER = 0;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 3;
+
+    private static final byte AIS_CONSENT_DATA = 1;
+    private static final byte PIIS_CONSENT_DATA = 2;
+
+    private static final int COMBINED_SERVICE_INDICATOR_FLAG = 1;
+
+    private static final AccountAccessType[] ACCOUNT_ACCESS_TYPES = {
+        null,
+        AccountAccessType.ALL_ACCOUNTS,
+        AccountAccessType.ALL_ACCOUNTS_WITH_OWNER_NAME
+    };
+
+    static boolean isTagged(byte[] data) {
+        return data != null && data.length >= HEADER_LENGTH && data[0] == FORMAT_MARKER;
+    }
+
+    @Override
+    public ConsentDataFormat getFormat() {
+        return ConsentDataFormat.BINARY;
+    }
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return type == AisConsentData.class || type == PiisConsentData.class;
+    }
+
+    @Override
+    public boolean isEncodedWith(byte[] data) {
+        return isTagged(data);
+    }
+
+    @Override
+    public byte[] encode(Object consentData) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_MARKER);
+        out.writeByte(FORMAT_VERSION);
+
+        if (consentData instanceof AisConsentData) {
+            out.writeByte(AIS_CONSENT_DATA);
+            writeAisConsentData(out, (AisConsentData) consentData);
+        } else if (consentData instanceof PiisConsentData) {
+            out.writeByte(PIIS_CONSENT_DATA);
+            writePiisConsentData(out, (PiisConsentData) consentData);
+        } else {
+            throw new IOException("Unsupported type of consent data: " + (consentData == null ? null : consentData.getClass().getName()));
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        if (!isTagged(data)) {
+            throw new IOException("Consent data isn't encoded in binary format");
+        }
+        if (data[1] != FORMAT_VERSION) {
+            throw new IOException("Unsupported version of binary consent data: " + data[1]);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, HEADER_LENGTH, data.length - HEADER_LENGTH));
+        Object consentData;
+        if (type == AisConsentData.class && data[2] == AIS_CONSENT_DATA) {
+            consentData = readAisConsentData(in);
+        } else if (type == PiisConsentData.class && data[2] == PIIS_CONSENT_DATA) {
+            consentData = readPiisConsentData(in);
+        } else {
+            throw new IOException("Binary consent data of type " + data[2] + " can't be decoded to " + type.getName());
+        }
+
+        if (in.available() > 0) {
+            throw new IOException("Unexpected trailing bytes in binary consent data");
+        }
+        return type.cast(consentData);
+    }
+
+    private void writeAisConsentData(DataOutputStream out, AisConsentData consentData) throws IOException {
+        out.writeByte(getAccountAccessTypeCode(consentData.getAvailableAccounts()));
+        out.writeByte(getAccountAccessTypeCode(consentData.getAllPsd2()));
+        out.writeByte(getAccountAccessTypeCode(consentData.getAvailableAccountsWithBalance()));
+        out.writeByte(consentData.isCombinedServiceIndicator() ? COMBINED_SERVICE_INDICATOR_FLAG : 0);
+    }
+
+    private AisConsentData readAisConsentData(DataInputStream in) throws IOException {
+        AccountAccessType availableAccounts = getAccountAccessType(in.readUnsignedByte());
+        AccountAccessType allPsd2 = getAccountAccessType(in.readUnsignedByte());
+        AccountAccessType availableAccountsWithBalance = getAccountAccessType(in.readUnsignedByte());
+        boolean combinedServiceIndicator = (in.readUnsignedByte() & COMBINED_SERVICE_INDICATOR_FLAG) != 0;
+        return new AisConsentData(availableAccounts, allPsd2, availableAccountsWithBalance, combinedServiceIndicator);
+    }
+
+    private void writePiisConsentData(DataOutputStream out, PiisConsentData consentData) throws IOException {
+        writeString(out, consentData.getCardNumber());
+        LocalDate cardExpiryDate = consentData.getCardExpiryDate();
+        out.writeBoolean(cardExpiryDate != null);
+        if (cardExpiryDate != null) {
+            out.writeInt(Math.toIntExact(cardExpiryDate.toEpochDay()));
+        }
+        writeString(out, consentData.getCardInformation());
+        writeString(out, consentData.getRegistrationInformation());
+    }
+
+    private PiisConsentData readPiisConsentData(DataInputStream in) throws IOException {
+        String cardNumber = readString(in);
+        LocalDate cardExpiryDate = in.readBoolean() ? LocalDate.ofEpochDay(in.readInt()) : null;
+        String cardInformation = readString(in);
+        String registrationInformation = readString(in);
+        return new PiisConsentData(cardNumber, cardExpiryDate, cardInformation, registrationInformation);
+    }
+
+    private int getAccountAccessTypeCode(AccountAccessType accountAccessType) throws IOException {
+        for (int code = 0; code < ACCOUNT_ACCESS_TYPES.length; code++) {
+            if (ACCOUNT_ACCESS_TYPES[code] == accountAccessType) {
+                return code;
+            }
+        }
+        throw new IOException("No binary code for account access type " + accountAccessType);
+    }
+
+    private AccountAccessType getAccountAccessType(int code) throws IOException {
+        if (code >= ACCOUNT_ACCESS_TYPES.length) {
+            throw new IOException("Unknown binary code of account access type: " + code);
+        }
+        return ACCOUNT_ACCESS_TYPES[code];
+    }
+
+    /**
+     * Writes string as its UTF-8 length plus one in variable-length format followed by UTF-8 bytes, zero length stands
+     * for <code>null</code>
+     */
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int length = utf8.length + 1;
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(utf8);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = 0;
+        int shift = 0;
+        int next;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed string length in binary consent data");
+            }
+            next = in.readUnsignedByte();
+            length |= (next & 0x7F) << shift;
+            shift += 7;
+        } while ((next & 0x80) != 0);
+
+        if (length == 0) {
+            return null;
+        }
+        if (length < 0 || length - 1 > in.available()) {
+            throw new IOException("String length exceeds binary consent data");
+        }
+
+        byte[] utf8 = new byte[length - 1];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.core.mapper;
+
+import java.io.IOException;
+
+/**
+ * Encodes consent data objects to bytes stored in the CMS and decodes them back
+ */
+public interface ConsentDataCodec {
+    ConsentDataFormat getFormat();
+
+    /**
+     * Checks whether given type of consent data can be encoded by this codec
+     *
+     * @param type type of consent data
+     * @return <code>true</code> if the type is supported, <code>false</code> otherwise
+     */
+    boolean supports(Class<?> type);
+
+    /**
+     * Checks whether given bytes were encoded in the format of this codec
+     *
+     * @param data encoded consent data
+     * @return <code>true</code> if the data can be decoded by this codec, <code>false</code> otherwise
+     */
+    boolean isEncodedWith(byte[] data);
+
+    byte[] encode(Object consentData) throws IOException;
+
+    <T> T decode(byte[] data, Class<T> type) throws IOException;
+}
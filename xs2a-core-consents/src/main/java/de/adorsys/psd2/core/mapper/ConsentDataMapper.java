@@ -16,27 +16,46 @@
 
 package de.adorsys.psd2.core.mapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
 import de.adorsys.psd2.core.data.piis.v1.PiisConsentData;
 import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Maps consent data to bytes stored in the CMS and back.
+ * <p>
+ * Data is written in configured format, but is read in any supported format, detected by its format tag. Data, that is
+ * stored in another format than the configured one, is re-encoded lazily by consent migration services.
+ */
 @Slf4j
 @Component
 public class ConsentDataMapper {
-    private final ObjectMapper objectMapper = buildObjectMapper();
+    private final ConsentDataCodec jsonCodec = new JsonConsentDataCodec(buildObjectMapper());
+    private final List<ConsentDataCodec> codecs = Arrays.asList(new BinaryConsentDataCodec(), jsonCodec);
+
+    @Value("${consent.data.format:JSON}")
+    private ConsentDataFormat writeFormat = ConsentDataFormat.JSON;
+
+    public ConsentDataMapper() {
+    }
+
+    ConsentDataMapper(ConsentDataFormat writeFormat) {
+        this.writeFormat = writeFormat;
+    }
 
     public AisConsentData mapToAisConsentData(byte[] consentData) {
         if (consentData == null) {
             return AisConsentData.buildDefaultAisConsentData();
         }
         try {
-            return objectMapper.readValue(consentData, AisConsentData.class);
+            return getCodec(consentData).decode(consentData, AisConsentData.class);
         } catch (IOException e) {
             log.info("Can't convert byte[] to AisConsentData: {}", e.getMessage());
             return null;
@@ -48,7 +67,7 @@ public class ConsentDataMapper {
             return PiisConsentData.buildDefaultConsentData();
         }
         try {
-            return objectMapper.readValue(consentData, PiisConsentData.class);
+            return getCodec(consentData).decode(consentData, PiisConsentData.class);
         } catch (IOException e) {
             log.info("Can't convert byte[] to PiisConsentData: {}", e.getMessage());
             return null;
@@ -57,13 +76,40 @@ public class ConsentDataMapper {
 
     public byte[] getBytesFromConsentData(Object consentData) {
         try {
-            return objectMapper.writeValueAsBytes(consentData);
-        } catch (JsonProcessingException e) {
+            return getWriteCodec(consentData).encode(consentData);
+        } catch (IOException e) {
             log.info("Can't convert consentData to byte[]: {}", e.getMessage());
             return new byte[0];
         }
     }
 
+    /**
+     * Checks whether given consent data is stored in another format than the configured one and should be re-encoded
+     *
+     * @param consentData encoded consent data
+     * @return <code>true</code> if the data should be re-encoded, <code>false</code> otherwise
+     */
+    public boolean isMigrationNeeded(byte[] consentData) {
+        return consentData != null
+                   && consentData.length > 0
+                   && getCodec(consentData).getFormat() != writeFormat;
+    }
+
+    private ConsentDataCodec getCodec(byte[] consentData) {
+        return codecs.stream()
+                   .filter(codec -> codec.isEncodedWith(consentData))
+                   .findFirst()
+                   .orElse(jsonCodec);
+    }
+
+    private ConsentDataCodec getWriteCodec(Object consentData) {
+        return codecs.stream()
+                   .filter(codec -> codec.getFormat() == writeFormat)
+                   .filter(codec -> consentData != null && codec.supports(consentData.getClass()))
+                   .findFirst()
+                   .orElse(jsonCodec);
+    }
+
     private ObjectMapper buildObjectMapper() {
         ObjectMapperConfig objectMapperConfig = new ObjectMapperConfig();
         return objectMapperConfig.xs2aObjectMapper();
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.core.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Encodes consent data as untagged JSON, so that data stored by previous versions stays readable.
+ * Any data without binary format tag is considered to be JSON.
+ */
+@RequiredArgsConstructor
+public class JsonConsentDataCodec implements ConsentDataCodec {
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ConsentDataFormat getFormat() {
+        return ConsentDataFormat.JSON;
+    }
+
+    @Override
+    public boolean supports(Class<?> type) {
+        return true;
+    }
+
+    @Override
+    public boolean isEncodedWith(byte[] data) {
+        return !BinaryConsentDataCodec.isTagged(data);
+    }
+
+    @Override
+    public byte[] encode(Object consentData) throws IOException {
+        return objectMapper.writeValueAsBytes(consentData);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return objectMapper.readValue(data, type);
+    }
+}
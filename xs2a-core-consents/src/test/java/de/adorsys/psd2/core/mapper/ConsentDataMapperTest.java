@@ -22,16 +22,18 @@ import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ConsentDataMapperTest {
 
     private ConsentDataMapper consentDataMapper;
+    private ConsentDataMapper binaryConsentDataMapper;
     private JsonReader jsonReader;
 
     @BeforeEach
     void setUp() {
         consentDataMapper = new ConsentDataMapper();
+        binaryConsentDataMapper = new ConsentDataMapper(ConsentDataFormat.BINARY);
         jsonReader = new JsonReader();
     }
 
@@ -50,4 +52,72 @@ class ConsentDataMapperTest {
 
         assertEquals(consentData, consentDataMapper.mapToPiisConsentData(bytesFromConsentData));
     }
+
+    @Test
+    void mapToAisConsentData_binaryFormat() {
+        // Given
+        AisConsentData consentData = jsonReader.getObjectFromFile("json/data/ais/ais-consent-data.json", AisConsentData.class);
+
+        // When
+        byte[] binaryBytes = binaryConsentDataMapper.getBytesFromConsentData(consentData);
+        byte[] jsonBytes = consentDataMapper.getBytesFromConsentData(consentData);
+
+        // Then
+        assertTrue(binaryBytes.length < jsonBytes.length);
+        assertEquals(consentData, binaryConsentDataMapper.mapToAisConsentData(binaryBytes));
+        assertEquals(consentData, consentDataMapper.mapToAisConsentData(binaryBytes));
+    }
+
+    @Test
+    void mapToPiisConsentData_binaryFormat() {
+        // Given
+        PiisConsentData consentData = jsonReader.getObjectFromFile("json/data/piis/piis-consent-data.json", PiisConsentData.class);
+
+        // When
+        byte[] binaryBytes = binaryConsentDataMapper.getBytesFromConsentData(consentData);
+        byte[] jsonBytes = consentDataMapper.getBytesFromConsentData(consentData);
+
+        // Then
+        assertTrue(binaryBytes.length < jsonBytes.length);
+        assertEquals(consentData, binaryConsentDataMapper.mapToPiisConsentData(binaryBytes));
+    }
+
+    @Test
+    void mapToPiisConsentData_binaryFormat_emptyData() {
+        // Given
+        PiisConsentData consentData = PiisConsentData.buildDefaultConsentData();
+
+        // When
+        byte[] binaryBytes = binaryConsentDataMapper.getBytesFromConsentData(consentData);
+
+        // Then
+        assertEquals(consentData, binaryConsentDataMapper.mapToPiisConsentData(binaryBytes));
+    }
+
+    @Test
+    void mapToAisConsentData_wrongTypeOfBinaryData() {
+        // Given
+        byte[] binaryBytes = binaryConsentDataMapper.getBytesFromConsentData(PiisConsentData.buildDefaultConsentData());
+
+        // When
+        AisConsentData actual = binaryConsentDataMapper.mapToAisConsentData(binaryBytes);
+
+        // Then
+        assertNull(actual);
+    }
+
+    @Test
+    void isMigrationNeeded() {
+        // Given
+        AisConsentData consentData = jsonReader.getObjectFromFile("json/data/ais/ais-consent-data.json", AisConsentData.class);
+        byte[] jsonBytes = consentDataMapper.getBytesFromConsentData(consentData);
+        byte[] binaryBytes = binaryConsentDataMapper.getBytesFromConsentData(consentData);
+
+        // Then
+        assertFalse(consentDataMapper.isMigrationNeeded(jsonBytes));
+        assertTrue(consentDataMapper.isMigrationNeeded(binaryBytes));
+        assertTrue(binaryConsentDataMapper.isMigrationNeeded(jsonBytes));
+        assertFalse(binaryConsentDataMapper.isMigrationNeeded(binaryBytes));
+        assertFalse(binaryConsentDataMapper.isMigrationNeeded(null));
+    }
 }
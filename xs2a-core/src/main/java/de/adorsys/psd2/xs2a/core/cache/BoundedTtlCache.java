@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.core.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Node-local cache with limited number of entries and limited time to live of every entry.
+ * <p>
+ * Least recently used entries are evicted when the cache is full, expired entries are evicted on access.
+ * Cache with non-positive maximum size or time to live is disabled: it doesn't store any values and every lookup
+ * is counted as a miss.
+ * <p>
+ * Values of mutable types can be protected by a copy function, that is applied to every stored and every returned
+ * value while the cache is locked, so callers never share instances with the cache. Eviction listener is called
+ * with every value removed from the cache, e.g. to wipe sensitive data.
+ *
+ * @param <K> type of the keys, must implement {@link Object#equals(Object)} and {@link Object#hashCode()}
+ * @param <V> type of the cached values
+ */
+public class BoundedTtlCache<K, V> {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final UnaryOperator<V> copyFunction;
+    private final Consumer<V> evictionListener;
+    private final Map<K, CachedValue<V>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public BoundedTtlCache(int maxSize, Duration ttl, Clock clock) {
+        this(maxSize, ttl, clock, UnaryOperator.identity(), value -> {});
+    }
+
+    public BoundedTtlCache(int maxSize, Duration ttl, Clock clock, UnaryOperator<V> copyFunction, Consumer<V> evictionListener) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.copyFunction = copyFunction;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Creates cache instance, that doesn't store any values
+     *
+     * @param <K> type of the keys
+     * @param <V> type of the cached values
+     * @return disabled cache
+     */
+    public static <K, V> BoundedTtlCache<K, V> disabled() {
+        return new BoundedTtlCache<>(0, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && ttlMillis > 0;
+    }
+
+    /**
+     * Returns cached value for given key
+     *
+     * @param key key of the value
+     * @return copy of the cached value or <code>null</code> if there is no such value or it is already expired
+     */
+    public synchronized V get(K key) {
+        CachedValue<V> cachedValue = cache.get(key);
+        if (cachedValue == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        if (clock.millis() >= cachedValue.expiresAt) {
+            cache.remove(key);
+            evict(cachedValue);
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        return copyFunction.apply(cachedValue.value);
+    }
+
+    /**
+     * Stores copy of the value in the cache for the configured time to live, evicting least recently used entries
+     * if the cache is full. Does nothing if the cache is disabled.
+     *
+     * @param key   key of the value
+     * @param value value to be cached
+     */
+    public void put(K key, V value) {
+        put(key, value, null);
+    }
+
+    /**
+     * Stores copy of the value in the cache for the configured time to live, but not longer than given moment.
+     * Does nothing if the cache is disabled or the moment has already passed.
+     *
+     * @param key      key of the value
+     * @param value    value to be cached
+     * @param notAfter optional moment, after which the value must not be returned from the cache
+     */
+    public synchronized void put(K key, V value, Instant notAfter) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long now = clock.millis();
+        long expiresAt = now + ttlMillis;
+        if (notAfter != null) {
+            expiresAt = Math.min(expiresAt, notAfter.toEpochMilli());
+        }
+        if (now >= expiresAt) {
+            return;
+        }
+
+        CachedValue<V> previous = cache.put(key, new CachedValue<>(copyFunction.apply(value), expiresAt));
+        if (previous != null) {
+            evict(previous);
+        }
+
+        Iterator<CachedValue<V>> iterator = cache.values().iterator();
+        while (cache.size() > maxSize && iterator.hasNext()) {
+            CachedValue<V> eldest = iterator.next();
+            iterator.remove();
+            evict(eldest);
+        }
+    }
+
+    /**
+     * Removes cached value for given key
+     *
+     * @param key key of the value
+     * @return <code>true</code> if the value was in the cache, <code>false</code> otherwise
+     */
+    public synchronized boolean remove(K key) {
+        CachedValue<V> cachedValue = cache.remove(key);
+        if (cachedValue == null) {
+            return false;
+        }
+
+        evict(cachedValue);
+        return true;
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public synchronized void clear() {
+        cache.values().forEach(this::evict);
+        cache.clear();
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private void evict(CachedValue<V> cachedValue) {
+        evictionListener.accept(cachedValue.value);
+        evictionCount.incrementAndGet();
+    }
+
+    private static class CachedValue<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CachedValue(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
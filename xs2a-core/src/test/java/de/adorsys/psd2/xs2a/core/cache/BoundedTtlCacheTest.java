@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void get_storedValue_returnsValue() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), clock);
+        cache.put(KEY, VALUE);
+
+        // When
+        String actual = cache.get(KEY);
+
+        // Then
+        assertEquals(VALUE, actual);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void get_unknownKey_returnsNull() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), clock);
+
+        // When
+        String actual = cache.get(KEY);
+
+        // Then
+        assertNull(actual);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void get_expiredValue_evictsValue() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), clock);
+        cache.put(KEY, VALUE);
+
+        // When
+        clock.advance(Duration.ofMinutes(1));
+        String actual = cache.get(KEY);
+
+        // Then
+        assertNull(actual);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void put_maxSizeExceeded_evictsLeastRecentlyUsed() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, Duration.ofMinutes(1), clock);
+        cache.put("first", VALUE);
+        cache.put("second", VALUE);
+        cache.get("first");
+
+        // When
+        cache.put("third", VALUE);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(VALUE, cache.get("first"));
+        assertNull(cache.get("second"));
+    }
+
+    @Test
+    void put_notAfterBeforeTtl_expiresAtNotAfter() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(10), clock);
+        cache.put(KEY, VALUE, clock.instant().plus(Duration.ofMinutes(1)));
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+        String actual = cache.get(KEY);
+
+        // Then
+        assertNull(actual);
+    }
+
+    @Test
+    void put_notAfterInPast_doesNotStoreValue() {
+        // Given
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), clock);
+
+        // When
+        cache.put(KEY, VALUE, clock.instant().minusSeconds(1));
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_withCopyFunction_returnsCopy() {
+        // Given
+        BoundedTtlCache<String, List<String>> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), clock, ArrayList::new, value -> {});
+        List<String> value = new ArrayList<>();
+        value.add(VALUE);
+        cache.put(KEY, value);
+
+        // When
+        value.clear();
+        cache.get(KEY).clear();
+        List<String> actual = cache.get(KEY);
+
+        // Then
+        assertEquals(List.of(VALUE), actual);
+    }
+
+    @Test
+    void remove_withEvictionListener_notifiesListener() {
+        // Given
+        List<String> evictedValues = new ArrayList<>();
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), clock, v -> v, evictedValues::add);
+        cache.put(KEY, VALUE);
+        cache.put("another key", "another value");
+
+        // When
+        boolean removed = cache.remove(KEY);
+        cache.clear();
+
+        // Then
+        assertTrue(removed);
+        assertFalse(cache.remove(KEY));
+        assertEquals(List.of(VALUE, "another value"), evictedValues);
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void put_disabled_doesNotStoreValue() {
+        // Given
+        BoundedTtlCache<String, String> cache = BoundedTtlCache.disabled();
+
+        // When
+        cache.put(KEY, VALUE);
+        String actual = cache.get(KEY);
+
+        // Then
+        assertNull(actual);
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.now();
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+    }
+}
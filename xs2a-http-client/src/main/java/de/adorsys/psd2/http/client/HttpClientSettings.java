@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Settings of HTTP transport for REST clients. Timeouts are given in milliseconds, zero stands for no timeout.
+ */
+@Value
+@Builder
+public class HttpClientSettings {
+    @Builder.Default
+    HttpClientTransport transport = HttpClientTransport.SIMPLE;
+    int connectionTimeout;
+    int readTimeout;
+    @Builder.Default
+    int maxConnectionsPerRoute = 20;
+    @Builder.Default
+    long connectionRequestTimeout = 5000;
+    boolean http2;
+    boolean gzip;
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * HTTP transport, used by REST clients of remote services
+ */
+public enum HttpClientTransport {
+    /**
+     * Uses {@link java.net.HttpURLConnection}, connections are kept alive according to JVM-wide
+     * <code>http.keepAlive</code> and <code>http.maxConnections</code> system properties
+     */
+    SIMPLE {
+        @Override
+        public ClientHttpRequestFactory createRequestFactory(HttpClientSettings settings) {
+            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+            factory.setReadTimeout(settings.getReadTimeout());
+            factory.setConnectTimeout(settings.getConnectionTimeout());
+            return factory;
+        }
+    },
+    /**
+     * Uses {@link java.net.http.HttpClient} with pool of keep-alive connections, limited number of concurrent requests
+     * per route and optional HTTP/2 and gzip compression
+     */
+    POOLED {
+        @Override
+        public ClientHttpRequestFactory createRequestFactory(HttpClientSettings settings) {
+            return new PooledClientHttpRequestFactory(settings);
+        }
+    };
+
+    public abstract ClientHttpRequestFactory createRequestFactory(HttpClientSettings settings);
+
+    /**
+     * Creates request factory for given settings using their transport
+     *
+     * @param settings settings of HTTP transport
+     * @return request factory for REST template
+     */
+    public static ClientHttpRequestFactory requestFactory(HttpClientSettings settings) {
+        return settings.getTransport().createRequestFactory(settings);
+    }
+}
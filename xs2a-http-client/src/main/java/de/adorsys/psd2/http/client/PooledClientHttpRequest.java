@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Request, that buffers its body and is executed by {@link PooledClientHttpRequestFactory}
+ */
+class PooledClientHttpRequest implements ClientHttpRequest {
+    private final PooledClientHttpRequestFactory requestFactory;
+    private final URI uri;
+    private final HttpMethod httpMethod;
+    private final HttpHeaders headers = new HttpHeaders();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+    private boolean executed;
+
+    PooledClientHttpRequest(PooledClientHttpRequestFactory requestFactory, URI uri, HttpMethod httpMethod) {
+        this.requestFactory = requestFactory;
+        this.uri = uri;
+        this.httpMethod = httpMethod;
+    }
+
+    @Override
+    public ClientHttpResponse execute() throws IOException {
+        assertNotExecuted();
+        executed = true;
+        return requestFactory.execute(uri, httpMethod, headers, body.toByteArray());
+    }
+
+    @Override
+    public OutputStream getBody() {
+        assertNotExecuted();
+        return body;
+    }
+
+    @Override
+    public String getMethodValue() {
+        return httpMethod.name();
+    }
+
+    @Override
+    public URI getURI() {
+        return uri;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return executed ? HttpHeaders.readOnlyHttpHeaders(headers) : headers;
+    }
+
+    private void assertNotExecuted() {
+        if (executed) {
+            throw new IllegalStateException("Request " + httpMethod + " " + uri + " has already been executed");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request factory, executing requests with {@link HttpClient}, that keeps connections alive and reuses them.
+ * <p>
+ * Number of concurrent requests per route (scheme, host and port) is limited by configured maximum, request waits for
+ * free connection up to connection request timeout. Connection stays leased until the response is closed. Idle
+ * connections are closed by the JDK after keep-alive timeout, that is the same for all HTTP clients of the JVM and can
+ * only be set with <code>-Djdk.httpclient.keepalive.timeout</code> JVM option (in seconds, 1200 by default).
+ */
+public class PooledClientHttpRequestFactory implements ClientHttpRequestFactory {
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+        "connection", "content-length", "date", "expect", "from", "host", "upgrade", "via", "warning"));
+    private static final String GZIP = "gzip";
+
+    private final HttpClient httpClient;
+    private final int readTimeout;
+    private final int maxConnectionsPerRoute;
+    private final long connectionRequestTimeout;
+    private final boolean gzip;
+    private final ConcurrentMap<String, Semaphore> routeConnections = new ConcurrentHashMap<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong leaseTimeoutCount = new AtomicLong();
+    private final AtomicLong totalLeaseWaitMs = new AtomicLong();
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
+    public PooledClientHttpRequestFactory(HttpClientSettings settings) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                                         .version(settings.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                                         .followRedirects(HttpClient.Redirect.NEVER);
+        if (settings.getConnectionTimeout() > 0) {
+            builder.connectTimeout(Duration.ofMillis(settings.getConnectionTimeout()));
+        }
+
+        this.httpClient = builder.build();
+        this.readTimeout = settings.getReadTimeout();
+        this.maxConnectionsPerRoute = settings.getMaxConnectionsPerRoute();
+        this.connectionRequestTimeout = settings.getConnectionRequestTimeout();
+        this.gzip = settings.isGzip();
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new PooledClientHttpRequest(this, uri, httpMethod);
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Returns number of connections currently leased by requests, grouped by route
+     *
+     * @return leased connections by route
+     */
+    public Map<String, Integer> getLeasedConnections() {
+        Map<String, Integer> leasedConnections = new TreeMap<>();
+        routeConnections.forEach((route, connections) -> leasedConnections.put(route, maxConnectionsPerRoute - connections.availablePermits()));
+        return leasedConnections;
+    }
+
+    public int getPendingRequests() {
+        return pendingRequests.get();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getLeaseTimeoutCount() {
+        return leaseTimeoutCount.get();
+    }
+
+    public long getAverageLeaseWaitMs() {
+        long requests = requestCount.get();
+        return requests == 0 ? 0 : totalLeaseWaitMs.get() / requests;
+    }
+
+    ClientHttpResponse execute(URI uri, HttpMethod httpMethod, HttpHeaders headers, byte[] body) throws IOException {
+        Semaphore connections = leaseConnection(uri);
+        try {
+            HttpResponse<InputStream> response = httpClient.send(buildRequest(uri, httpMethod, headers, body),
+                                                                 HttpResponse.BodyHandlers.ofInputStream());
+            return new PooledClientHttpResponse(response, gzip && isGzipEncoded(response), connections::release);
+        } catch (InterruptedException e) {
+            connections.release();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request to " + uri + " was interrupted");
+        } catch (IOException | RuntimeException e) {
+            connections.release();
+            throw e;
+        }
+    }
+
+    private Semaphore leaseConnection(URI uri) throws IOException {
+        String route = getRoute(uri);
+        Semaphore connections = routeConnections.computeIfAbsent(route, r -> new Semaphore(maxConnectionsPerRoute, true));
+
+        requestCount.incrementAndGet();
+        pendingRequests.incrementAndGet();
+        long start = System.currentTimeMillis();
+        try {
+            if (!connections.tryAcquire(connectionRequestTimeout, TimeUnit.MILLISECONDS)) {
+                leaseTimeoutCount.incrementAndGet();
+                throw new HttpTimeoutException("Timeout waiting for connection to " + route);
+            }
+            return connections;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Waiting for connection to " + route + " was interrupted");
+        } finally {
+            pendingRequests.decrementAndGet();
+            totalLeaseWaitMs.addAndGet(System.currentTimeMillis() - start);
+        }
+    }
+
+    private HttpRequest buildRequest(URI uri, HttpMethod httpMethod, HttpHeaders headers, byte[] body) {
+        HttpRequest.BodyPublisher bodyPublisher = body.length == 0
+                                                      ? HttpRequest.BodyPublishers.noBody()
+                                                      : HttpRequest.BodyPublishers.ofByteArray(body);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                                          .method(httpMethod.name(), bodyPublisher);
+        if (readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+
+        headers.forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        if (gzip && !headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+
+        return builder.build();
+    }
+
+    private boolean isGzipEncoded(HttpResponse<InputStream> response) {
+        return response.headers()
+                   .firstValue(HttpHeaders.CONTENT_ENCODING)
+                   .map(GZIP::equalsIgnoreCase)
+                   .orElse(false);
+    }
+
+    private String getRoute(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+}
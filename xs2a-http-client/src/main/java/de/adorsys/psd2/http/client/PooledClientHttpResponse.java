@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Response, that releases its connection to {@link PooledClientHttpRequestFactory} on close. Body is read till the end
+ * on close, so the connection can be reused.
+ */
+class PooledClientHttpResponse implements ClientHttpResponse {
+    private final HttpResponse<InputStream> response;
+    private final boolean gzipEncoded;
+    private final Runnable connectionRelease;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private HttpHeaders headers;
+    private InputStream body;
+
+    PooledClientHttpResponse(HttpResponse<InputStream> response, boolean gzipEncoded, Runnable connectionRelease) {
+        this.response = response;
+        this.gzipEncoded = gzipEncoded;
+        this.connectionRelease = connectionRelease;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(response.statusCode());
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return response.statusCode();
+    }
+
+    @Override
+    public String getStatusText() {
+        HttpStatus status = HttpStatus.resolve(response.statusCode());
+        return status == null ? "" : status.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        if (headers == null) {
+            HttpHeaders responseHeaders = new HttpHeaders();
+            response.headers().map().forEach(responseHeaders::addAll);
+            if (gzipEncoded) {
+                responseHeaders.remove(HttpHeaders.CONTENT_ENCODING);
+                responseHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+            headers = HttpHeaders.readOnlyHttpHeaders(responseHeaders);
+        }
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = gzipEncoded ? new GZIPInputStream(response.body()) : response.body();
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try (InputStream rawBody = response.body()) {
+            StreamUtils.drain(rawBody);
+        } catch (IOException e) {
+            // connection is closed by the client and won't be reused
+        } finally {
+            connectionRelease.run();
+        }
+    }
+}
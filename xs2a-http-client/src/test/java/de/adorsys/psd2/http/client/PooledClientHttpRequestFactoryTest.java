@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.http.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledClientHttpRequestFactoryTest {
+    private static final String RESPONSE_BODY = "{\"consentStatus\":\"valid\"}";
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/consent", this::handleConsent);
+        server.createContext("/echo", this::handleEcho);
+        server.createContext("/gzip", this::handleGzip);
+        serverExecutor = Executors.newFixedThreadPool(THREADS * 2);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void execute_getRequest() {
+        // Given
+        RestTemplate restTemplate = new RestTemplate(buildRequestFactory(5, false));
+
+        // When
+        String actual = restTemplate.getForObject(baseUrl + "/consent", String.class);
+
+        // Then
+        assertEquals(RESPONSE_BODY, actual);
+    }
+
+    @Test
+    void execute_postRequest_bodyAndHeadersAreSent() throws IOException {
+        // Given
+        ClientHttpRequest request = buildRequestFactory(5, false).createRequest(URI.create(baseUrl + "/echo"), HttpMethod.POST);
+        request.getHeaders().add("X-Request-ID", "request id");
+        request.getHeaders().setContentLength(RESPONSE_BODY.length());
+        StreamUtils.copy(RESPONSE_BODY, StandardCharsets.UTF_8, request.getBody());
+
+        // When
+        try (ClientHttpResponse response = request.execute()) {
+            // Then
+            assertEquals(200, response.getRawStatusCode());
+            assertEquals("request id", response.getHeaders().getFirst("X-Request-ID"));
+            assertEquals(RESPONSE_BODY, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void execute_gzipEnabled_responseIsDecompressed() throws IOException {
+        // Given
+        ClientHttpRequest request = buildRequestFactory(5, true).createRequest(URI.create(baseUrl + "/gzip"), HttpMethod.GET);
+
+        // When
+        try (ClientHttpResponse response = request.execute()) {
+            // Then
+            assertNull(response.getHeaders().getFirst("Content-Encoding"));
+            assertEquals(RESPONSE_BODY, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void execute_noFreeConnection_timeout() throws IOException {
+        // Given
+        PooledClientHttpRequestFactory requestFactory = buildRequestFactory(1, false);
+        URI uri = URI.create(baseUrl + "/consent");
+        ClientHttpResponse leasedResponse = requestFactory.createRequest(uri, HttpMethod.GET).execute();
+        ClientHttpRequest request = requestFactory.createRequest(uri, HttpMethod.GET);
+
+        // When
+        assertThrows(HttpTimeoutException.class, request::execute);
+
+        // Then
+        assertEquals(1, requestFactory.getLeaseTimeoutCount());
+        assertEquals(Collections.singletonMap(baseUrl, 1), requestFactory.getLeasedConnections());
+        leasedResponse.close();
+        assertEquals(Collections.singletonMap(baseUrl, 0), requestFactory.getLeasedConnections());
+    }
+
+    @Test
+    void execute_parallelRequests_connectionsAreReusedWithinRouteLimit() throws Exception {
+        // Given
+        int maxConnectionsPerRoute = 4;
+        PooledClientHttpRequestFactory requestFactory = buildRequestFactory(maxConnectionsPerRoute, false);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int thread = 0; thread < THREADS; thread++) {
+            futures.add(clientExecutor.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    assertEquals(RESPONSE_BODY, restTemplate.getForObject(baseUrl + "/consent", String.class));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        clientExecutor.shutdown();
+
+        // Then
+        assertEquals(THREADS * REQUESTS_PER_THREAD, requestFactory.getRequestCount());
+        assertEquals(0, requestFactory.getLeaseTimeoutCount());
+        assertTrue(clientPorts.size() <= maxConnectionsPerRoute, "Connections opened: " + clientPorts.size());
+    }
+
+    private PooledClientHttpRequestFactory buildRequestFactory(int maxConnectionsPerRoute, boolean gzip) {
+        return new PooledClientHttpRequestFactory(HttpClientSettings.builder()
+                                                      .transport(HttpClientTransport.POOLED)
+                                                      .connectionTimeout(1000)
+                                                      .readTimeout(5000)
+                                                      .maxConnectionsPerRoute(maxConnectionsPerRoute)
+                                                      .connectionRequestTimeout(200)
+                                                      .gzip(gzip)
+                                                      .build());
+    }
+
+    private void handleConsent(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        sendResponse(exchange, RESPONSE_BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleEcho(HttpExchange exchange) throws IOException {
+        byte[] body = StreamUtils.copyToByteArray(exchange.getRequestBody());
+        exchange.getResponseHeaders().add("X-Request-ID", exchange.getRequestHeaders().getFirst("X-Request-ID"));
+        sendResponse(exchange, body);
+    }
+
+    private void handleGzip(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        sendResponse(exchange, compressed.toByteArray());
+    }
+
+    private void sendResponse(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+}
@@ -23,12 +23,18 @@ import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.*;
+import java.nio.ByteBuffer;
 
 /**
- * This class decorates incoming HttpServletRequest, caches its body and is used by spring framework further
+ * This class decorates incoming HttpServletRequest, caches its body and is used by spring framework further.
+ * <p>
+ * The body is read once into a single byte array, that is never modified afterwards. Input streams and buffers returned
+ * by this request are views on this array and don't copy the body.
  */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
-    private ByteArrayOutputStream cachedBytes;
+    private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    private byte[] cachedBody;
 
     public MultiReadHttpServletRequest(HttpServletRequest request) {
         super(request);
@@ -36,11 +42,7 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (cachedBytes == null) {
-            cacheInputStream();
-        }
-
-        return new CachedServletInputStream();
+        return new CachedServletInputStream(getCachedBody());
     }
 
     @Override
@@ -48,16 +50,36 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedReader(new InputStreamReader(getInputStream()));
     }
 
+    /**
+     * Returns read-only view on the cached request body, reading the body from the original request if needed
+     *
+     * @return read-only buffer with the body, positioned at its beginning
+     * @throws IOException if the body couldn't be read from the original request
+     */
+    public ByteBuffer getBodyBuffer() throws IOException {
+        return ByteBuffer.wrap(getCachedBody()).asReadOnlyBuffer();
+    }
+
+    private byte[] getCachedBody() throws IOException {
+        if (cachedBody == null) {
+            cacheInputStream();
+        }
+
+        return cachedBody;
+    }
+
     private void cacheInputStream() throws IOException {
-        cachedBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), cachedBytes);
+        int contentLength = getContentLength();
+        ByteArrayOutputStream bodyStream = new ByteArrayOutputStream(contentLength > 0 ? contentLength : DEFAULT_BUFFER_SIZE);
+        IOUtils.copy(super.getInputStream(), bodyStream);
+        cachedBody = bodyStream.toByteArray();
     }
 
-    private class CachedServletInputStream extends ServletInputStream {
-        private ByteArrayInputStream input;
+    private static class CachedServletInputStream extends ServletInputStream {
+        private final ByteArrayInputStream input;
 
-        public CachedServletInputStream() {
-            input = new ByteArrayInputStream(cachedBytes.toByteArray());
+        private CachedServletInputStream(byte[] body) {
+            input = new ByteArrayInputStream(body);
         }
 
         @Override
@@ -65,18 +87,28 @@ public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
             return input.read();
         }
 
-		@Override
-		public boolean isFinished() {
-			return false;
-		}
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return input.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return input.available();
+        }
 
-		@Override
-		public boolean isReady() {
-			return false;
-		}
+        @Override
+        public boolean isFinished() {
+            return input.available() == 0;
+        }
 
-		@Override
-		public void setReadListener(ReadListener readListener) {
-		}
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
     }
 }
@@ -21,9 +21,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j(topic = "access-log")
 public class TppLogger {
@@ -39,12 +36,24 @@ public class TppLogger {
         return new TppResponseLogBuilder(response);
     }
 
+    /**
+     * Builder of access log messages.
+     * <p>
+     * Parameters are written directly into the message in the order they were added. If the access log is disabled,
+     * the message is not built at all.
+     */
     public abstract static class TppLogBuilder<T extends TppLogBuilder<T>> {
-        private Map<String, String> logParams = new LinkedHashMap<>();
-        private TppLogType tppLogType;
+        private static final int INITIAL_MESSAGE_CAPACITY = 256;
+        private static final String TYPE_SEPARATOR = " - ";
+        private static final String PARAMS_SEPARATOR = ", ";
+
+        private final StringBuilder logMessage;
+        private boolean hasParams;
 
         TppLogBuilder(TppLogType tppLogType) {
-            this.tppLogType = tppLogType;
+            this.logMessage = log.isInfoEnabled()
+                                  ? new StringBuilder(INITIAL_MESSAGE_CAPACITY).append(tppLogType.name()).append(TYPE_SEPARATOR)
+                                  : null;
         }
 
         public T withParam(String paramName, String paramValue) {
@@ -55,16 +64,25 @@ public class TppLogger {
         }
 
         public void perform() {
-            String logMessageParams = logParams.entrySet()
-                                          .stream()
-                                          .map(e -> e.getKey() + ": [" + e.getValue() + "]")
-                                          .collect(Collectors.joining(", "));
+            if (isEnabled()) {
+                log.info(logMessage.toString());
+            }
+        }
 
-            log.info(tppLogType.name() + " - " + logMessageParams);
+        boolean isEnabled() {
+            return logMessage != null;
         }
 
         void putLogParameter(String parameterName, String parameterValue) {
-            logParams.put(parameterName, parameterValue);
+            if (!isEnabled()) {
+                return;
+            }
+
+            if (hasParams) {
+                logMessage.append(PARAMS_SEPARATOR);
+            }
+            logMessage.append(parameterName).append(": [").append(parameterValue).append(']');
+            hasParams = true;
         }
 
         protected abstract T getThis();
@@ -36,14 +36,18 @@ public class TppRequestLogBuilder extends TppLogger.TppLogBuilder<TppRequestLogB
     }
 
     public TppRequestLogBuilder withTpp(TppInfo tppInfo) {
-        putLogParameter(TPP_ID, tppInfo.getAuthorisationNumber());
-        putLogParameter(TPP_IP_ADDRESS, request.getRemoteAddr());
-        putLogParameter(TPP_ROLES, StringUtils.join(tppInfo.getTppRoles(), TPP_ROLES_SEPARATOR));
+        if (isEnabled()) {
+            putLogParameter(TPP_ID, tppInfo.getAuthorisationNumber());
+            putLogParameter(TPP_IP_ADDRESS, request.getRemoteAddr());
+            putLogParameter(TPP_ROLES, StringUtils.join(tppInfo.getTppRoles(), TPP_ROLES_SEPARATOR));
+        }
         return this;
     }
 
     public TppRequestLogBuilder withRequestUri() {
-        putLogParameter(REQUEST_URI, request.getRequestURI());
+        if (isEnabled()) {
+            putLogParameter(REQUEST_URI, request.getRequestURI());
+        }
         return this;
     }
 
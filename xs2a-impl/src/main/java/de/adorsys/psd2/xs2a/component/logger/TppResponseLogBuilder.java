@@ -39,7 +39,9 @@ public class TppResponseLogBuilder extends TppLogger.TppLogBuilder<TppResponseLo
     }
 
     public TppResponseLogBuilder withResponseStatus() {
-        putLogParameter(RESPONSE_STATUS, String.valueOf(response.getStatus()));
+        if (isEnabled()) {
+            putLogParameter(RESPONSE_STATUS, String.valueOf(response.getStatus()));
+        }
         return this;
     }
 
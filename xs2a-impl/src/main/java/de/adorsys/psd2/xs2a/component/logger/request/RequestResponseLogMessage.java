@@ -29,10 +29,10 @@ import org.springframework.web.util.WebUtils;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Enumeration;
+import java.util.Map;
 
 @Value
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
@@ -61,24 +61,45 @@ public class RequestResponseLogMessage {
         private static final String MULTIPART_FORM_DATA = "multipart/form-data";
         private static final String MULTIPART_VALUES_SEPARATOR = "&";
         private static final String QUERY_SEPARATOR = "?";
+        private static final String PARAMS_SEPARATOR = ", ";
+        private static final String TRUNCATED_PAYLOAD_FORMAT = "... (truncated, %d bytes in total)";
+        private static final int INITIAL_MESSAGE_CAPACITY = 1024;
+        private static final int UTF8_MAX_CHARACTER_LENGTH = 4;
 
-        private Map<String, String> logParams = new LinkedHashMap<>();
+        private final StringBuilder logMessage = new StringBuilder(INITIAL_MESSAGE_CAPACITY);
         private final HttpServletRequest request;
         private final HttpServletResponse response;
+        private int maxPayloadLength = -1;
 
         private RequestResponseLogMessageBuilder(HttpServletRequest request, HttpServletResponse response) {
             this.request = request;
             this.response = response;
         }
 
+        /**
+         * Limits the size of request payload and response body, added to the log message afterwards.
+         * Longer payloads are truncated to the given number of bytes.
+         *
+         * @param maxPayloadLength maximum number of payload bytes in the log message, negative value means no limit
+         * @return builder
+         */
+        public RequestResponseLogMessageBuilder withMaxPayloadLength(int maxPayloadLength) {
+            this.maxPayloadLength = maxPayloadLength;
+            return this;
+        }
+
         /**
          * Adds request URI to the log message along with a query parameters if they are present
          *
          * @return builder
          */
         public RequestResponseLogMessageBuilder withRequestUri() {
-            String uri = extractUri(request);
-            logParams.put(URI, uri);
+            startParam(URI).append(request.getRequestURI());
+            String queryString = request.getQueryString();
+            if (queryString != null) {
+                logMessage.append(QUERY_SEPARATOR).append(queryString);
+            }
+            endParam();
             return this;
         }
 
@@ -90,8 +111,13 @@ public class RequestResponseLogMessage {
         public RequestResponseLogMessageBuilder withRequestHeaders() {
             Enumeration<String> headerNames = request.getHeaderNames();
             if (headerNames != null) {
-                String requestHeadersMessage = extractHeaders(Collections.list(headerNames), request::getHeader);
-                logParams.put(REQUEST_HEADERS, requestHeadersMessage);
+                startParam(REQUEST_HEADERS);
+                boolean first = true;
+                while (headerNames.hasMoreElements()) {
+                    String headerName = headerNames.nextElement();
+                    first = appendHeader(headerName, request.getHeader(headerName), first);
+                }
+                endParam();
             }
 
             return this;
@@ -116,7 +142,8 @@ public class RequestResponseLogMessage {
             }
 
             if (payload != null) {
-                logParams.put(PAYLOAD, payload);
+                startParam(PAYLOAD).append(payload);
+                endParam();
             }
 
             return this;
@@ -128,7 +155,8 @@ public class RequestResponseLogMessage {
          * @return builder
          */
         public RequestResponseLogMessageBuilder withResponseStatus() {
-            logParams.put(RESPONSE_STATUS, String.valueOf(response.getStatus()));
+            startParam(RESPONSE_STATUS).append(response.getStatus());
+            endParam();
             return this;
         }
 
@@ -138,8 +166,12 @@ public class RequestResponseLogMessage {
          * @return builder
          */
         public RequestResponseLogMessageBuilder withResponseHeaders() {
-            String responseHeadersMessage = extractHeaders(response.getHeaderNames(), response::getHeader);
-            logParams.put(RESPONSE_HEADERS, responseHeadersMessage);
+            startParam(RESPONSE_HEADERS);
+            boolean first = true;
+            for (String headerName : response.getHeaderNames()) {
+                first = appendHeader(headerName, response.getHeader(headerName), first);
+            }
+            endParam();
             return this;
         }
 
@@ -154,7 +186,8 @@ public class RequestResponseLogMessage {
         public RequestResponseLogMessageBuilder withResponseBody() {
             String body = extractResponseBody(response);
             if (body != null) {
-                logParams.put(RESPONSE_BODY, body);
+                startParam(RESPONSE_BODY).append(body);
+                endParam();
             }
 
             return this;
@@ -166,22 +199,26 @@ public class RequestResponseLogMessage {
          * @return new instance of {@link RequestResponseLogMessage}
          */
         public RequestResponseLogMessage build() {
-            String logMessage = logParams.entrySet()
-                                    .stream()
-                                    .map(e -> e.getKey() + ": [" + e.getValue() + "]")
-                                    .collect(Collectors.joining(", "));
-
-            return new RequestResponseLogMessage(logMessage);
+            return new RequestResponseLogMessage(logMessage.toString());
         }
 
-        private String extractUri(HttpServletRequest request) {
-            String uri = request.getRequestURI();
-            String queryString = request.getQueryString();
-            if (queryString != null) {
-                uri += QUERY_SEPARATOR + queryString;
+        private StringBuilder startParam(String paramName) {
+            if (logMessage.length() > 0) {
+                logMessage.append(PARAMS_SEPARATOR);
             }
+            return logMessage.append(paramName).append(": [");
+        }
 
-            return uri;
+        private void endParam() {
+            logMessage.append(']');
+        }
+
+        private boolean appendHeader(String headerName, String headerValue, boolean first) {
+            if (!first) {
+                logMessage.append(PARAMS_SEPARATOR);
+            }
+            logMessage.append(headerName).append(": ").append(headerValue);
+            return false;
         }
 
         @Nullable
@@ -190,8 +227,11 @@ public class RequestResponseLogMessage {
                 WebUtils.getNativeRequest(request, MultiReadHttpServletRequest.class);
             if (wrapper != null) {
                 try {
-                    byte[] requestBytes = IOUtils.toByteArray(wrapper.getInputStream());
-                    return extractBody(requestBytes);
+                    ByteBuffer body = wrapper.getBodyBuffer();
+                    int totalLength = body.remaining();
+                    byte[] bodyBytes = new byte[getLoggedLength(totalLength)];
+                    body.get(bodyBytes);
+                    return extractBody(bodyBytes, totalLength);
                 } catch (IOException e) {
                     return null;
                 }
@@ -201,12 +241,25 @@ public class RequestResponseLogMessage {
         }
 
         private String extractRequestParametersPayload(HttpServletRequest request) {
-            Map<String, String[]> requestParams = request.getParameterMap();
+            StringBuilder payload = new StringBuilder();
+            for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+                if (payload.length() > 0) {
+                    payload.append(MULTIPART_VALUES_SEPARATOR);
+                }
+                payload.append(parameter.getKey()).append('=').append(String.join(MULTIPART_VALUES_SEPARATOR, parameter.getValue()));
+            }
 
-            return requestParams.entrySet()
-                       .stream()
-                       .map(e -> e.getKey() + "=" + String.join(MULTIPART_VALUES_SEPARATOR, e.getValue()))
-                       .collect(Collectors.joining(MULTIPART_VALUES_SEPARATOR));
+            if (maxPayloadLength >= 0 && payload.length() > maxPayloadLength) {
+                int totalLength = payload.length();
+                int loggedLength = maxPayloadLength;
+                // surrogate pair must not be split
+                if (loggedLength > 0 && Character.isHighSurrogate(payload.charAt(loggedLength - 1))) {
+                    loggedLength--;
+                }
+                payload.setLength(loggedLength);
+                payload.append(String.format(TRUNCATED_PAYLOAD_FORMAT, totalLength));
+            }
+            return payload.toString();
         }
 
         @Nullable
@@ -215,22 +268,67 @@ public class RequestResponseLogMessage {
                 WebUtils.getNativeResponse(response, MultiReadHttpServletResponse.class);
 
             if (wrapper != null) {
-                byte[] cachedContent = wrapper.getCachedContent();
-                return extractBody(cachedContent);
+                int totalLength = wrapper.getContentSize();
+                int loggedLength = getLoggedLength(totalLength);
+                if (loggedLength == totalLength) {
+                    return extractBody(wrapper.getCachedContent(), totalLength);
+                }
+
+                try {
+                    byte[] bodyBytes = new byte[loggedLength];
+                    IOUtils.readFully(wrapper.getContentInputStream(), bodyBytes);
+                    return extractBody(bodyBytes, totalLength);
+                } catch (IOException e) {
+                    return null;
+                }
             }
 
             return null;
         }
 
-        private String extractHeaders(Collection<String> headerNames, Function<String, String> headerValueExtractor) {
-            return headerNames
-                       .stream()
-                       .map(header -> header + ": " + headerValueExtractor.apply(header))
-                       .collect(Collectors.joining(", "));
+        private int getLoggedLength(int totalLength) {
+            return maxPayloadLength >= 0 ? Math.min(totalLength, maxPayloadLength) : totalLength;
+        }
+
+        private String extractBody(byte[] body, int totalLength) {
+            if (body.length == totalLength) {
+                return new String(body, StandardCharsets.UTF_8);
+            }
+
+            String loggedBody = new String(body, 0, getCompleteCharactersLength(body), StandardCharsets.UTF_8);
+            return loggedBody + String.format(TRUNCATED_PAYLOAD_FORMAT, totalLength);
+        }
+
+        /**
+         * Returns the length of given truncated UTF-8 bytes without the last character, if this character is incomplete
+         */
+        private int getCompleteCharactersLength(byte[] bytes) {
+            int length = bytes.length;
+            int lastCharacterStart = length - 1;
+            while (lastCharacterStart > 0 && lastCharacterStart > length - UTF8_MAX_CHARACTER_LENGTH
+                       && isUtf8ContinuationByte(bytes[lastCharacterStart])) {
+                lastCharacterStart--;
+            }
+            if (lastCharacterStart < 0) {
+                return length;
+            }
+
+            int leadByte = bytes[lastCharacterStart] & 0xFF;
+            int characterLength;
+            if (leadByte >= 0xF0) {
+                characterLength = 4;
+            } else if (leadByte >= 0xE0) {
+                characterLength = 3;
+            } else if (leadByte >= 0xC0) {
+                characterLength = 2;
+            } else {
+                characterLength = 1;
+            }
+            return length - lastCharacterStart < characterLength ? lastCharacterStart : length;
         }
 
-        private String extractBody(byte[] body) {
-            return new String(body, StandardCharsets.UTF_8);
+        private boolean isUtf8ContinuationByte(byte b) {
+            return (b & 0xC0) == 0x80;
         }
     }
 }
@@ -19,11 +19,39 @@ package de.adorsys.psd2.xs2a.component.logger.request;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 @Slf4j(topic = "request-log")
 @Service
 public class RequestResponseLogger {
+    @Value("${xs2a.request-log.max-payload-length:-1}")
+    private int maxPayloadLength = -1;
+    @Value("${xs2a.request-log.sample-rate:1.0}")
+    private double sampleRate = 1.0;
+
+    /**
+     * Checks whether the message about current request should be logged, so that the message isn't built in vain.
+     * Only configured share of requests is logged.
+     *
+     * @return <code>true</code> if the request-log is enabled and current request is sampled
+     */
+    public boolean isLogEnabled() {
+        return getLogger().isInfoEnabled()
+                   && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Returns maximum number of payload bytes to be logged for request and response
+     *
+     * @return maximum payload length, negative value means no limit
+     */
+    public int getMaxPayloadLength() {
+        return maxPayloadLength;
+    }
+
     /**
      * Logs given message into the request-log
      *
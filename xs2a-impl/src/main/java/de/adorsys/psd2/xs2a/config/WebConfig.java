@@ -16,9 +16,9 @@
 
 package de.adorsys.psd2.xs2a.config;
 
-import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.logger.context.LoggingContextService;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.validator.certificate.util.CertificateCache;
 import de.adorsys.psd2.validator.signature.DigestVerifier;
 import de.adorsys.psd2.validator.signature.SignatureVerifier;
 import de.adorsys.psd2.validator.signature.impl.DigestVerifierImpl;
@@ -31,6 +31,8 @@ import de.adorsys.psd2.xs2a.domain.RedirectIdHolder;
 import de.adorsys.psd2.xs2a.domain.ScaApproachHolder;
 import de.adorsys.psd2.xs2a.service.RedirectIdService;
 import de.adorsys.psd2.xs2a.service.TppService;
+import de.adorsys.psd2.xs2a.service.TppStopListCache;
+import de.adorsys.psd2.xs2a.service.consent.AisConsentAccessHolder;
 import de.adorsys.psd2.xs2a.service.discovery.ServiceTypeDiscoveryService;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorMapperContainer;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceTypeToErrorTypeMapper;
@@ -42,6 +44,7 @@ import de.adorsys.psd2.xs2a.web.interceptor.validator.RequestValidationIntercept
 import de.adorsys.psd2.xs2a.web.interceptor.logging.*;
 import de.adorsys.psd2.xs2a.web.interceptor.tpp.TppStopListInterceptor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -58,21 +61,27 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import javax.validation.Validation;
 import javax.validation.Validator;
+import java.time.Duration;
 import java.util.List;
 
 import static de.adorsys.psd2.xs2a.config.Xs2aEndpointPathConstant.*;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 public class WebConfig implements WebMvcConfigurer {
     @Value("${application.ais.transaction.max-length}")
     private int maxNumberOfCharInTransactionJson;
+    @Value("${xs2a.certificate-cache.max-size:1000}")
+    private int certificateCacheMaxSize;
+    @Value("${xs2a.certificate-cache.ttl-seconds:3600}")
+    private long certificateCacheTtlSeconds;
 
     @Qualifier("xs2aCorsConfigProperties")
     private final CorsConfigurationProperties corsConfigurationProperties;
     private final TppService tppService;
-    private final TppStopListService tppStopListService;
+    private final TppStopListCache tppStopListCache;
     private final ServiceTypeDiscoveryService serviceTypeDiscoveryService;
     private final ServiceTypeToErrorTypeMapper errorTypeMapper;
     private final ErrorMapperContainer errorMapperContainer;
@@ -106,7 +115,7 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(new PaymentLoggingInterceptor(tppService, redirectIdService, loggingContextService, pathParameterExtractor)).addPathPatterns(SINGLE_PAYMENTS_PATH, BULK_PAYMENTS_PATH, PERIODIC_PAYMENTS_PATH);
         registry.addInterceptor(new SigningBasketLoggingInterceptor(tppService, redirectIdService, pathParameterExtractor)).addPathPatterns(SIGNING_BASKETS_PATH);
         registry.addInterceptor(new RequestResponseLoggingInterceptor(requestResponseLogger)).addPathPatterns(getAllXs2aEndpointPaths());
-        registry.addInterceptor(new TppStopListInterceptor(errorMapperContainer, tppService, tppStopListService, serviceTypeDiscoveryService, errorTypeMapper, xs2aObjectMapper))
+        registry.addInterceptor(new TppStopListInterceptor(errorMapperContainer, tppService, tppStopListCache, serviceTypeDiscoveryService, errorTypeMapper, xs2aObjectMapper))
             .addPathPatterns(getAllXs2aEndpointPaths());
 
         // This interceptor cannot use some definite path from constants, as payment services have nothing common in
@@ -163,6 +172,12 @@ public class WebConfig implements WebMvcConfigurer {
         return new InternalRequestIdHolder();
     }
 
+    @Bean
+    @RequestScope
+    public AisConsentAccessHolder getAisConsentAccessHolder() {
+        return new AisConsentAccessHolder();
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new PaymentTypeEnumConverter());
@@ -179,7 +194,13 @@ public class WebConfig implements WebMvcConfigurer {
     }
 
     @Bean
-    public SignatureVerifier signatureVerifier() {
-        return new SignatureVerifierImpl();
+    public SignatureVerifier signatureVerifier(CertificateCache certificateCache) {
+        return new SignatureVerifierImpl(certificateCache);
+    }
+
+    @Bean
+    public CertificateCache certificateCache() {
+        log.info("TPP certificate cache is initialized: max size {}, TTL {} seconds", certificateCacheMaxSize, certificateCacheTtlSeconds);
+        return new CertificateCache(certificateCacheMaxSize, Duration.ofSeconds(certificateCacheTtlSeconds));
     }
 }
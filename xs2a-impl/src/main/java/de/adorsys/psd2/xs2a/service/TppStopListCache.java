@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
+import de.adorsys.psd2.xs2a.core.cache.BoundedTtlCache;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Node-local cache of TPP stop list verdicts, keyed by TPP authorisation number and service instance ID.
+ * <p>
+ * Verdicts are kept for configured time, so TPP blocked or unblocked in the CMS is recognised by XS2A after this time
+ * at the latest. If the CMS is embedded, cached verdict is dropped as soon as the change of the stop list is committed.
+ * Least recently used entries are evicted when the cache is full, unsuccessful CMS responses are not cached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TppStopListCache {
+    private final TppStopListService tppStopListService;
+
+    @Value("${xs2a.tpp-stop-list-cache.max-size:1000}")
+    private int maxSize;
+    @Value("${xs2a.tpp-stop-list-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+    @Value("${cms.service.instance-id:UNDEFINED}")
+    private String serviceInstanceId;
+
+    private Clock clock = Clock.systemUTC();
+    private BoundedTtlCache<CacheKey, Boolean> cache = BoundedTtlCache.disabled();
+    private long invalidationCount;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds), clock);
+        log.info("TPP stop list cache is initialized: max size {}, TTL {} seconds", maxSize, ttlSeconds);
+    }
+
+    /**
+     * Checks if TPP is blocked, asking the CMS only if there is no cached verdict for this TPP
+     *
+     * @param tppAuthorisationNumber authorisation number of the TPP
+     * @return <code>true</code> if TPP is blocked, <code>false</code> otherwise
+     */
+    public CmsResponse<Boolean> checkIfTppBlocked(String tppAuthorisationNumber) {
+        CacheKey cacheKey = new CacheKey(tppAuthorisationNumber, serviceInstanceId);
+        Boolean cachedBlocked = cache.get(cacheKey);
+        if (cachedBlocked != null) {
+            return CmsResponse.<Boolean>builder()
+                       .payload(cachedBlocked)
+                       .build();
+        }
+
+        long invalidationsBeforeCheck = getInvalidationCount();
+        CmsResponse<Boolean> cmsResponse = tppStopListService.checkIfTppBlocked(tppAuthorisationNumber);
+        if (cmsResponse.isSuccessful() && cmsResponse.getPayload() != null) {
+            putVerdict(cacheKey, cmsResponse.getPayload(), invalidationsBeforeCheck);
+        }
+        return cmsResponse;
+    }
+
+    /**
+     * Drops cached verdict for TPP, that was blocked or unblocked in the stop list, once the change is committed
+     *
+     * @param event event about the change in the stop list
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTppStopListChanged(TppStopListChangedEvent event) {
+        invalidationCount++;
+        cache.remove(new CacheKey(event.getTppAuthorisationNumber(), event.getInstanceId()));
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public synchronized void clear() {
+        invalidationCount++;
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    private synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    private synchronized void putVerdict(CacheKey cacheKey, boolean blocked, long invalidationsBeforeCheck) {
+        // the verdict may be outdated if the stop list was changed while the CMS was being asked
+        if (invalidationCount != invalidationsBeforeCheck) {
+            return;
+        }
+
+        cache.put(cacheKey, blocked);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class CacheKey {
+        private final String tppAuthorisationNumber;
+        private final String instanceId;
+    }
+}
@@ -88,7 +88,7 @@ public class AccountListService {
     public ResponseObject<Xs2aAccountListHolder> getAccountList(String consentId, boolean withBalance, String requestUri) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_ACCOUNT_LIST_REQUEST_RECEIVED);
 
-        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentById(consentId);
+        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentForAccess(consentId);
 
         if (!aisConsentOptional.isPresent()) {
             log.info("Consent-ID [{}]. Get account list failed. Account consent not found by id", consentId);
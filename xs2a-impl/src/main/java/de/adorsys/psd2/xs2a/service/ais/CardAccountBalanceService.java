@@ -88,7 +88,7 @@ public class CardAccountBalanceService {
     public ResponseObject<Xs2aBalancesReport> getBalancesReport(String consentId, String accountId, String requestUri) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_CARD_BALANCE_REQUEST_RECEIVED);
 
-        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentById(consentId);
+        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentForAccess(consentId);
 
         if (!aisConsentOptional.isPresent()) {
             log.info("Account-ID [{}], Consent-ID [{}]. Get card balances report failed. Account consent not found by ID",
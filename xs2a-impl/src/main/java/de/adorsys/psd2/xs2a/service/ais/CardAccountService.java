@@ -93,7 +93,7 @@ public class CardAccountService {
     public ResponseObject<Xs2aCardAccountListHolder> getCardAccountList(String consentId, String requestUri) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_CARD_ACCOUNT_LIST_REQUEST_RECEIVED);
 
-        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentById(consentId);
+        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentForAccess(consentId);
 
         if (!aisConsentOptional.isPresent()) {
             log.info("Consent-ID [{}]. Get card account list failed. Account consent not found by ID", consentId);
@@ -161,7 +161,7 @@ public class CardAccountService {
     public ResponseObject<Xs2aCardAccountDetailsHolder> getCardAccountDetails(String consentId, String accountId, String requestUri) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_CARD_ACCOUNT_DETAILS_REQUEST_RECEIVED);
 
-        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentById(consentId);
+        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentForAccess(consentId);
 
         if (!aisConsentOptional.isPresent()) {
             log.info("Account-ID [{}], Consent-ID [{}]. Get card account details failed. Account consent not found by ID",
@@ -95,7 +95,7 @@ public class CardTransactionService {
     public ResponseObject<Xs2aCardTransactionsReport> getCardTransactionsReportByPeriod(Xs2aTransactionsReportByPeriodRequest request) {
         xs2aEventService.recordAisTppRequest(request.getConsentId(), EventType.READ_CARD_TRANSACTION_LIST_REQUEST_RECEIVED);
 
-        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentById(request.getConsentId());
+        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentForAccess(request.getConsentId());
 
         if (!aisConsentOptional.isPresent()) {
             log.info("Account-ID [{}], Consent-ID [{}]. Get card transactions report by period failed. Account consent not found by ID",
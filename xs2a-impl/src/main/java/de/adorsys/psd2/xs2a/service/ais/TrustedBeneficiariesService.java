@@ -81,7 +81,7 @@ public class TrustedBeneficiariesService {
                                                                                 String requestUri) {
         xs2aEventService.recordAisTppRequest(consentId, EventType.READ_TRUSTED_BENEFICIARIES_LIST_REQUEST_RECEIVED);
 
-        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentById(consentId);
+        Optional<AisConsent> aisConsentOptional = aisConsentService.getAccountConsentForAccess(consentId);
 
         if (aisConsentOptional.isEmpty()) {
             return getResponseWithNotFoundConsent(consentId, accountId);
@@ -16,29 +16,113 @@
 
 package de.adorsys.psd2.xs2a.service.authorization;
 
+import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.service.authorization.processor.*;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorRequest;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorResponse;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.AisAuthorisationProcessorServiceImpl;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.AuthorisationProcessorService;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.PisAuthorisationProcessorServiceImpl;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.PisCancellationAuthorisationProcessorServiceImpl;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies authorisation processors to the authorisation requests.
+ * <p>
+ * Processor for the request is taken from the table by current SCA status of the authorisation, so the chain doesn't
+ * have to be walked on each request. Processor services are resolved once all singletons are instantiated, as they
+ * depend on the services that use this one. Duration of each transition is recorded per service type and pair of
+ * SCA statuses before and after the transition.
+ */
 @Slf4j
 @Service
-public class AuthorisationChainResponsibilityService {
+public class AuthorisationChainResponsibilityService implements SmartInitializingSingleton {
 
     private AuthorisationProcessor receivedAuthorisationProcessor;
     private ApplicationContext applicationContext;
+    private final Map<ScaStatus, AuthorisationProcessor> processors = new EnumMap<>(ScaStatus.class);
+    private final Map<Class<? extends AuthorisationProcessorService>, AuthorisationProcessorService> processorServices = new ConcurrentHashMap<>();
+    private final Map<ServiceType, Map<ScaStatus, Map<ScaStatus, TransitionStatistics>>> transitionStatistics = new EnumMap<>(ServiceType.class);
 
     @Autowired
     public AuthorisationChainResponsibilityService(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
         initAuthorisationChains();
+        initTransitionStatistics();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        getProcessorService(AisAuthorisationProcessorServiceImpl.class);
+        getProcessorService(PisAuthorisationProcessorServiceImpl.class);
+        getProcessorService(PisCancellationAuthorisationProcessorServiceImpl.class);
     }
 
     public AuthorisationProcessorResponse apply(AuthorisationProcessorRequest request) {
-        return receivedAuthorisationProcessor.apply(request);
+        AuthorisationProcessorService processorService = getProcessorService(AuthorisationProcessor.getProcessorServiceClass(request));
+        AuthorisationProcessor processor = processors.get(request.getScaStatus());
+        if (processor == null) {
+            // no processor is responsible for this status, the chain is walked to keep previous behaviour
+            return receivedAuthorisationProcessor.apply(request, processorService);
+        }
+
+        ScaStatus fromStatus = request.getScaStatus();
+        long start = System.nanoTime();
+        AuthorisationProcessorResponse processorResponse = processor.apply(request, processorService);
+        recordTransition(request.getServiceType(), fromStatus, processorResponse, System.nanoTime() - start);
+        return processorResponse;
+    }
+
+    public long getTransitionCount(ServiceType serviceType, ScaStatus fromStatus, ScaStatus toStatus) {
+        TransitionStatistics statistics = getTransitionStatistics(serviceType, fromStatus, toStatus);
+        return statistics == null ? 0 : statistics.count.get();
+    }
+
+    public long getAverageTransitionDurationMs(ServiceType serviceType, ScaStatus fromStatus, ScaStatus toStatus) {
+        TransitionStatistics statistics = getTransitionStatistics(serviceType, fromStatus, toStatus);
+        if (statistics == null) {
+            return 0;
+        }
+        long count = statistics.count.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(statistics.totalDurationNanos.get() / count);
+    }
+
+    public long getMaxTransitionDurationMs(ServiceType serviceType, ScaStatus fromStatus, ScaStatus toStatus) {
+        TransitionStatistics statistics = getTransitionStatistics(serviceType, fromStatus, toStatus);
+        return statistics == null ? 0 : TimeUnit.NANOSECONDS.toMillis(statistics.maxDurationNanos.get());
+    }
+
+    private AuthorisationProcessorService getProcessorService(Class<? extends AuthorisationProcessorService> processorServiceClass) {
+        return processorServices.computeIfAbsent(processorServiceClass, applicationContext::getBean);
+    }
+
+    private void recordTransition(ServiceType serviceType, ScaStatus fromStatus, AuthorisationProcessorResponse processorResponse, long durationNanos) {
+        if (processorResponse == null) {
+            return;
+        }
+
+        TransitionStatistics statistics = getTransitionStatistics(serviceType, fromStatus, processorResponse.getScaStatus());
+        if (statistics != null) {
+            statistics.record(durationNanos);
+        }
+    }
+
+    private TransitionStatistics getTransitionStatistics(ServiceType serviceType, ScaStatus fromStatus, ScaStatus toStatus) {
+        if (serviceType == null || fromStatus == null || toStatus == null) {
+            return null;
+        }
+        return transitionStatistics.get(serviceType).get(fromStatus).get(toStatus);
     }
 
     private void initAuthorisationChains() {
@@ -58,5 +142,42 @@ public class AuthorisationChainResponsibilityService {
         startedAuthorisationProcessor.setNext(finalisedAuthorisationProcessor);
         finalisedAuthorisationProcessor.setNext(failedAuthorisationProcessor);
         failedAuthorisationProcessor.setNext(exemptedAuthorisationProcessor);
+
+        for (AuthorisationProcessor processor : new AuthorisationProcessor[]{receivedAuthorisationProcessor,
+                                                                               psuIdentifiedAuthorisationProcessor,
+                                                                               psuAuthenticatedAuthorisationProcessor,
+                                                                               scaMethodSelectedAuthorisationProcessor,
+                                                                               startedAuthorisationProcessor,
+                                                                               finalisedAuthorisationProcessor,
+                                                                               failedAuthorisationProcessor,
+                                                                               exemptedAuthorisationProcessor}) {
+            processors.put(processor.getScaStatus(), processor);
+        }
+    }
+
+    private void initTransitionStatistics() {
+        for (ServiceType serviceType : ServiceType.values()) {
+            Map<ScaStatus, Map<ScaStatus, TransitionStatistics>> fromStatuses = new EnumMap<>(ScaStatus.class);
+            for (ScaStatus fromStatus : ScaStatus.values()) {
+                Map<ScaStatus, TransitionStatistics> toStatuses = new EnumMap<>(ScaStatus.class);
+                for (ScaStatus toStatus : ScaStatus.values()) {
+                    toStatuses.put(toStatus, new TransitionStatistics());
+                }
+                fromStatuses.put(fromStatus, toStatuses);
+            }
+            transitionStatistics.put(serviceType, fromStatuses);
+        }
+    }
+
+    private static class TransitionStatistics {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalDurationNanos = new AtomicLong();
+        private final AtomicLong maxDurationNanos = new AtomicLong();
+
+        private void record(long durationNanos) {
+            count.incrementAndGet();
+            totalDurationNanos.addAndGet(durationNanos);
+            maxDurationNanos.accumulateAndGet(durationNanos, Math::max);
+        }
     }
 }
@@ -45,34 +45,57 @@ public abstract class AuthorisationProcessor {
                                                               AuthorisationProcessorService processorService);
 
     public AuthorisationProcessorResponse apply(AuthorisationProcessorRequest request) {
-        AuthorisationProcessorResponse processorResponse = process(request);
+        return apply(request, getProcessorService(request));
+    }
+
+    /**
+     * Processes given request with already resolved processor service and updates the authorisation afterwards
+     *
+     * @param request          authorisation processor request
+     * @param processorService processor service, responsible for the type of given request
+     * @return authorisation processor response
+     */
+    public AuthorisationProcessorResponse apply(AuthorisationProcessorRequest request,
+                                                AuthorisationProcessorService processorService) {
+        AuthorisationProcessorResponse processorResponse = process(request, processorService);
 
         //update authorisation
-        getProcessorService(request).updateAuthorisation(request, processorResponse);
+        processorService.updateAuthorisation(request, processorResponse);
         return processorResponse;
     }
 
-    AuthorisationProcessorResponse process(AuthorisationProcessorRequest request) {
+    AuthorisationProcessorResponse process(AuthorisationProcessorRequest request,
+                                           AuthorisationProcessorService processorService) {
         if (getScaStatus() == request.getScaStatus()) {
-            AuthorisationProcessorService processorService = getProcessorService(request);
             return execute(request, processorService);
         } else {
             if (hasNext()) {
-                return nextProcessor.process(request);
+                return nextProcessor.process(request, processorService);
             }
         }
         return null;
     }
 
     AuthorisationProcessorService getProcessorService(AuthorisationProcessorRequest request) {
+        return applicationContext.getBean(getProcessorServiceClass(request));
+    }
+
+    /**
+     * Returns type of processor service, responsible for given request
+     *
+     * @param request authorisation processor request
+     * @return type of processor service
+     * @throws IllegalArgumentException if there is no processor service for given request
+     */
+    public static Class<? extends AuthorisationProcessorService> getProcessorServiceClass(AuthorisationProcessorRequest request) {
         if (request.getServiceType() == ServiceType.AIS) {
-            return applicationContext.getBean(AisAuthorisationProcessorServiceImpl.class);
+            return AisAuthorisationProcessorServiceImpl.class;
         } else if (request.getServiceType() == ServiceType.PIS &&
                        request.getAuthorisation().getAuthorisationType() == AuthorisationType.PIS_CREATION) {
-            return applicationContext.getBean(PisAuthorisationProcessorServiceImpl.class);
+            return PisAuthorisationProcessorServiceImpl.class;
         } else if (request.getServiceType() == ServiceType.PIS &&
                        request.getAuthorisation().getAuthorisationType() == AuthorisationType.PIS_CANCELLATION) {
-            return applicationContext.getBean(PisCancellationAuthorisationProcessorServiceImpl.class);
+            return PisCancellationAuthorisationProcessorServiceImpl.class;
         }
         throw new IllegalArgumentException("Authorisation processor service is unknown: " + request);
     }
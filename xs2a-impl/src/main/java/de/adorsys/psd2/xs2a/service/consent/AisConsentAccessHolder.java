@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-2019 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.service.consent;
+
+import lombok.Getter;
+
+/**
+ * Holds AIS consent access, that was opened for current request by reading the consent together with its ASPSP
+ * consent data from the CMS in one call.
+ * <p>
+ * ASPSP consent data of opened access is served to SPI without additional calls to the CMS, number of transactions is
+ * kept until the access is committed together with the action log.
+ */
+@Getter
+public class AisConsentAccessHolder {
+    private String consentId;
+    private byte[] aspspConsentData;
+    private String transactionsResourceId;
+    private Integer numberOfTransactions;
+
+    public void open(String consentId, byte[] aspspConsentData) {
+        this.consentId = consentId;
+        this.aspspConsentData = aspspConsentData;
+        clearNumberOfTransactions();
+    }
+
+    public boolean isOpenFor(String consentId) {
+        return this.consentId != null && this.consentId.equals(consentId);
+    }
+
+    public void updateAspspConsentData(String consentId, byte[] aspspConsentData) {
+        if (isOpenFor(consentId)) {
+            this.aspspConsentData = aspspConsentData;
+        }
+    }
+
+    /**
+     * Keeps number of transactions for the resource until the access is committed
+     *
+     * @param consentId            ID of the consent
+     * @param resourceId           ID of the account, transactions were read for
+     * @param numberOfTransactions number of read transactions
+     * @return <code>true</code> if the access is opened for the consent and number was kept, <code>false</code> otherwise
+     */
+    public boolean deferNumberOfTransactions(String consentId, String resourceId, int numberOfTransactions) {
+        if (!isOpenFor(consentId)) {
+            return false;
+        }
+
+        this.transactionsResourceId = resourceId;
+        this.numberOfTransactions = numberOfTransactions;
+        return true;
+    }
+
+    public void clearNumberOfTransactions() {
+        this.transactionsResourceId = null;
+        this.numberOfTransactions = null;
+    }
+}
@@ -27,8 +27,21 @@ import org.springframework.stereotype.Service;
 public class Xs2aAccountService {
 
     private final AccountServiceEncrypted accountServiceEncrypted;
+    private final AisConsentAccessHolder aisConsentAccessHolder;
 
+    /**
+     * Saves number of transactions in the CMS. If AIS consent access is opened for the consent, the number is saved
+     * later together with the action log.
+     *
+     * @param consentId            String representation of identifier of stored consent
+     * @param resourceId           The identification that denotes the addressed account
+     * @param numberOfTransactions number of transactions provided to the TPP
+     */
     public void saveNumberOfTransaction(String consentId, String resourceId, int numberOfTransactions) {
+        if (aisConsentAccessHolder.deferNumberOfTransactions(consentId, resourceId, numberOfTransactions)) {
+            return;
+        }
+
         accountServiceEncrypted.saveNumberOfTransactions(consentId, resourceId, numberOfTransactions);
     }
 
@@ -20,12 +20,15 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.authorisation.UpdateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.service.AccountServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.core.data.AccountAccess;
@@ -48,9 +51,11 @@ import de.adorsys.psd2.xs2a.service.profile.FrequencyPerDateCalculationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
@@ -66,6 +71,11 @@ public class Xs2aAisConsentService {
     private final ScaApproachResolver scaApproachResolver;
     private final RequestProviderService requestProviderService;
     private final LoggingContextService loggingContextService;
+    private final AccountServiceEncrypted accountServiceEncrypted;
+    private final AisConsentAccessHolder aisConsentAccessHolder;
+
+    @Value("${xs2a.cms.composite-ais-access.enabled:false}")
+    private boolean compositeAisAccessEnabled;
 
     /**
      * Sends a POST request to CMS to store created AIS consent
@@ -115,6 +125,32 @@ public class Xs2aAisConsentService {
         return Optional.ofNullable(aisConsentMapper.mapToAisConsent(consentById.getPayload()));
     }
 
+    /**
+     * Requests CMS to retrieve AIS consent by its identifier in order to access accounts of the consent.
+     * <p>
+     * If composite AIS access is enabled, ASPSP consent data is read together with the consent and access is opened
+     * for current request, so that writes after the SPI call are sent to the CMS in one call by
+     * {@link #consentActionLog(String, String, ActionStatus, String, boolean, String, String)}.
+     *
+     * @param consentId String representation of identifier of stored consent
+     * @return Response containing AIS Consent
+     */
+    public Optional<AisConsent> getAccountConsentForAccess(String consentId) {
+        if (!compositeAisAccessEnabled) {
+            return getAccountConsentById(consentId);
+        }
+
+        CmsResponse<CmsAisConsentAccess> consentAccess = aisConsentService.getConsentForAccess(consentId);
+
+        if (consentAccess.hasError()) {
+            log.info("Get consent for access failed due to CMS problems");
+            return Optional.empty();
+        }
+
+        aisConsentAccessHolder.open(consentId, consentAccess.getPayload().getAspspConsentData());
+        return Optional.ofNullable(aisConsentMapper.mapToAisConsent(consentAccess.getPayload().getConsent()));
+    }
+
     /**
      * Requests CMS to find old consents for current TPP and PSU and terminate them.
      *
@@ -160,8 +196,13 @@ public class Xs2aAisConsentService {
      */
     public void consentActionLog(String tppId, String consentId, ActionStatus actionStatus, String requestUri, boolean updateUsage,
                                  String resourceId, String transactionId) {
+        AisConsentActionRequest request = new AisConsentActionRequest(tppId, consentId, actionStatus, requestUri, updateUsage, resourceId, transactionId);
         try {
-            aisConsentService.checkConsentAndSaveActionLog(new AisConsentActionRequest(tppId, consentId, actionStatus, requestUri, updateUsage, resourceId, transactionId));
+            if (aisConsentAccessHolder.isOpenFor(consentId)) {
+                commitConsentAccess(request);
+            } else {
+                aisConsentService.checkConsentAndSaveActionLog(request);
+            }
         } catch (WrongChecksumException e) {
             log.info("consentActionLog cannot be executed, checksum verification failed");
         }
@@ -256,4 +297,16 @@ public class Xs2aAisConsentService {
         }
     }
 
+    private void commitConsentAccess(AisConsentActionRequest request) throws WrongChecksumException {
+        Integer numberOfTransactions = aisConsentAccessHolder.getNumberOfTransactions();
+        String transactionsResourceId = aisConsentAccessHolder.getTransactionsResourceId();
+        aisConsentAccessHolder.clearNumberOfTransactions();
+
+        if (numberOfTransactions != null && !Objects.equals(transactionsResourceId, request.getResourceId())) {
+            accountServiceEncrypted.saveNumberOfTransactions(request.getConsentId(), transactionsResourceId, numberOfTransactions);
+            numberOfTransactions = null;
+        }
+
+        aisConsentService.commitConsentAccess(new AisConsentAccessCommitRequest(request, numberOfTransactions));
+    }
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.logger.context.LoggingContextService;
+import de.adorsys.psd2.logger.context.RequestInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records TPP events in the CMS asynchronously.
+ * <p>
+ * Events are put into bounded in-memory queue by request threads and are sent to the CMS in batches by single
+ * background thread. Batch is sent once it's full or once flush interval has passed since its first event was taken
+ * from the queue. Behaviour on full queue is defined by {@link OverflowPolicy}.
+ * <p>
+ * As the background thread has no logging context of its own, events of the batch are sent grouped by their request,
+ * with the request IDs of the event put into the logging context, so that they are passed to the remote CMS as well.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AsyncEventRecorder {
+    private static final String FLUSHER_THREAD_NAME = "xs2a-event-recorder";
+
+    private final Xs2aEventServiceEncrypted eventService;
+    private final LoggingContextService loggingContextService;
+
+    @Value("${xs2a.event.async.enabled:false}")
+    private boolean enabled;
+    @Value("${xs2a.event.async.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${xs2a.event.async.batch-size:100}")
+    private int batchSize;
+    @Value("${xs2a.event.async.flush-interval-ms:500}")
+    private long flushIntervalMs;
+    @Value("${xs2a.event.async.overflow-policy:CALLER_RUNS}")
+    private OverflowPolicy overflowPolicy;
+    @Value("${xs2a.event.async.block-timeout-ms:100}")
+    private long blockTimeoutMs;
+    @Value("${xs2a.event.async.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<EventBO> queue;
+    private Thread flusherThread;
+    private volatile boolean running;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong recordedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushLatencyMs = new AtomicLong();
+    private final AtomicLong lastFlushLatencyMs = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusherThread = new Thread(this::flushLoop, FLUSHER_THREAD_NAME);
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+        log.info("Asynchronous event recording started: queue capacity [{}], batch size [{}], flush interval [{}] ms, overflow policy [{}]",
+                 queueCapacity, batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled || !running) {
+            return;
+        }
+
+        running = false;
+        try {
+            flusherThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!queue.isEmpty()) {
+            log.warn("Asynchronous event recording stopped with [{}] events not recorded", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Puts given event into the queue to be recorded in the CMS by background thread
+     *
+     * @param event Event to be recorded
+     */
+    public void record(@NotNull EventBO event) {
+        if (queue.offer(event)) {
+            enqueuedCount.incrementAndGet();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                recordBlocking(event);
+                break;
+            case CALLER_RUNS:
+                recordSynchronously(event);
+                break;
+            case DROP:
+            default:
+                drop(event);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getRecordedCount() {
+        return recordedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getLastFlushLatencyMs() {
+        return lastFlushLatencyMs.get();
+    }
+
+    public long getAverageFlushLatencyMs() {
+        long flushes = flushCount.get();
+        return flushes == 0 ? 0 : totalFlushLatencyMs.get() / flushes;
+    }
+
+    private void recordBlocking(EventBO event) {
+        try {
+            if (queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueuedCount.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drop(event);
+    }
+
+    private void recordSynchronously(EventBO event) {
+        flush(Collections.singletonList(event));
+    }
+
+    private void drop(EventBO event) {
+        droppedCount.incrementAndGet();
+        log.warn("TPP ID: [{}]. Event queue is full, event from TPP request was dropped: {}", event.getTppAuthorisationNumber(), event);
+    }
+
+    private void flushLoop() {
+        List<EventBO> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            boolean interrupted = false;
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            }
+
+            if (!batch.isEmpty()) {
+                flushInRequestContext(batch);
+                batch.clear();
+            }
+
+            if (interrupted) {
+                running = false;
+                return;
+            }
+        }
+    }
+
+    private void collectBatch(List<EventBO> batch) throws InterruptedException {
+        EventBO first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remainingNanos <= 0 || !running) {
+                return;
+            }
+
+            EventBO next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flushInRequestContext(List<EventBO> batch) {
+        Map<RequestInfo, List<EventBO>> eventsByRequest = new LinkedHashMap<>();
+        for (EventBO event : batch) {
+            eventsByRequest.computeIfAbsent(buildRequestInfo(event), requestInfo -> new ArrayList<>()).add(event);
+        }
+
+        eventsByRequest.forEach((requestInfo, events) -> {
+            loggingContextService.storeRequestInformation(requestInfo);
+            try {
+                flush(events);
+            } finally {
+                loggingContextService.clearContext();
+            }
+        });
+    }
+
+    private RequestInfo buildRequestInfo(EventBO event) {
+        return new RequestInfo(Objects.toString(event.getInternalRequestId(), null),
+                               Objects.toString(event.getXRequestId(), null));
+    }
+
+    private void flush(List<EventBO> batch) {
+        long start = System.currentTimeMillis();
+        boolean recorded;
+        try {
+            recorded = eventService.recordEvents(batch);
+        } catch (RuntimeException e) {
+            log.warn("Couldn't record batch of [{}] events from TPP requests: {}", batch.size(), e.getMessage());
+            recorded = false;
+        }
+
+        long latency = System.currentTimeMillis() - start;
+        flushCount.incrementAndGet();
+        lastFlushLatencyMs.set(latency);
+        totalFlushLatencyMs.addAndGet(latency);
+
+        if (recorded) {
+            recordedCount.addAndGet(batch.size());
+        } else {
+            failedCount.addAndGet(batch.size());
+            log.info("Couldn't record all events from batch of [{}] TPP requests", batch.size());
+        }
+    }
+
+    /**
+     * Defines what happens with the event if the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Waits for free space in the queue up to block timeout, drops the event afterwards
+         */
+        BLOCK,
+        /**
+         * Drops the event immediately
+         */
+        DROP,
+        /**
+         * Records the event synchronously in the calling thread
+         */
+        CALLER_RUNS
+    }
+}
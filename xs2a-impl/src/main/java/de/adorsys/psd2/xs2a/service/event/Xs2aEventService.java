@@ -41,6 +41,7 @@ public class Xs2aEventService {
     private final Xs2aEventServiceEncrypted eventService;
     private final RequestProviderService requestProviderService;
     private final EventMapper eventMapper;
+    private final AsyncEventRecorder asyncEventRecorder;
 
     /**
      * Records TPP request to the AIS in the CMS in form of TPP event for given consent id and event type
@@ -112,6 +113,11 @@ public class Xs2aEventService {
     }
 
     private void recordEventInCms(EventBO event) {
+        if (asyncEventRecorder.isEnabled()) {
+            asyncEventRecorder.record(event);
+            return;
+        }
+
         boolean recorded = eventService.recordEvent(event);
         if (!recorded) {
             log.info("TPP ID: [{}]. Couldn't record event from TPP request: {}", event.getTppAuthorisationNumber(), event);
@@ -18,30 +18,58 @@ package de.adorsys.psd2.xs2a.service.profile;
 
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.domain.MulticurrencyAccountLevel;
+import de.adorsys.psd2.aspsp.profile.event.AspspProfileUpdatedEvent;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
 import de.adorsys.psd2.xs2a.core.profile.*;
 import de.adorsys.psd2.xs2a.domain.account.SupportedAccountReferenceField;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Provides access to ASPSP profile settings.
+ * <p>
+ * Settings and SCA approaches are kept as local snapshots, that are refreshed from the profile service once the configured
+ * refresh interval has passed, so that most of the lookups don't access the profile service at all. Snapshots are dropped
+ * as soon as the profile is changed in the same application. Refresh interval less or equal to zero disables the snapshots.
+ * Collections are returned as copies, so that callers can't change the snapshot for each other.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AspspProfileServiceWrapper {
     private final AspspProfileService aspspProfileService;
 
+    @Value("${xs2a.aspsp-profile.cache.refresh-interval-ms:10000}")
+    private long refreshIntervalMs;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final AtomicReference<ProfileSnapshot<AspspSettings>> aspspSettingsSnapshot = new AtomicReference<>();
+    private final AtomicReference<ProfileSnapshot<List<ScaApproach>>> scaApproachesSnapshot = new AtomicReference<>();
+
     /**
      * Gets a map with payment types and products allowed by current ASPSP from ASPSP profile service
      *
      * @return Map with payment types and  products supported by current ASPSP
      */
     public Map<PaymentType, Set<String>> getSupportedPaymentTypeAndProductMatrix() {
-        return readAspspSettings().getPis().getSupportedPaymentTypeAndProductMatrix();
+        Map<PaymentType, Set<String>> matrix = readAspspSettings().getPis().getSupportedPaymentTypeAndProductMatrix();
+        if (matrix == null) {
+            return null;
+        }
+        Map<PaymentType, Set<String>> copy = new EnumMap<>(PaymentType.class);
+        matrix.forEach((paymentType, products) -> copy.put(paymentType, products == null ? null : new HashSet<>(products)));
+        return copy;
     }
 
     /**
@@ -50,7 +78,7 @@ public class AspspProfileServiceWrapper {
      * @return List of Available SCA approaches for tpp
      */
     public List<ScaApproach> getScaApproaches() {
-        return aspspProfileService.getScaApproaches();
+        return copyOf(readSnapshot(scaApproachesSnapshot, aspspProfileService::getScaApproaches));
     }
 
     /**
@@ -269,7 +297,7 @@ public class AspspProfileServiceWrapper {
      * @return list of available booking statuses
      */
     public List<BookingStatus> getAvailableBookingStatuses() {
-        return readAspspSettings().getAis().getTransactionParameters().getAvailableBookingStatuses();
+        return copyOf(readAspspSettings().getAis().getTransactionParameters().getAvailableBookingStatuses());
     }
 
     /**
@@ -314,7 +342,7 @@ public class AspspProfileServiceWrapper {
      * @return List of transaction application type supported by ASPSP.
      */
     public List<String> getSupportedTransactionApplicationTypes() {
-        return readAspspSettings().getAis().getTransactionParameters().getSupportedTransactionApplicationTypes();
+        return copyOf(readAspspSettings().getAis().getTransactionParameters().getSupportedTransactionApplicationTypes());
     }
 
     /**
@@ -335,8 +363,57 @@ public class AspspProfileServiceWrapper {
         return readAspspSettings().getAis().getConsentTypes().isTrustedBeneficiariesSupported();
     }
 
+    /**
+     * Drops local snapshots of ASPSP profile, so that the next lookup reads the profile service again
+     */
+    @EventListener(AspspProfileUpdatedEvent.class)
+    public void invalidateSnapshots() {
+        invalidateSnapshot(aspspSettingsSnapshot);
+        invalidateSnapshot(scaApproachesSnapshot);
+        log.debug("Local snapshots of ASPSP profile were invalidated");
+    }
+
     private AspspSettings readAspspSettings() {
-        return aspspProfileService.getAspspSettings();
+        return readSnapshot(aspspSettingsSnapshot, aspspProfileService::getAspspSettings);
+    }
+
+    private <T> void invalidateSnapshot(AtomicReference<ProfileSnapshot<T>> snapshotReference) {
+        // waits for the snapshot being loaded at the moment, as it may already contain outdated values
+        synchronized (snapshotReference) {
+            snapshotReference.set(null);
+        }
+    }
+
+    private <T> T readSnapshot(AtomicReference<ProfileSnapshot<T>> snapshotReference, Supplier<T> profileReader) {
+        if (refreshIntervalMs <= 0) {
+            return profileReader.get();
+        }
+
+        ProfileSnapshot<T> snapshot = snapshotReference.get();
+        if (snapshot != null && !snapshot.isExpired(clock.millis())) {
+            return snapshot.getValue();
+        }
+
+        synchronized (snapshotReference) {
+            snapshot = snapshotReference.get();
+            if (snapshot != null && !snapshot.isExpired(clock.millis())) {
+                return snapshot.getValue();
+            }
+
+            T value;
+            try {
+                value = profileReader.get();
+            } catch (RuntimeException e) {
+                if (snapshot == null) {
+                    throw e;
+                }
+                log.warn("Couldn't refresh ASPSP profile, previous snapshot will be used: {}", e.getMessage());
+                value = snapshot.getValue();
+            }
+
+            snapshotReference.set(new ProfileSnapshot<>(value, clock.millis() + refreshIntervalMs));
+            return value;
+        }
     }
 
     /**
@@ -362,7 +439,7 @@ public class AspspProfileServiceWrapper {
      * @return list of transaction status application types
      */
     public List<String> getSupportedTransactionStatusFormats() {
-        return readAspspSettings().getPis().getSupportedTransactionStatusFormats();
+        return copyOf(readAspspSettings().getPis().getSupportedTransactionStatusFormats());
     }
 
     /**
@@ -380,7 +457,7 @@ public class AspspProfileServiceWrapper {
      * @return list of supported modes
      */
     public List<NotificationSupportedMode> getNotificationSupportedModes() {
-        return readAspspSettings().getCommon().getAspspNotificationsSupported();
+        return copyOf(readAspspSettings().getCommon().getAspspNotificationsSupported());
     }
 
     /**
@@ -409,4 +486,26 @@ public class AspspProfileServiceWrapper {
     public boolean isCheckUriComplianceToDomainSupported() {
         return readAspspSettings().getCommon().isCheckUriComplianceToDomainSupported();
     }
+
+    private static <T> List<T> copyOf(List<T> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private static class ProfileSnapshot<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private ProfileSnapshot(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private T getValue() {
+            return value;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
 }
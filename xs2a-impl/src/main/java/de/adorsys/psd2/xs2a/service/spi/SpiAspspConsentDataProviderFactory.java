@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.spi;
 
 import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.xs2a.service.consent.AisConsentAccessHolder;
 import de.adorsys.psd2.xs2a.spi.domain.SpiAspspConsentDataProvider;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
@@ -29,6 +30,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SpiAspspConsentDataProviderFactory {
     private final AspspDataService aspspDataService;
+    private final AisConsentAccessHolder aisConsentAccessHolder;
 
     /**
      * Establishes SpiAspspConsentDataProvider object that is linked to existing Consent/Payment ID
@@ -37,7 +39,7 @@ public class SpiAspspConsentDataProviderFactory {
      */
     @NotNull
     public SpiAspspConsentDataProvider getSpiAspspDataProviderFor(@NotNull String encryptedConsentId) {
-        return new SpiAspspConsentDataProviderImpl(encryptedConsentId, aspspDataService);
+        return new SpiAspspConsentDataProviderImpl(encryptedConsentId, aspspDataService, aisConsentAccessHolder);
     }
 
     /**
@@ -18,6 +18,7 @@ package de.adorsys.psd2.xs2a.service.spi;
 
 import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
+import de.adorsys.psd2.xs2a.service.consent.AisConsentAccessHolder;
 import de.adorsys.psd2.xs2a.spi.domain.SpiAspspConsentDataProvider;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -30,21 +31,29 @@ import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
 import static org.apache.commons.lang3.ArrayUtils.nullToEmpty;
 
 /**
- * This is a stateful object that provides access to encrypted AspspConsentData array stored in the database
+ * This is a stateful object that provides access to encrypted AspspConsentData array stored in the database.
+ * If AIS consent access is opened for the consent, AspspConsentData already read with the consent is served from
+ * {@link AisConsentAccessHolder}.
  */
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 public class SpiAspspConsentDataProviderImpl implements SpiAspspConsentDataProvider {
     private final String encryptedConsentId;
     private final AspspDataService aspspDataService;
+    private final AisConsentAccessHolder aisConsentAccessHolder;
 
     private byte[] lastKnownData = EMPTY_BYTE_ARRAY;
 
     @Override
     @NotNull
     public byte[] loadAspspConsentData() {
-        byte[] readData = aspspDataService.readAspspConsentData(encryptedConsentId)
-                                     .map(AspspConsentData::getAspspConsentData)
-                                     .orElse(EMPTY_BYTE_ARRAY);
+        byte[] readData;
+        if (aisConsentAccessHolder.isOpenFor(encryptedConsentId)) {
+            readData = nullToEmpty(aisConsentAccessHolder.getAspspConsentData());
+        } else {
+            readData = aspspDataService.readAspspConsentData(encryptedConsentId)
+                           .map(AspspConsentData::getAspspConsentData)
+                           .orElse(EMPTY_BYTE_ARRAY);
+        }
         lastKnownData = readData;
         return readData;
     }
@@ -61,12 +70,14 @@ public class SpiAspspConsentDataProviderImpl implements SpiAspspConsentDataProvi
         }
 
         aspspDataService.updateAspspConsentData(new AspspConsentData(aspspConsentData, encryptedConsentId));
+        aisConsentAccessHolder.updateAspspConsentData(encryptedConsentId, aspspConsentData);
         lastKnownData = aspspConsentData;
     }
 
     @Override
     public void clearAspspConsentData() {
         aspspDataService.deleteAspspConsentData(encryptedConsentId);
+        aisConsentAccessHolder.updateAspspConsentData(encryptedConsentId, null);
         lastKnownData = EMPTY_BYTE_ARRAY;
     }
 }
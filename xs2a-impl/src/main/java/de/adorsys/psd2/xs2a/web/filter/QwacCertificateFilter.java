@@ -17,7 +17,7 @@
 package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.consent.api.service.TppService;
-import de.adorsys.psd2.validator.certificate.util.CertificateExtractorUtil;
+import de.adorsys.psd2.validator.certificate.util.CertificateCache;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
 import de.adorsys.psd2.xs2a.core.error.MessageErrorCode;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
@@ -62,8 +62,9 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
     private final Xs2aTppInfoMapper xs2aTppInfoMapper;
     private final TppInfoRolesMapper tppInfoRolesMapper;
     private final TppErrorMessageWriter tppErrorMessageWriter;
+    private final CertificateCache certificateCache;
 
-    public QwacCertificateFilter(TppErrorMessageWriter tppErrorMessageWriter, Xs2aEndpointChecker xs2aEndpointChecker, TppInfoHolder tppInfoHolder, RequestProviderService requestProviderService, TppRoleValidationService tppRoleValidationService, TppService tppService, AspspProfileServiceWrapper aspspProfileService, Xs2aTppInfoMapper xs2aTppInfoMapper, TppInfoRolesMapper tppInfoRolesMapper, TppErrorMessageWriter tppErrorMessageWriter1) {
+    public QwacCertificateFilter(TppErrorMessageWriter tppErrorMessageWriter, Xs2aEndpointChecker xs2aEndpointChecker, TppInfoHolder tppInfoHolder, RequestProviderService requestProviderService, TppRoleValidationService tppRoleValidationService, TppService tppService, AspspProfileServiceWrapper aspspProfileService, Xs2aTppInfoMapper xs2aTppInfoMapper, TppInfoRolesMapper tppInfoRolesMapper, TppErrorMessageWriter tppErrorMessageWriter1, CertificateCache certificateCache) {
         super(tppErrorMessageWriter, xs2aEndpointChecker);
         this.tppInfoHolder = tppInfoHolder;
         this.requestProviderService = requestProviderService;
@@ -73,6 +74,7 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
         this.xs2aTppInfoMapper = xs2aTppInfoMapper;
         this.tppInfoRolesMapper = tppInfoRolesMapper;
         this.tppErrorMessageWriter = tppErrorMessageWriter1;
+        this.certificateCache = certificateCache;
     }
 
     @Override
@@ -81,7 +83,7 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
 
         if (StringUtils.isNotBlank(encodedTppQwacCert)) {
             try {
-                TppCertificateData tppCertificateData = CertificateExtractorUtil.extract(encodedTppQwacCert);
+                TppCertificateData tppCertificateData = certificateCache.getTppCertificateData(encodedTppQwacCert);
                 if (isCertificateExpired(tppCertificateData.getNotAfter())) {
                     buildCertificateExpiredErrorResponse(response);
                     return;
@@ -18,19 +18,23 @@ package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.validator.signature.DigestVerifier;
 import de.adorsys.psd2.validator.signature.SignatureVerifier;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.core.error.MessageErrorCode;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
 import de.adorsys.psd2.xs2a.web.error.TppErrorMessageWriter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Map;
 import java.util.function.Function;
@@ -70,7 +74,7 @@ public class SignatureFilter extends AbstractXs2aFilter {
         }
 
         String digest = request.getHeader(DIGEST);
-        String body = request.getReader().lines().collect(Collectors.joining(System.lineSeparator()));
+        ByteBuffer body = getRequestBody(request);
 
         boolean digestValid = digestVerifier.verify(digest, body);
         if (!digestValid) {
@@ -97,6 +101,15 @@ public class SignatureFilter extends AbstractXs2aFilter {
         chain.doFilter(request, response);
     }
 
+    private ByteBuffer getRequestBody(HttpServletRequest request) throws IOException {
+        MultiReadHttpServletRequest multiReadRequest = WebUtils.getNativeRequest(request, MultiReadHttpServletRequest.class);
+        if (multiReadRequest != null) {
+            return multiReadRequest.getBodyBuffer();
+        }
+
+        return ByteBuffer.wrap(IOUtils.toByteArray(request.getInputStream()));
+    }
+
     private Map<String, String> obtainRequestHeaders(HttpServletRequest request) {
         return Collections.list(request.getHeaderNames()).stream()
                    .collect(Collectors.toMap(Function.identity(), request::getHeader));
@@ -33,7 +33,12 @@ public class RequestResponseLoggingInterceptor extends HandlerInterceptorAdapter
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!requestResponseLogger.isLogEnabled()) {
+            return;
+        }
+
         RequestResponseLogMessage message = RequestResponseLogMessage.builder(request, response)
+                                                .withMaxPayloadLength(requestResponseLogger.getMaxPayloadLength())
                                                 .withRequestUri()
                                                 .withRequestHeaders()
                                                 .withRequestPayload()
@@ -17,12 +17,12 @@
 package de.adorsys.psd2.xs2a.web.interceptor.tpp;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
-import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.core.error.MessageError;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.service.TppService;
+import de.adorsys.psd2.xs2a.service.TppStopListCache;
 import de.adorsys.psd2.xs2a.service.discovery.ServiceTypeDiscoveryService;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorMapperContainer;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceTypeToErrorTypeMapper;
@@ -46,7 +46,7 @@ public class TppStopListInterceptor extends HandlerInterceptorAdapter {
 
     private final ErrorMapperContainer errorMapperContainer;
     private final TppService tppService;
-    private final TppStopListService tppStopListService;
+    private final TppStopListCache tppStopListCache;
     private final ServiceTypeDiscoveryService serviceTypeDiscoveryService;
     private final ServiceTypeToErrorTypeMapper errorTypeMapper;
     private final Xs2aObjectMapper xs2aObjectMapper;
@@ -54,7 +54,7 @@ public class TppStopListInterceptor extends HandlerInterceptorAdapter {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         TppInfo tppInfo = tppService.getTppInfo();
-        CmsResponse<Boolean> cmsResponse = tppStopListService.checkIfTppBlocked(tppInfo.getAuthorisationNumber());
+        CmsResponse<Boolean> cmsResponse = tppStopListCache.checkIfTppBlocked(tppInfo.getAuthorisationNumber());
 
         if (cmsResponse.isSuccessful() && BooleanUtils.isTrue(cmsResponse.getPayload())) {
             response.getWriter().write(xs2aObjectMapper.writeValueAsString(createError()));
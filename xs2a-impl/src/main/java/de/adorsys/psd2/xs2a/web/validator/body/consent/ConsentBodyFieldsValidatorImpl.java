@@ -32,7 +32,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Map;
@@ -147,14 +146,8 @@ public class ConsentBodyFieldsValidatorImpl extends AbstractBodyValidatorImpl im
     }
 
     private Map<String, Object> extractConsentAccessMap(HttpServletRequest request, MessageError messageError) {
-        Optional<Map<String, Object>> access = Optional.empty();
-        try {
-            access = xs2aObjectMapper.toJsonField(request.getInputStream(), ACCESS_FIELD_NAME, new TypeReference<Map<String, Object>>() {
-            });
-        } catch (IOException e) {
-            errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
-        }
-
-        return access.orElseGet(Collections::emptyMap);
+        return fieldExtractor.extractField(request, ACCESS_FIELD_NAME, new TypeReference<Map<String, Object>>() {
+        }, messageError)
+                   .orElseGet(Collections::emptyMap);
     }
 }
@@ -17,15 +17,19 @@
 package de.adorsys.psd2.xs2a.web.validator.body.raw;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.core.error.MessageError;
 import de.adorsys.psd2.xs2a.web.validator.ErrorBuildingService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -33,18 +37,30 @@ import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.FORMAT_ERROR_DESERIALIZATION_FAIL;
 
+/**
+ * Extracts fields from the body of incoming request.
+ * <p>
+ * The body is parsed into JSON tree only once per request, the tree is stored in request attribute and is shared
+ * by all body validators.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class FieldExtractor {
+    static final String REQUEST_BODY_TREE_ATTRIBUTE = FieldExtractor.class.getName() + ".REQUEST_BODY_TREE";
 
     private final ErrorBuildingService errorBuildingService;
     private final Xs2aObjectMapper xs2aObjectMapper;
 
     public Optional<String> extractField(HttpServletRequest request, String fieldName, MessageError messageError) {
-        Optional<String> fieldOptional = Optional.empty();
+        return extractField(request, fieldName, new TypeReference<String>() {
+        }, messageError);
+    }
+
+    public <T> Optional<T> extractField(HttpServletRequest request, String fieldName, TypeReference<T> typeReference, MessageError messageError) {
+        Optional<T> fieldOptional = Optional.empty();
         try {
-            fieldOptional = xs2aObjectMapper.toJsonField(request.getInputStream(), fieldName, new TypeReference<String>() {
-            });
+            fieldOptional = xs2aObjectMapper.toJsonField(getBodyTree(request), fieldName, typeReference);
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         }
@@ -54,7 +70,7 @@ public class FieldExtractor {
 
     public Optional<String> extractOptionalField(HttpServletRequest request, String fieldName) {
         try {
-            return xs2aObjectMapper.toJsonField(request.getInputStream(), fieldName, new TypeReference<String>() {
+            return xs2aObjectMapper.toJsonField(getBodyTree(request), fieldName, new TypeReference<String>() {
             });
         } catch (IOException e) {
             return Optional.empty();
@@ -64,7 +80,7 @@ public class FieldExtractor {
     public List<String> extractList(HttpServletRequest request, String fieldName, MessageError messageError) {
         List<String> fieldList = new ArrayList<>();
         try {
-            fieldList.addAll(xs2aObjectMapper.toJsonGetValuesForField(request.getInputStream(), fieldName));
+            fieldList.addAll(xs2aObjectMapper.toJsonGetValuesForField(getBodyTree(request), fieldName));
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         }
@@ -73,7 +89,7 @@ public class FieldExtractor {
 
     public List<String> extractOptionalList(HttpServletRequest request, String fieldName) {
         try {
-            return xs2aObjectMapper.toJsonGetValuesForField(request.getInputStream(), fieldName);
+            return xs2aObjectMapper.toJsonGetValuesForField(getBodyTree(request), fieldName);
 
         } catch (IOException e) {
             return Collections.emptyList();
@@ -82,11 +98,44 @@ public class FieldExtractor {
 
     public <T> Optional<T> mapBodyToInstance(HttpServletRequest request, MessageError messageError, Class<T> clazz) {
         try {
-            return Optional.of(xs2aObjectMapper.readValue(request.getInputStream(), clazz));
+            JsonNode bodyTree = getBodyTree(request);
+            if (!bodyTree.isMissingNode()) {
+                return Optional.of(xs2aObjectMapper.readValue(xs2aObjectMapper.treeAsTokens(bodyTree), clazz));
+            }
         } catch (IOException e) {
-            errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
+            log.info("Couldn't map request body to {}: {}", clazz.getSimpleName(), e.getMessage());
         }
 
+        errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         return Optional.empty();
     }
+
+    /**
+     * Returns JSON tree of the request body, parsing the body if it wasn't parsed for this request yet.
+     * Malformed or empty body is represented by {@link MissingNode}.
+     *
+     * @param request incoming request
+     * @return JSON tree of the request body
+     * @throws IOException if the body couldn't be read from the request
+     */
+    private JsonNode getBodyTree(HttpServletRequest request) throws IOException {
+        Object cachedTree = request.getAttribute(REQUEST_BODY_TREE_ATTRIBUTE);
+        if (cachedTree instanceof JsonNode) {
+            return (JsonNode) cachedTree;
+        }
+
+        JsonNode bodyTree = parseBodyTree(request.getInputStream());
+        request.setAttribute(REQUEST_BODY_TREE_ATTRIBUTE, bodyTree);
+        return bodyTree;
+    }
+
+    private JsonNode parseBodyTree(InputStream body) {
+        try {
+            JsonNode bodyTree = xs2aObjectMapper.readTree(body);
+            return bodyTree == null ? MissingNode.getInstance() : bodyTree;
+        } catch (IOException e) {
+            log.info("Couldn't parse request body to json: {}", e.getMessage());
+            return MissingNode.getInstance();
+        }
+    }
 }
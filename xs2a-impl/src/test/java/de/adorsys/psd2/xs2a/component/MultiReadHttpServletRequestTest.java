@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiReadHttpServletRequestTest {
+    private static final String CONTENT = "{\n  \"some\": \"body\"\n}";
+
+    @Test
+    void getInputStream_shouldReturnCachedBodyOnEveryCall() throws IOException {
+        // Given
+        MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(buildRequest());
+
+        // When
+        byte[] firstRead = multiReadHttpServletRequest.getInputStream().readAllBytes();
+        byte[] secondRead = multiReadHttpServletRequest.getInputStream().readAllBytes();
+        String readerContent = multiReadHttpServletRequest.getReader().lines().collect(Collectors.joining("\n"));
+
+        // Then
+        assertArrayEquals(CONTENT.getBytes(), firstRead);
+        assertArrayEquals(CONTENT.getBytes(), secondRead);
+        assertEquals(CONTENT, readerContent);
+    }
+
+    @Test
+    void getBodyBuffer_shouldReturnReadOnlyView() throws IOException {
+        // Given
+        MultiReadHttpServletRequest multiReadHttpServletRequest = new MultiReadHttpServletRequest(buildRequest());
+
+        // When
+        ByteBuffer bodyBuffer = multiReadHttpServletRequest.getBodyBuffer();
+
+        // Then
+        assertTrue(bodyBuffer.isReadOnly());
+        assertEquals(ByteBuffer.wrap(CONTENT.getBytes()), bodyBuffer);
+        assertArrayEquals(CONTENT.getBytes(), multiReadHttpServletRequest.getInputStream().readAllBytes());
+    }
+
+    private MockHttpServletRequest buildRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(CONTENT.getBytes());
+        return request;
+    }
+}
@@ -27,6 +27,7 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -285,4 +286,89 @@ class RequestResponseLogMessageTest {
         // Then
         assertEquals(expectedMessage, logMessage.getMessage());
     }
+
+    @Test
+    void withRequestPayload_withMaxPayloadLength_shouldTruncatePayload() {
+        // Given
+        byte[] jsonPayload = jsonReader.getBytesFromFile(REQUEST_BODY_JSON_PATH);
+        request.setContent(jsonPayload);
+        request.setContentType(JSON_CONTENT_TYPE);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request);
+
+        String expectedPayload = new String(jsonPayload, 0, 10) + "... (truncated, " + jsonPayload.length + " bytes in total)";
+        String expectedMessage = String.format(REQUEST_PAYLOAD_JSON_MESSAGE_FORMAT, expectedPayload);
+
+        // When
+        RequestResponseLogMessage logMessage = RequestResponseLogMessage.builder(multiReadRequest, response)
+                                                   .withMaxPayloadLength(10)
+                                                   .withRequestPayload()
+                                                   .build();
+
+        // Then
+        assertEquals(expectedMessage, logMessage.getMessage());
+    }
+
+    @Test
+    void withResponseBody_withMaxPayloadLength_shouldTruncateBody() throws IOException {
+        // Given
+        MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response);
+        byte[] jsonPayload = jsonReader.getBytesFromFile(RESPONSE_BODY_JSON_PATH);
+        multiReadResponse.getWriter().write(new String(jsonPayload));
+        multiReadResponse.getWriter().flush();
+
+        String expectedBody = new String(jsonPayload, 0, 10) + "... (truncated, " + jsonPayload.length + " bytes in total)";
+        String expectedMessage = String.format(RESPONSE_BODY_MESSAGE_FORMAT, expectedBody);
+
+        // When
+        RequestResponseLogMessage logMessage = RequestResponseLogMessage.builder(request, multiReadResponse)
+                                                   .withMaxPayloadLength(10)
+                                                   .withResponseBody()
+                                                   .build();
+
+        // Then
+        assertEquals(expectedMessage, logMessage.getMessage());
+    }
+
+    @Test
+    void withRequestPayload_withMaxPayloadLengthInsideMultiByteCharacter_shouldNotSplitCharacter() {
+        // Given
+        byte[] payload = "{\"name\":\"M\u00fcller \u20ac\"}".getBytes(StandardCharsets.UTF_8);
+        request.setContent(payload);
+        request.setContentType(JSON_CONTENT_TYPE);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request);
+
+        String expectedPayload = "{\"name\":\"M... (truncated, " + payload.length + " bytes in total)";
+        String expectedMessage = String.format(REQUEST_PAYLOAD_JSON_MESSAGE_FORMAT, expectedPayload);
+
+        // When
+        RequestResponseLogMessage logMessage = RequestResponseLogMessage.builder(multiReadRequest, response)
+                                                   .withMaxPayloadLength(11)
+                                                   .withRequestPayload()
+                                                   .build();
+
+        // Then
+        assertEquals(expectedMessage, logMessage.getMessage());
+    }
+
+    @Test
+    void withResponseBody_withMaxPayloadLengthInsideMultiByteCharacter_shouldNotSplitCharacter() throws IOException {
+        // Given
+        MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response);
+        String body = "{\"amount\":\"10 \u20ac\"}";
+        multiReadResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        multiReadResponse.getOutputStream().flush();
+        int totalLength = body.getBytes(StandardCharsets.UTF_8).length;
+
+        String expectedBody = "{\"amount\":\"10 ... (truncated, " + totalLength + " bytes in total)";
+        String expectedMessage = String.format(RESPONSE_BODY_MESSAGE_FORMAT, expectedBody);
+
+        // When
+        RequestResponseLogMessage logMessage = RequestResponseLogMessage.builder(request, multiReadResponse)
+                                                   .withMaxPayloadLength(16)
+                                                   .withResponseBody()
+                                                   .build();
+
+        // Then
+        assertEquals(expectedMessage, logMessage.getMessage());
+    }
 }
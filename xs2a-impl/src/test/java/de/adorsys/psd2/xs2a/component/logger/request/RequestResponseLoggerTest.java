@@ -22,8 +22,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class RequestResponseLoggerTest {
@@ -46,4 +50,31 @@ class RequestResponseLoggerTest {
         // Then
         verify(logger).info(MESSAGE);
     }
+
+    @Test
+    void isLogEnabled_infoEnabled_shouldReturnTrue() {
+        // Given
+        RequestResponseLogger requestResponseLogger = new MockRequestResponseLogger(logger);
+        when(logger.isInfoEnabled()).thenReturn(true);
+
+        // When
+        boolean actual = requestResponseLogger.isLogEnabled();
+
+        // Then
+        assertTrue(actual);
+    }
+
+    @Test
+    void isLogEnabled_requestNotSampled_shouldReturnFalse() {
+        // Given
+        RequestResponseLogger requestResponseLogger = new MockRequestResponseLogger(logger);
+        ReflectionTestUtils.setField(requestResponseLogger, "sampleRate", 0.0);
+        when(logger.isInfoEnabled()).thenReturn(true);
+
+        // When
+        boolean actual = requestResponseLogger.isLogEnabled();
+
+        // Then
+        assertFalse(actual);
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service;
+
+import de.adorsys.psd2.consent.api.CmsError;
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TppStopListCacheTest {
+    private static final String AUTHORISATION_NUMBER = "12345987";
+    private static final String INSTANCE_ID = "UNDEFINED";
+    private static final Instant NOW = Instant.parse("2020-06-01T10:00:00Z");
+
+    @InjectMocks
+    private TppStopListCache tppStopListCache;
+
+    @Mock
+    private TppStopListService tppStopListService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tppStopListCache, "maxSize", 10);
+        ReflectionTestUtils.setField(tppStopListCache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(tppStopListCache, "serviceInstanceId", INSTANCE_ID);
+        ReflectionTestUtils.setField(tppStopListCache, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+        tppStopListCache.init();
+    }
+
+    @Test
+    void checkIfTppBlocked_sameTpp_cmsAskedOnce() {
+        // Given
+        when(tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER)).thenReturn(buildCmsResponse(true));
+
+        // When
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+        CmsResponse<Boolean> actual = tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // Then
+        assertThat(actual.getPayload()).isTrue();
+        verify(tppStopListService, times(1)).checkIfTppBlocked(AUTHORISATION_NUMBER);
+        assertThat(tppStopListCache.getHitCount()).isEqualTo(1);
+        assertThat(tppStopListCache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void checkIfTppBlocked_ttlPassed_cmsAskedAgain() {
+        // Given
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW.toEpochMilli(), NOW.plus(Duration.ofSeconds(30)).toEpochMilli());
+        ReflectionTestUtils.setField(tppStopListCache, "clock", clock);
+        tppStopListCache.init();
+        when(tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER)).thenReturn(buildCmsResponse(false), buildCmsResponse(true));
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // When
+        CmsResponse<Boolean> actual = tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // Then
+        assertThat(actual.getPayload()).isTrue();
+        verify(tppStopListService, times(2)).checkIfTppBlocked(AUTHORISATION_NUMBER);
+        assertThat(tppStopListCache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onTppStopListChanged_cachedVerdictDropped() {
+        // Given
+        when(tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER)).thenReturn(buildCmsResponse(false), buildCmsResponse(true));
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // When
+        tppStopListCache.onTppStopListChanged(new TppStopListChangedEvent(AUTHORISATION_NUMBER, INSTANCE_ID));
+        CmsResponse<Boolean> actual = tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // Then
+        assertThat(actual.getPayload()).isTrue();
+        verify(tppStopListService, times(2)).checkIfTppBlocked(AUTHORISATION_NUMBER);
+    }
+
+    @Test
+    void onTppStopListChanged_otherInstance_cachedVerdictKept() {
+        // Given
+        when(tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER)).thenReturn(buildCmsResponse(false));
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // When
+        tppStopListCache.onTppStopListChanged(new TppStopListChangedEvent(AUTHORISATION_NUMBER, "other instance"));
+        CmsResponse<Boolean> actual = tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // Then
+        assertThat(actual.getPayload()).isFalse();
+        verify(tppStopListService, times(1)).checkIfTppBlocked(AUTHORISATION_NUMBER);
+        assertThat(tppStopListCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void checkIfTppBlocked_cmsError_notCached() {
+        // Given
+        CmsResponse<Boolean> errorResponse = CmsResponse.<Boolean>builder()
+                                                 .error(CmsError.TECHNICAL_ERROR)
+                                                 .build();
+        when(tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER)).thenReturn(errorResponse);
+
+        // When
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // Then
+        verify(tppStopListService, times(2)).checkIfTppBlocked(AUTHORISATION_NUMBER);
+        assertThat(tppStopListCache.size()).isZero();
+    }
+
+    @Test
+    void checkIfTppBlocked_cacheDisabled_cmsAskedEveryTime() {
+        // Given
+        ReflectionTestUtils.setField(tppStopListCache, "ttlSeconds", 0L);
+        tppStopListCache.init();
+        when(tppStopListService.checkIfTppBlocked(AUTHORISATION_NUMBER)).thenReturn(buildCmsResponse(false));
+
+        // When
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+        tppStopListCache.checkIfTppBlocked(AUTHORISATION_NUMBER);
+
+        // Then
+        verify(tppStopListService, times(2)).checkIfTppBlocked(AUTHORISATION_NUMBER);
+        assertThat(tppStopListCache.size()).isZero();
+    }
+
+    private CmsResponse<Boolean> buildCmsResponse(boolean blocked) {
+        return CmsResponse.<Boolean>builder()
+                   .payload(blocked)
+                   .build();
+    }
+}
@@ -187,10 +187,10 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID)).thenReturn(Optional.empty());
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID)).thenReturn(Optional.empty());
         // When
         ResponseObject<Xs2aTransactionsReport> actualResponse = transactionService.getTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST);
         // Then
@@ -202,7 +202,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
         when(getTransactionsReportValidator.validate(transactionsReportByPeriodObject))
@@ -220,7 +220,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -250,7 +250,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getTransactionsReportValidator.validate(transactionsReportByPeriodObject))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -267,7 +267,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -292,7 +292,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -336,7 +336,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -347,7 +347,7 @@ class TransactionServiceTest {
 
         AisConsent aisConsent = createConsent();
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(aspspProfileService.isTransactionsWithoutBalancesSupported())
             .thenReturn(true);
@@ -384,7 +384,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -423,7 +423,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -460,7 +460,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -493,7 +493,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_withInvalidConsent_shouldReturnValidationError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -511,7 +511,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -546,7 +546,7 @@ class TransactionServiceTest {
         // Given
         ArgumentCaptor<EventType> argumentCaptor = ArgumentCaptor.forClass(EventType.class);
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -577,7 +577,7 @@ class TransactionServiceTest {
     @Test
     void downloadTransactions_Failure_no_consent_shouldReturn_400() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.empty());
 
         // When
@@ -590,7 +590,7 @@ class TransactionServiceTest {
     @Test
     void downloadTransactions_Failure_validation_fails_shouldReturn_400() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(downloadTransactionsReportValidator.validate(any(DownloadTransactionListRequestObject.class)))
             .thenReturn(ValidationResult.invalid(AIS_401, CONSENT_EXPIRED));
@@ -607,7 +607,7 @@ class TransactionServiceTest {
         // Given
         SpiTransactionsDownloadResponse spiTransactionsDownloadResponse = new SpiTransactionsDownloadResponse(inputStream, FILENAME, DATA_SIZE_BYTES);
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -637,7 +637,7 @@ class TransactionServiceTest {
         // Given
         ArgumentCaptor<ConsentStatus> argumentCaptor = ArgumentCaptor.forClass(ConsentStatus.class);
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -661,7 +661,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionDetails_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.empty());
         // When
         ResponseObject<Transactions> actualResponse = transactionService.getTransactionDetails(CONSENT_ID, ACCOUNT_ID, TRANSACTION_ID, REQUEST_URI);
@@ -674,7 +674,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getTransactionDetailsValidator.validate(new CommonAccountTransactionsRequestObject(aisConsent, ACCOUNT_ID, REQUEST_URI)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -691,7 +691,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -721,7 +721,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getTransactionDetailsValidator.validate(new CommonAccountTransactionsRequestObject(aisConsent, ACCOUNT_ID, REQUEST_URI)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -738,7 +738,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -768,7 +768,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -795,7 +795,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionDetails_withInvalidConsent_shouldReturnValidationError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
@@ -813,7 +813,7 @@ class TransactionServiceTest {
         // Given
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -133,14 +133,14 @@ class AccountDetailsServiceTest {
         commonAccountRequestObject = buildCommonAccountRequestObject();
         spiAspspConsentDataProvider = spiAspspConsentDataProviderFactory.getSpiAspspDataProviderFor(CONSENT_ID);
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
     }
 
     @Test
     void getAccountDetails_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.empty());
 
         // When
@@ -141,7 +141,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.empty());
 
         // When
@@ -154,7 +154,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_Failure_AllowedAccountDataHasError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getAccountListValidator.validate(getAccountListConsentObject))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_401_ERROR));
@@ -167,7 +167,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_Failure_SpiResponseHasError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
@@ -191,7 +191,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_Failure_AccountConsentUpdatedIsEmpty() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
@@ -220,7 +220,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_Success() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
@@ -268,7 +268,7 @@ class AccountListServiceTest {
 
         AisConsent aisConsent = createConsent(false);
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
         List<SpiAccountDetails> spiAccountDetailsList = Collections.singletonList(spiAccountDetails);
@@ -315,7 +315,7 @@ class AccountListServiceTest {
         // Given
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_401_ERROR));
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
         // When
@@ -332,7 +332,7 @@ class AccountListServiceTest {
         // Given
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -363,7 +363,7 @@ class AccountListServiceTest {
         // Given
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -386,7 +386,7 @@ class AccountListServiceTest {
         // Given
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -409,7 +409,7 @@ class AccountListServiceTest {
         // Given
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData()).thenReturn(SPI_CONTEXT_DATA);
         when(accountHelperService.createActionStatus(anyBoolean(), any(), any())).thenReturn(ActionStatus.SUCCESS);
@@ -429,7 +429,7 @@ class AccountListServiceTest {
         // Given
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -132,7 +132,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.empty());
 
         // When
@@ -145,7 +145,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_Failure_AllowedAccountDataHasError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getBalancesReportValidator.validate(getAccountBalanceRequestObject))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_ERROR));
@@ -162,7 +162,7 @@ class BalanceServiceTest {
         // Given
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -188,7 +188,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_Failure_ConsentNotContainsAccountReference() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getBalancesReportValidator.validate(getAccountBalanceRequestObject))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_ERROR));
@@ -205,7 +205,7 @@ class BalanceServiceTest {
         // Given
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -238,7 +238,7 @@ class BalanceServiceTest {
         // Given
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -266,7 +266,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_withInvalidConsent_shouldReturnValidationError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.invalid(CONSENT_INVALID_ERROR));
@@ -284,7 +284,7 @@ class BalanceServiceTest {
         // Given
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.findAccountReference(any(), any()))
             .thenReturn(spiAccountReference);
@@ -145,14 +145,14 @@ class CardAccountServiceTest {
         spiAccountReference = jsonReader.getObjectFromFile("json/service/mapper/spi_xs2a_mappers/spi-account-reference.json", SpiAccountReference.class);
         getCardAccountDetailsRequestObject = buildCommonAccountRequestObject();
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
     }
 
     @Test
     void getAccountDetailsList_Failure_AccountConsentUpdatedHasChecksumError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
@@ -185,7 +185,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.empty());
 
         // When
@@ -198,7 +198,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Failure_AllowedAccountDataHasError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
         when(getCardAccountListValidator.validate(getCardAccountListConsentObject))
@@ -214,7 +214,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Failure_SpiResponseHasError() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
@@ -242,7 +242,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Failure_AccountConsentUpdatedIsEmpty() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
@@ -275,7 +275,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Success() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
@@ -330,7 +330,7 @@ class CardAccountServiceTest {
 
         AisConsent accountConsent = createConsent(createAccountAccess(ACCOUNT_REFERENCE_WITHOUT_ASPSP_IDS));
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(accountConsent));
 
         List<SpiCardAccountDetails> spiAccountDetailsList = Collections.singletonList(spiCardAccountDetails);
@@ -368,7 +368,7 @@ class CardAccountServiceTest {
         // Given
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.invalid(VALIDATION_ERROR));
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
         // When
@@ -385,7 +385,7 @@ class CardAccountServiceTest {
         // Given
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -417,7 +417,7 @@ class CardAccountServiceTest {
         // Given
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -441,7 +441,7 @@ class CardAccountServiceTest {
         // Given
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -465,7 +465,7 @@ class CardAccountServiceTest {
         // Given
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -489,7 +489,7 @@ class CardAccountServiceTest {
         // Given
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
@@ -511,7 +511,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetails_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID)).thenReturn(Optional.empty());
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID)).thenReturn(Optional.empty());
         // When
         ResponseObject<Xs2aCardAccountDetailsHolder> actualResponse = cardAccountService.getCardAccountDetails(CONSENT_ID, ACCOUNT_ID, REQUEST_URI);
         // Then
@@ -159,7 +159,7 @@ class CardTransactionServiceTest {
         spiAccountReference = jsonReader.getObjectFromFile("json/service/mapper/spi_xs2a_mappers/spi-account-reference.json", SpiAccountReference.class);
         cardTransactionsReportByPeriodObject = buildTransactionsReportByPeriodObject();
         spiAspspConsentDataProvider = spiAspspConsentDataProviderFactory.getSpiAspspDataProviderFor(CONSENT_ID);
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(accountConsent));
 
     }
@@ -167,7 +167,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_Failure_NoAccountConsent() {
         // Given
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.empty());
         // When
         ResponseObject<Xs2aCardTransactionsReport> actualResponse = cardTransactionService.getCardTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST);
@@ -310,7 +310,7 @@ class CardTransactionServiceTest {
 
         AisConsent aisConsent = createConsent(createAccountAccess());
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(aspspProfileService.isTransactionsWithoutBalancesSupported())
             .thenReturn(true);
@@ -354,7 +354,7 @@ class CardTransactionServiceTest {
 
         AisConsent aisConsent = createConsent(createAccountAccessWithoutTransactions());
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(aspspProfileService.isTransactionsWithoutBalancesSupported())
             .thenReturn(true);
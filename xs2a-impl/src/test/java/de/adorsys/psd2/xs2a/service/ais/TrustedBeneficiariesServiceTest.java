@@ -115,14 +115,14 @@ public class TrustedBeneficiariesServiceTest {
                                          SpiAccountReference.class);
         spiContextData = TestSpiDataProvider.getSpiContextData();
 
-        when(aisConsentService.getAccountConsentById(CONSENT_ID)).thenReturn(Optional.of(aisConsent));
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID)).thenReturn(Optional.of(aisConsent));
     }
 
     @Test
     void getTrustedBeneficiaries_consentUnknown() {
         // Given
         ResponseObject<Xs2aTrustedBeneficiariesList> expected = getConsentUnknownResponse();
-        when(aisConsentService.getAccountConsentById(CONSENT_ID)).thenReturn(Optional.empty());
+        when(aisConsentService.getAccountConsentForAccess(CONSENT_ID)).thenReturn(Optional.empty());
 
         // When
         ResponseObject<Xs2aTrustedBeneficiariesList> actual =
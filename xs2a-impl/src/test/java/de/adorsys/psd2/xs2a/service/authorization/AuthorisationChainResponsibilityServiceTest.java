@@ -17,12 +17,15 @@
 package de.adorsys.psd2.xs2a.service.authorization;
 
 import de.adorsys.psd2.xs2a.core.authorisation.Authorisation;
+import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.domain.consent.pis.Xs2aUpdatePisCommonPaymentPsuDataRequest;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AisAuthorisationProcessorRequest;
 import de.adorsys.psd2.xs2a.service.authorization.processor.model.AuthorisationProcessorResponse;
 import de.adorsys.psd2.xs2a.service.authorization.processor.service.AisAuthorisationProcessorServiceImpl;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.PisAuthorisationProcessorServiceImpl;
+import de.adorsys.psd2.xs2a.service.authorization.processor.service.PisCancellationAuthorisationProcessorServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +33,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,8 +62,85 @@ class AuthorisationChainResponsibilityServiceTest {
 
         service.apply(request);
 
-        verify(applicationContext, times(2)).getBean(AisAuthorisationProcessorServiceImpl.class);
+        verify(applicationContext, times(1)).getBean(AisAuthorisationProcessorServiceImpl.class);
         verify(aisAuthorisationProcessorServiceImpl, times(1)).doScaReceived(request);
         verify(aisAuthorisationProcessorServiceImpl, times(1)).updateAuthorisation(request, processorResponse);
     }
+
+    @Test
+    void apply_processorServiceIsResolvedOnce() {
+        // Given
+        AisAuthorisationProcessorRequest request = buildRequest(ScaStatus.PSUIDENTIFIED);
+        when(applicationContext.getBean(AisAuthorisationProcessorServiceImpl.class)).thenReturn(aisAuthorisationProcessorServiceImpl);
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        when(aisAuthorisationProcessorServiceImpl.doScaPsuIdentified(request)).thenReturn(processorResponse);
+
+        // When
+        service.apply(request);
+        service.apply(request);
+
+        // Then
+        verify(applicationContext, times(1)).getBean(AisAuthorisationProcessorServiceImpl.class);
+        verify(aisAuthorisationProcessorServiceImpl, times(2)).doScaPsuIdentified(request);
+        verify(aisAuthorisationProcessorServiceImpl, never()).doScaReceived(request);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_processorServicesAreResolved() {
+        // Given
+        when(applicationContext.getBean(AisAuthorisationProcessorServiceImpl.class)).thenReturn(aisAuthorisationProcessorServiceImpl);
+        when(applicationContext.getBean(PisAuthorisationProcessorServiceImpl.class)).thenReturn(mock(PisAuthorisationProcessorServiceImpl.class));
+        when(applicationContext.getBean(PisCancellationAuthorisationProcessorServiceImpl.class)).thenReturn(mock(PisCancellationAuthorisationProcessorServiceImpl.class));
+        AisAuthorisationProcessorRequest request = buildRequest(ScaStatus.RECEIVED);
+        when(aisAuthorisationProcessorServiceImpl.doScaReceived(request)).thenReturn(new AuthorisationProcessorResponse());
+
+        // When
+        service.afterSingletonsInstantiated();
+        service.apply(request);
+
+        // Then
+        verify(applicationContext, times(1)).getBean(AisAuthorisationProcessorServiceImpl.class);
+        verify(applicationContext, times(1)).getBean(PisAuthorisationProcessorServiceImpl.class);
+        verify(applicationContext, times(1)).getBean(PisCancellationAuthorisationProcessorServiceImpl.class);
+    }
+
+    @Test
+    void apply_transitionIsRecorded() {
+        // Given
+        AisAuthorisationProcessorRequest request = buildRequest(ScaStatus.RECEIVED);
+        when(applicationContext.getBean(AisAuthorisationProcessorServiceImpl.class)).thenReturn(aisAuthorisationProcessorServiceImpl);
+        AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
+        processorResponse.setScaStatus(ScaStatus.PSUIDENTIFIED);
+        when(aisAuthorisationProcessorServiceImpl.doScaReceived(request)).thenReturn(processorResponse);
+
+        // When
+        service.apply(request);
+        service.apply(request);
+
+        // Then
+        assertEquals(2, service.getTransitionCount(ServiceType.AIS, ScaStatus.RECEIVED, ScaStatus.PSUIDENTIFIED));
+        assertEquals(0, service.getTransitionCount(ServiceType.PIS, ScaStatus.RECEIVED, ScaStatus.PSUIDENTIFIED));
+        assertEquals(0, service.getTransitionCount(ServiceType.AIS, ScaStatus.RECEIVED, null));
+    }
+
+    @Test
+    void apply_noProcessorForStatus() {
+        // Given
+        AisAuthorisationProcessorRequest request = buildRequest(ScaStatus.UNCONFIRMED);
+        when(applicationContext.getBean(AisAuthorisationProcessorServiceImpl.class)).thenReturn(aisAuthorisationProcessorServiceImpl);
+
+        // When
+        AuthorisationProcessorResponse actual = service.apply(request);
+
+        // Then
+        assertNull(actual);
+        verify(aisAuthorisationProcessorServiceImpl, times(1)).updateAuthorisation(request, null);
+    }
+
+    private AisAuthorisationProcessorRequest buildRequest(ScaStatus scaStatus) {
+        return new AisAuthorisationProcessorRequest(ScaApproach.EMBEDDED,
+                                                    scaStatus,
+                                                    new Xs2aUpdatePisCommonPaymentPsuDataRequest(),
+                                                    new Authorisation());
+    }
 }
@@ -74,7 +74,7 @@ class AuthorisationProcessorTest {
 
         authorisationProcessor.apply(request);
 
-        verify(applicationContext, times(2)).getBean(AisAuthorisationProcessorServiceImpl.class);
+        verify(applicationContext, times(1)).getBean(AisAuthorisationProcessorServiceImpl.class);
         verify(aisAuthorisationProcessorServiceImpl, times(1)).doScaReceived(request);
         verify(aisAuthorisationProcessorServiceImpl, times(1)).updateAuthorisation(request, processorResponse);
     }
@@ -84,14 +84,14 @@ class AuthorisationProcessorTest {
         request.setScaStatus(ScaStatus.PSUIDENTIFIED);
         AuthorisationProcessorResponse processorResponse = new AuthorisationProcessorResponse();
 
-        when(nextProcessor.process(request)).thenReturn(processorResponse);
+        when(nextProcessor.process(request, aisAuthorisationProcessorServiceImpl)).thenReturn(processorResponse);
 
         when(applicationContext.getBean(AisAuthorisationProcessorServiceImpl.class)).thenReturn(aisAuthorisationProcessorServiceImpl);
         doNothing().when(aisAuthorisationProcessorServiceImpl).updateAuthorisation(request, processorResponse);
 
         authorisationProcessor.apply(request);
 
-        verify(nextProcessor, times(1)).process(request);
+        verify(nextProcessor, times(1)).process(request, aisAuthorisationProcessorServiceImpl);
         verify(applicationContext, times(1)).getBean(AisAuthorisationProcessorServiceImpl.class);
         verify(aisAuthorisationProcessorServiceImpl, times(1)).updateAuthorisation(request, processorResponse);
     }
@@ -148,6 +148,6 @@ class AuthorisationProcessorTest {
         request.setScaStatus(ScaStatus.PSUIDENTIFIED);
         authorisationProcessor.setNext(null);
 
-        assertNull(authorisationProcessor.process(request));
+        assertNull(authorisationProcessor.process(request, aisAuthorisationProcessorServiceImpl));
     }
 }
@@ -21,9 +21,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class Xs2aAccountServiceTest {
@@ -35,10 +38,23 @@ class Xs2aAccountServiceTest {
     private Xs2aAccountService xs2aAccountService;
     @Mock
     private AccountServiceEncrypted accountServiceEncrypted;
+    @Spy
+    private AisConsentAccessHolder aisConsentAccessHolder = new AisConsentAccessHolder();
 
     @Test
     void saveNumberOfTransaction() {
         xs2aAccountService.saveNumberOfTransaction(CONSENT_ID, ACCOUNT_ID, 5);
         verify(accountServiceEncrypted).saveNumberOfTransactions(CONSENT_ID, ACCOUNT_ID, 5);
     }
+
+    @Test
+    void saveNumberOfTransaction_consentAccessOpened() {
+        aisConsentAccessHolder.open(CONSENT_ID, null);
+
+        xs2aAccountService.saveNumberOfTransaction(CONSENT_ID, ACCOUNT_ID, 5);
+
+        verifyNoInteractions(accountServiceEncrypted);
+        assertEquals(ACCOUNT_ID, aisConsentAccessHolder.getTransactionsResourceId());
+        assertEquals(5, aisConsentAccessHolder.getNumberOfTransactions());
+    }
 }
@@ -21,12 +21,15 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.AisConsentAccessCommitRequest;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.CmsAisConsentAccess;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.authorisation.UpdateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.service.AccountServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.core.data.AccountAccess;
@@ -57,7 +60,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -71,6 +76,8 @@ class Xs2aAisConsentServiceTest {
     private static final String CONSENT_ID = "f2c43cad-6811-4cb6-bfce-31050095ed5d";
     private static final String AUTHORISATION_ID = "a01562ea-19ff-4b5a-8188-c45d85bfa20a";
     private static final String TPP_ID = "Test TppId";
+    private static final String ACCOUNT_ID = "11111-999999999";
+    private static final byte[] ASPSP_CONSENT_DATA = "aspsp consent data".getBytes();
     private static final String REQUEST_URI = "request/uri";
     private static final String REDIRECT_URI = "request/redirect_uri";
     private static final String NOK_REDIRECT_URI = "request/nok_redirect_uri";
@@ -104,6 +111,10 @@ class Xs2aAisConsentServiceTest {
     private RequestProviderService requestProviderService;
     @Mock
     private LoggingContextService loggingContextService;
+    @Mock
+    private AccountServiceEncrypted accountServiceEncrypted;
+    @Spy
+    private AisConsentAccessHolder aisConsentAccessHolder = new AisConsentAccessHolder();
 
     private JsonReader jsonReader = new JsonReader();
     private AisConsent aisConsent;
@@ -329,6 +340,89 @@ class Xs2aAisConsentServiceTest {
         assertThat(aisConsentActionRequest.isUpdateUsage()).isTrue();
     }
 
+    @Test
+    void getAccountConsentForAccess_compositeAccessDisabled() {
+        // Given
+        when(consentServiceEncrypted.getConsentById(CONSENT_ID))
+            .thenReturn(CmsResponse.<CmsConsent>builder().payload(CMS_CONSENT).build());
+        when(aisConsentMapper.mapToAisConsent(CMS_CONSENT))
+            .thenReturn(aisConsent);
+
+        // When
+        Optional<AisConsent> actualResponse = xs2aAisConsentService.getAccountConsentForAccess(CONSENT_ID);
+
+        // Then
+        assertEquals(Optional.of(aisConsent), actualResponse);
+        verify(aisConsentServiceEncrypted, never()).getConsentForAccess(any());
+        assertFalse(aisConsentAccessHolder.isOpenFor(CONSENT_ID));
+    }
+
+    @Test
+    void getAccountConsentForAccess_compositeAccessEnabled() {
+        // Given
+        ReflectionTestUtils.setField(xs2aAisConsentService, "compositeAisAccessEnabled", true);
+        when(aisConsentServiceEncrypted.getConsentForAccess(CONSENT_ID))
+            .thenReturn(CmsResponse.<CmsAisConsentAccess>builder().payload(new CmsAisConsentAccess(CMS_CONSENT, ASPSP_CONSENT_DATA)).build());
+        when(aisConsentMapper.mapToAisConsent(CMS_CONSENT))
+            .thenReturn(aisConsent);
+
+        // When
+        Optional<AisConsent> actualResponse = xs2aAisConsentService.getAccountConsentForAccess(CONSENT_ID);
+
+        // Then
+        assertEquals(Optional.of(aisConsent), actualResponse);
+        verify(consentServiceEncrypted, never()).getConsentById(any());
+        assertTrue(aisConsentAccessHolder.isOpenFor(CONSENT_ID));
+        assertArrayEquals(ASPSP_CONSENT_DATA, aisConsentAccessHolder.getAspspConsentData());
+    }
+
+    @Test
+    void getAccountConsentForAccess_compositeAccessEnabled_failed() {
+        // Given
+        ReflectionTestUtils.setField(xs2aAisConsentService, "compositeAisAccessEnabled", true);
+        when(aisConsentServiceEncrypted.getConsentForAccess(CONSENT_ID))
+            .thenReturn(CmsResponse.<CmsAisConsentAccess>builder().error(CmsError.TECHNICAL_ERROR).build());
+
+        // When
+        Optional<AisConsent> actualResponse = xs2aAisConsentService.getAccountConsentForAccess(CONSENT_ID);
+
+        // Then
+        assertFalse(actualResponse.isPresent());
+        assertFalse(aisConsentAccessHolder.isOpenFor(CONSENT_ID));
+    }
+
+    @Test
+    void consentActionLog_consentAccessOpened() throws WrongChecksumException {
+        // Given
+        aisConsentAccessHolder.open(CONSENT_ID, null);
+        aisConsentAccessHolder.deferNumberOfTransactions(CONSENT_ID, ACCOUNT_ID, 7);
+
+        // When
+        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, ACCOUNT_ID, null);
+
+        // Then
+        AisConsentActionRequest actionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, ACCOUNT_ID, null);
+        verify(aisConsentServiceEncrypted).commitConsentAccess(new AisConsentAccessCommitRequest(actionRequest, 7));
+        verify(aisConsentServiceEncrypted, never()).checkConsentAndSaveActionLog(any());
+        verifyNoInteractions(accountServiceEncrypted);
+        assertNull(aisConsentAccessHolder.getNumberOfTransactions());
+    }
+
+    @Test
+    void consentActionLog_consentAccessOpened_numberOfTransactionsForAnotherResource() throws WrongChecksumException {
+        // Given
+        aisConsentAccessHolder.open(CONSENT_ID, null);
+        aisConsentAccessHolder.deferNumberOfTransactions(CONSENT_ID, ACCOUNT_ID, 7);
+
+        // When
+        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
+
+        // Then
+        AisConsentActionRequest actionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
+        verify(accountServiceEncrypted).saveNumberOfTransactions(CONSENT_ID, ACCOUNT_ID, 7);
+        verify(aisConsentServiceEncrypted).commitConsentAccess(new AisConsentAccessCommitRequest(actionRequest, null));
+    }
+
     @Test
     void consentActionLog_WrongChecksumException() throws WrongChecksumException {
         // Given
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.logger.context.LoggingContextService;
+import de.adorsys.psd2.logger.context.RequestInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncEventRecorderTest {
+    private static final String AUTHORISATION_NUMBER = "999";
+    private static final UUID X_REQUEST_ID = UUID.fromString("0d7f200e-09b4-46f5-85bd-f4ea89fccace");
+    private static final UUID INTERNAL_REQUEST_ID = UUID.fromString("9fe83704-6019-46fa-b8aa-53fb8fa667ea");
+    private static final UUID ANOTHER_X_REQUEST_ID = UUID.fromString("4a8fd2d8-3c2f-4a39-9e5c-2a2cd5d0b2f1");
+    private static final UUID ANOTHER_INTERNAL_REQUEST_ID = UUID.fromString("b8a1c6e4-61c5-4d0c-9d0f-3d5e0e2a7c44");
+
+    @InjectMocks
+    private AsyncEventRecorder asyncEventRecorder;
+
+    @Mock
+    private Xs2aEventServiceEncrypted eventService;
+    @Mock
+    private LoggingContextService loggingContextService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(asyncEventRecorder, "enabled", true);
+        ReflectionTestUtils.setField(asyncEventRecorder, "queueCapacity", 100);
+        ReflectionTestUtils.setField(asyncEventRecorder, "batchSize", 2);
+        ReflectionTestUtils.setField(asyncEventRecorder, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowPolicy", AsyncEventRecorder.OverflowPolicy.DROP);
+        ReflectionTestUtils.setField(asyncEventRecorder, "blockTimeoutMs", 10L);
+        ReflectionTestUtils.setField(asyncEventRecorder, "shutdownTimeoutMs", 5000L);
+    }
+
+    @Test
+    void record_eventsAreRecordedInBatches() {
+        // Given
+        when(eventService.recordEvents(anyList())).thenReturn(true);
+        asyncEventRecorder.start();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            asyncEventRecorder.record(buildEvent());
+        }
+        asyncEventRecorder.stop();
+
+        // Then
+        verify(eventService, atLeast(3)).recordEvents(anyList());
+        verify(eventService, never()).recordEvent(any());
+        assertThat(asyncEventRecorder.getEnqueuedCount()).isEqualTo(5);
+        assertThat(asyncEventRecorder.getRecordedCount()).isEqualTo(5);
+        assertThat(asyncEventRecorder.getFailedCount()).isZero();
+        assertThat(asyncEventRecorder.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void record_cmsFailure_eventsAreCountedAsFailed() {
+        // Given
+        when(eventService.recordEvents(anyList())).thenThrow(new RuntimeException("CMS is unavailable"));
+        asyncEventRecorder.start();
+
+        // When
+        asyncEventRecorder.record(buildEvent());
+        asyncEventRecorder.stop();
+
+        // Then
+        assertThat(asyncEventRecorder.getFailedCount()).isEqualTo(1);
+        assertThat(asyncEventRecorder.getRecordedCount()).isZero();
+        assertThat(asyncEventRecorder.getFlushCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_queueIsFull_dropPolicy() {
+        // Given
+        fillQueue();
+
+        // When
+        asyncEventRecorder.record(buildEvent());
+
+        // Then
+        verifyNoInteractions(eventService);
+        assertThat(asyncEventRecorder.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_queueIsFull_blockPolicy() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowPolicy", AsyncEventRecorder.OverflowPolicy.BLOCK);
+        fillQueue();
+
+        // When
+        asyncEventRecorder.record(buildEvent());
+
+        // Then
+        verifyNoInteractions(eventService);
+        assertThat(asyncEventRecorder.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_queueIsFull_callerRunsPolicy() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowPolicy", AsyncEventRecorder.OverflowPolicy.CALLER_RUNS);
+        fillQueue();
+        EventBO event = buildEvent();
+        when(eventService.recordEvents(Collections.singletonList(event))).thenReturn(true);
+
+        // When
+        asyncEventRecorder.record(event);
+
+        // Then
+        verify(eventService).recordEvents(Collections.singletonList(event));
+        assertThat(asyncEventRecorder.getDroppedCount()).isZero();
+        assertThat(asyncEventRecorder.getRecordedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_eventsAreRecordedWithRequestIdsInLoggingContext() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "batchSize", 10);
+        ReflectionTestUtils.setField(asyncEventRecorder, "flushIntervalMs", 1000L);
+        EventBO firstEvent = buildEvent(X_REQUEST_ID, INTERNAL_REQUEST_ID);
+        EventBO secondEvent = buildEvent(ANOTHER_X_REQUEST_ID, ANOTHER_INTERNAL_REQUEST_ID);
+        EventBO thirdEvent = buildEvent(X_REQUEST_ID, INTERNAL_REQUEST_ID);
+        when(eventService.recordEvents(anyList())).thenReturn(true);
+        asyncEventRecorder.start();
+
+        // When
+        asyncEventRecorder.record(firstEvent);
+        asyncEventRecorder.record(secondEvent);
+        asyncEventRecorder.record(thirdEvent);
+        asyncEventRecorder.stop();
+
+        // Then
+        InOrder inOrder = inOrder(loggingContextService, eventService);
+        inOrder.verify(loggingContextService).storeRequestInformation(new RequestInfo(INTERNAL_REQUEST_ID.toString(), X_REQUEST_ID.toString()));
+        inOrder.verify(eventService).recordEvents(Arrays.asList(firstEvent, thirdEvent));
+        inOrder.verify(loggingContextService).clearContext();
+        inOrder.verify(loggingContextService).storeRequestInformation(new RequestInfo(ANOTHER_INTERNAL_REQUEST_ID.toString(), ANOTHER_X_REQUEST_ID.toString()));
+        inOrder.verify(eventService).recordEvents(Collections.singletonList(secondEvent));
+        inOrder.verify(loggingContextService).clearContext();
+        assertThat(asyncEventRecorder.getRecordedCount()).isEqualTo(3);
+    }
+
+    private void fillQueue() {
+        BlockingQueue<EventBO> queue = new ArrayBlockingQueue<>(1);
+        queue.add(buildEvent());
+        ReflectionTestUtils.setField(asyncEventRecorder, "queue", queue);
+    }
+
+    private EventBO buildEvent() {
+        return EventBO.builder()
+                   .tppAuthorisationNumber(AUTHORISATION_NUMBER)
+                   .build();
+    }
+
+    private EventBO buildEvent(UUID xRequestId, UUID internalRequestId) {
+        return EventBO.builder()
+                   .tppAuthorisationNumber(AUTHORISATION_NUMBER)
+                   .xRequestId(xRequestId)
+                   .internalRequestId(internalRequestId)
+                   .build();
+    }
+}
@@ -63,6 +63,8 @@ class Xs2aEventServiceTest {
     private Xs2aEventServiceEncrypted eventService;
     @Mock
     private RequestProviderService requestProviderService;
+    @Mock
+    private AsyncEventRecorder asyncEventRecorder;
     @Spy
     private EventMapper eventMapper = Mappers.getMapper(EventMapper.class);
 
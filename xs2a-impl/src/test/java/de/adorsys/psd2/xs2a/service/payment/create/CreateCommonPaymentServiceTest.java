@@ -40,6 +40,7 @@ import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
 import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationService;
 import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.consent.AisConsentAccessHolder;
 import de.adorsys.psd2.xs2a.service.consent.PisAspspDataService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.consent.Xs2aPisCommonPaymentMapper;
@@ -111,7 +112,7 @@ class CreateCommonPaymentServiceTest {
     @BeforeEach
     void init() {
         InitialSpiAspspConsentDataProvider initialSpiAspspConsentDataProvider =
-            new SpiAspspConsentDataProviderFactory(aspspDataService).getInitialAspspConsentDataProvider();
+            new SpiAspspConsentDataProviderFactory(aspspDataService, new AisConsentAccessHolder()).getInitialAspspConsentDataProvider();
         commonPaymentInitiationResponse = buildCommonPaymentInitiationResponse(initialSpiAspspConsentDataProvider);
     }
 
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.profile;
 
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.exception.AspspProfileRestException;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
 import de.adorsys.xs2a.reader.JsonReader;
@@ -26,12 +27,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AspspProfileServiceWrapperTest {
@@ -72,4 +76,74 @@ class AspspProfileServiceWrapperTest {
         // Then
         assertEquals(expectedFormats, actualFormats);
     }
+
+    @Test
+    void getSupportedTransactionStatusFormats_refreshIntervalSet_readsProfileOnce() {
+        // Given
+        ReflectionTestUtils.setField(aspspProfileServiceWrapper, "refreshIntervalMs", 60_000L);
+
+        // When
+        aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+        aspspProfileServiceWrapper.getAvailableBookingStatuses();
+
+        // Then
+        verify(aspspProfileService, times(1)).getAspspSettings();
+    }
+
+    @Test
+    void getSupportedTransactionStatusFormats_refreshIntervalNotSet_readsProfileEveryTime() {
+        // When
+        aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+        aspspProfileServiceWrapper.getAvailableBookingStatuses();
+
+        // Then
+        verify(aspspProfileService, times(2)).getAspspSettings();
+    }
+
+    @Test
+    void invalidateSnapshots_readsProfileAgain() {
+        // Given
+        ReflectionTestUtils.setField(aspspProfileServiceWrapper, "refreshIntervalMs", 60_000L);
+        aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+
+        // When
+        aspspProfileServiceWrapper.invalidateSnapshots();
+        aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+
+        // Then
+        verify(aspspProfileService, times(2)).getAspspSettings();
+    }
+
+    @Test
+    void getSupportedTransactionStatusFormats_refreshFailed_previousSnapshotUsed() {
+        // Given
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(1_000L, 2_000L);
+        ReflectionTestUtils.setField(aspspProfileServiceWrapper, "clock", clock);
+        ReflectionTestUtils.setField(aspspProfileServiceWrapper, "refreshIntervalMs", 1L);
+        List<String> expected = aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+        when(aspspProfileService.getAspspSettings()).thenThrow(new AspspProfileRestException(500, "Internal Server Error"));
+
+        // When
+        List<String> actual = aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+
+        // Then
+        assertEquals(expected, actual);
+        verify(aspspProfileService, times(2)).getAspspSettings();
+    }
+
+    @Test
+    void getSupportedTransactionStatusFormats_returnedListModified_snapshotNotAffected() {
+        // Given
+        ReflectionTestUtils.setField(aspspProfileServiceWrapper, "refreshIntervalMs", 60_000L);
+        List<String> firstFormats = aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+
+        // When
+        firstFormats.clear();
+        List<String> secondFormats = aspspProfileServiceWrapper.getSupportedTransactionStatusFormats();
+
+        // Then
+        assertNotSame(firstFormats, secondFormats);
+        assertEquals(Collections.singletonList("application/json"), secondFormats);
+    }
 }
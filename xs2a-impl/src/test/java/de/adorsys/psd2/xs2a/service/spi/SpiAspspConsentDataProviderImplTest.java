@@ -18,12 +18,14 @@ package de.adorsys.psd2.xs2a.service.spi;
 
 import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
+import de.adorsys.psd2.xs2a.service.consent.AisConsentAccessHolder;
 import de.adorsys.psd2.xs2a.spi.domain.SpiAspspConsentDataProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
@@ -44,6 +46,8 @@ class SpiAspspConsentDataProviderImplTest {
 
     @Mock
     private AspspDataService aspspDataService;
+    @Spy
+    private AisConsentAccessHolder aisConsentAccessHolder = new AisConsentAccessHolder();
 
     @BeforeEach
     void setUp() {
@@ -104,4 +108,25 @@ class SpiAspspConsentDataProviderImplTest {
         verify(aspspDataService, never()).updateAspspConsentData(any(AspspConsentData.class));
         verify(aspspDataService).deleteAspspConsentData(SOME_CONSENT_ID);
     }
+
+    @Test
+    void loadDataOfOpenedConsentAccessDoesntCallAspspDataService() {
+        aisConsentAccessHolder.open(SOME_CONSENT_ID, SOME_DATA);
+
+        byte[] readData = spiAspspConsentDataProvider.loadAspspConsentData();
+
+        assertArrayEquals(SOME_DATA, readData);
+        verifyNoInteractions(aspspDataService);
+    }
+
+    @Test
+    void updateDataOfOpenedConsentAccessUpdatesHeldData() {
+        aisConsentAccessHolder.open(SOME_CONSENT_ID, SOME_DATA);
+        byte[] bytes = "some another data".getBytes();
+
+        spiAspspConsentDataProvider.updateAspspConsentData(bytes);
+
+        verify(aspspDataService).updateAspspConsentData(new AspspConsentData(bytes, SOME_CONSENT_ID));
+        assertArrayEquals(bytes, aisConsentAccessHolder.getAspspConsentData());
+    }
 }
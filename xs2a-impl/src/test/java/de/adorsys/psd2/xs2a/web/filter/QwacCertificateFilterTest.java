@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.consent.api.service.TppService;
+import de.adorsys.psd2.validator.certificate.util.CertificateCache;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -43,6 +45,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -89,6 +92,8 @@ class QwacCertificateFilterTest {
     private Xs2aTppInfoMapper xs2aTppInfoMapper;
     @Mock
     private TppInfoRolesMapper tppInfoRolesMapper;
+    @Spy
+    private CertificateCache certificateCache = new CertificateCache(10, Duration.ofMinutes(1));
 
     @Test
     void doFilter_success() throws IOException, ServletException {
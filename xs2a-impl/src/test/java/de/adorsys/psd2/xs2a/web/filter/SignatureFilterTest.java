@@ -18,6 +18,7 @@ package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.validator.signature.DigestVerifier;
 import de.adorsys.psd2.validator.signature.SignatureVerifier;
+import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
@@ -36,6 +37,7 @@ import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -90,7 +92,7 @@ class SignatureFilterTest {
         MockHttpServletResponse mockResponse = new MockHttpServletResponse();
         String fullUrl = mockRequest.getRequestURL().toString();
 
-        when(digestVerifier.verify(headerMap.get("digest"), body)).thenReturn(true);
+        when(digestVerifier.verify(headerMap.get("digest"), ByteBuffer.wrap(body.getBytes()))).thenReturn(true);
         when(signatureVerifier.verify(headerMap.get("signature"), headerMap.get("tpp-signature-certificate"), headerMap, POST_METHOD, fullUrl)).thenReturn(true);
 
         // when
@@ -101,6 +103,51 @@ class SignatureFilterTest {
         verify(chain).doFilter(any(), any());
     }
 
+    @Test
+    void doFilter_multiReadRequest_success() throws IOException, ServletException {
+        // given
+        when(aspspProfileService.getTppSignatureRequired()).thenReturn(true);
+
+        MockHttpServletRequest mockRequest = getCorrectRequest(headerMap, body, POST_METHOD);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(mockRequest);
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        String fullUrl = mockRequest.getRequestURL().toString();
+
+        when(digestVerifier.verify(headerMap.get("digest"), ByteBuffer.wrap(body.getBytes()))).thenReturn(true);
+        when(signatureVerifier.verify(headerMap.get("signature"), headerMap.get("tpp-signature-certificate"), headerMap, POST_METHOD, fullUrl)).thenReturn(true);
+
+        // when
+        signatureFilter.doFilter(multiReadRequest, mockResponse, chain);
+
+        //Then
+        assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(multiReadRequest.getInputStream().readAllBytes()).isEqualTo(body.getBytes());
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_crlfBody_digestOfRawBytes() throws IOException, ServletException {
+        // given
+        when(aspspProfileService.getTppSignatureRequired()).thenReturn(true);
+
+        String crlfBody = "{\r\n  \"endToEndIdentification\": \"WBG-123456789\"\r\n}\r\n";
+        MockHttpServletRequest mockRequest = getCorrectRequest(headerMap, crlfBody, POST_METHOD);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(mockRequest);
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        String fullUrl = mockRequest.getRequestURL().toString();
+
+        when(digestVerifier.verify(headerMap.get("digest"), ByteBuffer.wrap(crlfBody.getBytes()))).thenReturn(true);
+        when(signatureVerifier.verify(headerMap.get("signature"), headerMap.get("tpp-signature-certificate"), headerMap, POST_METHOD, fullUrl)).thenReturn(true);
+
+        // when
+        signatureFilter.doFilter(multiReadRequest, mockResponse, chain);
+
+        //Then
+        assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        verify(digestVerifier).verify(headerMap.get("digest"), ByteBuffer.wrap(crlfBody.getBytes()));
+        verify(chain).doFilter(any(), any());
+    }
+
     @Test
     void doFilter_invalid_digest() throws IOException, ServletException {
         // given
@@ -110,7 +157,7 @@ class SignatureFilterTest {
         MockHttpServletResponse mockResponse = new MockHttpServletResponse();
         mockResponseCode(mockResponse, HttpServletResponse.SC_BAD_REQUEST);
 
-        when(digestVerifier.verify(headerMap.get("digest"), body)).thenReturn(false);
+        when(digestVerifier.verify(headerMap.get("digest"), ByteBuffer.wrap(body.getBytes()))).thenReturn(false);
 
         // when
         signatureFilter.doFilter(mockRequest, mockResponse, chain);
@@ -130,7 +177,7 @@ class SignatureFilterTest {
         String fullUrl = mockRequest.getRequestURL().toString();
         mockResponseCode(mockResponse, HttpServletResponse.SC_UNAUTHORIZED);
 
-        when(digestVerifier.verify(headerMap.get("digest"), body)).thenReturn(true);
+        when(digestVerifier.verify(headerMap.get("digest"), ByteBuffer.wrap(body.getBytes()))).thenReturn(true);
         when(signatureVerifier.verify(headerMap.get("signature"), headerMap.get("tpp-signature-certificate"), headerMap, POST_METHOD, fullUrl)).thenReturn(false);
 
         // when
@@ -156,7 +203,7 @@ class SignatureFilterTest {
         //Then
         assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
         verify(chain).doFilter(any(), any());
-        verify(digestVerifier, times(0)).verify(any(), any());
+        verify(digestVerifier, times(0)).verify(any(), any(ByteBuffer.class));
         verify(signatureVerifier, times(0)).verify(any(), any(), any(), any(), any());
     }
 
@@ -175,7 +222,7 @@ class SignatureFilterTest {
 
         //Then
         verify(chain, times(0)).doFilter(any(), any());
-        verify(digestVerifier, times(0)).verify(any(), any());
+        verify(digestVerifier, times(0)).verify(any(), any(ByteBuffer.class));
         verify(signatureVerifier, times(0)).verify(any(), any(), any(), any(), any());
         assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
     }
@@ -195,7 +242,7 @@ class SignatureFilterTest {
 
         //Then
         verify(chain, times(0)).doFilter(any(), any());
-        verify(digestVerifier, times(0)).verify(any(), any());
+        verify(digestVerifier, times(0)).verify(any(), any(ByteBuffer.class));
         verify(signatureVerifier, times(0)).verify(any(), any(), any(), any(), any());
         assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
     }
@@ -215,7 +262,7 @@ class SignatureFilterTest {
 
         //Then
         verify(chain, times(0)).doFilter(any(), any());
-        verify(digestVerifier, times(0)).verify(any(), any());
+        verify(digestVerifier, times(0)).verify(any(), any(ByteBuffer.class));
         verify(signatureVerifier, times(0)).verify(any(), any(), any(), any(), any());
         assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
     }
@@ -235,7 +282,7 @@ class SignatureFilterTest {
 
         //Then
         verify(chain, times(0)).doFilter(any(), any());
-        verify(digestVerifier, times(0)).verify(any(), any());
+        verify(digestVerifier, times(0)).verify(any(), any(ByteBuffer.class));
         verify(signatureVerifier, times(0)).verify(any(), any(), any(), any(), any());
         assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
     }
@@ -255,7 +302,7 @@ class SignatureFilterTest {
 
         //Then
         verify(chain, times(0)).doFilter(any(), any());
-        verify(digestVerifier, times(0)).verify(any(), any());
+        verify(digestVerifier, times(0)).verify(any(), any(ByteBuffer.class));
         verify(signatureVerifier, times(0)).verify(any(), any(), any(), any(), any());
         assertThat(mockResponse.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
     }
@@ -28,7 +28,11 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class RequestResponseLoggingInterceptorTest {
@@ -45,6 +49,8 @@ class RequestResponseLoggingInterceptorTest {
     void afterCompletion_shouldLogRequestAndResponse() {
         // Given
         UUID internalRequestId = UUID.fromString("b87028ad-6925-41fa-b892-88912606a2f4");
+        when(requestResponseLogger.isLogEnabled()).thenReturn(true);
+        when(requestResponseLogger.getMaxPayloadLength()).thenReturn(-1);
 
         RequestResponseLogMessage message = RequestResponseLogMessage.builder(httpServletRequest, httpServletResponse)
                                                 .withRequestUri()
@@ -61,4 +67,17 @@ class RequestResponseLoggingInterceptorTest {
         // Then
         verify(requestResponseLogger).logMessage(message);
     }
+
+    @Test
+    void afterCompletion_logDisabled_shouldSkipMessage() {
+        // Given
+        when(requestResponseLogger.isLogEnabled()).thenReturn(false);
+
+        // When
+        requestResponseLoggingInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
+
+        // Then
+        verify(requestResponseLogger, never()).logMessage(any());
+        verifyNoInteractions(httpServletRequest, httpServletResponse);
+    }
 }
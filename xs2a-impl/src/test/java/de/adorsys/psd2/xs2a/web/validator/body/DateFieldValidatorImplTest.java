@@ -34,7 +34,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 
-import java.io.InputStream;
+import com.fasterxml.jackson.databind.JsonNode;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -81,7 +81,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
 
         // When
         validator.validateDateFormat(mockRequest, Collections.singleton(Xs2aRequestBodyDateField.REQUESTED_EXECUTION_DATE), messageError);
@@ -96,7 +96,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class)))
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class)))
             .thenReturn(Optional.of(CORRECT_FORMAT_DATE));
 
 
@@ -113,7 +113,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class)))
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class)))
             .thenReturn(Optional.of(WRONG_FORMAT_TIME));
 
         // When
@@ -129,7 +129,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_TIME));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_TIME));
 
         // When
         validator.validateDateFormat(mockRequest, Collections.singleton(Xs2aRequestBodyDateField.REQUESTED_EXECUTION_TIME), messageError);
@@ -144,7 +144,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_DAY_OF_MONTH));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_DAY_OF_MONTH));
 
         // When
         validator.validateDayOfExecution(mockRequest, messageError);
@@ -159,7 +159,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_DAY_OF_MONTH));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_DAY_OF_MONTH));
 
         // When
         validator.validateDayOfExecution(mockRequest, messageError);
@@ -38,7 +38,6 @@ import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
@@ -92,7 +91,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", "allAccounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -117,7 +116,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", "allAccounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -142,7 +141,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccounts", "allAccounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -167,7 +166,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccountsWithBalance", "allAccounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -184,7 +183,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -203,7 +202,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -222,7 +221,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -241,7 +240,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -260,7 +259,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -278,7 +277,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -300,7 +299,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccounts", "Accounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -321,7 +320,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccounts", 1);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -342,7 +341,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", "AllAccounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -363,7 +362,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", 1);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -384,7 +383,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccountsWithBalance", "Accounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -405,7 +404,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("availableAccountsWithBalance", 1);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -427,6 +426,10 @@ class ConsentBodyFieldsValidatorImplTest {
         when(malformedRequest.getInputStream())
             .thenThrow(new IOException());
 
+        ErrorBuildingServiceMock errorBuildingService = new ErrorBuildingServiceMock(ErrorType.AIS_400);
+        validator = new ConsentBodyFieldsValidatorImpl(errorBuildingService, xs2aObjectMapper, tppRedirectUriBodyValidator, dateFieldValidator,
+                                                       new FieldExtractor(errorBuildingService, xs2aObjectMapper));
+
         // When
         validator.validate(malformedRequest, messageError);
 
@@ -441,7 +444,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(new MessageError(ErrorType.AIS_400, TppMessageInformation.of(MessageErrorCode.FORMAT_ERROR_WRONG_FORMAT_DATE_FIELD, "validUntil", "ISO_DATE", "YYYY-MM-DD")));
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         // When
@@ -458,7 +461,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -31,13 +31,15 @@ import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 class FieldExtractorTest {
     private static final String FIELD_NAME = "endToEndIdentification";
@@ -122,6 +124,42 @@ class FieldExtractorTest {
         assertTrue(actualResult.isEmpty());
     }
 
+    @Test
+    void extractFields_bodyIsParsedOnce() throws IOException {
+        // Given
+        Xs2aObjectMapper xs2aObjectMapper = Mockito.spy(new Xs2aObjectMapper());
+        fieldExtractor = new FieldExtractor(new ErrorBuildingServiceMock(ErrorType.PIS_400), xs2aObjectMapper);
+
+        // When
+        Optional<String> field = fieldExtractor.extractField(mockRequest, FIELD_NAME, messageError);
+        Optional<String> optionalField = fieldExtractor.extractOptionalField(mockRequest, FIELD_NAME);
+        List<String> list = fieldExtractor.extractList(mockRequest, CURRENCY_FIELD_NAME, messageError);
+        Optional<Object> body = fieldExtractor.mapBodyToInstance(mockRequest, messageError, Object.class);
+
+        // Then
+        assertEquals(Optional.of(FIELD_VALUE), field);
+        assertEquals(Optional.of(FIELD_VALUE), optionalField);
+        assertEquals(getCurrencyList(), list);
+        assertTrue(body.isPresent());
+        assertTrue(messageError.getTppMessages().isEmpty());
+        verify(xs2aObjectMapper, times(1)).readTree(any(InputStream.class));
+    }
+
+    @Test
+    void mapBodyToInstance_malformedBody() {
+        // Given
+        MockHttpServletRequest malformedRequest = new MockHttpServletRequest();
+        malformedRequest.setContent("{\"endToEndIdentification\":".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        Optional<Object> actualResult = fieldExtractor.mapBodyToInstance(malformedRequest, messageError, Object.class);
+
+        // Then
+        assertFalse(actualResult.isPresent());
+        assertEquals(DESERIALIZATION_ERROR, messageError);
+        assertFalse(fieldExtractor.extractOptionalField(malformedRequest, FIELD_NAME).isPresent());
+    }
+
     private List<String> getCurrencyList() {
         List<String> currencyList = new ArrayList<>();
         currencyList.add("EUR");